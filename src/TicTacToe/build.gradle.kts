@@ -11,12 +11,15 @@ group = "game.tictactoe"
 version = "1.0-SNAPSHOT"
 
 var mainClassName = "game.tictactoe.application.TicTacToeApplication"
+var perfectPlayTableGeneratorClassName = "game.tictactoe.domain.service.minimax.table.PerfectPlayTableGenerator"
+var nTupleTrainerClassName = "game.tictactoe.domain.service.minimax.ntuple.NTupleTrainer"
 var lombokVersion = "1.18.36"
 var mapstructVersion = "1.6.3"
 var junitJupiterVersion = "5.10.0"
 var openapiVersion = "2.7.0"
 var jsonSchemaValidatorVersion = "2.2.14"
 var assertjVersion = "3.27.2"
+var vectorModuleArgs = listOf("--add-modules", "jdk.incubator.vector")
 var jacocoExclude = listOf(
     "game/tictactoe/application/TicTacToeApplication.class",
     "game/tictactoe/configuration/CorsConfig.class",
@@ -70,6 +73,55 @@ tasks.compileJava.configure {
     options.compilerArgs.add("-parameters")
 }
 
+// The SIMD board kernel is built on the incubating Vector API, which has to be added explicitly
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(vectorModuleArgs)
+}
+
+tasks.withType<JavaExec>().configureEach {
+    jvmArgs(vectorModuleArgs)
+}
+
+val perfectPlayTableDir = layout.buildDirectory.dir("generated/resources/perfectPlayTable")
+
+val generatePerfectPlayTable by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "Solves every reachable 3x3 position and writes the perfect-play table resource."
+
+    classpath = sourceSets.main.get().output.classesDirs + configurations.runtimeClasspath.get()
+    mainClass.set(perfectPlayTableGeneratorClassName)
+
+    val tableFile = perfectPlayTableDir.map { it.file("engine/perfect-play-3x3.bin") }
+    outputs.dir(perfectPlayTableDir)
+    argumentProviders.add(CommandLineArgumentProvider { listOf(tableFile.get().asFile.absolutePath) })
+}
+
+tasks.processResources {
+    from(generatePerfectPlayTable)
+}
+
+// Offline only, e.g. ./gradlew trainNTupleWeights -PfieldSize=5 -PwinLength=4 -Pgames=200000
+val trainNTupleWeights by tasks.registering(JavaExec::class) {
+    group = "application"
+    description = "Trains n-tuple evaluation weights by self-play and writes them to build/ntuple."
+
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set(nTupleTrainerClassName)
+
+    val fieldSize = providers.gradleProperty("fieldSize").orElse("5")
+    val winLength = providers.gradleProperty("winLength").orElse("4")
+    val games = providers.gradleProperty("games").orElse("100000")
+    val depth = providers.gradleProperty("depth").orElse("2")
+
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            layout.buildDirectory.file("ntuple/ntuple-${fieldSize.get()}x${fieldSize.get()}-k${winLength.get()}.bin")
+                .get().asFile.absolutePath,
+            fieldSize.get(), winLength.get(), games.get(), depth.get()
+        )
+    })
+}
+
 tasks.jar {
     manifest {
         attributes["Main-Class"] = mainClassName
@@ -79,6 +131,7 @@ tasks.jar {
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs(vectorModuleArgs)
 
     testLogging {
         events("passed", "skipped", "failed")
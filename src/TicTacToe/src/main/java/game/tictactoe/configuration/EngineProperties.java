@@ -0,0 +1,248 @@
+package game.tictactoe.configuration;
+
+import game.tictactoe.domain.model.EngineType;
+import game.tictactoe.domain.service.minimax.impl.MctsServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.MinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.PonderingMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.ProofNumberMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.UltimateMctsServiceImpl;
+import game.tictactoe.domain.service.minimax.search.ReplacementPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tuning parameters of the game engine, bound from the {@code engine.*} properties.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "engine")
+public class EngineProperties {
+
+    /**
+     * Number of slots in the shared transposition table, rounded up to a power of two.
+     */
+    private int transpositionTableSize = 1 << 16;
+
+    /**
+     * Policy used when a new transposition table entry collides with an occupied slot.
+     */
+    private ReplacementPolicy transpositionTableReplacement = ReplacementPolicy.DEPTH_PREFERRED;
+
+    /**
+     * Maximum number of best moves kept in the cache of each engine, shared by all its games and requests.
+     */
+    private int bestMoveCacheSize = 1 << 16;
+
+    /**
+     * Engine of the games that do not choose one and of the batch and analysis requests.
+     */
+    private EngineType defaultEngine = EngineType.PERFECT_TABLE;
+
+    /**
+     * Availability and resource limits of each engine, every engine is available without limits by default.
+     */
+    private Map<EngineType, EngineSettings> engines = new EnumMap<>(EngineType.class);
+
+    /**
+     * Maximum depth of the alpha-beta search; the 3x3 field is solved exhaustively from 9 on.
+     */
+    private int maxDepth = MinimaxServiceImpl.DEPTH;
+
+    /**
+     * Wall-clock budget of a single search; the deepest completed iteration is played when it runs out.
+     * Zero disables the limit.
+     */
+    private Duration timeBudget = Duration.ZERO;
+
+    /**
+     * Number of workers searching root moves in parallel: 1 searches on the request thread,
+     * 0 uses one worker per available processor. Only the alpha-beta search is parallel.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Number of workers searching the positions of a batch request in parallel, 0 uses one worker
+     * per available processor.
+     */
+    private int batchParallelism = 0;
+
+    /**
+     * Number of threads the asynchronous requests are handled on and the streamed searches run on,
+     * 0 uses twice the number of available processors.
+     */
+    private int requestThreads = 0;
+
+    /**
+     * Number of asynchronous requests waiting for a free thread, further requests are refused with
+     * 503 Service Unavailable.
+     */
+    private int requestQueueCapacity = 64;
+
+    /**
+     * Whether a search waits for an identical or symmetric search that is already running instead of
+     * searching the position again.
+     */
+    private boolean coalesceSearches = true;
+
+    /**
+     * Whether the engine searches its answers to the player's likely next moves while the player is thinking.
+     */
+    private boolean ponder = false;
+
+    /**
+     * Number of the player's replies pondered after every move of the engine.
+     */
+    private int ponderReplies = PonderingMinimaxServiceImpl.DEFAULT_REPLIES;
+
+    /**
+     * Number of workers pondering, and so the number of cores pondering takes from requested searches at most.
+     */
+    private int ponderParallelism = 1;
+
+    /**
+     * Pondering is cancelled and paused while at least this many requested searches run at once,
+     * 0 uses the number of available processors.
+     */
+    private int ponderMaxSearches = 0;
+
+    /**
+     * Whether searches are stepped down to cheaper ones while the engine is overloaded.
+     */
+    private boolean loadAdaptive = true;
+
+    /**
+     * The engine is overloaded from this many searches running at once on, 0 uses twice the number of
+     * available processors.
+     */
+    private int loadMaxInFlight = 0;
+
+    /**
+     * The engine is overloaded from this many searches queued on its pools on.
+     */
+    private int loadMaxQueued = 64;
+
+    /**
+     * The engine is overloaded once the average latency of recent searches reaches this.
+     */
+    private Duration loadLatencyTarget = Duration.ofSeconds(1);
+
+    /**
+     * Time budget of every search while the engine is overloaded.
+     */
+    private Duration loadReducedTimeBudget = Duration.ofMillis(50);
+
+    /**
+     * Minimum time between two changes of the degradation level.
+     */
+    private Duration loadCooldown = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of Monte Carlo playouts per move; 0 leaves only the time budget.
+     */
+    private int mctsIterations = MctsServiceImpl.DEFAULT_ITERATIONS;
+
+    /**
+     * Weight of the exploration term of the UCT selection.
+     */
+    private double mctsExploration = MctsServiceImpl.DEFAULT_EXPLORATION;
+
+    /**
+     * Whether the Monte Carlo tree below the opponent's replies is kept for the next move of the game.
+     */
+    private boolean mctsTreeReuse = true;
+
+    /**
+     * Maximum number of playouts per move of the Ultimate Tic-Tac-Toe engine; 0 leaves only the time budget.
+     */
+    private int ultimateIterations = UltimateMctsServiceImpl.DEFAULT_ITERATIONS;
+
+    /**
+     * Wall-clock budget of a single move of the Ultimate Tic-Tac-Toe engine; zero leaves only the playouts.
+     */
+    private Duration ultimateTimeBudget = Duration.ofSeconds(1);
+
+    /**
+     * Weight file written by {@code NTupleTrainer}; positions on its field are then evaluated by the trained
+     * network instead of the open-line heuristic. Empty disables it.
+     */
+    private String ntupleWeights = "";
+
+    /**
+     * Whether the heuristic evaluation scores positions with SIMD instructions. Takes effect only if the
+     * JVM is started with {@code --add-modules jdk.incubator.vector}, the scalar code is used otherwise.
+     */
+    private boolean vectorKernel = true;
+
+    /**
+     * Whether endgames and threat-heavy positions are first handed to the proof-number solver.
+     */
+    private boolean proofNumberSearch = true;
+
+    /**
+     * The solver is tried when at most this many cells are empty.
+     */
+    private int pnsEmptyCells = ProofNumberMinimaxServiceImpl.DEFAULT_EMPTY_CELLS;
+
+    /**
+     * The solver is tried when both sides together have at least this many immediate threats.
+     */
+    private int pnsThreats = ProofNumberMinimaxServiceImpl.DEFAULT_THREATS;
+
+    /**
+     * Maximum number of nodes the solver expands per move before falling back to the search.
+     */
+    private long pnsMaxNodes = 200_000;
+
+    /**
+     * Number of slots in each proof-number table, rounded up to a power of two.
+     */
+    private int pnsTableSize = 1 << 16;
+
+    /**
+     * @param type The name of the engine.
+     * @return The settings of the engine, the defaults if none are configured.
+     */
+    public EngineSettings getEngine(EngineType type) {
+        return engines.getOrDefault(type, new EngineSettings());
+    }
+
+    /**
+     * Availability and resource limits of one engine, bound from the {@code engine.engines.<name>.*} properties.
+     */
+    @Getter
+    @Setter
+    public static class EngineSettings {
+
+        /**
+         * Whether games can be played against the engine.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum depth of every search of the engine, whatever the difficulty; 0 leaves the difficulty's.
+         */
+        private int maxDepth = 0;
+
+        /**
+         * Maximum number of nodes of every search of the engine; 0 leaves the difficulty's.
+         */
+        private long maxNodes = 0;
+
+        /**
+         * Maximum wall-clock time of every search of the engine; zero leaves the difficulty's.
+         */
+        private Duration timeBudget = Duration.ZERO;
+
+        /**
+         * Number of searches the engine runs at once, further searches wait for a free slot; 0 for no limit.
+         */
+        private int maxSearches = 0;
+    }
+}
@@ -2,27 +2,63 @@ package game.tictactoe.configuration;
 
 import game.tictactoe.datasource.mapper.GameMapper;
 import game.tictactoe.datasource.mapper.GameMapperImpl;
+import game.tictactoe.datasource.mapper.UltimateGameMapperImpl;
 import game.tictactoe.datasource.model.GameRepositoryModel;
 import game.tictactoe.datasource.repository.GameRepository;
+import game.tictactoe.datasource.repository.UltimateGameRepository;
 import game.tictactoe.datasource.repository.impl.GameRepositoryImpl;
+import game.tictactoe.datasource.repository.impl.UltimateGameRepositoryImpl;
+import game.tictactoe.domain.model.EngineType;
 import game.tictactoe.domain.service.gameService.GameService;
+import game.tictactoe.domain.service.gameService.UltimateGameService;
 import game.tictactoe.domain.service.gameService.impl.GameServiceImpl;
+import game.tictactoe.domain.service.gameService.impl.UltimateGameServiceImpl;
+import game.tictactoe.domain.service.minimax.EngineLoadPolicy;
+import game.tictactoe.domain.service.minimax.EngineRegistry;
 import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.UltimateMinimaxService;
+import game.tictactoe.domain.service.minimax.impl.BatchMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.CoalescingMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.MctsServiceImpl;
 import game.tictactoe.domain.service.minimax.impl.MinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.NegamaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.PerfectTableMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.PonderingMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.ProofNumberMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.impl.UltimateMctsServiceImpl;
+import game.tictactoe.domain.service.minimax.ntuple.NTupleEvaluator;
+import game.tictactoe.domain.service.minimax.ntuple.NTupleNetwork;
+import game.tictactoe.domain.service.minimax.search.BestMoveCache;
+import game.tictactoe.domain.service.minimax.search.BoardKernel;
+import game.tictactoe.domain.service.minimax.search.Evaluator;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import game.tictactoe.domain.service.minimax.search.ProofNumberSolver;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  * Configuration class for the Tic-Tac-Toe application.
  *
- * <p> It provides beans for the storage, game mapper, game repository, and game service.
+ * <p> It provides beans for the storage, game mapper, game repository, engine registry, load policy
+ * and game service, and their counterparts for Ultimate Tic-Tac-Toe.
  */
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class TicTacToeConfig {
+    private final EngineProperties engineProperties;
 
     @Bean
     public Map<UUID, GameRepositoryModel> getStorage() {
@@ -39,13 +75,234 @@ public class TicTacToeConfig {
         return new GameRepositoryImpl(getStorage(), getGameMapperImpl());
     }
 
+    /**
+     * Dedicated pool for parallel searches, so they never compete with the common pool.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool getSearchPool() {
+        return namedPool("engine-search-", engineProperties.getParallelism(), Thread.NORM_PRIORITY);
+    }
+
+    /**
+     * Pool the distinct positions of a batch request are searched on, one search per worker.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool getBatchPool() {
+        return namedPool("engine-batch-", engineProperties.getBatchParallelism(), Thread.NORM_PRIORITY);
+    }
+
+    /**
+     * Pool the engine ponders on. Its threads ask for the lowest priority, but most JVMs on Linux ignore
+     * that, so pondering is held back by the size of this pool and by its pause under load alone.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool getPonderPool() {
+        return namedPool("engine-ponder-", engineProperties.getPonderParallelism(), Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Evaluation of the positions at the depth limit: the trained n-tuple network if a weight file is
+     * configured and can be loaded, the open-line heuristic otherwise.
+     */
+    @Bean
+    public Evaluator getEvaluator() {
+        if (engineProperties.isVectorKernel() && !BoardKernel.isVectorAvailable())
+            log.info("Module {} is not available, positions are evaluated without SIMD", BoardKernel.VECTOR_MODULE);
+
+        final HeuristicEvaluator heuristic = new HeuristicEvaluator(
+                engineProperties.isVectorKernel() ? BoardKernel.preferred() : BoardKernel.scalar()
+        );
+
+        if (engineProperties.getNtupleWeights().isBlank())
+            return heuristic;
+
+        try {
+            final NTupleNetwork network = NTupleNetwork.load(Path.of(engineProperties.getNtupleWeights()));
+            log.info("Loaded n-tuple weights {} for {}", engineProperties.getNtupleWeights(), network.getGeometry());
+            return new NTupleEvaluator(network, heuristic);
+        } catch (IOException e) {
+            log.warn("Failed to load n-tuple weights {}, the heuristic evaluation is used",
+                    engineProperties.getNtupleWeights(), e);
+            return heuristic;
+        }
+    }
+
+    /**
+     * Load-aware policy stepping searches down while the engine is overloaded, measured by the searches
+     * running, the searches queued on the search and batch pools and the latency of recent searches.
+     */
     @Bean
-    public MinimaxService getMinimaxService() {
-        return new MinimaxServiceImpl();
+    public EngineLoadPolicy getEngineLoadPolicy() {
+        final ForkJoinPool searchPool = getSearchPool();
+        final ForkJoinPool batchPool = getBatchPool();
+
+        return new EngineLoadPolicy(
+                engineProperties.isLoadAdaptive(),
+                engineProperties.getLoadMaxInFlight() > 0
+                        ? engineProperties.getLoadMaxInFlight()
+                        : 2 * Runtime.getRuntime().availableProcessors(),
+                engineProperties.getLoadMaxQueued(),
+                engineProperties.getLoadLatencyTarget(),
+                engineProperties.getLoadReducedTimeBudget(),
+                engineProperties.getLoadCooldown(),
+                () -> searchPool.getQueuedSubmissionCount() + batchPool.getQueuedSubmissionCount()
+        );
+    }
+
+    /**
+     * Engines games can be played against, each with its own transposition table, proof-number solver,
+     * best-move cache and resource limits; the perfect-play table falls back to a parallel search of its own.
+     * Engines disabled in the properties are left out.
+     */
+    @Bean
+    public EngineRegistry getEngineRegistry() {
+        final EngineRegistry registry = new EngineRegistry(engineProperties.getDefaultEngine());
+
+        register(registry, EngineType.HEURISTIC, new MinimaxServiceImpl(
+                newTranspositionTable(),
+                engineProperties.getMaxDepth(),
+                engineProperties.getTimeBudget(),
+                null,
+                getEvaluator()
+        ));
+        register(registry, EngineType.MCTS, new MctsServiceImpl(
+                engineProperties.getMctsIterations(),
+                engineProperties.getTimeBudget(),
+                engineProperties.getMctsExploration(),
+                engineProperties.isMctsTreeReuse()
+        ));
+        register(registry, EngineType.ALPHA_BETA, solving(new MinimaxServiceImpl(
+                newTranspositionTable(),
+                engineProperties.getMaxDepth(),
+                engineProperties.getTimeBudget(),
+                null,
+                getEvaluator()
+        )));
+        register(registry, EngineType.NEGAMAX, solving(new NegamaxServiceImpl(
+                newTranspositionTable(),
+                engineProperties.getMaxDepth(),
+                engineProperties.getTimeBudget(),
+                getEvaluator()
+        )));
+        register(registry, EngineType.PARALLEL, newParallelSearch());
+        register(registry, EngineType.PERFECT_TABLE, new PerfectTableMinimaxServiceImpl(newParallelSearch()));
+
+        if (!registry.contains(engineProperties.getDefaultEngine()))
+            throw new IllegalStateException("Default engine " + engineProperties.getDefaultEngine() + " is disabled");
+
+        return registry;
     }
 
     @Bean
     public GameService getGameService() {
-        return new GameServiceImpl(getMinimaxService(), getGameRepository());
+        return new GameServiceImpl(getEngineRegistry(), getGameRepository(), getEngineLoadPolicy());
+    }
+
+    @Bean
+    public UltimateGameRepository getUltimateGameRepository() {
+        return new UltimateGameRepositoryImpl(new ConcurrentHashMap<>(), new UltimateGameMapperImpl());
+    }
+
+    /**
+     * Engine of Ultimate Tic-Tac-Toe, a Monte Carlo tree search on the bitboards of its sub-fields.
+     */
+    @Bean
+    public UltimateMinimaxService getUltimateMinimaxService() {
+        return new UltimateMctsServiceImpl(
+                engineProperties.getUltimateIterations(),
+                engineProperties.getUltimateTimeBudget(),
+                engineProperties.getMctsExploration()
+        );
+    }
+
+    @Bean
+    public UltimateGameService getUltimateGameService() {
+        return new UltimateGameServiceImpl(getUltimateMinimaxService(), getUltimateGameRepository(),
+                getEngineLoadPolicy());
+    }
+
+    /**
+     * Creates a pool of workers named by the prefix and their index.
+     *
+     * @param prefix The prefix of the names of the workers.
+     * @param parallelism The number of workers, {@code 0} or less for the number of available processors.
+     * @param priority The priority of the workers.
+     */
+    private static ForkJoinPool namedPool(String prefix, int parallelism, int priority) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + thread.getPoolIndex());
+            thread.setPriority(priority);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Creates an alpha-beta search of root moves on the search pool, with a transposition table of its own.
+     */
+    private MinimaxService newParallelSearch() {
+        return solving(new MinimaxServiceImpl(
+                newTranspositionTable(),
+                engineProperties.getMaxDepth(),
+                engineProperties.getTimeBudget(),
+                engineProperties.getParallelism() == 1 ? null : getSearchPool(),
+                getEvaluator()
+        ));
+    }
+
+    private TranspositionTable newTranspositionTable() {
+        return new TranspositionTable(
+                engineProperties.getTranspositionTableSize(),
+                engineProperties.getTranspositionTableReplacement()
+        );
+    }
+
+    /**
+     * Hands endgames and threat-heavy positions to a proof-number solver first, if it is enabled.
+     */
+    private MinimaxService solving(MinimaxService search) {
+        if (!engineProperties.isProofNumberSearch())
+            return search;
+
+        return new ProofNumberMinimaxServiceImpl(
+                search,
+                new ProofNumberSolver(engineProperties.getPnsTableSize(), engineProperties.getPnsMaxNodes()),
+                engineProperties.getPnsEmptyCells(),
+                engineProperties.getPnsThreats()
+        );
+    }
+
+    /**
+     * Wraps an engine in the batch, coalescing and pondering decorators and registers it with its limits.
+     */
+    private void register(EngineRegistry registry, EngineType type, MinimaxService search) {
+        final EngineProperties.EngineSettings settings = engineProperties.getEngine(type);
+
+        if (!settings.isEnabled())
+            return;
+
+        search = new BatchMinimaxServiceImpl(search, getBatchPool());
+
+        if (engineProperties.isCoalesceSearches())
+            search = new CoalescingMinimaxServiceImpl(search);
+
+        if (engineProperties.isPonder())
+            search = new PonderingMinimaxServiceImpl(
+                    search,
+                    getPonderPool(),
+                    getEvaluator(),
+                    engineProperties.getPonderReplies(),
+                    engineProperties.getPonderMaxSearches() > 0
+                            ? engineProperties.getPonderMaxSearches()
+                            : Runtime.getRuntime().availableProcessors()
+            );
+
+        registry.register(
+                type,
+                search,
+                new SearchLimits(settings.getMaxDepth(), settings.getMaxNodes(), settings.getTimeBudget()),
+                settings.getMaxSearches(),
+                new BestMoveCache(engineProperties.getBestMoveCacheSize())
+        );
     }
 }
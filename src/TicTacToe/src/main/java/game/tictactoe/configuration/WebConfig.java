@@ -0,0 +1,74 @@
+package game.tictactoe.configuration;
+
+import game.tictactoe.web.interceptor.DegradationLevelInterceptor;
+import game.tictactoe.web.interceptor.RequestDeadlineInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final DegradationLevelInterceptor degradationLevelInterceptor;
+    private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+    private final EngineProperties engineProperties;
+
+    /**
+     * Executor the asynchronous requests are handled on and the searches of streamed responses run on.
+     * Its threads and queue are bounded, a request that finds both full is refused with a
+     * {@link org.springframework.core.task.TaskRejectedException}. The engine's pools are executors too,
+     * so Spring Boot does not set up its own.
+     */
+    @Bean
+    public AsyncTaskExecutor getRequestExecutor() {
+        final int threads = engineProperties.getRequestThreads() > 0
+                ? engineProperties.getRequestThreads()
+                : 2 * Runtime.getRuntime().availableProcessors();
+
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(engineProperties.getRequestQueueCapacity());
+        executor.setThreadNamePrefix("api-request-");
+        return executor;
+    }
+
+    /**
+     * Single thread that sends the heartbeats of all streamed responses.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService getHeartbeatScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("api-heartbeat").daemon().factory());
+    }
+
+    /**
+     * Registers the interceptors of the API requests.
+     *
+     * @param registry The InterceptorRegistry to register the interceptors with.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(degradationLevelInterceptor)
+                .addPathPatterns("/api/**");
+        registry.addInterceptor(requestDeadlineInterceptor)
+                .addPathPatterns("/api/**");
+    }
+
+    /**
+     * Handles the asynchronous requests on the {@link #getRequestExecutor() request executor}.
+     *
+     * @param configurer The AsyncSupportConfigurer to set the executor of.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(getRequestExecutor());
+    }
+}
@@ -2,9 +2,10 @@ package game.tictactoe.datasource.mapper;
 
 import game.tictactoe.datasource.model.GameRepositoryModel;
 import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.EngineType;
 import game.tictactoe.domain.model.Game;
 import game.tictactoe.domain.model.GameField;
-import game.tictactoe.domain.service.GameAttribute;
 import org.mapstruct.Mapper;
 
 /**
@@ -26,15 +27,19 @@ public interface GameMapper {
     default GameRepositoryModel toModel(final Game game){
         if(game == null) return null;
 
+        final GameField gameField = game.getGameField();
+
         final GameRepositoryModel gameModel = new GameRepositoryModel(
                 game.getUuid(),
-                game.getPlayerSide().getValue()
+                game.getPlayerSide().getValue(),
+                gameField.getSize(),
+                gameField.getWinLength(),
+                game.getDifficulty().name(),
+                game.getEngine() != null ? game.getEngine().name() : null
         );
 
-        final GameField gameField = game.getGameField();
-
-        for(int i = 0; i < GameAttribute.ROWS.getValue(); i++)
-            for(int j = 0; j < GameAttribute.COLS.getValue(); j++)
+        for(int i = 0; i < gameField.getSize(); i++)
+            for(int j = 0; j < gameField.getSize(); j++)
                 gameModel.setCell(i, j, gameField.getCell(i, j).getValue());
 
         return gameModel;
@@ -51,13 +56,16 @@ public interface GameMapper {
 
         final Game game = new Game(
                 gameModel.getUuid(),
-                CellType.valueOf(gameModel.getPlayerSide())
+                CellType.valueOf(gameModel.getPlayerSide()),
+                new GameField(gameModel.getSize(), gameModel.getWinLength()),
+                Difficulty.valueOf(gameModel.getDifficulty()),
+                gameModel.getEngine() != null ? EngineType.valueOf(gameModel.getEngine()) : null
         );
 
         final GameField gameField = game.getGameField();
 
-        for(int i = 0; i < GameAttribute.ROWS.getValue(); i++)
-            for(int j = 0; j < GameAttribute.COLS.getValue(); j++)
+        for(int i = 0; i < gameField.getSize(); i++)
+            for(int j = 0; j < gameField.getSize(); j++)
                 gameField.setCell(i, j, CellType.valueOf(gameModel.getCell(i, j)));
 
         return game;
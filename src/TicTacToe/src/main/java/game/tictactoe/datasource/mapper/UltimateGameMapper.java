@@ -0,0 +1,68 @@
+package game.tictactoe.datasource.mapper;
+
+import game.tictactoe.datasource.model.UltimateGameRepositoryModel;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.UltimateField;
+import game.tictactoe.domain.model.UltimateGame;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper class that provides the conversion between {@link UltimateGame} and {@link UltimateGameRepositoryModel} objects.
+ *
+ * <p> Uses the MapStruct library to automatically generate the conversion code.
+ * The {@link Mapper} annotation specifies that this class is a mapper.
+ */
+@Mapper
+public interface UltimateGameMapper {
+
+    /**
+     * Maps an {@link UltimateGame} entity to an {@link UltimateGameRepositoryModel}.
+     *
+     * @param game The {@link UltimateGame} entity to be mapped.
+     * @return The corresponding {@link UltimateGameRepositoryModel}.
+     */
+    default UltimateGameRepositoryModel toModel(final UltimateGame game){
+        if(game == null) return null;
+
+        final UltimateField field = game.getField();
+
+        final UltimateGameRepositoryModel gameModel = new UltimateGameRepositoryModel(
+                game.getUuid(),
+                game.getPlayerSide().getValue(),
+                game.getDifficulty().name(),
+                field.getActiveSubField()
+        );
+
+        for(int i = 0; i < UltimateField.SIZE; i++)
+            for(int j = 0; j < UltimateField.SIZE; j++)
+                gameModel.setCell(i, j, field.getCell(i, j).getValue());
+
+        return gameModel;
+    }
+
+    /**
+     * Maps an {@link UltimateGameRepositoryModel} to an {@link UltimateGame} entity.
+     *
+     * @param gameModel The {@link UltimateGameRepositoryModel} to be mapped.
+     * @return The corresponding {@link UltimateGame} entity.
+     */
+    default UltimateGame toEntity(final UltimateGameRepositoryModel gameModel){
+        if(gameModel == null) return null;
+
+        final UltimateField field = new UltimateField();
+
+        for(int i = 0; i < UltimateField.SIZE; i++)
+            for(int j = 0; j < UltimateField.SIZE; j++)
+                field.setCell(i, j, CellType.valueOf(gameModel.getCell(i, j)));
+
+        field.setActiveSubField(gameModel.getActiveSubField());
+
+        return new UltimateGame(
+                gameModel.getUuid(),
+                CellType.valueOf(gameModel.getPlayerSide()),
+                field,
+                Difficulty.valueOf(gameModel.getDifficulty())
+        );
+    }
+}
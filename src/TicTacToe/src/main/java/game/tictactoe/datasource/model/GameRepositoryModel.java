@@ -1,7 +1,10 @@
 package game.tictactoe.datasource.model;
 
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.service.GameAttribute;
 import lombok.Getter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -18,21 +21,63 @@ public class GameRepositoryModel {
      */
     private final Character playerSide;
 
+    /**
+     * The number of marks in a row needed to win.
+     */
+    private final int winLength;
+
+    /**
+     * The strength of the computer opponent ("EASY", "MEDIUM" or "HARD").
+     */
+    private final String difficulty;
+
+    /**
+     * The engine of the computer opponent, {@code null} for the default engine.
+     */
+    private final String engine;
+
     /**
      *The game board, represented as a two-dimensional list of characters.
      * ' ' represents an empty cell, 'X' represents a cross, and 'O' represents a nought.
      */
-    private final List<List<Character>> gameField = List.of(
-            Arrays.asList(' ', ' ', ' '),
-            Arrays.asList(' ', ' ', ' '),
-            Arrays.asList(' ', ' ', ' ')
-    );
+    private final List<List<Character>> gameField;
 
     public GameRepositoryModel(UUID uuid, Character playerSide) {
+        this(uuid, playerSide, GameAttribute.ROWS.getValue(), GameAttribute.WIN_LENGTH.getValue());
+    }
+
+    public GameRepositoryModel(UUID uuid, Character playerSide, int size, int winLength) {
+        this(uuid, playerSide, size, winLength, Difficulty.HARD.name());
+    }
+
+    public GameRepositoryModel(UUID uuid, Character playerSide, int size, int winLength, String difficulty) {
+        this(uuid, playerSide, size, winLength, difficulty, null);
+    }
+
+    public GameRepositoryModel(UUID uuid, Character playerSide, int size, int winLength, String difficulty,
+                               String engine) {
         this.uuid = uuid;
         this.playerSide = playerSide;
+        this.winLength = winLength;
+        this.difficulty = difficulty;
+        this.engine = engine;
+
+        final List<List<Character>> rows = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            final Character[] row = new Character[size];
+            Arrays.fill(row, ' ');
+            rows.add(Arrays.asList(row));
+        }
+
+        this.gameField = List.copyOf(rows);
     }
 
+    /**
+     * @return The number of rows and columns of the game board.
+     */
+    public int getSize() { return gameField.size(); }
+
     /**
      * Sets the value of a cell on the game board.
      *
@@ -0,0 +1,78 @@
+package game.tictactoe.datasource.model;
+
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.UltimateField;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class UltimateGameRepositoryModel {
+    /**
+     * The unique identifier for the game.
+     */
+    private final UUID uuid;
+
+    /**
+     * The side of the player ('X' or 'O').
+     */
+    private final Character playerSide;
+
+    /**
+     * The strength of the computer opponent ("EASY", "MEDIUM" or "HARD").
+     */
+    private final String difficulty;
+
+    /**
+     * The sub-field the next move has to be made in, -1 for any open one.
+     */
+    private final int activeSubField;
+
+    /**
+     * The whole 9x9 game board, represented as a two-dimensional list of characters.
+     * ' ' represents an empty cell, 'X' represents a cross, and 'O' represents a nought.
+     */
+    private final List<List<Character>> gameField;
+
+    public UltimateGameRepositoryModel(UUID uuid, Character playerSide) {
+        this(uuid, playerSide, Difficulty.HARD.name(), UltimateField.ANY);
+    }
+
+    public UltimateGameRepositoryModel(UUID uuid, Character playerSide, String difficulty, int activeSubField) {
+        this.uuid = uuid;
+        this.playerSide = playerSide;
+        this.difficulty = difficulty;
+        this.activeSubField = activeSubField;
+
+        final List<List<Character>> rows = new ArrayList<>(UltimateField.SIZE);
+
+        for (int i = 0; i < UltimateField.SIZE; i++) {
+            final Character[] row = new Character[UltimateField.SIZE];
+            Arrays.fill(row, ' ');
+            rows.add(Arrays.asList(row));
+        }
+
+        this.gameField = List.copyOf(rows);
+    }
+
+    /**
+     * Sets the value of a cell on the game board.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @param cell The value to set ('X', 'O', or ' ').
+     */
+    public void setCell(int row, int col, Character cell) { gameField.get(row).set(col, cell);}
+
+    /**
+     * Gets the value of a cell on the game board.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The value of the cell ('X', 'O', or ' ').
+     */
+    public Character getCell(int row, int col) { return gameField.get(row).get(col); }
+}
@@ -0,0 +1,33 @@
+package game.tictactoe.datasource.repository;
+
+import game.tictactoe.domain.model.UltimateGame;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UltimateGameRepository {
+
+    /**
+     * Saves the given {@link UltimateGame} entity to the repository.
+     *
+     * @param game The game entity to be saved.
+     * @return The saved game entity.
+     */
+    UltimateGame save(final UltimateGame game);
+
+    /**
+     * Deletes the {@link UltimateGame} with the given {@link UUID} from the repository.
+     *
+     * @param uuid The UUID of the {@link UltimateGame} to be deleted.
+     * @return The deleted {@link UltimateGame} entity.
+     */
+    Optional<UltimateGame> deleteByUuid(final UUID uuid);
+
+    /**
+     * Finds an {@link UltimateGame} by its {@link UUID} in the repository.
+     *
+     * @param uuid The {@link UUID} of the {@link UltimateGame} to find.
+     * @return An {@link Optional} containing the {@link UltimateGame} if found, otherwise an empty {@link Optional}.
+     */
+    Optional<UltimateGame> findByUuid(final UUID uuid);
+}
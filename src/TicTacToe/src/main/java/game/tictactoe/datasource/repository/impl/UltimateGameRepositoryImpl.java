@@ -0,0 +1,59 @@
+package game.tictactoe.datasource.repository.impl;
+
+import game.tictactoe.datasource.mapper.UltimateGameMapper;
+import game.tictactoe.datasource.model.UltimateGameRepositoryModel;
+import game.tictactoe.datasource.repository.UltimateGameRepository;
+import game.tictactoe.domain.model.UltimateGame;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class UltimateGameRepositoryImpl implements UltimateGameRepository {
+
+    /**
+     * In-memory storage for games using a {@link ConcurrentHashMap} for thread-safe access.
+     */
+    private final Map<UUID, UltimateGameRepositoryModel> games;
+
+    /**
+     * Mapper for converting between {@link UltimateGame} and {@link UltimateGameRepositoryModel} entities.
+     */
+    private final UltimateGameMapper mapper;
+
+    @Override
+    public UltimateGame save(UltimateGame game) {
+        if(game == null) return null;
+
+        games.put(
+                game.getUuid(),
+                mapper.toModel(game)
+        );
+
+        return game;
+    }
+
+    @Override
+    public Optional<UltimateGame> deleteByUuid(UUID uuid) {
+        if(uuid == null) return Optional.empty();
+
+        var game = games.remove(uuid);
+
+        if(game == null) return Optional.empty();
+
+        return Optional.ofNullable(mapper.toEntity(game));
+    }
+
+    @Override
+    public Optional<UltimateGame> findByUuid(UUID uuid) {
+        var game = games.get(uuid);
+
+        if(game == null)
+            return Optional.empty();
+
+        return Optional.ofNullable(mapper.toEntity(game));
+    }
+}
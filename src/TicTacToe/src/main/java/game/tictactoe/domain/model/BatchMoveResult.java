@@ -0,0 +1,10 @@
+package game.tictactoe.domain.model;
+
+/**
+ * Represents the computer's move for one position of a batch.
+ *
+ * @param index The index of the position in the batch.
+ * @param status The textual representation of the state of the game after the move.
+ * @param move The move, or a position of {@link Position#NOT_VALID_POS} if the game was already over.
+ */
+public record BatchMoveResult(int index, String status, Position move) {}
@@ -0,0 +1,212 @@
+package game.tictactoe.domain.model;
+
+import game.tictactoe.domain.service.GameAttribute;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shape of a square game field with a K-in-a-row win condition.
+ *
+ * <p> Cell {@code (row, col)} maps to bit {@code row * size + col} of a {@code long} bitboard.
+ * The masks of all winning lines are generated once per (size, win length) pair and shared
+ * through {@link #of(int, int)}, so win detection is always a scan over a precomputed table.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class BoardGeometry {
+
+    /**
+     * The classic 3x3 field with three in a row.
+     */
+    public static final BoardGeometry DEFAULT = new BoardGeometry(
+            GameAttribute.ROWS.getValue(), GameAttribute.WIN_LENGTH.getValue()
+    );
+
+    private static final Map<Integer, BoardGeometry> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Number of rows and columns.
+     */
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final int size;
+
+    /**
+     * Number of marks in a row needed to win.
+     */
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final int winLength;
+
+    /**
+     * Number of cells on the field.
+     */
+    private final int cells;
+
+    /**
+     * Mask with a bit set for every cell of the field.
+     */
+    private final long fullMask;
+
+    /**
+     * Masks of every winning line.
+     */
+    private final long[] winMasks;
+
+    /**
+     * For every cell, the masks of the winning lines passing through it.
+     */
+    private final long[][] cellWinMasks;
+
+    private BoardGeometry(int size, int winLength) {
+        if (size < GameAttribute.MIN_SIZE.getValue() || size > GameAttribute.MAX_SIZE.getValue())
+            throw new IllegalArgumentException("Invalid field size: " + size);
+        if (winLength < GameAttribute.WIN_LENGTH.getValue() || winLength > size)
+            throw new IllegalArgumentException("Invalid win length: " + winLength);
+
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = size * size;
+        this.fullMask = cells == Long.SIZE ? -1L : (1L << cells) - 1;
+        this.winMasks = generateWinMasks(size, winLength);
+        this.cellWinMasks = new long[cells][];
+
+        for (int cell = 0; cell < cells; cell++) {
+            final long bit = 1L << cell;
+            final List<Long> through = new ArrayList<>();
+
+            for (long mask : winMasks)
+                if ((mask & bit) != 0)
+                    through.add(mask);
+
+            cellWinMasks[cell] = through.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    /**
+     * Returns the geometry for the given size and win length.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @return The shared geometry instance.
+     * @throws IllegalArgumentException If the size or the win length is out of range.
+     */
+    public static BoardGeometry of(int size, int winLength) {
+        if (size == DEFAULT.size && winLength == DEFAULT.winLength)
+            return DEFAULT;
+
+        final BoardGeometry cached = CACHE.get(size * Long.SIZE + winLength);
+        if (cached != null)
+            return cached;
+
+        final BoardGeometry geometry = new BoardGeometry(size, winLength);
+        final BoardGeometry existing = CACHE.putIfAbsent(size * Long.SIZE + winLength, geometry);
+
+        return existing != null ? existing : geometry;
+    }
+
+    /**
+     * Checks whether a bitboard contains at least one complete winning line.
+     *
+     * @param board The bitboard of one side.
+     * @return true if any line mask is fully covered by the board.
+     */
+    public boolean isWin(long board) {
+        for (long mask : winMasks) {
+            if ((board & mask) == mask)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether placing a mark on the given cell completed a winning line.
+     *
+     * @param board The bitboard of the side that placed the mark, including the mark.
+     * @param cell The cell index of the mark.
+     * @return true if a line through the cell is fully covered by the board.
+     */
+    public boolean isWinThrough(long board, int cell) {
+        for (long mask : cellWinMasks[cell]) {
+            if ((board & mask) == mask)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the empty cells that would complete a line for one side.
+     *
+     * @param board The bitboard of the side.
+     * @param other The bitboard of the other side.
+     * @return A mask of the cells that win at once for the side.
+     */
+    public long threats(long board, long other) {
+        long result = 0;
+
+        for (long mask : winMasks) {
+            if ((other & mask) == 0 && Long.bitCount(board & mask) == winLength - 1)
+                result |= mask & ~board;
+        }
+
+        return result;
+    }
+
+    /**
+     * Converts a row and a column to a cell index.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The cell index.
+     */
+    public int index(int row, int col) { return row * size + col; }
+
+    public long[] getWinMasks() { return winMasks.clone(); }
+
+    /**
+     * @return The number of winning lines on the field.
+     */
+    public int getLineCount() { return winMasks.length; }
+
+    /**
+     * Returns a single winning line without copying the whole table, for scans in the search.
+     *
+     * @param line The index of the line, below {@link #getLineCount()}.
+     * @return The mask of the line.
+     */
+    public long getWinMask(int line) { return winMasks[line]; }
+
+    public long[] getCellWinMasks(int cell) { return cellWinMasks[cell].clone(); }
+
+    private static long[] generateWinMasks(int size, int winLength) {
+        final int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        final List<Long> masks = new ArrayList<>();
+
+        for (int[] direction : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    final int endRow = row + direction[0] * (winLength - 1);
+                    final int endCol = col + direction[1] * (winLength - 1);
+
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size)
+                        continue;
+
+                    long mask = 0;
+                    for (int i = 0; i < winLength; i++)
+                        mask |= 1L << ((row + direction[0] * i) * size + col + direction[1] * i);
+
+                    masks.add(mask);
+                }
+            }
+        }
+
+        return masks.stream().mapToLong(Long::longValue).toArray();
+    }
+}
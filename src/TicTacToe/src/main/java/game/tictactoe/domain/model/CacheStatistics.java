@@ -0,0 +1,12 @@
+package game.tictactoe.domain.model;
+
+/**
+ * Represents the counters of a cache, used to size it.
+ *
+ * @param hits The number of lookups answered by the cache.
+ * @param misses The number of lookups not answered by the cache.
+ * @param evictions The number of entries dropped or not admitted because the cache was full.
+ * @param size The number of entries in the cache.
+ * @param capacity The maximum number of entries of the cache.
+ */
+public record CacheStatistics(long hits, long misses, long evictions, int size, int capacity) {}
@@ -0,0 +1,34 @@
+package game.tictactoe.domain.model;
+
+/**
+ * How far the engine has stepped down to cheaper searches because it is overloaded, from not at all
+ * to the furthest.
+ *
+ * <p> Every level only ever tightens the {@link Difficulty} of a search, so an easy game is never
+ * played stronger because the engine is busy. Moves an engine knows without searching, such as those
+ * of the perfect-play table, are looked up with the limits of the difficulty at every level, so a
+ * degraded engine never searches a position it would otherwise have looked up.
+ */
+public enum DegradationLevel {
+    /**
+     * Searches run within the limits of their difficulty.
+     */
+    NONE,
+
+    /**
+     * The time budget of every search is cut.
+     */
+    REDUCED_BUDGET,
+
+    /**
+     * Searches also look at most as far ahead as on {@link Difficulty#MEDIUM}.
+     */
+    SHALLOW,
+
+    /**
+     * Moves come from the engine's table or the best-move cache where they cover the position, in the
+     * cache also as found for a difficulty below the game's, and from a search as short as on
+     * {@link Difficulty#EASY} only as the last resort.
+     */
+    MINIMAL
+}
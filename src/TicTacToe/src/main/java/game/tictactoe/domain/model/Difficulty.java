@@ -0,0 +1,33 @@
+package game.tictactoe.domain.model;
+
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Strength of the computer opponent of a game.
+ *
+ * <p> Every level maps to the {@link SearchLimits} of the engine's search. Below {@link #HARD}
+ * the search stops early and scores the positions it stops at heuristically, so it both plays
+ * weaker and costs a small fraction of a full search.
+ */
+@Getter
+@AllArgsConstructor
+public enum Difficulty {
+    /**
+     * Looks two moves ahead: takes a win and blocks a threat, but walks into forks.
+     */
+    EASY(new SearchLimits(2, 2_000)),
+
+    /**
+     * Looks four moves ahead within a small node budget.
+     */
+    MEDIUM(new SearchLimits(4, 50_000)),
+
+    /**
+     * Full strength of the engine, perfect play where the engine can afford it.
+     */
+    HARD(SearchLimits.NONE);
+
+    private final SearchLimits limits;
+}
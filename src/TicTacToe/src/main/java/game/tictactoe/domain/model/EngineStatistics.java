@@ -0,0 +1,12 @@
+package game.tictactoe.domain.model;
+
+/**
+ * Represents the usage of one engine of the registry.
+ *
+ * @param engine The engine.
+ * @param searches The number of searches the engine has run.
+ * @param inFlight The number of searches running.
+ * @param rejected The number of searches that timed out waiting for the engine to be free.
+ * @param latencyMillis The average latency of the engine's searches in milliseconds.
+ */
+public record EngineStatistics(EngineType engine, long searches, int inFlight, long rejected, long latencyMillis) {}
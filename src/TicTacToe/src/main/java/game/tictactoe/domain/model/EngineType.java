@@ -0,0 +1,39 @@
+package game.tictactoe.domain.model;
+
+/**
+ * Engines a game can be played against, from the cheapest to the strongest per move.
+ *
+ * <p> A game keeps the engine it was created with for all its moves. Which engines are available,
+ * and within which limits they search, is configured per deployment.
+ */
+public enum EngineType {
+    /**
+     * A two-ply search scored by the evaluation, for high volumes: takes a win and blocks a threat, nothing more.
+     */
+    HEURISTIC,
+
+    /**
+     * Monte Carlo tree search within a playout and time budget.
+     */
+    MCTS,
+
+    /**
+     * Iteratively deepened alpha-beta search on the request thread.
+     */
+    ALPHA_BETA,
+
+    /**
+     * Negamax with principal variation search and aspiration windows on the request thread.
+     */
+    NEGAMAX,
+
+    /**
+     * Alpha-beta search with the root moves split across the workers of the search pool.
+     */
+    PARALLEL,
+
+    /**
+     * Perfect play from the build-time generated table on the 3x3 field, the parallel search elsewhere.
+     */
+    PERFECT_TABLE
+}
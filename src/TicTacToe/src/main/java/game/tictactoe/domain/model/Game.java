@@ -1,5 +1,7 @@
 package game.tictactoe.domain.model;
 
+import game.tictactoe.domain.service.WinState;
+import game.tictactoe.domain.utils.GameStateTracker;
 import lombok.*;
 
 import java.util.UUID;
@@ -8,22 +10,77 @@ import java.util.UUID;
  * Represents a single game of Tic-Tac-Toe.
  *
  * <p> This class encapsulates the game's state, including its unique identifier,
- * the player's assigned side (X or O), and the game board itself.
+ * the player's assigned side (X or O), the game board itself, the strength of the computer opponent
+ * and the engine it is played by.
+ *
+ * <p> Moves made through {@link #move(int, CellType)} keep the state of the game up to date
+ * incrementally, see {@link GameStateTracker}.
  */
 @Getter
 @ToString
 @EqualsAndHashCode
-@AllArgsConstructor
 public class Game {
     @Setter
     private UUID uuid;
     @Setter
     private CellType playerSide;
     private final GameField gameField;
+    private final Difficulty difficulty;
 
-    public Game(UUID uuid, CellType playerSide) {
+    /**
+     * The engine of the computer opponent, {@code null} for the default engine.
+     */
+    private final EngineType engine;
+
+    /**
+     * Created on first use from the field as it is at that moment.
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private GameStateTracker stateTracker;
+
+    public Game(UUID uuid, CellType playerSide, GameField gameField, Difficulty difficulty, EngineType engine) {
         this.uuid = uuid;
         this.playerSide = playerSide;
-        this.gameField = new GameField();
+        this.gameField = gameField;
+        this.difficulty = difficulty;
+        this.engine = engine;
+    }
+
+    public Game(UUID uuid, CellType playerSide, GameField gameField, Difficulty difficulty) {
+        this(uuid, playerSide, gameField, difficulty, null);
+    }
+
+    public Game(UUID uuid, CellType playerSide, GameField gameField) {
+        this(uuid, playerSide, gameField, Difficulty.HARD);
+    }
+
+    public Game(UUID uuid, CellType playerSide) {
+        this(uuid, playerSide, new GameField());
+    }
+
+    /**
+     * Places a mark on an empty cell of the field.
+     *
+     * @param cell The cell index of the move.
+     * @param side The side making the move (X or O).
+     * @return The state of the game after the move.
+     */
+    public WinState move(int cell, CellType side) {
+        return tracker().play(cell, side);
+    }
+
+    /**
+     * @return The state of the game after the last move.
+     */
+    public WinState getState() {
+        return tracker().getState();
+    }
+
+    private GameStateTracker tracker() {
+        if (stateTracker == null)
+            stateTracker = new GameStateTracker(gameField);
+        return stateTracker;
     }
 }
@@ -1,29 +1,175 @@
 package game.tictactoe.domain.model;
 
 import lombok.EqualsAndHashCode;
-import lombok.NoArgsConstructor;
-import lombok.ToString;
+import lombok.Getter;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents the game field for a Tic-Tac-Toe game.
+ *
+ * <p> The field is stored as two bitboards, one per side. Cell {@code (row, col)}
+ * maps to bit {@code row * size + col}, so win, draw and empty-cell checks are
+ * reduced to comparisons against the line masks of the field's {@link BoardGeometry}.
  */
-@ToString
 @EqualsAndHashCode
-@NoArgsConstructor
 public class GameField {
     /**
-     * Internal representation of the game field as a 2D list of {@link CellType} objects.
+     * Size and win condition of the field.
      */
-    private final List<List<CellType>> fieldMatrix = List.of(
-            Arrays.asList(CellType.EMPTY, CellType.EMPTY, CellType.EMPTY),
-            Arrays.asList(CellType.EMPTY, CellType.EMPTY, CellType.EMPTY),
-            Arrays.asList(CellType.EMPTY, CellType.EMPTY, CellType.EMPTY)
-    );
+    @Getter
+    private final BoardGeometry geometry;
 
-    public CellType getCell(int row, int col) { return fieldMatrix.get(row).get(col); }
+    /**
+     * Bitboard of the cells occupied by X.
+     */
+    private long xBoard;
+
+    /**
+     * Bitboard of the cells occupied by O.
+     */
+    private long oBoard;
+
+    /**
+     * Creates an empty field of the default size.
+     */
+    public GameField() {
+        this(BoardGeometry.DEFAULT);
+    }
+
+    /**
+     * Creates an empty square field.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     */
+    public GameField(int size, int winLength) {
+        this(BoardGeometry.of(size, winLength));
+    }
+
+    /**
+     * Creates an empty field of the given geometry.
+     *
+     * @param geometry The size and win condition of the field.
+     */
+    public GameField(BoardGeometry geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * Creates a copy of the given field.
+     *
+     * @param other The field to copy.
+     */
+    public GameField(GameField other) {
+        this.geometry = other.geometry;
+        this.xBoard = other.xBoard;
+        this.oBoard = other.oBoard;
+    }
+
+    /**
+     * @return The number of rows and columns of the field.
+     */
+    public int getSize() { return geometry.getSize(); }
+
+    /**
+     * @return The number of marks in a row needed to win.
+     */
+    public int getWinLength() { return geometry.getWinLength(); }
+
+    public CellType getCell(int row, int col) { return getCell(index(row, col)); }
+
+    public void setCell(int row, int col, CellType cellType) { setCell(index(row, col), cellType); }
+
+    /**
+     * Gets the value of a cell by its bit index.
+     *
+     * @param index The cell index ({@code row * size + col}).
+     * @return The {@link CellType} stored in the cell.
+     */
+    public CellType getCell(int index) {
+        final long bit = 1L << index;
+
+        if ((xBoard & bit) != 0)
+            return CellType.X;
+        if ((oBoard & bit) != 0)
+            return CellType.O;
+        return CellType.EMPTY;
+    }
+
+    /**
+     * Sets the value of a cell by its bit index.
+     *
+     * @param index The cell index ({@code row * size + col}).
+     * @param cellType The value to store in the cell.
+     */
+    public void setCell(int index, CellType cellType) {
+        final long bit = 1L << index;
+
+        xBoard &= ~bit;
+        oBoard &= ~bit;
+
+        if (cellType == CellType.X)
+            xBoard |= bit;
+        else if (cellType == CellType.O)
+            oBoard |= bit;
+    }
+
+    /**
+     * Returns the bitboard of the given side.
+     *
+     * @param side The side (X or O).
+     * @return The bitboard of the side, or the empty-cell mask for {@link CellType#EMPTY}.
+     */
+    public long getBoard(CellType side) {
+        return switch (side) {
+            case X -> xBoard;
+            case O -> oBoard;
+            case EMPTY -> getEmptyCells();
+        };
+    }
+
+    /**
+     * @return A mask with a bit set for every empty cell.
+     */
+    public long getEmptyCells() { return ~(xBoard | oBoard) & geometry.getFullMask(); }
+
+    /**
+     * @return true if every cell of the field is occupied.
+     */
+    public boolean isFull() { return (xBoard | oBoard) == geometry.getFullMask(); }
+
+    /**
+     * Checks whether the given side has completed any winning line.
+     *
+     * @param side The side to check (X or O).
+     * @return true if the side owns all cells of at least one line.
+     */
+    public boolean hasWon(CellType side) {
+        return geometry.isWin(getBoard(side));
+    }
+
+    /**
+     * Converts a row and a column to a cell index.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The cell index.
+     */
+    public int index(int row, int col) { return geometry.index(row, col); }
+
+    @Override
+    public String toString() {
+        final List<List<CellType>> rows = new ArrayList<>();
+
+        for (int i = 0; i < getSize(); i++) {
+            final List<CellType> row = new ArrayList<>();
+            for (int j = 0; j < getSize(); j++)
+                row.add(getCell(i, j));
+            rows.add(row);
+        }
 
-    public void setCell(int row, int col, CellType cellType) { fieldMatrix.get(row).set(col, cellType);}
+        return "GameField(winLength=" + getWinLength() + ", fieldMatrix=" + rows + ")";
+    }
 }
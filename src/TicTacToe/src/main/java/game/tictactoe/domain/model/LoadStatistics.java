@@ -0,0 +1,11 @@
+package game.tictactoe.domain.model;
+
+/**
+ * Represents the load of the engine and how far it has stepped down because of it.
+ *
+ * @param level The current degradation level.
+ * @param inFlight The number of searches running.
+ * @param queued The number of searches queued on the engine's pools.
+ * @param latencyMillis The average latency of recent searches in milliseconds.
+ */
+public record LoadStatistics(DegradationLevel level, int inFlight, int queued, long latencyMillis) {}
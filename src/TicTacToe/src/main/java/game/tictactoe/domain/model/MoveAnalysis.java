@@ -0,0 +1,32 @@
+package game.tictactoe.domain.model;
+
+/**
+ * Represents the value of one move in a position, as found by the engine.
+ *
+ * @param move The move.
+ * @param outcome The result the move leads to with best play of both sides.
+ * @param score The engine's score of the move for the side making it: the higher, the better.
+ * @param distance The number of moves until the game ends, this move included, if the outcome is known,
+ *                 otherwise {@link #UNKNOWN_DISTANCE}.
+ */
+public record MoveAnalysis(Position move, Outcome outcome, int score, int distance) {
+
+    /**
+     * The distance of a move whose outcome the search could not determine.
+     */
+    public static final int UNKNOWN_DISTANCE = -1;
+
+    /**
+     * Result of a move for the side making it.
+     */
+    public enum Outcome {
+        WIN,
+        DRAW,
+        LOSS,
+
+        /**
+         * The search stopped before the outcome was certain; the score is an estimate.
+         */
+        UNKNOWN
+    }
+}
@@ -0,0 +1,12 @@
+package game.tictactoe.domain.model;
+
+import java.util.List;
+
+/**
+ * Represents the analysis of a position: the value of every move the side to move can make.
+ *
+ * @param status The textual representation of the state of the game on the position.
+ * @param side The side to move.
+ * @param moves The analysis of every empty cell in row-major order, empty if the game is over.
+ */
+public record PositionAnalysis(String status, CellType side, List<MoveAnalysis> moves) {}
@@ -0,0 +1,365 @@
+package game.tictactoe.domain.model;
+
+import game.tictactoe.domain.service.WinState;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the game field of Ultimate Tic-Tac-Toe: nine 3x3 sub-fields laid out as a 3x3 meta-field.
+ *
+ * <p> Every sub-field is stored as two 9-bit boards, one per side, with cell {@code (row, col)} of the
+ * sub-field at bit {@code row * 3 + col} as on a 3x3 {@link GameField}. Next to them the meta-state is kept
+ * as 9-bit masks of the sub-fields won by X, won by O and closed, together with the sub-field the next move
+ * is sent to. So the whole position fits in a few dozen bytes and every rule is a table lookup or a mask test.
+ *
+ * <p> The rules: X moves first. A move in cell {@code c} of a sub-field sends the opponent to sub-field
+ * {@code c}; if that one is closed, won or full, the opponent may move in any open sub-field. Three marks in a
+ * row win a sub-field, three won sub-fields in a row win the game. A game in which every sub-field is closed
+ * without that is a draw.
+ *
+ * <p> Cell {@code (row, col)} of the whole 9x9 field lies in sub-field {@code (row / 3) * 3 + col / 3}.
+ */
+@EqualsAndHashCode
+public class UltimateField {
+
+    /**
+     * Number of rows and columns of the whole field.
+     */
+    public static final int SIZE = 9;
+
+    /**
+     * Number of sub-fields, and of cells per sub-field.
+     */
+    public static final int SUB_FIELDS = 9;
+
+    /**
+     * Value of {@link #getActiveSubField()} when the next move may be made in any open sub-field.
+     */
+    public static final int ANY = -1;
+
+    /**
+     * Mask with a bit set for every cell of a sub-field, or for every sub-field of the meta-field.
+     */
+    public static final int FULL = (1 << SUB_FIELDS) - 1;
+
+    /**
+     * For every 9-bit board, whether it contains a line of three.
+     */
+    private static final boolean[] LINES = new boolean[1 << SUB_FIELDS];
+
+    static {
+        for (int board = 0; board <= FULL; board++)
+            LINES[board] = BoardGeometry.DEFAULT.isWin(board);
+    }
+
+    /**
+     * Boards of the cells occupied by X, one per sub-field.
+     */
+    private final int[] xBoards = new int[SUB_FIELDS];
+
+    /**
+     * Boards of the cells occupied by O, one per sub-field.
+     */
+    private final int[] oBoards = new int[SUB_FIELDS];
+
+    /**
+     * Mask of the sub-fields won by X.
+     */
+    private int xWon;
+
+    /**
+     * Mask of the sub-fields won by O.
+     */
+    private int oWon;
+
+    /**
+     * Mask of the sub-fields no more moves can be made in, won or full.
+     */
+    private int closed;
+
+    /**
+     * The sub-field the next move has to be made in, or {@link #ANY}.
+     */
+    private int active = ANY;
+
+    /**
+     * Creates an empty field.
+     */
+    public UltimateField() {
+    }
+
+    /**
+     * Creates a copy of the given field.
+     *
+     * @param other The field to copy.
+     */
+    public UltimateField(UltimateField other) {
+        System.arraycopy(other.xBoards, 0, xBoards, 0, SUB_FIELDS);
+        System.arraycopy(other.oBoards, 0, oBoards, 0, SUB_FIELDS);
+        this.xWon = other.xWon;
+        this.oWon = other.oWon;
+        this.closed = other.closed;
+        this.active = other.active;
+    }
+
+    /**
+     * Checks whether a 9-bit board, of a sub-field or of the meta-field, contains a line of three.
+     *
+     * @param board The board.
+     * @return true if the board covers a row, a column or a diagonal.
+     */
+    public static boolean isLine(int board) {
+        return LINES[board];
+    }
+
+    /**
+     * @param row The row index on the whole field.
+     * @param col The column index on the whole field.
+     * @return The sub-field the cell lies in.
+     */
+    public static int subField(int row, int col) {
+        return (row / 3) * 3 + col / 3;
+    }
+
+    /**
+     * @param row The row index on the whole field.
+     * @param col The column index on the whole field.
+     * @return The index of the cell within its sub-field.
+     */
+    public static int cell(int row, int col) {
+        return (row % 3) * 3 + col % 3;
+    }
+
+    /**
+     * @param subField The sub-field.
+     * @param cell The index of the cell within the sub-field.
+     * @return The position of the cell on the whole field.
+     */
+    public static Position position(int subField, int cell) {
+        return new Position((subField / 3) * 3 + cell / 3, (subField % 3) * 3 + cell % 3);
+    }
+
+    /**
+     * @param subField The sub-field.
+     * @param cell The index of the cell within the sub-field.
+     * @return The index of the cell, {@code subField * 9 + cell}.
+     */
+    public static int index(int subField, int cell) {
+        return subField * SUB_FIELDS + cell;
+    }
+
+    public CellType getCell(int row, int col) { return getCell(index(subField(row, col), cell(row, col))); }
+
+    public void setCell(int row, int col, CellType cellType) { setCell(index(subField(row, col), cell(row, col)), cellType); }
+
+    /**
+     * Gets the value of a cell by its index.
+     *
+     * @param index The cell index ({@code subField * 9 + cell}).
+     * @return The {@link CellType} stored in the cell.
+     */
+    public CellType getCell(int index) {
+        final int subField = index / SUB_FIELDS;
+        final int bit = 1 << index % SUB_FIELDS;
+
+        if ((xBoards[subField] & bit) != 0)
+            return CellType.X;
+        if ((oBoards[subField] & bit) != 0)
+            return CellType.O;
+        return CellType.EMPTY;
+    }
+
+    /**
+     * Sets the value of a cell by its index regardless of the rules, as when a stored field is restored.
+     *
+     * @param index The cell index ({@code subField * 9 + cell}).
+     * @param cellType The value to store in the cell.
+     */
+    public void setCell(int index, CellType cellType) {
+        final int subField = index / SUB_FIELDS;
+        final int bit = 1 << index % SUB_FIELDS;
+
+        xBoards[subField] &= ~bit;
+        oBoards[subField] &= ~bit;
+
+        if (cellType == CellType.X)
+            xBoards[subField] |= bit;
+        else if (cellType == CellType.O)
+            oBoards[subField] |= bit;
+
+        updateMeta(subField);
+    }
+
+    /**
+     * Returns the board of one side on one sub-field.
+     *
+     * @param side The side (X or O).
+     * @param subField The sub-field.
+     * @return The 9-bit board of the side, or the empty-cell mask for {@link CellType#EMPTY}.
+     */
+    public int getBoard(CellType side, int subField) {
+        return switch (side) {
+            case X -> xBoards[subField];
+            case O -> oBoards[subField];
+            case EMPTY -> ~(xBoards[subField] | oBoards[subField]) & FULL;
+        };
+    }
+
+    /**
+     * @param side The side (X or O).
+     * @return The mask of the sub-fields won by the side.
+     */
+    public int getWon(CellType side) {
+        return side == CellType.X ? xWon : side == CellType.O ? oWon : 0;
+    }
+
+    /**
+     * @return The mask of the sub-fields no more moves can be made in.
+     */
+    public int getClosed() { return closed; }
+
+    /**
+     * @return The sub-field the next move has to be made in, or {@link #ANY}.
+     */
+    public int getActiveSubField() { return active; }
+
+    /**
+     * Sets the sub-field the next move has to be made in, as when a stored field is restored.
+     *
+     * @param subField The sub-field, or {@link #ANY}; a closed sub-field is treated as {@link #ANY}.
+     */
+    public void setActiveSubField(int subField) {
+        if (subField < ANY || subField >= SUB_FIELDS)
+            throw new IllegalArgumentException("Invalid sub-field: " + subField);
+
+        this.active = subField == ANY || (closed & (1 << subField)) != 0 ? ANY : subField;
+    }
+
+    /**
+     * @return The side to move, X if both sides have as many marks, O otherwise.
+     */
+    public CellType getSideToMove() {
+        int x = 0, o = 0;
+
+        for (int subField = 0; subField < SUB_FIELDS; subField++) {
+            x += Integer.bitCount(xBoards[subField]);
+            o += Integer.bitCount(oBoards[subField]);
+        }
+
+        return x == o ? CellType.X : CellType.O;
+    }
+
+    /**
+     * @return The state of the game: won by the side with three sub-fields in a row, drawn once every
+     *         sub-field is closed, going on otherwise.
+     */
+    public WinState getState() {
+        if (LINES[xWon])
+            return WinState.X_WON;
+        if (LINES[oWon])
+            return WinState.O_WON;
+        if (closed == FULL)
+            return WinState.DRAW;
+        return WinState.CONTINUE;
+    }
+
+    /**
+     * Checks whether the side to move may move in a cell.
+     *
+     * @param subField The sub-field.
+     * @param cell The index of the cell within the sub-field.
+     * @return true if the game goes on, the move is in the active sub-field, or any open one, and the cell is empty.
+     */
+    public boolean isLegal(int subField, int cell) {
+        if (subField < 0 || subField >= SUB_FIELDS || cell < 0 || cell >= SUB_FIELDS)
+            return false;
+        if (getState() != WinState.CONTINUE || (closed & (1 << subField)) != 0)
+            return false;
+        if (active != ANY && active != subField)
+            return false;
+
+        return ((xBoards[subField] | oBoards[subField]) & (1 << cell)) == 0;
+    }
+
+    /**
+     * @return The legal moves of the side to move, as positions on the whole field.
+     */
+    public List<Position> getLegalMoves() {
+        final List<Position> moves = new ArrayList<>();
+
+        if (getState() != WinState.CONTINUE)
+            return moves;
+
+        int subFields = active == ANY ? ~closed & FULL : 1 << active;
+
+        while (subFields != 0) {
+            final int subField = Integer.numberOfTrailingZeros(subFields);
+            int empty = getBoard(CellType.EMPTY, subField);
+
+            while (empty != 0) {
+                moves.add(position(subField, Integer.numberOfTrailingZeros(empty)));
+                empty &= empty - 1;
+            }
+
+            subFields &= subFields - 1;
+        }
+
+        return moves;
+    }
+
+    /**
+     * Makes a move for the side to move and sends the opponent to the sub-field of the cell.
+     *
+     * @param subField The sub-field.
+     * @param cell The index of the cell within the sub-field.
+     * @return The state of the game after the move.
+     * @throws IllegalArgumentException if the move is not legal.
+     */
+    public WinState move(int subField, int cell) {
+        if (!isLegal(subField, cell))
+            throw new IllegalArgumentException("Illegal move: sub-field " + subField + ", cell " + cell);
+
+        setCell(index(subField, cell), getSideToMove());
+        active = (closed & (1 << cell)) != 0 ? ANY : cell;
+
+        return getState();
+    }
+
+    /**
+     * Recomputes the meta-state of a sub-field after one of its cells changed.
+     */
+    private void updateMeta(int subField) {
+        final int bit = 1 << subField;
+
+        xWon &= ~bit;
+        oWon &= ~bit;
+        closed &= ~bit;
+
+        if (LINES[xBoards[subField]])
+            xWon |= bit;
+        else if (LINES[oBoards[subField]])
+            oWon |= bit;
+
+        if (((xWon | oWon) & bit) != 0 || (xBoards[subField] | oBoards[subField]) == FULL)
+            closed |= bit;
+
+        if (active == subField && (closed & bit) != 0)
+            active = ANY;
+    }
+
+    @Override
+    public String toString() {
+        final List<List<CellType>> rows = new ArrayList<>();
+
+        for (int i = 0; i < SIZE; i++) {
+            final List<CellType> row = new ArrayList<>();
+            for (int j = 0; j < SIZE; j++)
+                row.add(getCell(i, j));
+            rows.add(row);
+        }
+
+        return "UltimateField(activeSubField=" + active + ", fieldMatrix=" + rows + ")";
+    }
+}
@@ -0,0 +1,42 @@
+package game.tictactoe.domain.model;
+
+import game.tictactoe.domain.service.WinState;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Represents a single game of Ultimate Tic-Tac-Toe.
+ *
+ * <p> Like {@link Game} it holds the game's unique identifier, the player's side (X or O) and the strength
+ * of the computer opponent, with an {@link UltimateField} in place of the single field.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class UltimateGame {
+    @Setter
+    private UUID uuid;
+    @Setter
+    private CellType playerSide;
+    private final UltimateField field;
+    private final Difficulty difficulty;
+
+    public UltimateGame(UUID uuid, CellType playerSide, UltimateField field, Difficulty difficulty) {
+        this.uuid = uuid;
+        this.playerSide = playerSide;
+        this.field = field;
+        this.difficulty = difficulty;
+    }
+
+    public UltimateGame(UUID uuid, CellType playerSide) {
+        this(uuid, playerSide, new UltimateField(), Difficulty.HARD);
+    }
+
+    /**
+     * @return The state of the game after the last move.
+     */
+    public WinState getState() {
+        return field.getState();
+    }
+}
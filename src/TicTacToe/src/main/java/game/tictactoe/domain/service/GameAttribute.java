@@ -5,12 +5,18 @@ import lombok.Getter;
 
 /**
  * Enumeration for storing game attributes.
+ *
+ * <p> {@link #ROWS}, {@link #COLS} and {@link #WIN_LENGTH} describe the default field,
+ * {@link #MIN_SIZE} and {@link #MAX_SIZE} bound the size of a configurable square field.
  */
 @Getter
 @AllArgsConstructor
 public enum GameAttribute {
     COLS(3),
-    ROWS(3);
+    ROWS(3),
+    WIN_LENGTH(3),
+    MIN_SIZE(3),
+    MAX_SIZE(7);
 
     private final int value;
 }
@@ -1,12 +1,26 @@
 package game.tictactoe.domain.service.gameService;
 
+import game.tictactoe.domain.model.BatchMoveResult;
+import game.tictactoe.domain.model.CacheStatistics;
 import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.EngineStatistics;
+import game.tictactoe.domain.model.EngineType;
 import game.tictactoe.domain.model.Game;
 import game.tictactoe.domain.model.GameCreationResult;
 import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.LoadStatistics;
 import game.tictactoe.domain.model.MoveResult;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.PositionAnalysis;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchProgress;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * This interface defines the core operations for managing a game.
@@ -16,14 +30,46 @@ import java.util.UUID;
  */
 public interface GameService {
     /**
-     * Creates a new game, assigns the specified player side,
-     * and makes the initial move for the game.
+     * Creates a new game against a computer opponent at full strength, {@link Difficulty#HARD},
+     * assigns the specified player side, and makes the initial move for the game.
      *
      * @param playerSide The player's side (X or O).
      * @param gameField The initial state of the game field.
      * @return A {@link GameCreationResult} object containing the game's {@link UUID} and the result of the initial move.
      */
-    GameCreationResult createGameAndMakeFirstMove(final CellType playerSide, final GameField gameField);
+    default GameCreationResult createGameAndMakeFirstMove(final CellType playerSide, final GameField gameField) {
+        return createGameAndMakeFirstMove(playerSide, gameField, Difficulty.HARD);
+    }
+
+    /**
+     * Creates a new game against a computer opponent of the given strength,
+     * assigns the specified player side, and makes the initial move for the game.
+     *
+     * @param playerSide The player's side (X or O).
+     * @param gameField The initial state of the game field.
+     * @param difficulty The strength of the computer opponent for the whole game.
+     * @return A {@link GameCreationResult} object containing the game's {@link UUID} and the result of the initial move.
+     */
+    default GameCreationResult createGameAndMakeFirstMove(final CellType playerSide, final GameField gameField,
+                                                          final Difficulty difficulty) {
+        return createGameAndMakeFirstMove(playerSide, gameField, difficulty, null);
+    }
+
+    /**
+     * Creates a new game against a computer opponent of the given strength played by the given engine,
+     * assigns the specified player side, and makes the initial move for the game.
+     *
+     * <p> The engine is stored with the game, so all its moves are searched by the same engine.
+     *
+     * @param playerSide The player's side (X or O).
+     * @param gameField The initial state of the game field.
+     * @param difficulty The strength of the computer opponent for the whole game.
+     * @param engine The engine of the computer opponent, {@code null} for the default engine.
+     * @return A {@link GameCreationResult} object containing the game's {@link UUID} and the result of the initial move.
+     * @throws game.tictactoe.exception.InvalidRequestBodyException if the engine is not available.
+     */
+    GameCreationResult createGameAndMakeFirstMove(final CellType playerSide, final GameField gameField,
+                                                  final Difficulty difficulty, final EngineType engine);
 
     /**
      * Checks if the given game board matches the previous game state.
@@ -38,16 +84,159 @@ public interface GameService {
      * Processes the next move in the game.
      *
      * <p> This method should update the game state based on the player's move.
+     * The computer's move is taken from the best-move cache of the game's engine if any game has reached
+     * the position before, otherwise the engine searches it within the difficulty's limits, capped to the
+     * engine's own and tightened while the engine is overloaded.
+     * If the player's move has ended the game, it is saved without a computer's move.
+     * If the game goes on, the engine may start pondering about its answer to the player's next move.
      *
      * @param game The current state of the game.
      */
-    void nextMove(final Game game);
+    default void nextMove(final Game game) {
+        nextMove(game, SearchDeadline.NONE);
+    }
+
+    /**
+     * Processes the next move in the game within the deadline of the request.
+     *
+     * <p> As {@link #nextMove(Game)}, but a search that reaches the deadline stops and plays the best move
+     * found so far, which is not shared through the best-move cache.
+     *
+     * @param game The current state of the game.
+     * @param deadline The deadline of the request.
+     * @throws game.tictactoe.exception.SearchTimeoutException if the deadline has passed before the search,
+     *         or the request was cancelled during it. The game is left unchanged.
+     */
+    void nextMove(final Game game, final SearchDeadline deadline);
 
     /**
      * Checks for a win condition in the game.
      *
+     * <p> A finished game is removed and the engine stops pondering about it.
+     *
      * @param game The current state of the game.
      * @return A {@link MoveResult} object indicating the outcome of the game:
      */
     MoveResult checkWin(final Game game);
+
+    /**
+     * Checks that every field of a batch can arise in a game, so that the side to move is known.
+     *
+     * <p> X moves first, so a field must hold as many X as O, with X to move, or one X more, with O to move.
+     *
+     * @param fields The fields of the batch.
+     * @return The side to move in every field.
+     */
+    List<CellType> validateBatch(final List<GameField> fields);
+
+    /**
+     * Finds the computer's move for every field of a batch, without creating any games.
+     *
+     * <p> The fields are searched by the default engine. Fields on which the game is already over are reported
+     * with their state and no move, fields in the engine's best-move cache right away. The results arrive in any order and possibly from
+     * several threads at once.
+     *
+     * @param fields The fields of the batch, checked by {@link #validateBatch(List)}.
+     * @param difficulty The strength of the computer for every field.
+     * @param results Receives the result of every field as soon as it is known.
+     */
+    default void findBestMoves(final List<GameField> fields, final Difficulty difficulty,
+                               final Consumer<BatchMoveResult> results) {
+        findBestMoves(fields, difficulty, SearchDeadline.cancellable(), results);
+    }
+
+    /**
+     * Finds the computer's move for every field of a batch within the deadline of the request, which cuts
+     * the searches short like their time budget. Cancelling the deadline stops the batch.
+     *
+     * @param fields The fields of the batch, checked by {@link #validateBatch(List)}.
+     * @param difficulty The strength of the computer for every field.
+     * @param deadline The deadline of the request.
+     * @param results Receives the result of every field as soon as it is known.
+     * @throws game.tictactoe.exception.SearchTimeoutException if the deadline passes before the engine has a free slot.
+     */
+    void findBestMoves(final List<GameField> fields, final Difficulty difficulty, final SearchDeadline deadline,
+                       final Consumer<BatchMoveResult> results);
+
+    /**
+     * Checks that a field can arise in a game, so that the side to move is known.
+     *
+     * @param field The field.
+     * @return The side to move, X if both sides have as many marks and O if X has one more.
+     */
+    CellType validatePosition(final GameField field);
+
+    /**
+     * Scores every move of the side to move on a field with the default engine, without creating a game.
+     *
+     * <p> The side to move follows from the marks on the field as in {@link #validatePosition(GameField)}.
+     *
+     * @param field The field to analyze.
+     * @param difficulty The strength of the computer the moves are scored with.
+     * @param timeBudget The wall-clock budget of the search, {@link Duration#ZERO} for the engine's own.
+     * @return The state of the game, the side to move and the analysis of every empty cell,
+     *         without moves if the game is already over.
+     */
+    default PositionAnalysis analyze(final GameField field, final Difficulty difficulty, final Duration timeBudget) {
+        return analyze(field, difficulty, timeBudget, SearchDeadline.NONE);
+    }
+
+    /**
+     * Scores every move of the side to move on a field within the deadline of the request, which cuts
+     * the search short like its time budget.
+     *
+     * @param field The field to analyze.
+     * @param difficulty The strength of the computer the moves are scored with.
+     * @param timeBudget The wall-clock budget of the search, {@link Duration#ZERO} for the engine's own.
+     * @param deadline The deadline of the request.
+     * @return The state of the game, the side to move and the analysis of every empty cell,
+     *         without moves if the game is already over.
+     * @throws UnsupportedOperationException if the default engine cannot score single moves.
+     */
+    PositionAnalysis analyze(final GameField field, final Difficulty difficulty, final Duration timeBudget,
+                             final SearchDeadline deadline);
+
+    /**
+     * Searches the best move of the side to move on a field with the default engine, without creating a game,
+     * and reports the best move after every completed depth of the search.
+     *
+     * @param field The field to search, checked by {@link #validatePosition(GameField)}.
+     * @param difficulty The strength of the computer the move is searched with.
+     * @param timeBudget The wall-clock budget of the search, {@link Duration#ZERO} for the engine's own.
+     * @param progress Receives the result of every completed depth and returns false to stop the search.
+     * @return The best move, or a position of {@link Position#NOT_VALID_POS} if the game is already over.
+     */
+    default Position findBestMove(final GameField field, final Difficulty difficulty, final Duration timeBudget,
+                                  final Predicate<SearchProgress> progress) {
+        return findBestMove(field, difficulty, timeBudget, SearchDeadline.NONE, progress);
+    }
+
+    /**
+     * Searches the best move of the side to move on a field within the deadline of the request, which cuts
+     * the search short like its time budget, and reports the best move after every completed depth.
+     *
+     * @param field The field to search, checked by {@link #validatePosition(GameField)}.
+     * @param difficulty The strength of the computer the move is searched with.
+     * @param timeBudget The wall-clock budget of the search, {@link Duration#ZERO} for the engine's own.
+     * @param deadline The deadline of the request.
+     * @param progress Receives the result of every completed depth and returns false to stop the search.
+     * @return The best move, or a position of {@link Position#NOT_VALID_POS} if the game is already over.
+     */
+    Position findBestMove(final GameField field, final Difficulty difficulty, final Duration timeBudget,
+                          final SearchDeadline deadline, final Predicate<SearchProgress> progress);
+
+    /**
+     * @return The hit, miss and eviction counts of the best-move caches of all engines added up.
+     */
+    CacheStatistics getCacheStatistics();
+
+    /**
+     * @return The usage of every available engine.
+     */
+    List<EngineStatistics> getEngineStatistics();
+
+    /**
+     * @return The load of the engine and how far it has stepped down to cheaper searches because of it.
+     */
+    LoadStatistics getLoadStatistics();
 }
@@ -0,0 +1,45 @@
+package game.tictactoe.domain.service.gameService;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.UltimateGame;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+
+import java.util.UUID;
+
+/**
+ * This interface defines the core operations for managing a game of Ultimate Tic-Tac-Toe.
+ *
+ * <p> It follows the flow of {@link GameService}: a game is created against a computer opponent, which
+ * moves first if the player is O, and every move of the player is answered by the computer's move.
+ */
+public interface UltimateGameService {
+
+    /**
+     * Creates a new game against a computer opponent of the given strength, assigns the specified
+     * player side, and makes the computer's first move if the player is O.
+     *
+     * @param playerSide The player's side (X or O).
+     * @param difficulty The strength of the computer opponent for the whole game.
+     * @return The created game.
+     * @throws game.tictactoe.exception.InvalidRequestBodyException if the player side is empty.
+     */
+    UltimateGame createGame(final CellType playerSide, final Difficulty difficulty);
+
+    /**
+     * Makes the player's move and the computer's answer to it.
+     *
+     * <p> The computer's move is searched within the deadline: a search that reaches it plays the best
+     * move found so far. A finished game is removed from the repository.
+     *
+     * @param uuid The UUID of the game.
+     * @param row The row of the player's move on the whole 9x9 field.
+     * @param col The column of the player's move on the whole 9x9 field.
+     * @param deadline The deadline of the request, {@link SearchDeadline#NONE} for none.
+     * @return The game after both moves.
+     * @throws game.tictactoe.exception.ResourceNotFoundException if the game does not exist.
+     * @throws game.tictactoe.exception.InvalidRequestBodyException if the move is not legal.
+     * @throws game.tictactoe.exception.SearchTimeoutException if the deadline passes before the computer's move is searched.
+     */
+    UltimateGame move(final UUID uuid, final int row, final int col, final SearchDeadline deadline);
+}
@@ -2,38 +2,56 @@ package game.tictactoe.domain.service.gameService.impl;
 
 import game.tictactoe.datasource.repository.GameRepository;
 import game.tictactoe.domain.model.CellType;
-import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.domain.service.gameService.GameService;
 import game.tictactoe.domain.service.WinState;
 import game.tictactoe.domain.model.*;
-import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.EngineLoadPolicy;
+import game.tictactoe.domain.service.minimax.EngineRegistry;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
 import game.tictactoe.domain.utils.GameUtils;
 import game.tictactoe.exception.ResourceNotFoundException;
 import game.tictactoe.exception.InvalidRequestBodyException;
+import game.tictactoe.exception.SearchTimeoutException;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Slf4j
 @RequiredArgsConstructor
 public class GameServiceImpl implements GameService {
-    private final MinimaxService minimaxService;
+    private final EngineRegistry engines;
     private final GameRepository gameRepository;
+    private final EngineLoadPolicy loadPolicy;
 
     @Override
-    public GameCreationResult createGameAndMakeFirstMove(@NotNull final CellType playerSide, @NotNull final GameField gameField) {
+    public GameCreationResult createGameAndMakeFirstMove(@NotNull final CellType playerSide, @NotNull final GameField gameField,
+                                                         @NotNull final Difficulty difficulty, final EngineType engine) {
         if (playerSide == CellType.EMPTY)
             throw new InvalidRequestBodyException("Invalid player side, it should be X or O");
 
+        if (engine != null && !engines.contains(engine))
+            throw new InvalidRequestBodyException("Engine " + engine + " is not available");
+
         initialGameFieldValidation(playerSide, gameField);
 
         Game game = new Game(
                 UUID.randomUUID(),
                 playerSide,
-                gameField
+                gameField,
+                difficulty,
+                engines.get(engine).getType()
         );
 
         if(playerSide == CellType.O) {
@@ -64,11 +82,14 @@ public class GameServiceImpl implements GameService {
     private void initialGameFieldValidation(final CellType playerSide, final GameField gameField) {
         int counter = 0;
 
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
+        for (int i = 0; i < gameField.getSize(); i++) {
+            for (int j = 0; j < gameField.getSize(); j++) {
                 final CellType cellType = gameField.getCell(i, j);
                 if (cellType != CellType.EMPTY && (cellType != playerSide || counter++ > 1))
-                    throw new InvalidRequestBodyException("Invalid game field, it should be matrix with 3 rows and 3 columns of X or O or empty cells");
+                    throw new InvalidRequestBodyException(String.format(
+                            "Invalid game field, it should be matrix with %1$d rows and %1$d columns of X or O or empty cells",
+                            gameField.getSize()
+                    ));
             }
         }
 
@@ -90,9 +111,9 @@ public class GameServiceImpl implements GameService {
      */
     @SuppressWarnings("SameParameterValue")
     private void randomMove(Game game, CellType symbol) {
-        int i = ThreadLocalRandom.current().nextInt(GameAttribute.ROWS.getValue());
-        int j = ThreadLocalRandom.current().nextInt(GameAttribute.ROWS.getValue());
-        game.getGameField().setCell(i, j, symbol);
+        int i = ThreadLocalRandom.current().nextInt(game.getGameField().getSize());
+        int j = ThreadLocalRandom.current().nextInt(game.getGameField().getSize());
+        game.move(game.getGameField().index(i, j), symbol);
     }
 
     @Override
@@ -100,9 +121,9 @@ public class GameServiceImpl implements GameService {
         final Game repGame = gameRepository.findByUuid(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Game not found"));
 
-        validateFieldChanges(repGame, newField);
+        final int move = validateFieldChanges(repGame, newField);
 
-        mergeField(repGame.getGameField(), newField);
+        repGame.move(move, repGame.getPlayerSide());
 
         return repGame;
     }
@@ -115,15 +136,20 @@ public class GameServiceImpl implements GameService {
      *
      * @param game The current game instance.
      * @param newField The updated game field.
+     * @return The cell index of the player's move.
      * @throws InvalidRequestBodyException If the changes to the game field are invalid.
      */
-    private void validateFieldChanges(final Game game, final GameField newField) {
+    private int validateFieldChanges(final Game game, final GameField newField) {
         final CellType playerSide = game.getPlayerSide();
         final GameField oldField = game.getGameField();
         int numberOfChangedCells = 0;
+        int move = 0;
+
+        if(newField.getSize() != oldField.getSize())
+            throw new InvalidRequestBodyException("Invalid game field");
 
-        for(int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            for(int j = 0; j < GameAttribute.COLS.getValue(); j++) {
+        for(int i = 0; i < oldField.getSize(); i++) {
+            for(int j = 0; j < oldField.getSize(); j++) {
 
                 final CellType cellType = oldField.getCell(i, j);
                 final CellType newCellType = newField.getCell(i, j);
@@ -132,53 +158,287 @@ public class GameServiceImpl implements GameService {
                     numberOfChangedCells++;
                     if(newCellType != playerSide || numberOfChangedCells > 1)
                         throw new InvalidRequestBodyException("Invalid game field");
+                    move = oldField.index(i, j);
                 }
             }
         }
 
         if(numberOfChangedCells == 0)
             throw new InvalidRequestBodyException("Invalid game field");
+
+        return move;
+    }
+
+    @Override
+    public void nextMove(@NotNull final Game game, @NotNull final SearchDeadline deadline) {
+        // The player's move has ended the game, so the computer has no move left to play
+        if (game.getState() != WinState.CONTINUE) {
+            gameRepository.save(game);
+            return;
+        }
+
+        final CellType side = game.getPlayerSide() == CellType.X ? CellType.O : CellType.X;
+        final EngineRegistry.Engine engine = engines.get(game.getEngine());
+        final SearchLimits limits = engine.limit(game.getDifficulty().getLimits());
+
+        Position p = engine.getCache().get(game.getGameField(), side, limits);
+
+        if (p == null) {
+            if (deadline.isExpired())
+                throw new SearchTimeoutException("The request timed out before the computer's move was searched");
+
+            // A move known without searching costs nothing, so it is looked up with the limits of the
+            // difficulty whatever the load
+            p = engine.getService().lookup(game.getGameField(), side, limits);
+        }
+
+        if (p == null && loadPolicy.getLevel() == DegradationLevel.MINIMAL)
+            p = cachedWeakerMove(engine, game.getGameField(), side, game.getDifficulty());
+
+        if (p == null) {
+            // A request without a deadline still needs one the engine can mark the search truncated on
+            final SearchDeadline search = deadline == SearchDeadline.NONE ? SearchDeadline.cancellable() : deadline;
+            final SearchLimits degraded = loadPolicy.degrade(limits);
+            final SearchLimits bounded = degraded.withDeadline(search);
+            p = loadPolicy.track(() -> engine.search(deadline,
+                    () -> engine.getService().findBestMove(game.getGameField(), side, bounded)));
+
+            if (deadline.isCancelled())
+                throw new SearchTimeoutException("The request was cancelled while the computer's move was searched");
+
+            // A degraded search, or one stopped before its depth by a deadline or the engine's own
+            // time budget, plays weaker than the difficulty, so its move is not shared
+            if (degraded.equals(limits) && !search.isTruncated())
+                engine.getCache().put(game.getGameField(), side, limits, p);
+        }
+
+        if(p.row() != Position.NOT_VALID_POS && p.col() != Position.NOT_VALID_POS)
+            game.move(game.getGameField().index(p.row(), p.col()), side);
+
+        gameRepository.save(game);
+
+        if(game.getState() == WinState.CONTINUE)
+            engine.getService().ponder(game.getGameField(), side, limits);
     }
 
     /**
-     * Merges the changes from the new game field into the old game field.
+     * Looks the move up in the cache at the difficulties below the game's, from the strongest down.
+     * Such a move plays no stronger than the game's difficulty and no weaker than the minimal search it replaces.
      *
-     * <p> This method updates the old game field with the changes from the new game field.
+     * @return The cached move, or {@code null} if none of them is cached.
+     */
+    private static Position cachedWeakerMove(final EngineRegistry.Engine engine, final GameField field,
+                                             final CellType side, final Difficulty difficulty) {
+        final Difficulty[] difficulties = Difficulty.values();
+
+        for (int i = difficulty.ordinal() - 1; i >= 0; i--) {
+            final Position move = engine.getCache().get(field, side, engine.limit(difficulties[i].getLimits()));
+
+            if (move != null)
+                return move;
+        }
+
+        return null;
+    }
+
+    @Override
+    public MoveResult checkWin(@NotNull final Game game) {
+        final WinState winState = game.getState();
+
+        if(winState == WinState.X_WON || winState == WinState.O_WON || winState == WinState.DRAW) {
+            gameRepository.deleteByUuid(game.getUuid());
+            engines.get(game.getEngine()).getService().stopPondering(game.getGameField());
+        }
+
+        return new MoveResult(winState.name(), game.getGameField());
+    }
+
+    @Override
+    public List<CellType> validateBatch(@NotNull final List<GameField> fields) {
+        final List<CellType> sides = new ArrayList<>(fields.size());
+
+        for (int i = 0; i < fields.size(); i++) {
+            final CellType side = sideToMove(fields.get(i));
+
+            if (side == CellType.EMPTY)
+                throw new InvalidRequestBodyException(String.format(
+                        "Invalid game field at index %d, X moves first and the players take turns", i
+                ));
+
+            sides.add(side);
+        }
+
+        return sides;
+    }
+
+    /**
+     * Determines the side to move from the marks on a field.
      *
-     * @param oldField The original {@link GameField}.
-     * @param newField The updated {@link GameField}.
+     * @param field The field.
+     * @return X if both sides have as many marks, O if X has one more, {@link CellType#EMPTY} otherwise.
      */
-    private void mergeField(final GameField oldField, final GameField newField) {
-        for(int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            for(int j = 0; j < GameAttribute.COLS.getValue(); j++) {
-                final CellType oldFieldCell = oldField.getCell(i, j);
-                final CellType newFieldCell = newField.getCell(i, j);
-
-                if(oldFieldCell != newFieldCell)
-                    oldField.setCell(i, j, newFieldCell);
+    private static CellType sideToMove(final GameField field) {
+        final int xCount = Long.bitCount(field.getBoard(CellType.X));
+        final int oCount = Long.bitCount(field.getBoard(CellType.O));
+
+        if (xCount == oCount)
+            return CellType.X;
+        if (xCount == oCount + 1)
+            return CellType.O;
+
+        return CellType.EMPTY;
+    }
+
+    @Override
+    public void findBestMoves(@NotNull final List<GameField> fields, @NotNull final Difficulty difficulty,
+                              @NotNull final SearchDeadline deadline, @NotNull final Consumer<BatchMoveResult> results) {
+        final List<CellType> sides = validateBatch(fields);
+        final List<WinState> states = GameUtils.isGameOver(fields);
+        final List<GameField> openFields = new ArrayList<>();
+        final List<CellType> openSides = new ArrayList<>();
+        final List<Integer> openIndices = new ArrayList<>();
+        final EngineRegistry.Engine engine = engines.get(null);
+        final SearchLimits limits = engine.limit(difficulty.getLimits());
+
+        for (int i = 0; i < fields.size(); i++) {
+            if (states.get(i) != WinState.CONTINUE) {
+                results.accept(new BatchMoveResult(i, states.get(i).name(),
+                        new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS)));
+                continue;
             }
+
+            Position cached = engine.getCache().get(fields.get(i), sides.get(i), limits);
+
+            if (cached == null)
+                cached = engine.getService().lookup(fields.get(i), sides.get(i), limits);
+
+            if (cached != null) {
+                results.accept(new BatchMoveResult(i, stateAfter(fields.get(i), sides.get(i), cached).name(), cached));
+                continue;
+            }
+
+            openFields.add(fields.get(i));
+            openSides.add(sides.get(i));
+            openIndices.add(i);
         }
+
+        log.info("Searching {} of {} positions of a batch", openFields.size(), fields.size());
+
+        if (openFields.isEmpty())
+            return;
+
+        final SearchLimits degraded = loadPolicy.degrade(limits);
+
+        // The positions share the deadline, so once one of them is truncated no later result is cached;
+        // truncation cannot be recorded on NONE
+        final SearchDeadline batch = deadline == SearchDeadline.NONE ? SearchDeadline.cancellable() : deadline;
+
+        // The batch as a whole is no single move, so every position adds the time since the one before
+        // to the latency instead
+        final AtomicLong previous = new AtomicLong(loadPolicy.now());
+
+        loadPolicy.count(() -> engine.search(batch, () -> {
+            engine.getService().findBestMoves(openFields, openSides, degraded.withDeadline(batch), (move, i) -> {
+                final long now = loadPolicy.now();
+                loadPolicy.recordLatency(Duration.ofNanos(now - previous.getAndSet(now)));
+
+                if (degraded.equals(limits) && !batch.isTruncated())
+                    engine.getCache().put(openFields.get(i), openSides.get(i), limits, move);
+
+                results.accept(new BatchMoveResult(openIndices.get(i), stateAfter(openFields.get(i), openSides.get(i), move).name(), move));
+            });
+            return null;
+        }));
     }
 
     @Override
-    public void nextMove(@NotNull final Game game) {
-        final CellType side = game.getPlayerSide() == CellType.X ? CellType.O : CellType.X;
+    public CacheStatistics getCacheStatistics() {
+        return engines.getCacheStatistics();
+    }
 
-        final Position p = minimaxService.findBestMove(game.getGameField(), side);
+    @Override
+    public List<EngineStatistics> getEngineStatistics() {
+        return engines.getStatistics();
+    }
 
-        if(p.row() != Position.NOT_VALID_POS && p.col() != Position.NOT_VALID_POS)
-            game.getGameField().setCell(p.row(), p.col(), side);
+    @Override
+    public LoadStatistics getLoadStatistics() {
+        return loadPolicy.getStatistics();
+    }
 
-        gameRepository.save(game);
+    @Override
+    public CellType validatePosition(@NotNull final GameField field) {
+        final CellType side = sideToMove(field);
+
+        if (side == CellType.EMPTY)
+            throw new InvalidRequestBodyException("Invalid game field, X moves first and the players take turns");
+
+        return side;
     }
 
     @Override
-    public MoveResult checkWin(@NotNull final Game game) {
-        final WinState winState = GameUtils.isGameOver(game.getGameField());
+    public PositionAnalysis analyze(@NotNull final GameField field, @NotNull final Difficulty difficulty,
+                                    @NotNull final Duration timeBudget, @NotNull final SearchDeadline deadline) {
+        final CellType side = validatePosition(field);
+        final WinState state = GameUtils.isGameOver(field);
 
-        if(winState == WinState.X_WON || winState == WinState.O_WON || winState == WinState.DRAW)
-            gameRepository.deleteByUuid(game.getUuid());
+        if (state != WinState.CONTINUE)
+            return new PositionAnalysis(state.name(), side, List.of());
 
-        return new MoveResult(winState.name(), game.getGameField());
+        final EngineRegistry.Engine engine = engines.get(null);
+        final SearchLimits limits = loadPolicy.degrade(engine.limit(difficulty.getLimits().withTimeBudget(timeBudget)))
+                .withDeadline(deadline);
+
+        return new PositionAnalysis(state.name(), side,
+                track(timeBudget, () -> engine.search(deadline, () -> engine.getService().analyze(field, side, limits))));
+    }
+
+    @Override
+    public Position findBestMove(@NotNull final GameField field, @NotNull final Difficulty difficulty,
+                                 @NotNull final Duration timeBudget, @NotNull final SearchDeadline deadline,
+                                 @NotNull final Predicate<SearchProgress> progress) {
+        final CellType side = validatePosition(field);
+
+        if (GameUtils.isGameOver(field) != WinState.CONTINUE)
+            return new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS);
+
+        final EngineRegistry.Engine engine = engines.get(null);
+        final SearchLimits limits = loadPolicy.degrade(engine.limit(difficulty.getLimits().withTimeBudget(timeBudget)))
+                .withDeadline(deadline);
+
+        return track(timeBudget, () -> engine.search(deadline,
+                () -> engine.getService().findBestMove(field, side, limits, progress)));
+    }
+
+    /**
+     * Counts a search towards the load. A search with a time budget of the client's takes as long as the
+     * client asks for, so its latency says nothing about the load and is left out.
+     */
+    private <T> T track(final Duration timeBudget, final Supplier<T> search) {
+        return timeBudget.isZero() ? loadPolicy.track(search) : loadPolicy.count(search);
+    }
+
+    /**
+     * Determines the state of a game after a move without changing the field.
+     *
+     * @param field The field before the move.
+     * @param side The side making the move.
+     * @param move The move.
+     * @return The state of the game after the move.
+     */
+    private static WinState stateAfter(final GameField field, final CellType side, final Position move) {
+        if (move.row() == Position.NOT_VALID_POS || move.col() == Position.NOT_VALID_POS)
+            return WinState.CONTINUE;
+
+        final int cell = field.index(move.row(), move.col());
+        final long board = field.getBoard(side) | (1L << cell);
+
+        if (field.getGeometry().isWinThrough(board, cell))
+            return side == CellType.X ? WinState.X_WON : WinState.O_WON;
+
+        if ((field.getEmptyCells() & ~(1L << cell)) == 0)
+            return WinState.DRAW;
+
+        return WinState.CONTINUE;
     }
 }
@@ -0,0 +1,94 @@
+package game.tictactoe.domain.service.gameService.impl;
+
+import game.tictactoe.datasource.repository.UltimateGameRepository;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.UltimateField;
+import game.tictactoe.domain.model.UltimateGame;
+import game.tictactoe.domain.service.WinState;
+import game.tictactoe.domain.service.gameService.UltimateGameService;
+import game.tictactoe.domain.service.minimax.EngineLoadPolicy;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.UltimateMinimaxService;
+import game.tictactoe.exception.InvalidRequestBodyException;
+import game.tictactoe.exception.ResourceNotFoundException;
+import game.tictactoe.exception.SearchTimeoutException;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+public class UltimateGameServiceImpl implements UltimateGameService {
+    private final UltimateMinimaxService engine;
+    private final UltimateGameRepository gameRepository;
+    private final EngineLoadPolicy loadPolicy;
+
+    @Override
+    public UltimateGame createGame(@NotNull final CellType playerSide, @NotNull final Difficulty difficulty) {
+        if (playerSide == CellType.EMPTY)
+            throw new InvalidRequestBodyException("Invalid player side, it should be X or O");
+
+        final UltimateGame game = new UltimateGame(UUID.randomUUID(), playerSide, new UltimateField(), difficulty);
+
+        if (playerSide == CellType.O)
+            nextMove(game, SearchDeadline.NONE);
+
+        gameRepository.save(game);
+
+        log.info("Created ultimate game: {}", game);
+
+        return game;
+    }
+
+    @Override
+    public UltimateGame move(@NotNull final UUID uuid, final int row, final int col,
+                             @NotNull final SearchDeadline deadline) {
+        final UltimateGame game = gameRepository.findByUuid(uuid)
+                .orElseThrow(() -> new ResourceNotFoundException("Game not found"));
+        final UltimateField field = game.getField();
+
+        if (row < 0 || row >= UltimateField.SIZE || col < 0 || col >= UltimateField.SIZE
+                || !field.isLegal(UltimateField.subField(row, col), UltimateField.cell(row, col)))
+            throw new InvalidRequestBodyException(field.getActiveSubField() == UltimateField.ANY
+                    ? "Invalid move, it should be an empty cell of an open sub-field"
+                    : "Invalid move, it should be an empty cell of sub-field " + field.getActiveSubField());
+
+        field.move(UltimateField.subField(row, col), UltimateField.cell(row, col));
+
+        if (game.getState() == WinState.CONTINUE)
+            nextMove(game, deadline);
+
+        if (game.getState() == WinState.CONTINUE)
+            gameRepository.save(game);
+        else
+            gameRepository.deleteByUuid(game.getUuid());
+
+        return game;
+    }
+
+    /**
+     * Makes the computer's move, searched within the difficulty of the game and the deadline.
+     *
+     * @param game The game, with the computer to move.
+     * @param deadline The deadline of the request.
+     * @throws SearchTimeoutException if the deadline passes before the search, or the request is cancelled during it.
+     */
+    private void nextMove(final UltimateGame game, final SearchDeadline deadline) {
+        if (deadline.isExpired())
+            throw new SearchTimeoutException("The request timed out before the computer's move was searched");
+
+        final SearchLimits limits = loadPolicy.degrade(game.getDifficulty().getLimits()).withDeadline(deadline);
+        final Position p = loadPolicy.track(() -> engine.findBestMove(game.getField(), limits));
+
+        if (deadline.isCancelled())
+            throw new SearchTimeoutException("The request was cancelled while the computer's move was searched");
+
+        if (p.row() != Position.NOT_VALID_POS && p.col() != Position.NOT_VALID_POS)
+            game.getField().move(UltimateField.subField(p.row(), p.col()), UltimateField.cell(p.row(), p.col()));
+    }
+}
@@ -0,0 +1,222 @@
+package game.tictactoe.domain.service.minimax;
+
+import game.tictactoe.domain.model.DegradationLevel;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.LoadStatistics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Steps the engine down to cheaper searches while it is overloaded, and back up once the load drops.
+ *
+ * <p> The load is measured by three signals, each against its own threshold: the number of searches
+ * running, the number of searches queued on the engine's pools and the moving average of the latency
+ * of recent searches. Once any of them reaches its threshold the policy moves one {@link DegradationLevel}
+ * down, once all of them are below {@link #RECOVERY_RATIO} of it the policy moves one level back up.
+ * The level changes at most once per cooldown, so that every step has time to show in the latency
+ * before the next one.
+ *
+ * <p> Searches report to the policy through {@link #track(Supplier)}, or {@link #count(Supplier)} and
+ * {@link #recordLatency(Duration)} per move if they search more than a single move, and get their limits
+ * through {@link #degrade(SearchLimits)}. A disabled policy measures the load but never degrades a search.
+ */
+@Slf4j
+public class EngineLoadPolicy {
+
+    /**
+     * Share of every threshold the load has to fall below before the policy moves back up a level.
+     */
+    public static final double RECOVERY_RATIO = 0.5;
+
+    /**
+     * Weight of a new latency in the moving average.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private static final DegradationLevel[] LEVELS = DegradationLevel.values();
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final long latencyTargetNanos;
+    private final long cooldownNanos;
+    private final SearchLimits reducedBudget;
+    private final IntSupplier queued;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    private volatile DegradationLevel level = DegradationLevel.NONE;
+    private volatile long lastChange;
+
+    /**
+     * @param enabled Whether searches are degraded, otherwise the load is only measured.
+     * @param maxInFlight The number of searches running at once from which on the engine is overloaded.
+     * @param maxQueued The number of queued searches from which on the engine is overloaded.
+     * @param latencyTarget The average latency from which on the engine is overloaded.
+     * @param reducedTimeBudget The time budget of the searches from {@link DegradationLevel#REDUCED_BUDGET} on.
+     * @param cooldown The minimum time between two changes of the level.
+     * @param queued The number of searches queued on the engine's pools.
+     */
+    public EngineLoadPolicy(boolean enabled, int maxInFlight, int maxQueued, Duration latencyTarget,
+                            Duration reducedTimeBudget, Duration cooldown, IntSupplier queued) {
+        this(enabled, maxInFlight, maxQueued, latencyTarget, reducedTimeBudget, cooldown, queued, System::nanoTime);
+    }
+
+    EngineLoadPolicy(boolean enabled, int maxInFlight, int maxQueued, Duration latencyTarget,
+                     Duration reducedTimeBudget, Duration cooldown, IntSupplier queued, LongSupplier clock) {
+        if (maxInFlight <= 0 || maxQueued <= 0)
+            throw new IllegalArgumentException("Load thresholds must be positive");
+        if (latencyTarget.isNegative() || latencyTarget.isZero())
+            throw new IllegalArgumentException("Latency target must be positive");
+        if (reducedTimeBudget.isNegative() || reducedTimeBudget.isZero())
+            throw new IllegalArgumentException("Reduced time budget must be positive");
+
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.reducedBudget = new SearchLimits(0, 0, reducedTimeBudget);
+        this.queued = queued;
+        this.clock = clock;
+        this.lastChange = clock.getAsLong() - cooldownNanos;
+    }
+
+    /**
+     * Tightens the limits of a search to the current level.
+     *
+     * @param limits The limits of the search's difficulty.
+     * @return The limits to search within.
+     */
+    public SearchLimits degrade(SearchLimits limits) {
+        if (!enabled)
+            return limits;
+
+        return switch (getLevel()) {
+            case NONE -> limits;
+            case REDUCED_BUDGET -> limits.atMost(reducedBudget);
+            case SHALLOW -> limits.atMost(Difficulty.MEDIUM.getLimits()).atMost(reducedBudget);
+            case MINIMAL -> limits.atMost(Difficulty.EASY.getLimits()).atMost(reducedBudget);
+        };
+    }
+
+    /**
+     * Runs a search and counts it towards the load, its latency included.
+     *
+     * @param search The search.
+     * @return The result of the search.
+     */
+    public <T> T track(Supplier<T> search) {
+        return run(search, true);
+    }
+
+    /**
+     * Runs a search and counts it towards the searches running, but not towards the latency. For searches
+     * whose duration is not that of a single move, such as a whole batch or one with a time budget chosen
+     * by the client, which would otherwise step the engine down for every other search.
+     *
+     * @param search The search.
+     * @return The result of the search.
+     */
+    public <T> T count(Supplier<T> search) {
+        return run(search, false);
+    }
+
+    /**
+     * Adds the latency of a single move to the moving average, for a move searched as part of a
+     * search that is only {@link #count(Supplier) counted}.
+     *
+     * @param latency The time the move took.
+     */
+    public void recordLatency(Duration latency) {
+        sample(latency.toNanos());
+        update();
+    }
+
+    /**
+     * @return The current time of the clock the latency is measured with, in nanoseconds.
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    private <T> T run(Supplier<T> search, boolean sampled) {
+        inFlight.incrementAndGet();
+        update();
+
+        final long start = clock.getAsLong();
+
+        try {
+            return search.get();
+        } finally {
+            if (sampled)
+                sample(clock.getAsLong() - start);
+
+            inFlight.decrementAndGet();
+            update();
+        }
+    }
+
+    private void sample(long latency) {
+        latencyNanos.accumulateAndGet(latency, (average, sample) ->
+                average == 0 ? sample : average + (long) (LATENCY_WEIGHT * (sample - average)));
+    }
+
+    /**
+     * @return The current degradation level, {@link DegradationLevel#NONE} if the policy is disabled.
+     */
+    public DegradationLevel getLevel() {
+        update();
+        return enabled ? level : DegradationLevel.NONE;
+    }
+
+    /**
+     * @return The current load and degradation level.
+     */
+    public LoadStatistics getStatistics() {
+        return new LoadStatistics(getLevel(), inFlight.get(), queued.getAsInt(),
+                Duration.ofNanos(latencyNanos.get()).toMillis());
+    }
+
+    /**
+     * Moves one level down or up if the load calls for it and the cooldown has passed.
+     */
+    private void update() {
+        if (clock.getAsLong() - lastChange < cooldownNanos)
+            return;
+
+        synchronized (this) {
+            final long now = clock.getAsLong();
+
+            if (now - lastChange < cooldownNanos)
+                return;
+
+            final double load = Math.max(
+                    Math.max((double) inFlight.get() / maxInFlight, (double) queued.getAsInt() / maxQueued),
+                    (double) latencyNanos.get() / latencyTargetNanos
+            );
+
+            final int next = load >= 1 ? Math.min(level.ordinal() + 1, LEVELS.length - 1)
+                    : load < RECOVERY_RATIO ? Math.max(level.ordinal() - 1, 0)
+                    : level.ordinal();
+
+            if (next == level.ordinal())
+                return;
+
+            if (enabled)
+                log.info("Engine load is at {} of its limits, degradation level {} -> {}",
+                        String.format("%.2f", load), level, LEVELS[next]);
+
+            level = LEVELS[next];
+            lastChange = now;
+        }
+    }
+}
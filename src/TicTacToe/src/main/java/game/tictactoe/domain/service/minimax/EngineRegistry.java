@@ -0,0 +1,223 @@
+package game.tictactoe.domain.service.minimax;
+
+import game.tictactoe.domain.model.CacheStatistics;
+import game.tictactoe.domain.model.EngineStatistics;
+import game.tictactoe.domain.model.EngineType;
+import game.tictactoe.domain.service.minimax.search.BestMoveCache;
+import game.tictactoe.exception.SearchTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Named engines a game can be played against, each with its own limits, best-move cache and metrics.
+ *
+ * <p> Every engine caps the limits of the searches it runs, whatever difficulty asks for, and optionally
+ * the number of searches it runs at once; searches beyond that wait for a free slot until their deadline.
+ * So cheap engines can serve high volumes next to expensive ones in the same process, without one
+ * starving the other.
+ */
+public class EngineRegistry {
+
+    private final Map<EngineType, Engine> engines = new EnumMap<>(EngineType.class);
+    private final EngineType defaultEngine;
+
+    /**
+     * @param defaultEngine The engine of games and requests that do not choose one, registered later on.
+     */
+    public EngineRegistry(EngineType defaultEngine) {
+        this.defaultEngine = defaultEngine;
+    }
+
+    /**
+     * Registers an engine.
+     *
+     * @param type The name of the engine.
+     * @param service The engine's service.
+     * @param limits The limits every search of the engine is capped to.
+     * @param maxSearches The number of searches the engine runs at once, {@code 0} for no limit.
+     * @param cache The cache of the engine's best moves.
+     * @return This registry.
+     */
+    public EngineRegistry register(EngineType type, MinimaxService service, SearchLimits limits, int maxSearches,
+                                   BestMoveCache cache) {
+        if (maxSearches < 0)
+            throw new IllegalArgumentException("Number of searches must not be negative");
+        if (engines.containsKey(type))
+            throw new IllegalArgumentException("Engine " + type + " is already registered");
+
+        engines.put(type, new Engine(type, service, limits, maxSearches, cache));
+        return this;
+    }
+
+    /**
+     * @param type The name of the engine, {@code null} for the default engine.
+     * @return The engine.
+     * @throws IllegalArgumentException if the engine is not registered.
+     */
+    public Engine get(EngineType type) {
+        final Engine engine = engines.get(type == null ? defaultEngine : type);
+
+        if (engine == null)
+            throw new IllegalArgumentException("Engine " + (type == null ? defaultEngine : type) + " is not available");
+
+        return engine;
+    }
+
+    /**
+     * @param type The name of the engine.
+     * @return true if the engine is registered.
+     */
+    public boolean contains(EngineType type) {
+        return engines.containsKey(type);
+    }
+
+    /**
+     * @return The usage of every registered engine, from the cheapest to the strongest.
+     */
+    public List<EngineStatistics> getStatistics() {
+        final List<EngineStatistics> statistics = new ArrayList<>(engines.size());
+
+        for (Engine engine : engines.values())
+            statistics.add(engine.getStatistics());
+
+        return statistics;
+    }
+
+    /**
+     * @return The counters of the best-move caches of all engines added up.
+     */
+    public CacheStatistics getCacheStatistics() {
+        long hits = 0, misses = 0, evictions = 0;
+        int size = 0, capacity = 0;
+
+        for (Engine engine : engines.values()) {
+            final CacheStatistics cache = engine.getCache().getStatistics();
+            hits += cache.hits();
+            misses += cache.misses();
+            evictions += cache.evictions();
+            size += cache.size();
+            capacity += cache.capacity();
+        }
+
+        return new CacheStatistics(hits, misses, evictions, size, capacity);
+    }
+
+    /**
+     * One engine of the registry.
+     */
+    public static final class Engine {
+        private final EngineType type;
+        private final MinimaxService service;
+        private final SearchLimits limits;
+        private final Semaphore slots;
+        private final BestMoveCache cache;
+
+        private final LongAdder searches = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Engine(EngineType type, MinimaxService service, SearchLimits limits, int maxSearches,
+                       BestMoveCache cache) {
+            this.type = type;
+            this.service = service;
+            this.limits = limits;
+            this.slots = maxSearches == 0 ? null : new Semaphore(maxSearches);
+            this.cache = cache;
+        }
+
+        /**
+         * @return The name of the engine.
+         */
+        public EngineType getType() {
+            return type;
+        }
+
+        /**
+         * @return The engine's service.
+         */
+        public MinimaxService getService() {
+            return service;
+        }
+
+        /**
+         * @return The cache of the engine's best moves.
+         */
+        public BestMoveCache getCache() {
+            return cache;
+        }
+
+        /**
+         * @param limits The limits a search asks for.
+         * @return The limits within the engine's own.
+         */
+        public SearchLimits limit(SearchLimits limits) {
+            return limits.atMost(this.limits);
+        }
+
+        /**
+         * Runs a search on the engine once it has a free slot, and counts it.
+         *
+         * @param deadline The deadline of the request, up to which the search waits for a slot.
+         * @param search The search.
+         * @return The result of the search.
+         * @throws SearchTimeoutException if the deadline passes before the engine has a free slot.
+         */
+        public <T> T search(SearchDeadline deadline, Supplier<T> search) {
+            acquire(deadline);
+            inFlight.incrementAndGet();
+
+            final long start = System.nanoTime();
+
+            try {
+                return search.get();
+            } finally {
+                latencyNanos.add(System.nanoTime() - start);
+                searches.increment();
+                inFlight.decrementAndGet();
+
+                if (slots != null)
+                    slots.release();
+            }
+        }
+
+        /**
+         * @return The usage of the engine.
+         */
+        public EngineStatistics getStatistics() {
+            final long count = searches.sum();
+
+            return new EngineStatistics(type, count, inFlight.get(), rejected.sum(),
+                    count == 0 ? 0 : Duration.ofNanos(latencyNanos.sum() / count).toMillis());
+        }
+
+        private void acquire(SearchDeadline deadline) {
+            if (slots == null)
+                return;
+
+            try {
+                if (deadline == SearchDeadline.NONE) {
+                    slots.acquire();
+                    return;
+                }
+
+                if (slots.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS))
+                    return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            rejected.increment();
+            throw new SearchTimeoutException("Engine " + type + " is busy, the request timed out waiting for it");
+        }
+    }
+}
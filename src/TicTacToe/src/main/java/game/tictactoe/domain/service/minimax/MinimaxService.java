@@ -2,8 +2,13 @@ package game.tictactoe.domain.service.minimax;
 
 import game.tictactoe.domain.model.CellType;
 import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
 import game.tictactoe.domain.model.Position;
 
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
 public interface MinimaxService {
 
     /**
@@ -14,4 +19,107 @@ public interface MinimaxService {
      * @return The best move as a Position object.
      */
     Position findBestMove(GameField field, CellType side);
+
+    /**
+     * Finds the best move the given player can find within the given limits.
+     *
+     * <p> Engines that cannot be limited ignore the limits by default. A search that stops before its
+     * depth {@link SearchDeadline#markTruncated() marks} the deadline of the limits truncated.
+     *
+     * @param field The current state of the game field.
+     * @param side The player's side.
+     * @param limits The limits of this search.
+     * @return The best move as a Position object.
+     */
+    default Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        return findBestMove(field, side);
+    }
+
+    /**
+     * Finds the best move the given player can find within the given limits and reports the result
+     * of every completed iteration on the way.
+     *
+     * <p> The progress is reported on the searching thread. Engines that do not deepen iteratively
+     * report their move once, with depth and score {@code 0}.
+     *
+     * @param field The current state of the game field.
+     * @param side The player's side.
+     * @param limits The limits of this search.
+     * @param progress Receives the best move after every completed iteration and returns false to stop the search.
+     * @return The best move as a Position object.
+     */
+    default Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        final Position move = findBestMove(field, side, limits);
+
+        if (move.row() != Position.NOT_VALID_POS && move.col() != Position.NOT_VALID_POS)
+            progress.test(new SearchProgress(0, move, 0, 0));
+
+        return move;
+    }
+
+    /**
+     * Finds the best moves for many positions in one call.
+     *
+     * <p> By default the positions are searched one after the other, in order. Implementations may search
+     * them in any order and in parallel, so the results can arrive from several threads at once.
+     *
+     * @param fields The positions to search.
+     * @param sides The side to move in every position.
+     * @param limits The limits of every single search.
+     * @param results Receives the best move of every position with its index, as soon as it is found.
+     */
+    default void findBestMoves(List<GameField> fields, List<CellType> sides, SearchLimits limits,
+                               ObjIntConsumer<Position> results) {
+        for (int i = 0; i < fields.size(); i++)
+            results.accept(findBestMove(fields.get(i), sides.get(i), limits), i);
+    }
+
+    /**
+     * Scores every move the given player can make, in one search of the position.
+     *
+     * <p> Engines that only pick a move and do not compute exact move values do not support it by default.
+     *
+     * @param field The current state of the game field.
+     * @param side The player's side.
+     * @param limits The limits of this search.
+     * @return The analysis of every empty cell in row-major order, empty if the field is full.
+     * @throws UnsupportedOperationException If the engine cannot score single moves.
+     */
+    default List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not analyze positions");
+    }
+
+    /**
+     * Finds the move the engine plays within the given limits without searching, from a table of known moves.
+     *
+     * <p> A lookup costs next to nothing, so callers that have to keep the cost of a move down try it
+     * before they search. By default the engine knows no move without searching.
+     *
+     * @param field The current state of the game field.
+     * @param side The player's side.
+     * @param limits The limits the move would be searched with.
+     * @return The move, or {@code null} if the engine has to search for it.
+     */
+    default Position lookup(GameField field, CellType side, SearchLimits limits) {
+        return null;
+    }
+
+    /**
+     * Lets the engine think about its answers to the opponent's next move in the background,
+     * after it has moved itself.
+     *
+     * <p> By default the engine does not ponder.
+     *
+     * @param field The field after the engine's move, with the opponent to move.
+     * @param side The engine's side.
+     * @param limits The limits the engine's next move will be searched with.
+     */
+    default void ponder(GameField field, CellType side, SearchLimits limits) {}
+
+    /**
+     * Cancels the pondering about a game that has ended.
+     *
+     * @param field The final field of the game.
+     */
+    default void stopPondering(GameField field) {}
 }
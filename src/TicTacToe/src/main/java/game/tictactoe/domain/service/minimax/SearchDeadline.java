@@ -0,0 +1,122 @@
+package game.tictactoe.domain.service.minimax;
+
+import java.time.Duration;
+
+/**
+ * Point in time a search has to be answered by, and a flag to cancel it before.
+ *
+ * <p> Both are checked cooperatively: the engines read them together with their own time budget, once
+ * per a few thousand nodes, so a search stops shortly after its deadline has passed or it was cancelled
+ * and returns the best move of its deepest completed iteration. Deadlines are compared by identity,
+ * every request carries its own.
+ *
+ * <p> The engines report back through the deadline whether a search was {@link #isTruncated() truncated},
+ * that is stopped by it, by their own time budget or by a node limit before the depth it was asked for.
+ * Such a result depends on the speed of the search and is not shared.
+ */
+public final class SearchDeadline {
+
+    /**
+     * No deadline, a search runs until its limits are reached. It cannot be cancelled.
+     */
+    public static final SearchDeadline NONE = new SearchDeadline(0);
+
+    /**
+     * The {@link System#nanoTime()} the search has to stop at, or {@code 0} for no deadline.
+     */
+    private final long nanos;
+
+    private volatile boolean cancelled;
+
+    private volatile boolean truncated;
+
+    private SearchDeadline(long nanos) {
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return A deadline that never passes but can be cancelled.
+     */
+    public static SearchDeadline cancellable() {
+        return new SearchDeadline(0);
+    }
+
+    /**
+     * @param timeout The time from now the search has to be answered in.
+     * @return A deadline the given time from now.
+     */
+    public static SearchDeadline after(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero())
+            throw new IllegalArgumentException("Timeout must be positive");
+
+        // 0 means no deadline, a deadline that happens to fall on it is moved by a nanosecond
+        final long nanos = System.nanoTime() + timeout.toNanos();
+        return new SearchDeadline(nanos == 0 ? 1 : nanos);
+    }
+
+    /**
+     * Cancels the search, which stops at its next check. Has no effect on {@link #NONE}.
+     */
+    public void cancel() {
+        if (this != NONE)
+            cancelled = true;
+    }
+
+    /**
+     * @return true if the search was cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Records that a search run for this deadline stopped before its depth. Has no effect on {@link #NONE}.
+     */
+    public void markTruncated() {
+        if (this != NONE)
+            truncated = true;
+    }
+
+    /**
+     * @return true if a search run for this deadline stopped before its depth.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * @return true if the search was cancelled or its deadline has passed.
+     */
+    public boolean isExpired() {
+        return cancelled || (nanos != 0 && System.nanoTime() - nanos >= 0);
+    }
+
+    /**
+     * @return The time left until the deadline, {@code Long.MAX_VALUE} for no deadline,
+     *         at most {@code 0} once it has expired.
+     */
+    public long remainingNanos() {
+        if (cancelled)
+            return 0;
+
+        return nanos == 0 ? Long.MAX_VALUE : Math.max(0, nanos - System.nanoTime());
+    }
+
+    /**
+     * @param deadline The {@link System#nanoTime()} an engine's own time budget ends at, or {@code 0} for no limit.
+     * @return The earlier of the given deadline and this one, {@code 0} if neither is set.
+     */
+    public long earliest(long deadline) {
+        if (nanos == 0)
+            return deadline;
+
+        return deadline == 0 || nanos - deadline < 0 ? nanos : deadline;
+    }
+
+    @Override
+    public String toString() {
+        return this == NONE ? "SearchDeadline[none]"
+                : "SearchDeadline[remaining=" + Duration.ofNanos(remainingNanos()) + ", cancelled=" + cancelled
+                        + ", truncated=" + truncated + "]";
+    }
+}
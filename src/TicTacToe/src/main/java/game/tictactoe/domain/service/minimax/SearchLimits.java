@@ -0,0 +1,116 @@
+package game.tictactoe.domain.service.minimax;
+
+import java.time.Duration;
+
+/**
+ * Per-request limits of a search, on top of the limits an engine is configured with.
+ *
+ * @param maxDepth The maximum depth of the search tree, {@code 0} for no limit.
+ * @param maxNodes The maximum number of nodes or playouts, {@code 0} for no limit.
+ * @param timeBudget The wall-clock budget of the search in place of the engine's own,
+ *                   {@link Duration#ZERO} to keep the engine's.
+ * @param deadline The deadline of the request the search runs for. It does not change the result of a
+ *                 completed search, so results cached by limits are cached {@link #withoutDeadline() without} it.
+ */
+public record SearchLimits(int maxDepth, long maxNodes, Duration timeBudget, SearchDeadline deadline) {
+
+    /**
+     * No limits beyond the engine's own.
+     */
+    public static final SearchLimits NONE = new SearchLimits(0, 0);
+
+    public SearchLimits {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("Search depth must not be negative");
+        if (maxNodes < 0)
+            throw new IllegalArgumentException("Node budget must not be negative");
+        if (timeBudget.isNegative())
+            throw new IllegalArgumentException("Time budget must not be negative");
+        if (deadline == null)
+            throw new IllegalArgumentException("Deadline must not be null");
+    }
+
+    /**
+     * @param maxDepth The maximum depth of the search tree, {@code 0} for no limit.
+     * @param maxNodes The maximum number of nodes or playouts, {@code 0} for no limit.
+     * @param timeBudget The wall-clock budget of the search in place of the engine's own,
+     *                   {@link Duration#ZERO} to keep the engine's.
+     */
+    public SearchLimits(int maxDepth, long maxNodes, Duration timeBudget) {
+        this(maxDepth, maxNodes, timeBudget, SearchDeadline.NONE);
+    }
+
+    /**
+     * @param maxDepth The maximum depth of the search tree, {@code 0} for no limit.
+     * @param maxNodes The maximum number of nodes or playouts, {@code 0} for no limit.
+     */
+    public SearchLimits(int maxDepth, long maxNodes) {
+        this(maxDepth, maxNodes, Duration.ZERO);
+    }
+
+    /**
+     * @return true if neither the depth, the number of nodes nor the time is limited. The deadline
+     *         of the request is not a limit of the search, it only cuts it short.
+     */
+    public boolean isUnlimited() {
+        return maxDepth == 0 && maxNodes == 0 && timeBudget.isZero();
+    }
+
+    /**
+     * @param depth The engine's own depth limit.
+     * @return The smaller of the engine's limit and this one.
+     */
+    public int depth(int depth) {
+        return maxDepth == 0 ? depth : Math.min(depth, maxDepth);
+    }
+
+    /**
+     * @param timeBudgetNanos The engine's own time budget in nanoseconds, {@code 0} for no limit.
+     * @return The time budget of this search in nanoseconds, {@code 0} for no limit.
+     */
+    public long timeBudgetNanos(long timeBudgetNanos) {
+        return timeBudget.isZero() ? timeBudgetNanos : timeBudget.toNanos();
+    }
+
+    /**
+     * @param timeBudget The wall-clock budget of the search, {@link Duration#ZERO} to keep the engine's.
+     * @return These limits with the given time budget.
+     */
+    public SearchLimits withTimeBudget(Duration timeBudget) {
+        return new SearchLimits(maxDepth, maxNodes, timeBudget, deadline);
+    }
+
+    /**
+     * @param deadline The deadline of the request the search runs for.
+     * @return These limits with the given deadline.
+     */
+    public SearchLimits withDeadline(SearchDeadline deadline) {
+        return new SearchLimits(maxDepth, maxNodes, timeBudget, deadline);
+    }
+
+    /**
+     * @return These limits without a deadline, as the key of a result cached by its limits.
+     */
+    public SearchLimits withoutDeadline() {
+        return deadline == SearchDeadline.NONE ? this : withDeadline(SearchDeadline.NONE);
+    }
+
+    /**
+     * Combines these limits with a cap. A time budget of zero keeps the engine's own, so it gives way
+     * to the other time budget. The deadline of these limits is kept unless they have none.
+     *
+     * @param cap The limits to stay within.
+     * @return In every dimension the tighter of these limits and the given ones.
+     */
+    public SearchLimits atMost(SearchLimits cap) {
+        final long nodes = maxNodes == 0 || cap.maxNodes == 0
+                ? Math.max(maxNodes, cap.maxNodes)
+                : Math.min(maxNodes, cap.maxNodes);
+        final Duration budget = timeBudget.isZero() || cap.timeBudget.isZero()
+                ? (timeBudget.isZero() ? cap.timeBudget : timeBudget)
+                : (timeBudget.compareTo(cap.timeBudget) <= 0 ? timeBudget : cap.timeBudget);
+
+        return new SearchLimits(cap.maxDepth == 0 ? maxDepth : depth(cap.maxDepth), nodes, budget,
+                deadline == SearchDeadline.NONE ? cap.deadline : deadline);
+    }
+}
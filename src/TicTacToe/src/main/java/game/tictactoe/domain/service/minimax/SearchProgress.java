@@ -0,0 +1,13 @@
+package game.tictactoe.domain.service.minimax;
+
+import game.tictactoe.domain.model.Position;
+
+/**
+ * Result of one completed iteration of an iteratively deepened search.
+ *
+ * @param depth The depth of the iteration, {@code 0} for an engine that does not deepen.
+ * @param move The best move found so far.
+ * @param score The score of the move for the side making it.
+ * @param nodes The number of nodes the search has visited so far.
+ */
+public record SearchProgress(int depth, Position move, int score, long nodes) {}
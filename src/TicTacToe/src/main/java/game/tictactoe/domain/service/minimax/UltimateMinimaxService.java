@@ -0,0 +1,23 @@
+package game.tictactoe.domain.service.minimax;
+
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.UltimateField;
+
+/**
+ * Engine of Ultimate Tic-Tac-Toe.
+ *
+ * <p> Its positions do not fit the single bitboard of a {@link game.tictactoe.domain.model.GameField},
+ * so it is a service of its own next to {@link MinimaxService}.
+ */
+public interface UltimateMinimaxService {
+
+    /**
+     * Finds the best move the side to move can find within the given limits.
+     *
+     * @param field The current state of the game field.
+     * @param limits The limits of this search.
+     * @return The best move as a position on the whole field, or a position of {@link Position#NOT_VALID_POS}
+     *         if the game is already over.
+     */
+    Position findBestMove(UltimateField field, SearchLimits limits);
+}
@@ -0,0 +1,170 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * MinimaxService decorator that searches batches of positions in parallel.
+ *
+ * <p> Single searches are passed on to the wrapped service. A batch is first reduced to its distinct
+ * positions: positions that are equal up to one of the eight {@link Symmetry symmetries} of the field,
+ * with the same side to move, have the same best move in the respective orientation, so only the first
+ * of them is searched. The distinct positions are then searched on the executor, and every result is
+ * mapped back onto each position it stands for and reported as soon as it is found.
+ */
+@Slf4j
+public class BatchMinimaxServiceImpl implements MinimaxService {
+
+    private final MinimaxService delegate;
+    private final ExecutorService executor;
+
+    /**
+     * Number of positions answered by the search of a symmetric or identical position.
+     */
+    private final LongAdder deduplicated = new LongAdder();
+
+    /**
+     * @param delegate The service that searches every single position.
+     * @param executor The executor the distinct positions of a batch are searched on.
+     */
+    public BatchMinimaxServiceImpl(MinimaxService delegate, ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        return delegate.findBestMove(field, side);
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        return delegate.findBestMove(field, side, limits);
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        return delegate.findBestMove(field, side, limits, progress);
+    }
+
+    @Override
+    public List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        return delegate.analyze(field, side, limits);
+    }
+
+    @Override
+    public Position lookup(GameField field, CellType side, SearchLimits limits) {
+        return delegate.lookup(field, side, limits);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> Returns once every position has been answered. If a search fails, the searches not started
+     * yet are cancelled and the failure is rethrown.
+     */
+    @Override
+    public void findBestMoves(List<GameField> fields, List<CellType> sides, SearchLimits limits,
+                              ObjIntConsumer<Position> results) {
+        if (fields.size() != sides.size())
+            throw new IllegalArgumentException("Expected a side for each of " + fields.size() + " fields, got " + sides.size());
+
+        final Map<CanonicalPosition, List<Integer>> groups = new LinkedHashMap<>();
+        final int[] symmetries = new int[fields.size()];
+
+        for (int i = 0; i < fields.size(); i++) {
+            final GameField field = fields.get(i);
+            final Symmetry symmetry = Symmetry.of(field.getSize());
+            final long xBoard = field.getBoard(CellType.X);
+            final long oBoard = field.getBoard(CellType.O);
+            final int sym = symmetry.canonical(xBoard, oBoard);
+
+            symmetries[i] = sym;
+            groups.computeIfAbsent(new CanonicalPosition(field.getGeometry(), symmetry.transform(sym, xBoard),
+                    symmetry.transform(sym, oBoard), sides.get(i)), position -> new ArrayList<>()).add(i);
+        }
+
+        deduplicated.add(fields.size() - groups.size());
+        log.debug("Searching {} distinct positions of a batch of {}", groups.size(), fields.size());
+
+        final List<Future<?>> searches = new ArrayList<>(groups.size());
+
+        for (List<Integer> group : groups.values()) {
+            searches.add(executor.submit(() -> {
+                final int first = group.getFirst();
+                final GameField field = fields.get(first);
+                final Position move = delegate.findBestMove(field, sides.get(first), limits);
+
+                if (move.row() == Position.NOT_VALID_POS || move.col() == Position.NOT_VALID_POS) {
+                    group.forEach(i -> results.accept(move, i));
+                    return;
+                }
+
+                final Symmetry symmetry = Symmetry.of(field.getSize());
+                final int canonicalMove = symmetry.map(symmetries[first], field.index(move.row(), move.col()));
+
+                for (int i : group) {
+                    final int cell = symmetry.unmap(symmetries[i], canonicalMove);
+                    results.accept(new Position(cell / field.getSize(), cell % field.getSize()), i);
+                }
+            }));
+        }
+
+        await(searches);
+    }
+
+    /**
+     * @return The number of positions answered by the search of a symmetric or identical position.
+     */
+    public long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    private static void await(List<Future<?>> searches) {
+        try {
+            for (Future<?> search : searches)
+                search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            searches.forEach(search -> search.cancel(true));
+            throw new CancellationException("Interrupted while waiting for the batch");
+        } catch (ExecutionException e) {
+            searches.forEach(search -> search.cancel(true));
+
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw new IllegalStateException("Batch search failed", e.getCause());
+        }
+    }
+
+    /**
+     * A position in its canonical orientation: the symmetric image with the smallest pair of bitboards.
+     *
+     * @param geometry The geometry of the field.
+     * @param xBoard The canonical bitboard of X.
+     * @param oBoard The canonical bitboard of O.
+     * @param side The side to move.
+     */
+    private record CanonicalPosition(BoardGeometry geometry, long xBoard, long oBoard, CellType side) {}
+}
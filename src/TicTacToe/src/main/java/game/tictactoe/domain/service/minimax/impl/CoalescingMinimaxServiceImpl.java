@@ -0,0 +1,207 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * MinimaxService decorator that coalesces identical searches running at the same time.
+ *
+ * <p> A search for a position that is equal up to a {@link Symmetry symmetry} to one already being
+ * searched, with the same side to move and limits, does not start a search of its own: it waits for the
+ * running one and maps its move onto its own orientation. Once a search is done it is forgotten, so a
+ * failed search is never handed to later callers; the callers that were waiting for it search on their
+ * own instead. The {@link SearchDeadline deadline} of a request is not part of what is coalesced: a search
+ * cut short by its deadline counts as failed, and a caller waits only until its own deadline. A search
+ * the engine truncated is handed on all the same, and marks the deadline of every caller that waited for it
+ * truncated as well.
+ *
+ * <p> Only single best-move searches are coalesced, everything else is passed on to the wrapped service.
+ */
+@Slf4j
+public class CoalescingMinimaxServiceImpl implements MinimaxService {
+
+    /**
+     * Canonical cell stored for a search that found no move.
+     */
+    private static final int NO_MOVE = -1;
+
+    private final MinimaxService delegate;
+
+    /**
+     * Result of every running search.
+     */
+    private final ConcurrentMap<CanonicalPosition, CompletableFuture<Result>> searches = new ConcurrentHashMap<>();
+
+    /**
+     * Number of searches answered by a search that was already running.
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param delegate The service that runs the searches.
+     */
+    public CoalescingMinimaxServiceImpl(MinimaxService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        return findBestMove(field, side, SearchLimits.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> Waits for an identical or symmetric search if one is running.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        final Symmetry symmetry = Symmetry.of(field.getSize());
+        final long xBoard = field.getBoard(CellType.X);
+        final long oBoard = field.getBoard(CellType.O);
+        final int sym = symmetry.canonical(xBoard, oBoard);
+        final CanonicalPosition position = new CanonicalPosition(field.getGeometry(),
+                symmetry.transform(sym, xBoard), symmetry.transform(sym, oBoard), side, limits.withoutDeadline());
+
+        final CompletableFuture<Result> search = new CompletableFuture<>();
+        final CompletableFuture<Result> running = searches.putIfAbsent(position, search);
+
+        if (running != null)
+            return await(running, field, side, limits, symmetry, sym);
+
+        try {
+            final Position move = delegate.findBestMove(field, side, limits);
+
+            if (limits.deadline().isExpired()) {
+                search.completeExceptionally(new TimeoutException("Search was cut short by its deadline"));
+                return move;
+            }
+
+            search.complete(new Result(move.row() == Position.NOT_VALID_POS || move.col() == Position.NOT_VALID_POS
+                    ? NO_MOVE
+                    : symmetry.map(sym, field.index(move.row(), move.col())), limits.deadline().isTruncated()));
+
+            return move;
+        } catch (RuntimeException | Error e) {
+            search.completeExceptionally(e);
+            throw e;
+        } finally {
+            searches.remove(position, search);
+        }
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        return delegate.findBestMove(field, side, limits, progress);
+    }
+
+    @Override
+    public List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        return delegate.analyze(field, side, limits);
+    }
+
+    @Override
+    public void findBestMoves(List<GameField> fields, List<CellType> sides, SearchLimits limits,
+                              ObjIntConsumer<Position> results) {
+        delegate.findBestMoves(fields, sides, limits, results);
+    }
+
+    @Override
+    public Position lookup(GameField field, CellType side, SearchLimits limits) {
+        return delegate.lookup(field, side, limits);
+    }
+
+    @Override
+    public void ponder(GameField field, CellType side, SearchLimits limits) {
+        delegate.ponder(field, side, limits);
+    }
+
+    @Override
+    public void stopPondering(GameField field) {
+        delegate.stopPondering(field);
+    }
+
+    /**
+     * @return The number of searches answered by a search that was already running.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Waits for a running search and maps its move onto the field, or searches the field on its own
+     * if the running search fails or does not finish before the deadline of the caller.
+     */
+    private Position await(CompletableFuture<Result> running, GameField field, CellType side, SearchLimits limits,
+                           Symmetry symmetry, int sym) {
+        final Result result;
+        final SearchDeadline deadline = limits.deadline();
+
+        try {
+            result = deadline == SearchDeadline.NONE
+                    ? running.get()
+                    : running.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The deadline has passed, the own search returns the best move of its first iteration
+            return delegate.findBestMove(field, side, limits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a running search");
+        } catch (ExecutionException e) {
+            log.debug("Coalesced search failed, searching again", e.getCause());
+            return delegate.findBestMove(field, side, limits);
+        }
+
+        coalesced.increment();
+
+        if (result.truncated())
+            deadline.markTruncated();
+
+        if (result.move() == NO_MOVE)
+            return new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS);
+
+        final int cell = symmetry.unmap(sym, result.move());
+        return new Position(cell / field.getSize(), cell % field.getSize());
+    }
+
+    /**
+     * A search in its canonical orientation.
+     *
+     * @param geometry The geometry of the field.
+     * @param xBoard The canonical bitboard of X.
+     * @param oBoard The canonical bitboard of O.
+     * @param side The side to move.
+     * @param limits The limits of the search.
+     */
+    private record CanonicalPosition(BoardGeometry geometry, long xBoard, long oBoard, CellType side,
+                                     SearchLimits limits) {}
+
+    /**
+     * Result of a search.
+     *
+     * @param move The canonical best move, {@link #NO_MOVE} if there is none.
+     * @param truncated Whether the search stopped before its depth.
+     */
+    private record Result(int move, boolean truncated) {}
+}
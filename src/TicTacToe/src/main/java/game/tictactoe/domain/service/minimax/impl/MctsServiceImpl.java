@@ -0,0 +1,447 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MinimaxService implementation with Monte Carlo tree search.
+ *
+ * <p> Every iteration walks down the tree choosing children by the UCT formula, adds one new node and
+ * finishes the game from there with uniformly random moves. The result is propagated back up the path,
+ * each node counting it for the side that made its move. The most visited root move is played.
+ *
+ * <p> Playouts run on the bitboards of the field and check only the lines through the last move, so their
+ * cost grows with the number of empty cells rather than with the number of lines. The number of playouts
+ * is bounded by an iteration budget, a time budget or both, which keeps the cost of a move predictable on
+ * any field size, where an exhaustive search would not finish.
+ *
+ * <p> With tree reuse enabled, the subtrees below the opponent's replies to the chosen move are kept,
+ * keyed by the position they lead to. When the next request for the same game arrives, the search
+ * continues from the subtree of the reply that was actually played instead of starting from scratch.
+ */
+@Slf4j
+public class MctsServiceImpl implements MinimaxService {
+
+    /**
+     * Default number of playouts per move.
+     */
+    public static final int DEFAULT_ITERATIONS = 50_000;
+
+    /**
+     * Default weight of the exploration term of UCT, the theoretical {@code sqrt(2)}.
+     */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    /**
+     * Default number of kept subtrees, each the position after one opponent reply.
+     */
+    private static final int DEFAULT_REUSABLE_TREES = 256;
+
+    /**
+     * The clock and the cancellation of the request are read once per this many iterations.
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 1 << 6;
+
+    /**
+     * Rewards are counted in half points so that a draw is a whole number.
+     */
+    private static final int WIN_REWARD = 2;
+    private static final int DRAW_REWARD = 1;
+
+    /**
+     * Result of a game without a winner.
+     */
+    private static final int NO_WINNER = -1;
+
+    /**
+     * Maximum number of playouts per move, or {@code 0} for no limit.
+     */
+    private final int iterations;
+
+    /**
+     * Wall-clock budget of a single search in nanoseconds, or {@code 0} for no limit.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * Weight of the exploration term of UCT.
+     */
+    private final double exploration;
+
+    /**
+     * Subtrees kept for the next move, or {@code null} if tree reuse is disabled.
+     */
+    private final Map<TreeKey, Node> reusableTrees;
+
+    /**
+     * Total number of playouts of all searches of this instance.
+     */
+    private final LongAdder playouts = new LongAdder();
+
+    /**
+     * Number of searches that continued from a kept subtree.
+     */
+    private final LongAdder reusedTrees = new LongAdder();
+
+    public MctsServiceImpl() {
+        this(DEFAULT_ITERATIONS, Duration.ZERO);
+    }
+
+    public MctsServiceImpl(int iterations, Duration timeBudget) {
+        this(iterations, timeBudget, DEFAULT_EXPLORATION, false);
+    }
+
+    /**
+     * @param iterations The maximum number of playouts per move, {@code 0} for no limit.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     * @param exploration The weight of the exploration term of UCT.
+     * @param treeReuse Whether the subtrees of the opponent's replies are kept for the next move.
+     */
+    public MctsServiceImpl(int iterations, Duration timeBudget, double exploration, boolean treeReuse) {
+        if (iterations < 0)
+            throw new IllegalArgumentException("Iteration budget must not be negative");
+        if (timeBudget.isNegative())
+            throw new IllegalArgumentException("Time budget must not be negative");
+        if (iterations == 0 && timeBudget.isZero())
+            throw new IllegalArgumentException("Either an iteration or a time budget must be set");
+        if (!(exploration >= 0))
+            throw new IllegalArgumentException("Exploration weight must not be negative");
+
+        this.iterations = iterations;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.exploration = exploration;
+        this.reusableTrees = treeReuse ? Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TreeKey, Node> eldest) {
+                return size() > DEFAULT_REUSABLE_TREES;
+            }
+        }) : null;
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        return findBestMove(field, side, SearchLimits.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The node limit caps the number of playouts and the time budget replaces the configured one;
+     * the tree has no depth to limit.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        final BoardGeometry geometry = field.getGeometry();
+        final CellType opponentSide = side == CellType.X ? CellType.O : CellType.X;
+        final long playerBoard = field.getBoard(side);
+        final long opponentBoard = field.getBoard(opponentSide);
+
+        if (field.getEmptyCells() == 0)
+            return new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS);
+
+        final long start = System.nanoTime();
+        final long timeBudget = limits.timeBudgetNanos(timeBudgetNanos);
+        final long deadline = limits.deadline().earliest(timeBudget == 0 ? 0 : start + timeBudget);
+        final TreeKey key = new TreeKey(geometry, field.getBoard(CellType.X), field.getBoard(CellType.O), side);
+        final Node reused = reusableTrees == null ? null : reusableTrees.remove(key);
+        final Node root;
+
+        if (reused != null) {
+            root = reused;
+            reusedTrees.increment();
+        } else {
+            // Moves symmetric to an earlier one lead to equivalent subtrees
+            root = new Node(Node.NO_MOVE, Symmetry.of(field.getSize()).uniqueMoves(playerBoard, opponentBoard), false);
+        }
+
+        final Search search = new Search(geometry, playerBoard, opponentBoard);
+        final long budget = limits.maxNodes() == 0 || (iterations != 0 && iterations < limits.maxNodes())
+                ? iterations : limits.maxNodes();
+        int done = 0;
+
+        do {
+            search.iterate(root);
+            done++;
+        } while ((budget == 0 || done < budget)
+                && ((done & (CLOCK_CHECK_INTERVAL - 1)) != 0
+                    || ((deadline == 0 || System.nanoTime() - deadline < 0) && !limits.deadline().isCancelled())));
+
+        // Without a playout budget every search is stopped by the clock, and its move depends on the speed
+        if (budget == 0 || done < budget)
+            limits.deadline().markTruncated();
+
+        final Node best = root.mostVisitedChild();
+        playouts.add(done);
+
+        if (reusableTrees != null)
+            keepReplies(geometry, playerBoard | (1L << best.move), opponentBoard, side, best);
+
+        log.debug("Search finished: playouts = {}, root visits = {}, best move = {} ({} / {}), reused = {}, time = {} us",
+                done, root.visits, best.move, best.reward, best.visits, reused != null, (System.nanoTime() - start) / 1000);
+
+        return new Position(best.move / field.getSize(), best.move % field.getSize());
+    }
+
+    /**
+     * @return The total number of playouts of all searches of this instance.
+     */
+    public long getPlayouts() {
+        return playouts.sum();
+    }
+
+    /**
+     * @return The number of searches that continued from a kept subtree.
+     */
+    public long getReusedTrees() {
+        return reusedTrees.sum();
+    }
+
+    /**
+     * Keeps the subtrees of the opponent's replies to the chosen move for the next search.
+     *
+     * @param geometry The geometry of the field.
+     * @param playerBoard The bitboard of the player, including the chosen move.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param side The side of the player.
+     * @param chosen The node of the chosen move.
+     */
+    private void keepReplies(BoardGeometry geometry, long playerBoard, long opponentBoard, CellType side, Node chosen) {
+        for (int i = 0; i < chosen.childCount; i++) {
+            final Node reply = chosen.children[i];
+
+            if (reply.terminal || reply.childCount == 0)
+                continue;
+
+            final long replyBoard = opponentBoard | (1L << reply.move);
+            final long x = side == CellType.X ? playerBoard : replyBoard;
+            final long o = side == CellType.X ? replyBoard : playerBoard;
+
+            reusableTrees.put(new TreeKey(geometry, x, o, side), reply);
+        }
+    }
+
+    /**
+     * State of a single {@link #findBestMove(GameField, CellType)} call.
+     *
+     * <p> Side {@code 0} is the player the search is run for, side {@code 1} the opponent.
+     */
+    private final class Search {
+        private final BoardGeometry geometry;
+        private final long full;
+        private final long rootPlayerBoard;
+        private final long rootOpponentBoard;
+        private final Node[] path;
+        private final SplittableRandom random = new SplittableRandom();
+
+        private Search(BoardGeometry geometry, long playerBoard, long opponentBoard) {
+            this.geometry = geometry;
+            this.full = geometry.getFullMask();
+            this.rootPlayerBoard = playerBoard;
+            this.rootOpponentBoard = opponentBoard;
+            this.path = new Node[geometry.getCells() + 1];
+        }
+
+        /**
+         * Runs one selection, expansion, playout and backpropagation step.
+         *
+         * @param root The root of the tree.
+         */
+        private void iterate(Node root) {
+            final long[] boards = {rootPlayerBoard, rootOpponentBoard};
+            Node node = root;
+            int length = 0;
+            int toMove = 0;
+
+            path[length++] = node;
+
+            // Selection: descend through fully expanded nodes
+            while (!node.terminal && node.untried == 0 && node.childCount > 0) {
+                node = node.select(exploration);
+                boards[toMove] |= 1L << node.move;
+                toMove ^= 1;
+                path[length++] = node;
+            }
+
+            // Expansion: add one untried move
+            if (!node.terminal && node.untried != 0) {
+                final int move = randomCell(node.untried);
+                final long board = boards[toMove] | (1L << move);
+                final boolean won = geometry.isWinThrough(board, move);
+                final Node child = new Node(move, won ? 0 : ~(board | boards[toMove ^ 1]) & full, won);
+
+                node.add(child);
+                boards[toMove] = board;
+                toMove ^= 1;
+                node = child;
+                path[length++] = node;
+            }
+
+            final int winner;
+
+            if (node.terminal) {
+                // The last move either won or filled the field
+                winner = node.won ? toMove ^ 1 : NO_WINNER;
+            } else {
+                winner = playout(boards[toMove], boards[toMove ^ 1], toMove);
+            }
+
+            // Backpropagation: every node is rewarded for the side that made its move
+            for (int i = 0; i < length; i++) {
+                final Node visited = path[i];
+                final int mover = (i - 1) & 1;
+
+                visited.visits++;
+                if (winner == NO_WINNER)
+                    visited.reward += DRAW_REWARD;
+                else if (winner == mover)
+                    visited.reward += WIN_REWARD;
+            }
+        }
+
+        /**
+         * Finishes the game with uniformly random moves.
+         *
+         * @param board The bitboard of the side to move.
+         * @param other The bitboard of the other side.
+         * @param side The side to move.
+         * @return The winning side, or {@link #NO_WINNER} for a draw.
+         */
+        private int playout(long board, long other, int side) {
+            while (true) {
+                final long empty = ~(board | other) & full;
+                if (empty == 0)
+                    return NO_WINNER;
+
+                final int move = randomCell(empty);
+                board |= 1L << move;
+
+                if (geometry.isWinThrough(board, move))
+                    return side;
+
+                final long swap = board;
+                board = other;
+                other = swap;
+                side ^= 1;
+            }
+        }
+
+        /**
+         * @return A uniformly chosen cell of the mask.
+         */
+        private int randomCell(long mask) {
+            return Long.numberOfTrailingZeros(Long.expand(1L << random.nextInt(Long.bitCount(mask)), mask));
+        }
+    }
+
+    /**
+     * A node of the search tree: the position after {@link #move}.
+     */
+    private static final class Node {
+        private static final int NO_MOVE = -1;
+
+        private final int move;
+
+        /**
+         * Whether {@link #move} completed a line.
+         */
+        private final boolean won;
+
+        /**
+         * Whether the game is over after {@link #move}.
+         */
+        private final boolean terminal;
+        private Node[] children;
+        private int childCount;
+
+        /**
+         * Moves not expanded yet.
+         */
+        private long untried;
+
+        private int visits;
+
+        /**
+         * Total reward in half points for the side that made {@link #move}.
+         */
+        private long reward;
+
+        /**
+         * @param move The move leading to the node, {@link #NO_MOVE} for the root.
+         * @param untried The legal moves in the position, none if the move won.
+         * @param won Whether the move completed a line.
+         */
+        private Node(int move, long untried, boolean won) {
+            this.move = move;
+            this.untried = untried;
+            this.won = won;
+            this.terminal = won || untried == 0;
+            this.children = new Node[Long.bitCount(untried)];
+        }
+
+        private void add(Node child) {
+            untried &= ~(1L << child.move);
+            children[childCount++] = child;
+        }
+
+        /**
+         * @return The child with the highest UCT value.
+         */
+        private Node select(double exploration) {
+            final double logVisits = Math.log(visits);
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (int i = 0; i < childCount; i++) {
+                final Node child = children[i];
+                final double value = (double) child.reward / (WIN_REWARD * child.visits)
+                        + exploration * Math.sqrt(logVisits / child.visits);
+
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+
+            return best;
+        }
+
+        /**
+         * @return The child visited most often, on a tie the one with the higher reward.
+         */
+        private Node mostVisitedChild() {
+            Node best = children[0];
+
+            for (int i = 1; i < childCount; i++) {
+                final Node child = children[i];
+
+                if (child.visits > best.visits || (child.visits == best.visits && child.reward > best.reward))
+                    best = child;
+            }
+
+            return best;
+        }
+    }
+
+    /**
+     * Position a kept subtree belongs to.
+     *
+     * @param geometry The geometry of the field.
+     * @param xBoard The bitboard of X.
+     * @param oBoard The bitboard of O.
+     * @param side The side to move.
+     */
+    private record TreeKey(BoardGeometry geometry, long xBoard, long oBoard, CellType side) {}
+}
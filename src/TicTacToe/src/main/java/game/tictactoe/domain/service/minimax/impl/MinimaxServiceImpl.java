@@ -1,42 +1,386 @@
 package game.tictactoe.domain.service.minimax.impl;
 
+import game.tictactoe.domain.model.BoardGeometry;
 import game.tictactoe.domain.model.CellType;
 import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
 import game.tictactoe.domain.model.Position;
-import game.tictactoe.domain.service.GameAttribute;
-import game.tictactoe.domain.service.WinState;
 import game.tictactoe.domain.service.minimax.MinimaxService;
-import game.tictactoe.domain.utils.GameUtils;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.Bound;
+import game.tictactoe.domain.service.minimax.search.Evaluator;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import game.tictactoe.domain.service.minimax.search.MoveOrdering;
+import game.tictactoe.domain.service.minimax.search.ReplacementPolicy;
+import game.tictactoe.domain.service.minimax.search.Score;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
+import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * MinimaxService implementation with alpha-beta pruning.
+ *
+ * <p> The search works directly on the bitboards of the {@link GameField}: a move is a single
+ * bit set in the board of the side to move, so no field is mutated or allocated during the search.
+ *
+ * <p> Searched positions are stored in a {@link TranspositionTable} keyed by an incrementally
+ * updated Zobrist hash. The table is shared between calls, so transposed move orders and
+ * repeated requests for the same position are answered without searching the subtree again.
+ *
+ * <p> All eight rotations and reflections of a position have the same value, so the table is keyed
+ * by the smallest of the eight symmetric hashes and stores its best move in that canonical orientation.
+ * At the root only one move out of every group of symmetric moves is searched.
+ *
+ * <p> The search is iteratively deepened: depth 1, 2, ... up to the maximum depth or the number of
+ * empty cells. Every iteration tries the best move of the previous one first, at the root and, through
+ * the moves stored in the table, at every inner node. If a time budget is set, an iteration that runs
+ * out of time is abandoned and the best move of the deepest completed iteration is returned. The best
+ * move of every completed iteration is reported to the caller, who may stop the search after any of them.
+ *
+ * <p> Inside the tree the moves are ordered by {@link MoveOrdering}: the stored move first, then the
+ * killer moves of the ply, then the rest by their history score and by the number of winning lines
+ * through the cell. The share of cutoffs caused by the first move searched is reported as the cutoff rate.
+ *
+ * <p> Given a {@link ForkJoinPool}, the root is split in the Young Brothers Wait style: the first root
+ * move is searched alone to establish a bound, then the remaining root moves are searched in parallel.
+ * The workers share the best score found so far through an atomic alpha and exchange everything else
+ * through the lock-free transposition table.
+ *
+ * <p> Fields of any supported {@link BoardGeometry} are searched. With the default depth the 3x3 field
+ * is solved exhaustively, on larger fields positions beyond the reached depth are scored by an {@link Evaluator}.
+ * {@link SearchLimits} passed with a request cap the depth and the number of nodes of that search only,
+ * and a search capped in depth takes no results of deeper searches from the shared table.
+ *
+ * <p> An {@link #analyze analysis} searches every root move with a full window, so each gets its exact
+ * score rather than a bound, and copies the scores onto the moves symmetric to a searched one. The scores
+ * of the last completed iteration are kept in a small cache keyed by the canonical orientation of the
+ * position, so repeated and symmetric requests are answered without a search.
+ */
+@Slf4j
 public class MinimaxServiceImpl implements MinimaxService {
 
     /**
-     * Maximum depth of the search tree for the MinimaxService algorithm.
+     * Default maximum depth of the search tree for the MinimaxService algorithm.
+     */
+    public static final int DEPTH = 9;
+
+    /**
+     * Number of transposition table slots used by the default constructor.
+     */
+    private static final int DEFAULT_TABLE_SIZE = 1 << 16;
+
+    /**
+     * Shallower iterations are too cheap to be worth splitting between workers.
+     */
+    private static final int PARALLEL_MIN_DEPTH = 4;
+
+    /**
+     * Number of analyses kept in the cache.
+     */
+    private static final int ANALYSIS_CACHE_SIZE = 1 << 12;
+
+    /**
+     * Side indices of the move ordering tables.
+     */
+    private static final int PLAYER = 0;
+    private static final int OPPONENT = 1;
+
+    private final TranspositionTable table;
+
+    /**
+     * Maximum depth of the search tree.
+     */
+    private final int maxDepth;
+
+    /**
+     * Wall-clock budget of a single search in nanoseconds, or {@code 0} for no limit.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * Pool the root moves are searched on, or {@code null} to search on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Scores the positions at the depth limit.
+     */
+    private final Evaluator evaluator;
+
+    /**
+     * Total number of nodes visited by all searches of this instance.
+     */
+    private final LongAdder visitedNodes = new LongAdder();
+
+    /**
+     * Total number of beta cutoffs of all searches of this instance.
      */
-    private static final int DEPTH = 9;
+    private final LongAdder cutoffs = new LongAdder();
+
+    /**
+     * Number of beta cutoffs caused by the first move searched at the node.
+     */
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+
+    /**
+     * Scores of the analyzed positions in their canonical orientation, least recently used first.
+     */
+    private final Map<AnalysisKey, Analysis> analyses = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AnalysisKey, Analysis> eldest) {
+            return size() > ANALYSIS_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Number of analyses answered from the cache.
+     */
+    private final LongAdder analysisCacheHits = new LongAdder();
+
+    public MinimaxServiceImpl() {
+        this(new TranspositionTable(DEFAULT_TABLE_SIZE, ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    public MinimaxServiceImpl(TranspositionTable table) {
+        this(table, DEPTH);
+    }
+
+    public MinimaxServiceImpl(TranspositionTable table, int maxDepth) {
+        this(table, maxDepth, Duration.ZERO);
+    }
+
+    /**
+     * @param table The transposition table shared by all searches.
+     * @param maxDepth The maximum depth of the search tree.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     */
+    public MinimaxServiceImpl(TranspositionTable table, int maxDepth, Duration timeBudget) {
+        this(table, maxDepth, timeBudget, null);
+    }
+
+    /**
+     * @param table The transposition table shared by all searches.
+     * @param maxDepth The maximum depth of the search tree.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     * @param pool The pool the root moves are searched on in parallel, {@code null} for a sequential search.
+     */
+    public MinimaxServiceImpl(TranspositionTable table, int maxDepth, Duration timeBudget, ForkJoinPool pool) {
+        this(table, maxDepth, timeBudget, pool, new HeuristicEvaluator());
+    }
+
+    /**
+     * @param table The transposition table shared by all searches.
+     * @param maxDepth The maximum depth of the search tree.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     * @param pool The pool the root moves are searched on in parallel, {@code null} for a sequential search.
+     * @param evaluator The evaluation of the positions at the depth limit.
+     */
+    public MinimaxServiceImpl(TranspositionTable table, int maxDepth, Duration timeBudget, ForkJoinPool pool,
+                              Evaluator evaluator) {
+        if (maxDepth <= 0)
+            throw new IllegalArgumentException("Search depth must be positive");
+        if (timeBudget.isNegative())
+            throw new IllegalArgumentException("Time budget must not be negative");
+
+        this.table = table;
+        this.maxDepth = Math.min(maxDepth, Score.MAX_PLY);
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.pool = pool;
+        this.evaluator = evaluator;
+    }
 
     @Override
     public Position findBestMove(GameField field, CellType side) {
-        int bestVal = Integer.MIN_VALUE;
-        int row = Position.NOT_VALID_POS;
-        int col = Position.NOT_VALID_POS;
-
-        for (int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            for (int j = 0; j < GameAttribute.COLS.getValue(); j++) {
-                if (field.getCell(i, j) == CellType.EMPTY) {
-                    field.setCell(i, j, side);
-                    int moveVal = minimax(field, DEPTH - 1, false, side, Integer.MIN_VALUE, Integer.MAX_VALUE);
-                    field.setCell(i, j, CellType.EMPTY);
-
-                    if (moveVal > bestVal) {
-                        row = i;
-                        col = j;
-                        bestVal = moveVal;
-                    }
+        return findBestMove(field, side, SearchLimits.NONE);
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        return findBestMove(field, side, limits, progress -> true);
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        final CellType opponentSide = getOpponentSide(side);
+
+        final long playerBoard = field.getBoard(side);
+        final long opponentBoard = field.getBoard(opponentSide);
+
+        // Moves symmetric to an earlier one have the same value and can never be strictly better
+        final long rootMoves = Symmetry.of(field.getSize()).uniqueMoves(playerBoard, opponentBoard);
+
+        if (rootMoves == 0)
+            return new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS);
+
+        final long start = System.nanoTime();
+        final int depthLimit = Math.min(limits.depth(maxDepth), Long.bitCount(field.getEmptyCells()));
+        final long timeBudget = limits.timeBudgetNanos(timeBudgetNanos);
+        final long deadline = timeBudget == 0 ? 0 : start + timeBudget;
+        final SearchContext ctx = new SearchContext(field, side, depthLimit, deadline, limits.deadline(), limits.maxNodes(),
+                limits.depth(maxDepth) < maxDepth);
+
+        final int rootSym = ctx.canonicalSymmetry(0);
+        final long rootEntry = table.probe(ctx.hash(0, rootSym));
+
+        int bestMove = Long.numberOfTrailingZeros(rootMoves);
+        int firstDepth = 1;
+        int completedDepth = 0;
+
+        // A result deeper than this search may look is left alone, as inside the tree
+        if (rootEntry != TranspositionTable.MISS && TranspositionTable.move(rootEntry) != TranspositionTable.NO_MOVE
+                && TranspositionTable.depth(rootEntry) <= depthLimit) {
+            bestMove = ctx.symmetry.unmap(rootSym, TranspositionTable.move(rootEntry));
+
+            // An exact result of an earlier search is resumed at its depth and is already a complete answer
+            if (TranspositionTable.bound(rootEntry) == Bound.EXACT) {
+                firstDepth = Math.max(1, Math.min(TranspositionTable.depth(rootEntry), depthLimit));
+                completedDepth = TranspositionTable.depth(rootEntry);
+            }
+        }
+
+        for (int depth = firstDepth; depth <= depthLimit; depth++) {
+            // Without a stored result the first iteration always completes, so there is a move to return
+            ctx.startIteration(depth, completedDepth > 0);
+
+            final int move = searchRoot(ctx, playerBoard, opponentBoard, rootMoves | (1L << bestMove), bestMove);
+            if (ctx.aborted)
+                break;
+
+            bestMove = move;
+            completedDepth = depth;
+            table.store(ctx.hash(0, rootSym), depth, Score.toTable(ctx.rootScore, 0), Bound.EXACT,
+                    ctx.symmetry.map(rootSym, bestMove));
+
+            final boolean proceed = progress.test(new SearchProgress(depth,
+                    new Position(bestMove / field.getSize(), bestMove % field.getSize()), ctx.rootScore, ctx.nodes));
+
+            // Every result within the iteration depth is seen, so a forced result that close is final
+            if (!proceed || (Score.isDecisive(ctx.rootScore) && Score.distance(ctx.rootScore) <= depth))
+                break;
+        }
+
+        // A search stopped before its depth plays weaker than its limits, so its move must not be shared
+        if (ctx.aborted)
+            limits.deadline().markTruncated();
+
+        visitedNodes.add(ctx.nodes);
+        cutoffs.add(ctx.cutoffs);
+        firstMoveCutoffs.add(ctx.firstMoveCutoffs);
+        log.debug("Search finished: depth = {}/{}, nodes = {}, cutoffs = {} ({} on the first move), score = {}, time = {} us",
+                completedDepth, depthLimit, ctx.nodes, ctx.cutoffs, ctx.firstMoveCutoffs, ctx.rootScore,
+                (System.nanoTime() - start) / 1000);
+
+        return new Position(bestMove / field.getSize(), bestMove % field.getSize());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The moves are scored by one iteratively deepened search, in which every root move is searched
+     * with a full window and the moves symmetric to a searched one take over its score. A move is a
+     * {@link MoveAnalysis.Outcome#WIN WIN} or a {@link MoveAnalysis.Outcome#LOSS LOSS} once a forced result
+     * is found, and a {@link MoveAnalysis.Outcome#DRAW DRAW} if neither side can force a win within the
+     * empty cells; otherwise its score is the evaluation at the depth reached.
+     */
+    @Override
+    public List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        final long emptyCells = field.getEmptyCells();
+
+        if (emptyCells == 0)
+            return List.of();
+
+        final Symmetry symmetry = Symmetry.of(field.getSize());
+        final long xBoard = field.getBoard(CellType.X);
+        final long oBoard = field.getBoard(CellType.O);
+        final int sym = symmetry.canonical(xBoard, oBoard);
+        final AnalysisKey key = new AnalysisKey(field.getGeometry(), symmetry.transform(sym, xBoard),
+                symmetry.transform(sym, oBoard), side, limits.withoutDeadline());
+
+        Analysis analysis;
+
+        synchronized (analyses) {
+            analysis = analyses.get(key);
+        }
+
+        if (analysis != null) {
+            analysisCacheHits.increment();
+        } else {
+            analysis = searchAnalysis(field, side, limits, sym);
+
+            // An analysis stopped before its depth is not what the limits alone would give
+            if (analysis.truncated()) {
+                limits.deadline().markTruncated();
+            } else {
+                synchronized (analyses) {
+                    analyses.put(key, analysis);
                 }
             }
         }
-        return new Position(row, col);
+
+        final int empty = Long.bitCount(emptyCells);
+        final List<MoveAnalysis> moves = new ArrayList<>(empty);
+
+        for (long cells = emptyCells; cells != 0; cells &= cells - 1) {
+            final int cell = Long.numberOfTrailingZeros(cells);
+            final int score = analysis.scores()[symmetry.map(sym, cell)];
+            final Position move = new Position(cell / field.getSize(), cell % field.getSize());
+
+            if (Score.isDecisive(score))
+                moves.add(new MoveAnalysis(move, score > 0 ? MoveAnalysis.Outcome.WIN : MoveAnalysis.Outcome.LOSS,
+                        score, Score.distance(score)));
+            else if (analysis.depth() >= empty)
+                moves.add(new MoveAnalysis(move, MoveAnalysis.Outcome.DRAW, score, empty));
+            else
+                moves.add(new MoveAnalysis(move, MoveAnalysis.Outcome.UNKNOWN, score, MoveAnalysis.UNKNOWN_DISTANCE));
+        }
+
+        return moves;
+    }
+
+    /**
+     * @return The total number of nodes visited by all searches of this instance.
+     */
+    public long getVisitedNodes() {
+        return visitedNodes.sum();
+    }
+
+    /**
+     * @return The total number of beta cutoffs of all searches of this instance.
+     */
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    /**
+     * @return The number of analyses answered from the cache.
+     */
+    public long getAnalysisCacheHits() {
+        return analysisCacheHits.sum();
+    }
+
+    /**
+     * Returns the share of beta cutoffs caused by the first move searched at the node.
+     * The closer it is to {@code 1}, the better the moves are ordered.
+     *
+     * @return The cutoff rate, or {@code 0} if no cutoff has happened yet.
+     */
+    public double getCutoffRate() {
+        final long total = cutoffs.sum();
+        return total == 0 ? 0 : (double) firstMoveCutoffs.sum() / total;
     }
 
     /**
@@ -50,127 +394,530 @@ public class MinimaxServiceImpl implements MinimaxService {
     }
 
     /**
-     * Makes a move on the game field by setting the specified cell to the given player's side.
+     * Scores every root move by iterative deepening until the limits are reached or every score is final.
+     *
+     * <p> The best move of the deepest completed iteration is stored in the table as well, so a following
+     * search for the best move of the position is answered at once.
+     *
+     * @param field The field to analyze.
+     * @param side The side to move.
+     * @param limits The limits of this search.
+     * @param canonicalSym The symmetry that maps the position to its canonical orientation.
+     * @return The scores of the deepest completed iteration, indexed by the canonical cell of the move.
+     */
+    private Analysis searchAnalysis(GameField field, CellType side, SearchLimits limits, int canonicalSym) {
+        final long playerBoard = field.getBoard(side);
+        final long opponentBoard = field.getBoard(getOpponentSide(side));
+        final Symmetry symmetry = Symmetry.of(field.getSize());
+        final long rootMoves = symmetry.uniqueMoves(playerBoard, opponentBoard);
+
+        final long start = System.nanoTime();
+        final int depthLimit = Math.min(limits.depth(maxDepth), Long.bitCount(field.getEmptyCells()));
+        final long timeBudget = limits.timeBudgetNanos(timeBudgetNanos);
+        final long deadline = timeBudget == 0 ? 0 : start + timeBudget;
+        final SearchContext ctx = new SearchContext(field, side, depthLimit, deadline, limits.deadline(), limits.maxNodes(),
+                limits.depth(maxDepth) < maxDepth);
+        final int rootSym = ctx.canonicalSymmetry(0);
+
+        int[] scores = new int[field.getGeometry().getCells()];
+        int completedDepth = 0;
+
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            // The first iteration always completes, so every move has a score
+            ctx.startIteration(depth, completedDepth > 0);
+
+            final int[] iteration = scoreRootMoves(ctx, playerBoard, opponentBoard, rootMoves);
+            if (ctx.aborted)
+                break;
+
+            scores = iteration;
+            completedDepth = depth;
+
+            int bestMove = Long.numberOfTrailingZeros(rootMoves);
+            boolean decided = true;
+
+            for (long moves = rootMoves; moves != 0; moves &= moves - 1) {
+                final int move = Long.numberOfTrailingZeros(moves);
+
+                if (scores[move] > scores[bestMove])
+                    bestMove = move;
+
+                decided &= Score.isDecisive(scores[move]) && Score.distance(scores[move]) <= depth;
+            }
+
+            table.store(ctx.hash(0, rootSym), depth, Score.toTable(scores[bestMove], 0), Bound.EXACT,
+                    symmetry.map(rootSym, bestMove));
+
+            // Deeper iterations cannot change a forced result within the depth of every move
+            if (decided)
+                break;
+        }
+
+        // Moves symmetric to a searched one lead to a symmetric position of the same value
+        final long emptyCells = field.getEmptyCells();
+        final int[] canonicalScores = new int[field.getGeometry().getCells()];
+
+        for (long cells = emptyCells; cells != 0; cells &= cells - 1) {
+            final int cell = Long.numberOfTrailingZeros(cells);
+            int searched = cell;
+
+            for (int sym = 0; (rootMoves & (1L << searched)) == 0 && sym < Symmetry.COUNT; sym++) {
+                if (symmetry.transform(sym, playerBoard) == playerBoard
+                        && symmetry.transform(sym, opponentBoard) == opponentBoard)
+                    searched = Math.min(searched, symmetry.map(sym, cell));
+            }
+
+            canonicalScores[symmetry.map(canonicalSym, cell)] = scores[searched];
+        }
+
+        visitedNodes.add(ctx.nodes);
+        cutoffs.add(ctx.cutoffs);
+        firstMoveCutoffs.add(ctx.firstMoveCutoffs);
+        log.debug("Analysis finished: depth = {}/{}, moves = {}, nodes = {}, time = {} us",
+                completedDepth, depthLimit, Long.bitCount(rootMoves), ctx.nodes, (System.nanoTime() - start) / 1000);
+
+        return new Analysis(canonicalScores, completedDepth, ctx.aborted);
+    }
+
+    /**
+     * Runs one iteration of the analysis: every root move is searched with a full window,
+     * either one after another or, with a pool, in parallel.
+     *
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param rootMoves The root moves to search.
+     * @return The exact score of every root move, indexed by its cell, meaningless if the iteration was aborted.
+     */
+    private int[] scoreRootMoves(SearchContext ctx, long playerBoard, long opponentBoard, long rootMoves) {
+        final int[] scores = new int[ctx.geometry.getCells()];
+
+        if (pool != null && Long.bitCount(rootMoves) > 1 && ctx.rootDepth >= PARALLEL_MIN_DEPTH) {
+            for (RootResult result : searchRootInParallel(ctx, playerBoard, opponentBoard, rootMoves, Integer.MIN_VALUE, true)) {
+                ctx.nodes += result.nodes();
+                ctx.cutoffs += result.cutoffs();
+                ctx.firstMoveCutoffs += result.firstMoveCutoffs();
+                ctx.aborted |= result.aborted();
+                scores[result.move()] = result.value();
+            }
+
+            return scores;
+        }
+
+        for (long moves = rootMoves; moves != 0 && !ctx.aborted; moves &= moves - 1) {
+            final int move = Long.numberOfTrailingZeros(moves);
+
+            ctx.play(0, move, ctx.playerKeys);
+            scores[move] = minimax(ctx, playerBoard | (1L << move), opponentBoard,
+                    ctx.rootDepth - 1, false, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        return scores;
+    }
+
+    /**
+     * Runs one iteration of the search from the root.
+     *
+     * <p> The first move is searched with a full window. The remaining moves are searched with the
+     * best score so far as alpha, either one after another or, with a pool, in parallel.
+     *
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param rootMoves The root moves to search.
+     * @param previousBest The best move of the previous iteration, searched first.
+     * @return The best move of this iteration, meaningless if the iteration was aborted.
+     */
+    private int searchRoot(SearchContext ctx, long playerBoard, long opponentBoard, long rootMoves, int previousBest) {
+        final int firstMove = pick(rootMoves, previousBest);
+        final long otherMoves = rootMoves & ~(1L << firstMove);
+
+        ctx.play(0, firstMove, ctx.playerKeys);
+        int bestVal = minimax(ctx, playerBoard | (1L << firstMove), opponentBoard,
+                ctx.rootDepth - 1, false, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int bestMove = firstMove;
+
+        if (ctx.aborted)
+            return bestMove;
+
+        if (pool != null && otherMoves != 0 && ctx.rootDepth >= PARALLEL_MIN_DEPTH) {
+            for (RootResult result : searchRootInParallel(ctx, playerBoard, opponentBoard, otherMoves, bestVal, false)) {
+                ctx.nodes += result.nodes();
+                ctx.cutoffs += result.cutoffs();
+                ctx.firstMoveCutoffs += result.firstMoveCutoffs();
+                ctx.aborted |= result.aborted();
+
+                // A result that failed low is only an upper bound and cannot be trusted on a tie
+                if (result.exact() && result.value() > bestVal) {
+                    bestMove = result.move();
+                    bestVal = result.value();
+                }
+            }
+        } else {
+            for (long moves = otherMoves; moves != 0 && !ctx.aborted; moves &= moves - 1) {
+                final int move = Long.numberOfTrailingZeros(moves);
+
+                ctx.play(0, move, ctx.playerKeys);
+                final int moveVal = minimax(ctx, playerBoard | (1L << move), opponentBoard,
+                        ctx.rootDepth - 1, false, bestVal, Integer.MAX_VALUE);
+
+                if (!ctx.aborted && moveVal > bestVal) {
+                    bestMove = move;
+                    bestVal = moveVal;
+                }
+            }
+        }
+
+        ctx.rootScore = bestVal;
+        return bestMove;
+    }
+
+    /**
+     * Searches root moves on the pool, each with its own copy of the search state.
+     *
+     * <p> Every worker starts with the best score published so far as its alpha and publishes its own
+     * score when it beats it, so later workers prune against the strongest known bound. With a full
+     * window nothing is shared and every move gets its exact score.
      *
-     * @param field The game field.
-     * @param i The row index of the cell.
-     * @param j The column index of the cell.
-     * @param playerSide The player's side.
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param moves The root moves to search.
+     * @param firstValue The score of the root move already searched.
+     * @param fullWindow Whether every move is searched with a full window instead of the shared alpha.
+     * @return The results in ascending order of the moves.
      */
-    private void makeMove(GameField field, int i, int j, CellType playerSide) {
-        field.setCell(i, j, playerSide);
+    private List<RootResult> searchRootInParallel(SearchContext ctx, long playerBoard, long opponentBoard,
+                                                  long moves, int firstValue, boolean fullWindow) {
+        final AtomicInteger alpha = new AtomicInteger(firstValue);
+        final List<Callable<RootResult>> tasks = new ArrayList<>();
+
+        for (long remaining = moves; remaining != 0; remaining &= remaining - 1) {
+            final int move = Long.numberOfTrailingZeros(remaining);
+            final SearchContext worker = ctx.fork();
+
+            tasks.add(() -> {
+                final int workerAlpha = fullWindow ? Integer.MIN_VALUE : alpha.get();
+
+                worker.play(0, move, worker.playerKeys);
+                final int value = minimax(worker, playerBoard | (1L << move), opponentBoard,
+                        worker.rootDepth - 1, false, workerAlpha, Integer.MAX_VALUE);
+
+                if (!worker.aborted && !fullWindow)
+                    alpha.accumulateAndGet(value, Math::max);
+
+                return new RootResult(move, value, value > workerAlpha, worker.nodes,
+                        worker.cutoffs, worker.firstMoveCutoffs, worker.aborted);
+            });
+        }
+
+        final List<RootResult> results = new ArrayList<>(tasks.size());
+
+        try {
+            for (Future<RootResult> future : pool.invokeAll(tasks))
+                results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ctx.aborted = true;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel search failed", e.getCause());
+        }
+
+        return results;
     }
 
     /**
      * Core MinimaxService algorithm implementation with alpha-beta pruning.
      *
-     * @param field The current state of the game field.
+     * <p> Terminal positions are scored directly and positions at the depth limit are evaluated.
+     * Otherwise the transposition table is probed and the stored score is used if it was searched
+     * deep enough and its bound settles the window; the stored move is searched first in any case.
+     *
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
      * @param depth The current depth of the search.
      * @param isMaximizing Whether the current player is maximizing or minimizing.
-     * @param playerSide The current player's side.
      * @param alpha The current alpha value for alpha-beta pruning.
      * @param beta The current beta value for alpha-beta pruning.
      * @return The score of the current game state.
      */
-    private int minimax(GameField field, int depth, boolean isMaximizing, CellType playerSide, int alpha, int beta) {
-        final WinState winState = GameUtils.isGameOver(field);
-        if (winState != WinState.CONTINUE)
-            return evaluate(winState, playerSide, depth);
+    private int minimax(SearchContext ctx, long playerBoard, long opponentBoard,
+                        int depth, boolean isMaximizing, int alpha, int beta) {
+        if (ctx.checkLimits())
+            return Score.DRAW;
+
+        final int ply = ctx.ply(depth);
+
+        // Only the side that has just moved can have completed a line
+        if (!isMaximizing && ctx.isWinningMove(ply, playerBoard))
+            return Score.win(ply);
+        if (isMaximizing && ctx.isWinningMove(ply, opponentBoard))
+            return Score.loss(ply);
+        if ((playerBoard | opponentBoard) == ctx.geometry.getFullMask())
+            return Score.DRAW;
+        if (depth == 0)
+            return isMaximizing
+                    ? evaluator.evaluate(ctx.geometry, playerBoard, opponentBoard)
+                    : -evaluator.evaluate(ctx.geometry, opponentBoard, playerBoard);
+
+        final int sym = ctx.canonicalSymmetry(ply);
+        final long entry = table.probe(ctx.hash(ply, sym));
+        int hashMove = TranspositionTable.NO_MOVE;
+
+        if (entry != TranspositionTable.MISS) {
+            if (TranspositionTable.move(entry) != TranspositionTable.NO_MOVE)
+                hashMove = ctx.symmetry.unmap(sym, TranspositionTable.move(entry));
+
+            if (ctx.accepts(TranspositionTable.depth(entry), ctx.horizon(playerBoard, opponentBoard, depth))) {
+                final int stored = Score.fromTable(TranspositionTable.score(entry), ply);
+                final int score = isMaximizing ? stored : -stored;
+                final Bound bound = isMaximizing ? TranspositionTable.bound(entry) : TranspositionTable.bound(entry).flip();
+
+                if (bound == Bound.EXACT
+                        || (bound == Bound.LOWER && score >= beta)
+                        || (bound == Bound.UPPER && score <= alpha))
+                    return score;
+            }
+        }
 
         if (isMaximizing) {
-            return maximize(field, depth, playerSide, alpha, beta);
+            return maximize(ctx, playerBoard, opponentBoard, sym, hashMove, depth, alpha, beta);
         } else {
-            return minimize(field, depth, playerSide, alpha, beta);
+            return minimize(ctx, playerBoard, opponentBoard, sym, hashMove, depth, alpha, beta);
         }
     }
 
     /**
      * Maximizing player's turn in the MinimaxService algorithm.
      *
-     * @param field The current state of the game field.
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param sym The symmetry that maps the position to its canonical orientation.
+     * @param hashMove The move stored in the transposition table, searched first.
      * @param depth The current depth of the search.
-     * @param playerSide The current player's side.
      * @param alpha The current alpha value for alpha-beta pruning.
      * @param beta The current beta value for alpha-beta pruning.
      * @return The best score for the maximizing player.
      */
-    private int maximize(GameField field, int depth, CellType playerSide, int alpha, int beta) {
+    private int maximize(SearchContext ctx, long playerBoard, long opponentBoard, int sym, int hashMove,
+                         int depth, int alpha, int beta) {
+        final int alphaOrig = alpha;
+        final int ply = ctx.ply(depth);
         int bestValue = Integer.MIN_VALUE;
+        int bestMove = TranspositionTable.NO_MOVE;
 
-        for (int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            for (int j = 0; j < GameAttribute.COLS.getValue(); j++) {
-                if (field.getCell(i, j) == CellType.EMPTY) {
-                    makeMove(field, i, j, playerSide);
-                    int eval = minimax(field, depth - 1, false, playerSide, alpha, beta);
-                    field.setCell(i, j, CellType.EMPTY);
+        final long moves = ~(playerBoard | opponentBoard) & ctx.geometry.getFullMask();
+        final int count = ctx.ordering.order(moves, hashMove, ply, PLAYER);
 
-                    bestValue = Math.max(bestValue, eval);
-                    alpha = Math.max(alpha, bestValue);
+        if (depth == 1 && evaluator.batchSize() > 1)
+            return frontier(ctx, playerBoard, opponentBoard, sym, count, alpha, beta, true);
 
-                    if (beta <= alpha) {
-                        break; // Alpha-beta pruning
-                    }
-                }
+        for (int i = 0; i < count; i++) {
+            final int move = ctx.ordering.moveAt(ply, i);
+
+            ctx.play(ply, move, ctx.playerKeys);
+            final int eval = minimax(ctx, playerBoard | (1L << move), opponentBoard, depth - 1, false, alpha, beta);
+
+            if (ctx.aborted)
+                return Score.DRAW;
+
+            if (eval > bestValue) {
+                bestValue = eval;
+                bestMove = move;
+            }
+            alpha = Math.max(alpha, bestValue);
+
+            if (beta <= alpha) {
+                ctx.cutoff(move, ply, PLAYER, depth, i);
+                break; // Alpha-beta pruning
             }
         }
 
+        store(ctx, sym, playerBoard, opponentBoard, depth, bestValue, Bound.of(bestValue, alphaOrig, beta), bestMove);
+
         return bestValue;
     }
 
     /**
      * Minimizing player's turn in the MinimaxService algorithm.
      *
-     * @param field The current state of the game field.
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param sym The symmetry that maps the position to its canonical orientation.
+     * @param hashMove The move stored in the transposition table, searched first.
      * @param depth The current depth of the search.
-     * @param playerSide The current player's side.
      * @param alpha The current alpha value for alpha-beta pruning.
      * @param beta The current beta value for alpha-beta pruning.
      * @return The best score for the minimizing player.
      */
-    private int minimize(GameField field, int depth, CellType playerSide, int alpha, int beta) {
+    private int minimize(SearchContext ctx, long playerBoard, long opponentBoard, int sym, int hashMove,
+                         int depth, int alpha, int beta) {
+        final int betaOrig = beta;
+        final int ply = ctx.ply(depth);
         int bestValue = Integer.MAX_VALUE;
+        int bestMove = TranspositionTable.NO_MOVE;
+
+        final long moves = ~(playerBoard | opponentBoard) & ctx.geometry.getFullMask();
+        final int count = ctx.ordering.order(moves, hashMove, ply, OPPONENT);
+
+        if (depth == 1 && evaluator.batchSize() > 1)
+            return frontier(ctx, playerBoard, opponentBoard, sym, count, alpha, beta, false);
+
+        for (int i = 0; i < count; i++) {
+            final int move = ctx.ordering.moveAt(ply, i);
+
+            ctx.play(ply, move, ctx.opponentKeys);
+            final int eval = minimax(ctx, playerBoard, opponentBoard | (1L << move), depth - 1, true, alpha, beta);
+
+            if (ctx.aborted)
+                return Score.DRAW;
+
+            if (eval < bestValue) {
+                bestValue = eval;
+                bestMove = move;
+            }
+            beta = Math.min(beta, bestValue);
+
+            if (beta <= alpha) {
+                ctx.cutoff(move, ply, OPPONENT, depth, i);
+                break; // Alpha-beta pruning
+            }
+        }
+
+        // The table keeps scores from the side to move's perspective, here the opponent's
+        store(ctx, sym, playerBoard, opponentBoard, depth, -bestValue, Bound.of(bestValue, alpha, betaOrig).flip(), bestMove);
+
+        return bestValue;
+    }
+
+    /**
+     * Scores a node one ply above the depth limit by evaluating its children in batches of
+     * {@link Evaluator#batchSize()} moves, in search order, with the cutoff tested after every batch.
+     *
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param sym The symmetry that maps the position to its canonical orientation.
+     * @param count The number of ordered moves.
+     * @param alpha The current alpha value for alpha-beta pruning.
+     * @param beta The current beta value for alpha-beta pruning.
+     * @param isMaximizing Whether the player the search is run for is to move.
+     * @return The score of the node for the player the search is run for.
+     */
+    private int frontier(SearchContext ctx, long playerBoard, long opponentBoard, int sym, int count,
+                         int alpha, int beta, boolean isMaximizing) {
+        final int alphaOrig = alpha;
+        final int betaOrig = beta;
+        final int ply = ctx.ply(1);
+        final int batch = evaluator.batchSize();
+        int bestValue = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestMove = TranspositionTable.NO_MOVE;
+
+        for (int from = 0; from < count && alpha < beta; from += batch) {
+            final int size = Math.min(batch, count - from);
+            final int scored = isMaximizing
+                    ? ctx.scoreFrontier(evaluator, playerBoard, opponentBoard, ply, from, size)
+                    : ctx.scoreFrontier(evaluator, opponentBoard, playerBoard, ply, from, size);
+
+            if (ctx.aborted)
+                return Score.DRAW;
+
+            for (int i = 0; i < scored; i++) {
+                final int move = ctx.ordering.moveAt(ply, from + i);
+                // The batch scores the children for the side to move, the opponent when minimizing
+                final int eval = isMaximizing ? ctx.childScores[i] : -ctx.childScores[i];
 
-        for (int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            for (int j = 0; j < GameAttribute.COLS.getValue(); j++) {
-                if (field.getCell(i, j) == CellType.EMPTY) {
-                    makeMove(field, i, j, getOpponentSide(playerSide));
-                    int eval = minimax(field, depth - 1, true, playerSide, alpha, beta);
-                    field.setCell(i, j, CellType.EMPTY);
+                if (isMaximizing ? eval > bestValue : eval < bestValue) {
+                    bestValue = eval;
+                    bestMove = move;
+                }
 
-                    bestValue = Math.min(bestValue, eval);
+                if (isMaximizing)
+                    alpha = Math.max(alpha, bestValue);
+                else
                     beta = Math.min(beta, bestValue);
 
-                    if (beta <= alpha) {
-                        break; // Alpha-beta pruning
-                    }
+                if (beta <= alpha) {
+                    ctx.cutoff(move, ply, isMaximizing ? PLAYER : OPPONENT, 1, from + i);
+                    break;
                 }
             }
         }
 
+        if (isMaximizing)
+            store(ctx, sym, playerBoard, opponentBoard, 1, bestValue, Bound.of(bestValue, alphaOrig, beta), bestMove);
+        else
+            store(ctx, sym, playerBoard, opponentBoard, 1, -bestValue, Bound.of(bestValue, alpha, betaOrig).flip(), bestMove);
+
         return bestValue;
     }
 
     /**
-     * Evaluates the score of a given game state.
+     * Returns the next root move to search: the preferred move while it is still pending,
+     * otherwise the lowest remaining cell.
      *
-     * @param state The current {@link WinState} of the game.
-     * @param side The current player's side.
-     * @param depth The current depth of the search in the MinimaxService algorithm.
-     * @return The score of the game state:
-     *         <ul>
-     *             <li>Positive score if the current player wins.</li>
-     *             <li>Negative score if the opponent wins.</li>
-     *             <li>0 if the game is still ongoing.</li>
-     *         </ul>
-     */
-    private int evaluate(WinState state, CellType side, int depth) {
-        final WinState ourSide = (side == CellType.X) ? WinState.X_WON : WinState.O_WON;
-        final WinState theirSide = (getOpponentSide(side) == CellType.X) ? WinState.X_WON : WinState.O_WON;
-
-        if(state == ourSide)
-            return 10 - depth;
-        else if(state == theirSide)
-            return depth - 10;
-        return 0;
+     * @param moves The moves not searched yet.
+     * @param preferred The move to search first, or {@link TranspositionTable#NO_MOVE}.
+     * @return The cell index of the next move.
+     */
+    private static int pick(long moves, int preferred) {
+        if (preferred != TranspositionTable.NO_MOVE && (moves & (1L << preferred)) != 0)
+            return preferred;
+
+        return Long.numberOfTrailingZeros(moves);
+    }
+
+    /**
+     * Stores a search result in the transposition table with a root-independent score.
+     *
+     * <p> The entry is keyed by the canonical hash and its move is stored in the canonical orientation.
+     *
+     * @param ctx The state of the current search.
+     * @param sym The symmetry that maps the position to its canonical orientation.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param depth The remaining depth of the search.
+     * @param score The score from the side to move's perspective.
+     * @param bound The kind of bound the score represents.
+     * @param move The best move found.
+     */
+    private void store(SearchContext ctx, int sym, long playerBoard, long opponentBoard,
+                       int depth, int score, Bound bound, int move) {
+        final int ply = ctx.ply(depth);
+        final int canonicalMove = move == TranspositionTable.NO_MOVE ? move : ctx.symmetry.map(sym, move);
+
+        table.store(ctx.hash(ply, sym), ctx.horizon(playerBoard, opponentBoard, depth),
+                Score.toTable(score, ply), bound, canonicalMove);
     }
+
+    /**
+     * Outcome of one root move searched by a worker.
+     *
+     * @param move The root move.
+     * @param value The score of the move.
+     * @param exact Whether the score is exact rather than an upper bound.
+     * @param nodes The number of nodes the worker visited.
+     * @param cutoffs The number of beta cutoffs of the worker.
+     * @param firstMoveCutoffs The number of those cutoffs caused by the first move searched.
+     * @param aborted Whether the worker ran out of time.
+     */
+    private record RootResult(int move, int value, boolean exact, long nodes,
+                              long cutoffs, long firstMoveCutoffs, boolean aborted) {}
+
+    /**
+     * Cache key of an analysis: the position in its canonical orientation and the limits it was searched with.
+     */
+    private record AnalysisKey(BoardGeometry geometry, long xBoard, long oBoard, CellType side, SearchLimits limits) {}
+
+    /**
+     * Scores of an analyzed position.
+     *
+     * @param scores The score of every move, indexed by its cell in the canonical orientation.
+     * @param depth The depth of the deepest completed iteration.
+     * @param truncated Whether the analysis stopped before its depth limit.
+     */
+    private record Analysis(int[] scores, int depth, boolean truncated) {}
 }
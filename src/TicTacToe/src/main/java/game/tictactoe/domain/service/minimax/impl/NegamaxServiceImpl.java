@@ -0,0 +1,503 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.Bound;
+import game.tictactoe.domain.service.minimax.search.Evaluator;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import game.tictactoe.domain.service.minimax.search.ReplacementPolicy;
+import game.tictactoe.domain.service.minimax.search.Score;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * MinimaxService implementation with negamax, principal variation search and aspiration windows.
+ *
+ * <p> Both sides are searched by the same code: every node scores the position for the side to move
+ * and negates the scores of its children. The bitboards, the transposition table, the symmetry
+ * reduction, the move ordering, the iterative deepening, the evaluation at the depth limit and the
+ * search limits are the same as in {@link MinimaxServiceImpl}.
+ *
+ * <p> Only the first move of a node is searched with the full window. Every other move is first searched
+ * with a null window around alpha, which only proves that it is no better than the first one, and is
+ * searched again with the full window if it turns out to be better.
+ *
+ * <p> From the second iteration on, the root is searched with a narrow aspiration window around the score
+ * of the previous iteration. If the score falls outside of it, the failing side of the window is opened
+ * and the iteration is searched again.
+ */
+@Slf4j
+public class NegamaxServiceImpl implements MinimaxService {
+
+    /**
+     * Number of transposition table slots used by the default constructor.
+     */
+    private static final int DEFAULT_TABLE_SIZE = 1 << 16;
+
+    /**
+     * Half-width of the aspiration window around the score of the previous iteration.
+     */
+    private static final int ASPIRATION_WINDOW = 2;
+
+    /**
+     * A score beyond any real one; unlike {@link Integer#MIN_VALUE} it can be negated.
+     */
+    private static final int INFINITY = Score.WIN + 1;
+
+    private final TranspositionTable table;
+
+    /**
+     * Maximum depth of the search tree.
+     */
+    private final int maxDepth;
+
+    /**
+     * Wall-clock budget of a single search in nanoseconds, or {@code 0} for no limit.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * Scores the positions at the depth limit.
+     */
+    private final Evaluator evaluator;
+
+    /**
+     * Total number of nodes visited by all searches of this instance.
+     */
+    private final LongAdder visitedNodes = new LongAdder();
+
+    /**
+     * Total number of beta cutoffs of all searches of this instance.
+     */
+    private final LongAdder cutoffs = new LongAdder();
+
+    /**
+     * Number of beta cutoffs caused by the first move searched at the node.
+     */
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+
+    /**
+     * Number of moves searched again with the full window after a null-window search proved them better.
+     */
+    private final LongAdder reSearches = new LongAdder();
+
+    /**
+     * Number of root searches whose score fell outside of the aspiration window.
+     */
+    private final LongAdder aspirationFailures = new LongAdder();
+
+    public NegamaxServiceImpl() {
+        this(new TranspositionTable(DEFAULT_TABLE_SIZE, ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    public NegamaxServiceImpl(TranspositionTable table) {
+        this(table, MinimaxServiceImpl.DEPTH);
+    }
+
+    public NegamaxServiceImpl(TranspositionTable table, int maxDepth) {
+        this(table, maxDepth, Duration.ZERO);
+    }
+
+    /**
+     * @param table The transposition table shared by all searches.
+     * @param maxDepth The maximum depth of the search tree.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     */
+    public NegamaxServiceImpl(TranspositionTable table, int maxDepth, Duration timeBudget) {
+        this(table, maxDepth, timeBudget, new HeuristicEvaluator());
+    }
+
+    /**
+     * @param table The transposition table shared by all searches.
+     * @param maxDepth The maximum depth of the search tree.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     * @param evaluator The evaluation of the positions at the depth limit.
+     */
+    public NegamaxServiceImpl(TranspositionTable table, int maxDepth, Duration timeBudget, Evaluator evaluator) {
+        if (maxDepth <= 0)
+            throw new IllegalArgumentException("Search depth must be positive");
+        if (timeBudget.isNegative())
+            throw new IllegalArgumentException("Time budget must not be negative");
+
+        this.table = table;
+        this.maxDepth = Math.min(maxDepth, Score.MAX_PLY);
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        return findBestMove(field, side, SearchLimits.NONE);
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        return findBestMove(field, side, limits, progress -> true);
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        final long playerBoard = field.getBoard(side);
+        final long opponentBoard = field.getBoard(side == CellType.X ? CellType.O : CellType.X);
+
+        // Moves symmetric to an earlier one have the same value and can never be strictly better
+        final long rootMoves = Symmetry.of(field.getSize()).uniqueMoves(playerBoard, opponentBoard);
+
+        if (rootMoves == 0)
+            return new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS);
+
+        final long start = System.nanoTime();
+        final int depthLimit = Math.min(limits.depth(maxDepth), Long.bitCount(field.getEmptyCells()));
+        final long timeBudget = limits.timeBudgetNanos(timeBudgetNanos);
+        final long deadline = timeBudget == 0 ? 0 : start + timeBudget;
+        final SearchContext ctx = new SearchContext(field, side, depthLimit, deadline, limits.deadline(), limits.maxNodes(),
+                limits.depth(maxDepth) < maxDepth);
+
+        final int rootSym = ctx.canonicalSymmetry(0);
+        final long rootEntry = table.probe(ctx.hash(0, rootSym));
+
+        int bestMove = Long.numberOfTrailingZeros(rootMoves);
+        int firstDepth = 1;
+        int completedDepth = 0;
+        long aspirationMisses = 0;
+
+        // A result deeper than this search may look is left alone, as inside the tree
+        if (rootEntry != TranspositionTable.MISS && TranspositionTable.move(rootEntry) != TranspositionTable.NO_MOVE
+                && TranspositionTable.depth(rootEntry) <= depthLimit) {
+            bestMove = ctx.symmetry.unmap(rootSym, TranspositionTable.move(rootEntry));
+
+            // An exact result of an earlier search is resumed at its depth and is already a complete answer
+            if (TranspositionTable.bound(rootEntry) == Bound.EXACT) {
+                firstDepth = Math.max(1, Math.min(TranspositionTable.depth(rootEntry), depthLimit));
+                completedDepth = TranspositionTable.depth(rootEntry);
+                ctx.rootScore = Score.fromTable(TranspositionTable.score(rootEntry), 0);
+            }
+        }
+
+        for (int depth = firstDepth; depth <= depthLimit; depth++) {
+            // Without a stored result the first iteration always completes, so there is a move to return
+            ctx.startIteration(depth, completedDepth > 0);
+
+            int alpha = completedDepth > 0 ? Math.max(ctx.rootScore - ASPIRATION_WINDOW, -INFINITY) : -INFINITY;
+            int beta = completedDepth > 0 ? Math.min(ctx.rootScore + ASPIRATION_WINDOW, INFINITY) : INFINITY;
+            int preferred = bestMove;
+            int move;
+
+            while (true) {
+                move = searchRoot(ctx, playerBoard, opponentBoard, rootMoves | (1L << bestMove), preferred, alpha, beta);
+
+                if (ctx.aborted)
+                    break;
+
+                if (ctx.rootScore <= alpha && alpha > -INFINITY) {
+                    alpha = -INFINITY;
+                } else if (ctx.rootScore >= beta && beta < INFINITY) {
+                    beta = INFINITY;
+                    preferred = move;
+                } else {
+                    break;
+                }
+
+                aspirationMisses++;
+            }
+
+            if (ctx.aborted)
+                break;
+
+            bestMove = move;
+            completedDepth = depth;
+            table.store(ctx.hash(0, rootSym), depth, Score.toTable(ctx.rootScore, 0), Bound.EXACT,
+                    ctx.symmetry.map(rootSym, bestMove));
+
+            final boolean proceed = progress.test(new SearchProgress(depth,
+                    new Position(bestMove / field.getSize(), bestMove % field.getSize()), ctx.rootScore, ctx.nodes));
+
+            // Every result within the iteration depth is seen, so a forced result that close is final
+            if (!proceed || (Score.isDecisive(ctx.rootScore) && Score.distance(ctx.rootScore) <= depth))
+                break;
+        }
+
+        // Tells the caller the move is that of a shallower iteration than asked for
+        if (ctx.aborted)
+            limits.deadline().markTruncated();
+
+        visitedNodes.add(ctx.nodes);
+        cutoffs.add(ctx.cutoffs);
+        firstMoveCutoffs.add(ctx.firstMoveCutoffs);
+        aspirationFailures.add(aspirationMisses);
+        log.debug("Search finished: depth = {}/{}, nodes = {}, cutoffs = {} ({} on the first move), "
+                        + "aspiration failures = {}, score = {}, time = {} us",
+                completedDepth, depthLimit, ctx.nodes, ctx.cutoffs, ctx.firstMoveCutoffs, aspirationMisses,
+                ctx.rootScore, (System.nanoTime() - start) / 1000);
+
+        return new Position(bestMove / field.getSize(), bestMove % field.getSize());
+    }
+
+    /**
+     * @return The total number of nodes visited by all searches of this instance.
+     */
+    public long getVisitedNodes() {
+        return visitedNodes.sum();
+    }
+
+    /**
+     * @return The total number of beta cutoffs of all searches of this instance.
+     */
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    /**
+     * Returns the share of beta cutoffs caused by the first move searched at the node.
+     * The closer it is to {@code 1}, the better the moves are ordered.
+     *
+     * @return The cutoff rate, or {@code 0} if no cutoff has happened yet.
+     */
+    public double getCutoffRate() {
+        final long total = cutoffs.sum();
+        return total == 0 ? 0 : (double) firstMoveCutoffs.sum() / total;
+    }
+
+    /**
+     * @return The number of moves searched again after their null-window search proved them better.
+     */
+    public long getReSearches() {
+        return reSearches.sum();
+    }
+
+    /**
+     * @return The number of root searches whose score fell outside of the aspiration window.
+     */
+    public long getAspirationFailures() {
+        return aspirationFailures.sum();
+    }
+
+    /**
+     * Runs one iteration of the search from the root within the given window.
+     *
+     * <p> The first move is searched with the whole window, every other move with a null window
+     * first. The score of the iteration is left in {@code ctx.rootScore}; it is only a bound
+     * if it falls outside of the window.
+     *
+     * @param ctx The state of the current search.
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param rootMoves The root moves to search.
+     * @param preferred The move searched first.
+     * @param alpha The lower end of the window.
+     * @param beta The upper end of the window.
+     * @return The best move of this iteration, meaningless if the iteration was aborted.
+     */
+    private int searchRoot(SearchContext ctx, long playerBoard, long opponentBoard, long rootMoves,
+                           int preferred, int alpha, int beta) {
+        final int firstMove = (rootMoves & (1L << preferred)) != 0 ? preferred : Long.numberOfTrailingZeros(rootMoves);
+        final int depth = ctx.rootDepth;
+
+        ctx.play(0, firstMove, ctx.playerKeys);
+        int bestVal = -negamax(ctx, opponentBoard, playerBoard | (1L << firstMove), depth - 1, -beta, -alpha);
+        int bestMove = firstMove;
+
+        for (long moves = rootMoves & ~(1L << firstMove); moves != 0 && !ctx.aborted && bestVal < beta;
+             moves &= moves - 1) {
+            final int move = Long.numberOfTrailingZeros(moves);
+            final long board = playerBoard | (1L << move);
+            final int bound = Math.max(alpha, bestVal);
+
+            ctx.play(0, move, ctx.playerKeys);
+            int moveVal = -negamax(ctx, opponentBoard, board, depth - 1, -bound - 1, -bound);
+
+            if (!ctx.aborted && moveVal > bound && moveVal < beta) {
+                reSearches.increment();
+                moveVal = -negamax(ctx, opponentBoard, board, depth - 1, -beta, -bound);
+            }
+
+            if (!ctx.aborted && moveVal > bestVal) {
+                bestMove = move;
+                bestVal = moveVal;
+            }
+        }
+
+        ctx.rootScore = bestVal;
+        return bestMove;
+    }
+
+    /**
+     * Scores a position for the side to move with fail-soft principal variation search.
+     *
+     * <p> Terminal positions are scored directly and positions at the depth limit are evaluated.
+     * Otherwise the transposition table is probed and the stored score is used if it was searched
+     * deep enough and its bound settles the window; the stored move is searched first in any case.
+     *
+     * @param ctx The state of the current search.
+     * @param board The bitboard of the side to move.
+     * @param lastBoard The bitboard of the side that made the last move.
+     * @param depth The remaining depth of the search.
+     * @param alpha The lower end of the window.
+     * @param beta The upper end of the window.
+     * @return The score of the position for the side to move.
+     */
+    private int negamax(SearchContext ctx, long board, long lastBoard, int depth, int alpha, int beta) {
+        if (ctx.checkLimits())
+            return Score.DRAW;
+
+        final int ply = ctx.ply(depth);
+
+        if (ctx.isWinningMove(ply, lastBoard))
+            return Score.loss(ply);
+        if ((board | lastBoard) == ctx.geometry.getFullMask())
+            return Score.DRAW;
+        if (depth == 0)
+            return evaluator.evaluate(ctx.geometry, board, lastBoard);
+
+        final int sym = ctx.canonicalSymmetry(ply);
+        final long entry = table.probe(ctx.hash(ply, sym));
+        int hashMove = TranspositionTable.NO_MOVE;
+
+        if (entry != TranspositionTable.MISS) {
+            if (TranspositionTable.move(entry) != TranspositionTable.NO_MOVE)
+                hashMove = ctx.symmetry.unmap(sym, TranspositionTable.move(entry));
+
+            if (ctx.accepts(TranspositionTable.depth(entry), ctx.horizon(board, lastBoard, depth))) {
+                final int score = Score.fromTable(TranspositionTable.score(entry), ply);
+                final Bound bound = TranspositionTable.bound(entry);
+
+                if (bound == Bound.EXACT
+                        || (bound == Bound.LOWER && score >= beta)
+                        || (bound == Bound.UPPER && score <= alpha))
+                    return score;
+            }
+        }
+
+        final int alphaOrig = alpha;
+        final int side = ply & 1;
+        final long moves = ~(board | lastBoard) & ctx.geometry.getFullMask();
+        final int count = ctx.ordering.order(moves, hashMove, ply, side);
+
+        if (depth == 1 && evaluator.batchSize() > 1)
+            return frontier(ctx, sym, board, lastBoard, count, alpha, beta);
+
+        int bestValue = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+
+        for (int i = 0; i < count; i++) {
+            final int move = ctx.ordering.moveAt(ply, i);
+            final long next = board | (1L << move);
+
+            ctx.play(ply, move, ctx.keys(ply));
+            int eval;
+
+            if (i == 0) {
+                eval = -negamax(ctx, lastBoard, next, depth - 1, -beta, -alpha);
+            } else {
+                eval = -negamax(ctx, lastBoard, next, depth - 1, -alpha - 1, -alpha);
+
+                if (!ctx.aborted && eval > alpha && eval < beta) {
+                    reSearches.increment();
+                    eval = -negamax(ctx, lastBoard, next, depth - 1, -beta, -alpha);
+                }
+            }
+
+            if (ctx.aborted)
+                return Score.DRAW;
+
+            if (eval > bestValue) {
+                bestValue = eval;
+                bestMove = move;
+            }
+            alpha = Math.max(alpha, bestValue);
+
+            if (alpha >= beta) {
+                ctx.cutoff(move, ply, side, depth, i);
+                break;
+            }
+        }
+
+        store(ctx, sym, board, lastBoard, depth, bestValue, Bound.of(bestValue, alphaOrig, beta), bestMove);
+
+        return bestValue;
+    }
+
+    /**
+     * Scores a node one ply above the depth limit, whose children are evaluated rather than searched.
+     *
+     * <p> The children are evaluated in batches of {@link Evaluator#batchSize()} moves, in the order they
+     * would be searched, and the window is tested after every batch. A cut node therefore evaluates at
+     * most one batch more than a search of its children one by one, at about the cost of one child.
+     *
+     * @param ctx The state of the current search.
+     * @param sym The symmetry that maps the position to its canonical orientation.
+     * @param board The bitboard of the side to move.
+     * @param lastBoard The bitboard of the side that made the last move.
+     * @param count The number of ordered moves.
+     * @param alpha The lower end of the window.
+     * @param beta The upper end of the window.
+     * @return The score of the position for the side to move.
+     */
+    private int frontier(SearchContext ctx, int sym, long board, long lastBoard, int count, int alpha, int beta) {
+        final int alphaOrig = alpha;
+        final int ply = ctx.ply(1);
+        final int side = ply & 1;
+        final int batch = evaluator.batchSize();
+        int bestValue = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+
+        for (int from = 0; from < count && alpha < beta; from += batch) {
+            final int scored = ctx.scoreFrontier(evaluator, board, lastBoard, ply, from, Math.min(batch, count - from));
+
+            if (ctx.aborted)
+                return Score.DRAW;
+
+            for (int i = 0; i < scored; i++) {
+                final int move = ctx.ordering.moveAt(ply, from + i);
+                final int eval = ctx.childScores[i];
+
+                if (eval > bestValue) {
+                    bestValue = eval;
+                    bestMove = move;
+                }
+                alpha = Math.max(alpha, bestValue);
+
+                if (alpha >= beta) {
+                    ctx.cutoff(move, ply, side, 1, from + i);
+                    break;
+                }
+            }
+        }
+
+        store(ctx, sym, board, lastBoard, 1, bestValue, Bound.of(bestValue, alphaOrig, beta), bestMove);
+
+        return bestValue;
+    }
+
+    /**
+     * Stores a search result in the transposition table with a root-independent score.
+     *
+     * <p> The entry is keyed by the canonical hash and its move is stored in the canonical orientation.
+     *
+     * @param ctx The state of the current search.
+     * @param sym The symmetry that maps the position to its canonical orientation.
+     * @param board The bitboard of the side to move.
+     * @param lastBoard The bitboard of the side that made the last move.
+     * @param depth The remaining depth of the search.
+     * @param score The score for the side to move.
+     * @param bound The kind of bound the score represents.
+     * @param move The best move found.
+     */
+    private void store(SearchContext ctx, int sym, long board, long lastBoard,
+                       int depth, int score, Bound bound, int move) {
+        final int ply = ctx.ply(depth);
+        final int canonicalMove = move == TranspositionTable.NO_MOVE ? move : ctx.symmetry.map(sym, move);
+
+        table.store(ctx.hash(ply, sym), ctx.horizon(board, lastBoard, depth),
+                Score.toTable(score, ply), bound, canonicalMove);
+    }
+}
@@ -0,0 +1,185 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.table.PerfectPlayTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * MinimaxService implementation that answers from the build-time generated {@link PerfectPlayTable}.
+ *
+ * <p> The table is memory-mapped once at construction, so every move is a single byte lookup:
+ * no warm-up and no search. Positions the table does not cover (fields other than the default 3x3,
+ * a side that is not to move in an X-first game, finished positions), a missing table and searches
+ * with {@link SearchLimits} are delegated to the fallback service. Unlimited searches can also be
+ * answered by a {@link #lookup lookup} alone, which never falls back to a search.
+ */
+@Slf4j
+public class PerfectTableMinimaxServiceImpl implements MinimaxService {
+
+    /**
+     * Mapped table, or {@code null} if it could not be loaded.
+     */
+    private final ByteBuffer table;
+
+    private final MinimaxService fallback;
+
+    public PerfectTableMinimaxServiceImpl(MinimaxService fallback) {
+        this(PerfectPlayTable.RESOURCE, fallback);
+    }
+
+    public PerfectTableMinimaxServiceImpl(String resource, MinimaxService fallback) {
+        this.table = load(resource);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        final Position move = tableMove(field, side);
+
+        return move != null ? move : fallback.findBestMove(field, side);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The table plays perfectly, so a limited search is always delegated to the fallback. An unlimited
+     * one the table does not cover is delegated with the limits, to keep their deadline.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        final Position move = limits.isUnlimited() ? tableMove(field, side) : null;
+
+        return move != null ? move : fallback.findBestMove(field, side, limits);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> Answered from the table if it covers the position and the limits are those of perfect play.
+     */
+    @Override
+    public Position lookup(GameField field, CellType side, SearchLimits limits) {
+        return limits.isUnlimited() ? tableMove(field, side) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The table has no iterations to report, so the search is delegated to the fallback.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        return fallback.findBestMove(field, side, limits, progress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The table holds no distances to the result, so every analysis is delegated to the fallback.
+     */
+    @Override
+    public List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        return fallback.analyze(field, side, limits);
+    }
+
+    /**
+     * @return true if the table was loaded and lookups are served from it.
+     */
+    public boolean isTableLoaded() {
+        return table != null;
+    }
+
+    /**
+     * @return The move stored in the table for the position, or {@code null} if the table does not cover it.
+     */
+    private Position tableMove(GameField field, CellType side) {
+        final long xBoard = field.getBoard(CellType.X);
+        final long oBoard = field.getBoard(CellType.O);
+
+        if (table == null
+                || !field.getGeometry().equals(BoardGeometry.DEFAULT)
+                || PerfectPlayTable.sideToMove(xBoard, oBoard) != side)
+            return null;
+
+        final byte entry = table.get(PerfectPlayTable.HEADER_SIZE + PerfectPlayTable.index(xBoard, oBoard));
+
+        if (entry == PerfectPlayTable.NO_ENTRY)
+            return null;
+
+        final int move = PerfectPlayTable.move(entry);
+        return new Position(move / field.getSize(), move % field.getSize());
+    }
+
+    /**
+     * Memory-maps the table from the classpath.
+     *
+     * <p> A resource inside a jar cannot be mapped directly, so it is first extracted to a temporary file.
+     *
+     * @param resource The classpath location of the table.
+     * @return The mapped table, or {@code null} if it is missing or invalid.
+     */
+    private static ByteBuffer load(String resource) {
+        final URL url = PerfectTableMinimaxServiceImpl.class.getClassLoader().getResource(resource);
+
+        if (url == null) {
+            log.warn("Perfect-play table {} not found, all moves will be searched", resource);
+            return null;
+        }
+
+        try {
+            final ByteBuffer buffer = map(url);
+
+            if (buffer.capacity() != PerfectPlayTable.HEADER_SIZE + PerfectPlayTable.SIZE
+                    || buffer.getInt(0) != PerfectPlayTable.MAGIC
+                    || buffer.getInt(Integer.BYTES) != PerfectPlayTable.SIZE) {
+                log.warn("Perfect-play table {} has an unexpected format, all moves will be searched", resource);
+                return null;
+            }
+
+            log.info("Loaded perfect-play table {}", resource);
+            return buffer;
+        } catch (IOException | URISyntaxException e) {
+            log.warn("Failed to load perfect-play table {}, all moves will be searched", resource, e);
+            return null;
+        }
+    }
+
+    private static ByteBuffer map(URL url) throws IOException, URISyntaxException {
+        Path path;
+
+        if ("file".equals(url.getProtocol())) {
+            path = Path.of(url.toURI());
+        } else {
+            path = Files.createTempFile("perfect-play", ".bin");
+            path.toFile().deleteOnExit();
+
+            try (InputStream in = url.openStream()) {
+                Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.Evaluator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * MinimaxService decorator that ponders: while the opponent is thinking, it searches its answers to
+ * the opponent's likely moves in the background.
+ *
+ * <p> After the engine has moved, {@link #ponder} scores every reply of the opponent with the
+ * {@link Evaluator} and submits a search for the answer to each of the most promising ones to a
+ * separate executor. When the opponent then plays one of them, the next search with the same
+ * limits is answered by the pondered result, waiting for it if it is still running, and the searches
+ * for the other replies are cancelled. Pondering is keyed by the position, not by the game, so games
+ * that reach the same position share it.
+ *
+ * <p> Pondering never competes with requested searches: while at least the configured number of them
+ * run at once, all pondering is cancelled and no new pondering is started. Pondering is also cancelled
+ * when its game ends, and the oldest pondering when too many positions are pondered at once. Every
+ * pondered search runs with a {@link SearchDeadline#cancellable() cancellable deadline} of its own, so a
+ * cancelled search stops at the next check of the engine, even if it is already running.
+ */
+@Slf4j
+public class PonderingMinimaxServiceImpl implements MinimaxService {
+
+    /**
+     * Default number of the opponent's replies pondered per position.
+     */
+    public static final int DEFAULT_REPLIES = 3;
+
+    /**
+     * Maximum number of positions pondered at once.
+     */
+    private static final int MAX_PONDERED_POSITIONS = 1 << 10;
+
+    private final MinimaxService delegate;
+    private final ExecutorService executor;
+    private final Evaluator evaluator;
+
+    /**
+     * Number of the opponent's replies pondered per position.
+     */
+    private final int replies;
+
+    /**
+     * Number of requested searches running at once from which on pondering is paused.
+     */
+    private final int maxSearches;
+
+    /**
+     * Pondering of every position, keyed by the position after the engine's move, oldest first.
+     */
+    private final Map<PositionKey, Ponder> ponders = new LinkedHashMap<>();
+
+    /**
+     * Number of requested searches running.
+     */
+    private final AtomicInteger searches = new AtomicInteger();
+
+    /**
+     * Number of searches answered by pondering.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of pondered positions the opponent answered with a reply that was not pondered.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Number of pondered positions cancelled because of load or because the game ended.
+     */
+    private final LongAdder cancelled = new LongAdder();
+
+    /**
+     * @param delegate The service that searches every move, requested or pondered.
+     * @param executor The executor the pondering runs on, its size caps the cores pondering takes.
+     * @param evaluator The evaluation the opponent's replies are ranked by.
+     * @param replies The number of the opponent's replies pondered per position.
+     * @param maxSearches The number of requested searches running at once from which on pondering is paused.
+     */
+    public PonderingMinimaxServiceImpl(MinimaxService delegate, ExecutorService executor, Evaluator evaluator,
+                                       int replies, int maxSearches) {
+        if (replies <= 0)
+            throw new IllegalArgumentException("Number of pondered replies must be positive");
+        if (maxSearches <= 0)
+            throw new IllegalArgumentException("Number of searches must be positive");
+
+        this.delegate = delegate;
+        this.executor = executor;
+        this.evaluator = evaluator;
+        this.replies = replies;
+        this.maxSearches = maxSearches;
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        return findBestMove(field, side, SearchLimits.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> Answered by pondering if the opponent has just played a pondered reply, which is waited for
+     * until the deadline of the search at most.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        final PonderedSearch pondered = takePondered(field, side, limits);
+
+        if (pondered != null) {
+            try {
+                final SearchDeadline deadline = limits.deadline();
+                final Position move = deadline == SearchDeadline.NONE
+                        ? pondered.result.get()
+                        : pondered.result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                hits.increment();
+
+                if (pondered.deadline.isTruncated())
+                    deadline.markTruncated();
+
+                return move;
+            } catch (TimeoutException e) {
+                pondered.cancel();
+                log.debug("Pondered search did not complete before the deadline");
+            } catch (CancellationException | ExecutionException e) {
+                log.debug("Pondered search did not complete, searching again", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for a pondered search");
+            }
+        }
+
+        return search(() -> delegate.findBestMove(field, side, limits));
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        return search(() -> delegate.findBestMove(field, side, limits, progress));
+    }
+
+    @Override
+    public List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        return search(() -> delegate.analyze(field, side, limits));
+    }
+
+    @Override
+    public void findBestMoves(List<GameField> fields, List<CellType> sides, SearchLimits limits,
+                              ObjIntConsumer<Position> results) {
+        search(() -> {
+            delegate.findBestMoves(fields, sides, limits, results);
+            return null;
+        });
+    }
+
+    @Override
+    public Position lookup(GameField field, CellType side, SearchLimits limits) {
+        return delegate.lookup(field, side, limits);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> Pondering of a position that is already pondered with the same side and limits is kept.
+     */
+    @Override
+    public void ponder(GameField field, CellType side, SearchLimits limits) {
+        if (searches.get() >= maxSearches)
+            return;
+
+        final BoardGeometry geometry = field.getGeometry();
+        final CellType opponentSide = side == CellType.X ? CellType.O : CellType.X;
+        final long board = field.getBoard(side);
+        final long other = field.getBoard(opponentSide);
+
+        if (geometry.isWin(board) || geometry.isWin(other) || field.isFull())
+            return;
+
+        // Pondering outlives the request it follows, so it is not bound to its deadline but to its own
+        final SearchLimits ponderLimits = limits.withoutDeadline();
+        final PositionKey key = new PositionKey(geometry, field.getBoard(CellType.X), field.getBoard(CellType.O));
+        final int[] cells = likelyReplies(geometry, board, other);
+
+        synchronized (ponders) {
+            final Ponder previous = ponders.remove(key);
+
+            if (previous != null && previous.side == side && previous.limits.equals(ponderLimits)) {
+                ponders.put(key, previous);
+                return;
+            }
+
+            if (previous != null)
+                previous.cancel();
+
+            if (ponders.size() >= MAX_PONDERED_POSITIONS) {
+                final Iterator<Ponder> eldest = ponders.values().iterator();
+                eldest.next().cancel();
+                eldest.remove();
+            }
+
+            final Ponder ponder = new Ponder(side, ponderLimits);
+
+            for (int cell : cells) {
+                final GameField reply = new GameField(field);
+                reply.setCell(cell, opponentSide);
+                final SearchDeadline deadline = SearchDeadline.cancellable();
+                final SearchLimits replyLimits = ponderLimits.withDeadline(deadline);
+                ponder.replies.put(cell, new PonderedSearch(
+                        executor.submit(() -> delegate.findBestMove(reply, side, replyLimits)), deadline));
+            }
+
+            ponders.put(key, ponder);
+        }
+
+        log.debug("Pondering {} replies", cells.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> Cancels the pondering of the position itself and of the positions one move before it.
+     */
+    @Override
+    public void stopPondering(GameField field) {
+        final BoardGeometry geometry = field.getGeometry();
+        final long xBoard = field.getBoard(CellType.X);
+        final long oBoard = field.getBoard(CellType.O);
+
+        synchronized (ponders) {
+            if (ponders.isEmpty())
+                return;
+
+            cancel(ponders.remove(new PositionKey(geometry, xBoard, oBoard)));
+
+            for (long marks = xBoard; marks != 0; marks &= marks - 1)
+                cancel(ponders.remove(new PositionKey(geometry, xBoard & ~(marks & -marks), oBoard)));
+
+            for (long marks = oBoard; marks != 0; marks &= marks - 1)
+                cancel(ponders.remove(new PositionKey(geometry, xBoard, oBoard & ~(marks & -marks))));
+        }
+    }
+
+    /**
+     * @return The number of searches answered by pondering.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of pondered positions the opponent answered with a reply that was not pondered.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of pondered positions cancelled because of load or because the game ended.
+     */
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * Runs a requested search and cancels all pondering if it brings the number of them to the limit.
+     */
+    private <T> T search(Supplier<T> search) {
+        if (searches.incrementAndGet() >= maxSearches)
+            cancelAll();
+
+        try {
+            return search.get();
+        } finally {
+            searches.decrementAndGet();
+        }
+    }
+
+    /**
+     * Finds the pondering of the position before the opponent's last move and removes it. The search
+     * for the reply that was played is returned, the others are cancelled.
+     *
+     * @return The pondered search for the position, or {@code null} if it was not pondered.
+     */
+    private PonderedSearch takePondered(GameField field, CellType side, SearchLimits limits) {
+        final BoardGeometry geometry = field.getGeometry();
+        final long xBoard = field.getBoard(CellType.X);
+        final long oBoard = field.getBoard(CellType.O);
+        final long opponentBoard = side == CellType.X ? oBoard : xBoard;
+
+        synchronized (ponders) {
+            if (ponders.isEmpty())
+                return null;
+
+            for (long marks = opponentBoard; marks != 0; marks &= marks - 1) {
+                final long mark = marks & -marks;
+                final Ponder ponder = ponders.remove(side == CellType.X
+                        ? new PositionKey(geometry, xBoard, oBoard & ~mark)
+                        : new PositionKey(geometry, xBoard & ~mark, oBoard));
+
+                if (ponder == null)
+                    continue;
+
+                final PonderedSearch reply = ponder.side == side && ponder.limits.equals(limits.withoutDeadline())
+                        ? ponder.replies.remove(Long.numberOfTrailingZeros(mark))
+                        : null;
+
+                ponder.cancel();
+
+                if (reply == null)
+                    misses.increment();
+
+                return reply;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Ranks the opponent's replies by the evaluation of the position after them, best for the opponent first.
+     * Replies that win on the spot end the game and are left out.
+     *
+     * @return The cells of the replies to ponder.
+     */
+    private int[] likelyReplies(BoardGeometry geometry, long board, long other) {
+        final long[] boards = new long[geometry.getCells()];
+        final long[] others = new long[geometry.getCells()];
+        final int[] cells = new int[geometry.getCells()];
+        int count = 0;
+
+        for (long moves = ~(board | other) & geometry.getFullMask(); moves != 0; moves &= moves - 1) {
+            final int cell = Long.numberOfTrailingZeros(moves);
+
+            if (geometry.isWinThrough(other | (1L << cell), cell))
+                continue;
+
+            boards[count] = board;
+            others[count] = other | (1L << cell);
+            cells[count++] = cell;
+        }
+
+        // The engine is to move after the reply, so the lower its score, the better the reply
+        final int[] scores = new int[count];
+        evaluator.evaluateAll(geometry, boards, others, count, scores);
+
+        final Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(scores[a], scores[b]));
+
+        final int[] likely = new int[Math.min(replies, count)];
+        for (int i = 0; i < likely.length; i++)
+            likely[i] = cells[order[i]];
+
+        return likely;
+    }
+
+    private void cancelAll() {
+        synchronized (ponders) {
+            ponders.values().forEach(this::cancel);
+            ponders.clear();
+        }
+    }
+
+    private void cancel(Ponder ponder) {
+        if (ponder == null)
+            return;
+
+        ponder.cancel();
+        cancelled.increment();
+    }
+
+    /**
+     * A position in both sides' bitboards.
+     */
+    private record PositionKey(BoardGeometry geometry, long xBoard, long oBoard) {}
+
+    /**
+     * The searches for the engine's answers to the pondered replies of one position.
+     */
+    private static final class Ponder {
+        final CellType side;
+        final SearchLimits limits;
+
+        /**
+         * Search for the answer to every pondered reply, keyed by the cell of the reply.
+         */
+        final Map<Integer, PonderedSearch> replies = new HashMap<>();
+
+        Ponder(CellType side, SearchLimits limits) {
+            this.side = side;
+            this.limits = limits;
+        }
+
+        void cancel() {
+            replies.values().forEach(PonderedSearch::cancel);
+        }
+    }
+
+    /**
+     * A search for the answer to one pondered reply.
+     *
+     * @param result The result of the search.
+     * @param deadline The deadline the search runs with, cancelled to stop it.
+     */
+    private record PonderedSearch(Future<Position> result, SearchDeadline deadline) {
+
+        void cancel() {
+            // A running ForkJoinTask ignores the interrupt, the engine stops at its next check of the deadline
+            deadline.cancel();
+            result.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.ProofNumberSolver;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * MinimaxService implementation that solves endgames with a {@link ProofNumberSolver}.
+ *
+ * <p> Once few enough cells are empty, or enough immediate threats are on the field, the position is
+ * handed to the solver first. A proven win is played at once, and so is a move that provably holds
+ * a draw. A proven loss, or a position the solver could not decide within its node limit, is
+ * delegated to the fallback service, which picks the most resilient move.
+ */
+@Slf4j
+public class ProofNumberMinimaxServiceImpl implements MinimaxService {
+
+    /**
+     * Default number of empty cells from which on the solver is tried.
+     */
+    public static final int DEFAULT_EMPTY_CELLS = 16;
+
+    /**
+     * Default number of immediate threats of both sides from which on the solver is tried.
+     */
+    public static final int DEFAULT_THREATS = 2;
+
+    private final MinimaxService fallback;
+    private final ProofNumberSolver solver;
+
+    /**
+     * The solver is tried when at most this many cells are empty.
+     */
+    private final int emptyCellsThreshold;
+
+    /**
+     * The solver is tried when both sides together have at least this many immediate threats.
+     */
+    private final int threatsThreshold;
+
+    /**
+     * Number of solver results by outcome.
+     */
+    private final Map<ProofNumberSolver.Outcome, LongAdder> outcomes = new EnumMap<>(ProofNumberSolver.Outcome.class);
+
+    public ProofNumberMinimaxServiceImpl(MinimaxService fallback, ProofNumberSolver solver) {
+        this(fallback, solver, DEFAULT_EMPTY_CELLS, DEFAULT_THREATS);
+    }
+
+    /**
+     * @param fallback The service asked when the solver is not used or cannot give a move.
+     * @param solver The endgame solver.
+     * @param emptyCellsThreshold The solver is tried when at most this many cells are empty.
+     * @param threatsThreshold The solver is tried when both sides have at least this many immediate threats.
+     */
+    public ProofNumberMinimaxServiceImpl(MinimaxService fallback, ProofNumberSolver solver,
+                                         int emptyCellsThreshold, int threatsThreshold) {
+        this.fallback = fallback;
+        this.solver = solver;
+        this.emptyCellsThreshold = emptyCellsThreshold;
+        this.threatsThreshold = threatsThreshold;
+
+        for (ProofNumberSolver.Outcome outcome : ProofNumberSolver.Outcome.values())
+            outcomes.put(outcome, new LongAdder());
+    }
+
+    @Override
+    public Position findBestMove(GameField field, CellType side) {
+        final Position move = solvedMove(field, side);
+
+        return move != null ? move : fallback.findBestMove(field, side);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> A proof is not bounded by the limits, so a limited search is always delegated to the fallback.
+     * An unlimited one the solver cannot answer is delegated with the limits, to keep their deadline.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits) {
+        final Position move = limits.isUnlimited() ? solvedMove(field, side) : null;
+
+        return move != null ? move : fallback.findBestMove(field, side, limits);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> A proof has no iterations to report, so the search is delegated to the fallback.
+     */
+    @Override
+    public Position findBestMove(GameField field, CellType side, SearchLimits limits, Predicate<SearchProgress> progress) {
+        return fallback.findBestMove(field, side, limits, progress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The solver only proves the result of the position as a whole, so every analysis is delegated to the fallback.
+     */
+    @Override
+    public List<MoveAnalysis> analyze(GameField field, CellType side, SearchLimits limits) {
+        return fallback.analyze(field, side, limits);
+    }
+
+    /**
+     * @param outcome The outcome.
+     * @return The number of positions the solver has found to have the given outcome.
+     */
+    public long getSolved(ProofNumberSolver.Outcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    /**
+     * @return The move the solver proves to win or to hold a draw, or {@code null} if the position is
+     *         not handed to the solver or it proves a loss or cannot decide it.
+     */
+    private Position solvedMove(GameField field, CellType side) {
+        final BoardGeometry geometry = field.getGeometry();
+        final long playerBoard = field.getBoard(side);
+        final long opponentBoard = field.getBoard(side == CellType.X ? CellType.O : CellType.X);
+        final int emptyCells = Long.bitCount(field.getEmptyCells());
+        final int threats = Long.bitCount(geometry.threats(playerBoard, opponentBoard))
+                + Long.bitCount(geometry.threats(opponentBoard, playerBoard));
+
+        if (emptyCells == 0 || (emptyCells > emptyCellsThreshold && threats < threatsThreshold))
+            return null;
+
+        final ProofNumberSolver.Result result = solver.solve(geometry, playerBoard, opponentBoard);
+
+        outcomes.get(result.outcome()).increment();
+        log.debug("Solver result: {} with move {} after {} nodes ({} empty cells, {} threats)",
+                result.outcome(), result.move(), result.nodes(), emptyCells, threats);
+
+        if (result.move() == TranspositionTable.NO_MOVE)
+            return null;
+
+        return new Position(result.move() / field.getSize(), result.move() % field.getSize());
+    }
+}
@@ -0,0 +1,292 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.search.Evaluator;
+import game.tictactoe.domain.service.minimax.search.MoveOrdering;
+import game.tictactoe.domain.service.minimax.search.Score;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import game.tictactoe.domain.service.minimax.search.ZobristKeys;
+
+/**
+ * Mutable state of a single search of a {@link MinimaxService}.
+ *
+ * <p> For every ply it keeps the Zobrist hashes of the current position under all
+ * {@link Symmetry symmetries}, updated incrementally as moves are played, the move played
+ * from it and the {@link MoveOrdering} learned so far, as well as the buffers the children of
+ * a node at the depth limit are evaluated in.
+ */
+final class SearchContext {
+
+    /**
+     * The clock is read once per this many nodes.
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 1 << 10;
+
+    final BoardGeometry geometry;
+    final Symmetry symmetry;
+    final long[] playerKeys;
+    final long[] opponentKeys;
+    final long[] hashes;
+    final int[] moves;
+    final MoveOrdering ordering;
+    final long[] childBoards;
+    final long[] childOthers;
+    final int[] childScores;
+    final long deadline;
+    final SearchDeadline requestDeadline;
+    final long maxNodes;
+    final boolean depthLimited;
+    int rootDepth;
+    int rootScore;
+    boolean abortable;
+    boolean aborted;
+    long nodes;
+    long cutoffs;
+    long firstMoveCutoffs;
+
+    private SearchContext(SearchContext other) {
+        this.geometry = other.geometry;
+        this.symmetry = other.symmetry;
+        this.playerKeys = other.playerKeys;
+        this.opponentKeys = other.opponentKeys;
+        this.hashes = other.hashes.clone();
+        this.moves = other.moves.clone();
+        this.ordering = new MoveOrdering(other.ordering);
+        this.childBoards = new long[geometry.getCells()];
+        this.childOthers = new long[geometry.getCells()];
+        this.childScores = new int[geometry.getCells()];
+        this.deadline = other.deadline;
+        this.requestDeadline = other.requestDeadline;
+        this.maxNodes = other.maxNodes;
+        this.depthLimited = other.depthLimited;
+        this.rootDepth = other.rootDepth;
+        this.abortable = other.abortable;
+    }
+
+    /**
+     * @param field The field at the root of the search.
+     * @param side The side the search is run for, to move at the root.
+     * @param maxDepth The deepest ply the search can reach.
+     * @param deadline The {@link System#nanoTime()} the engine's time budget ends at, or {@code 0} for no limit.
+     * @param requestDeadline The deadline of the request, the search stops at the earlier of both or once it is cancelled.
+     * @param maxNodes The number of nodes the search has to stop after, or {@code 0} for no limit.
+     *                 A forked context counts its own nodes against the same limit.
+     * @param depthLimited Whether the request limits the search to fewer moves than the engine looks ahead.
+     */
+    SearchContext(GameField field, CellType side, int maxDepth, long deadline, SearchDeadline requestDeadline,
+                  long maxNodes, boolean depthLimited) {
+        this.geometry = field.getGeometry();
+        this.symmetry = Symmetry.of(field.getSize());
+        this.playerKeys = ZobristKeys.symmetricCellKeys(side, symmetry);
+        this.opponentKeys = ZobristKeys.symmetricCellKeys(side == CellType.X ? CellType.O : CellType.X, symmetry);
+        this.hashes = new long[(maxDepth + 1) * Symmetry.COUNT];
+        this.moves = new int[maxDepth + 1];
+        this.ordering = new MoveOrdering(geometry, maxDepth);
+        this.childBoards = new long[geometry.getCells()];
+        this.childOthers = new long[geometry.getCells()];
+        this.childScores = new int[geometry.getCells()];
+        this.deadline = requestDeadline.earliest(deadline);
+        this.requestDeadline = requestDeadline;
+        this.maxNodes = maxNodes;
+        this.depthLimited = depthLimited;
+
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            hashes[sym] = ZobristKeys.hash(
+                    geometry,
+                    symmetry.transform(sym, field.getBoard(CellType.X)),
+                    symmetry.transform(sym, field.getBoard(CellType.O)),
+                    side
+            );
+        }
+    }
+
+    /**
+     * @return A copy of the state at the root for a worker searching one root move.
+     */
+    SearchContext fork() {
+        return new SearchContext(this);
+    }
+
+    /**
+     * Prepares the next iteration of iterative deepening.
+     *
+     * @param depth The depth of the iteration.
+     * @param abortable Whether the iteration may be abandoned when the time or node budget runs out.
+     */
+    void startIteration(int depth, boolean abortable) {
+        this.rootDepth = depth;
+        this.abortable = abortable;
+    }
+
+    /**
+     * Counts a visited node, compares it against the node budget and reads the clock and whether
+     * the request was cancelled every {@link #CLOCK_CHECK_INTERVAL} nodes.
+     *
+     * @return true if the current iteration has run out of time or nodes.
+     */
+    boolean checkLimits() {
+        if (++nodes > maxNodes && maxNodes != 0 && abortable)
+            aborted = true;
+        else if ((nodes & (CLOCK_CHECK_INTERVAL - 1)) == 0
+                && abortable
+                && ((deadline != 0 && System.nanoTime() - deadline > 0) || requestDeadline.isCancelled()))
+            aborted = true;
+
+        return aborted;
+    }
+
+    /**
+     * Records a beta cutoff for the move ordering and the cutoff rate.
+     *
+     * @param move The move that caused the cutoff.
+     * @param ply The ply of the node.
+     * @param side The side that made the move.
+     * @param depth The remaining depth of the node.
+     * @param index The position of the move in the order it was searched in.
+     */
+    void cutoff(int move, int ply, int side, int depth, int index) {
+        ordering.cutoff(move, ply, side, depth);
+        cutoffs++;
+
+        if (index == 0)
+            firstMoveCutoffs++;
+    }
+
+    /**
+     * Scores a run of the ordered moves of a node one ply above the depth limit in one batch.
+     *
+     * <p> Each child is scored as a search of it would score it, but from the side that moves into it:
+     * a win if the move completes a line, a draw if it fills the field, the negated evaluation otherwise.
+     * Every child counts as a visited node.
+     *
+     * @param evaluator The evaluator of the positions at the depth limit.
+     * @param board The bitboard of the side to move at the node.
+     * @param other The bitboard of the other side.
+     * @param ply The ply of the node.
+     * @param from The position of the first move in the order.
+     * @param count The number of moves to score.
+     * @return The number of moves scored into {@link #childScores}, fewer than {@code count} if the search was aborted.
+     */
+    int scoreFrontier(Evaluator evaluator, long board, long other, int ply, int from, int count) {
+        for (int i = 0; i < count; i++) {
+            if (checkLimits())
+                return i;
+
+            childBoards[i] = other;
+            childOthers[i] = board | (1L << ordering.moveAt(ply, from + i));
+        }
+
+        evaluator.evaluateAll(geometry, childBoards, childOthers, count, childScores);
+
+        for (int i = 0; i < count; i++) {
+            final int move = ordering.moveAt(ply, from + i);
+
+            if (geometry.isWinThrough(childOthers[i], move))
+                childScores[i] = Score.win(ply + 1);
+            else if ((childOthers[i] | other) == geometry.getFullMask())
+                childScores[i] = Score.DRAW;
+            else
+                childScores[i] = -childScores[i];
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The number of moves between the root and a node with the given remaining depth.
+     */
+    int ply(int depth) {
+        return rootDepth - depth;
+    }
+
+    /**
+     * Returns how far a search from the given node actually looks ahead.
+     *
+     * <p> The game cannot last longer than the number of empty cells, so a search with more
+     * remaining depth than that is exhaustive and its result is valid for any deeper search.
+     *
+     * @param playerBoard The bitboard of the player the search is run for.
+     * @param opponentBoard The bitboard of the opponent.
+     * @param depth The remaining depth of the search.
+     * @return The effective search depth.
+     */
+    int horizon(long playerBoard, long opponentBoard, int depth) {
+        return Math.min(depth, geometry.getCells() - Long.bitCount(playerBoard | opponentBoard));
+    }
+
+    /**
+     * Checks whether a stored result can stand in for the search of a node.
+     *
+     * <p> A result searched at least as deep as the node's horizon can, except in a depth-limited search:
+     * the transposition table is shared by all searches of an engine, and a deeper result would let a
+     * weaker difficulty play as if it had looked further ahead. Such a search only takes results of
+     * exactly its own horizon.
+     *
+     * @param storedDepth The depth the result was searched at.
+     * @param horizon The {@link #horizon effective depth} of the search from the node.
+     * @return true if the stored result can be used.
+     */
+    boolean accepts(int storedDepth, int horizon) {
+        return storedDepth == horizon || (storedDepth > horizon && !depthLimited);
+    }
+
+    /**
+     * Derives the hashes of the next ply after a move is played at the given ply
+     * and remembers the move.
+     *
+     * @param ply The ply the move is played at.
+     * @param move The cell index of the move.
+     * @param keys The symmetric keys of the side making the move.
+     */
+    void play(int ply, int move, long[] keys) {
+        final int from = ply * Symmetry.COUNT;
+        final int to = from + Symmetry.COUNT;
+        final int key = move * Symmetry.COUNT;
+
+        moves[ply] = move;
+        for (int sym = 0; sym < Symmetry.COUNT; sym++)
+            hashes[to + sym] = hashes[from + sym] ^ ZobristKeys.SIDE_TO_MOVE_O ^ keys[key + sym];
+    }
+
+    /**
+     * Checks whether the move that led to the given ply completed a line. Any other line would
+     * have ended the game earlier, so this is the only one that has to be looked at.
+     *
+     * @param ply The ply of the node, at least 1.
+     * @param board The bitboard of the side that made the move, including the move.
+     * @return true if the move won the game.
+     */
+    boolean isWinningMove(int ply, long board) {
+        return geometry.isWinThrough(board, moves[ply - 1]);
+    }
+
+    /**
+     * @return The symmetric keys of the side to move at the given ply.
+     */
+    long[] keys(int ply) {
+        return (ply & 1) == 0 ? playerKeys : opponentKeys;
+    }
+
+    /**
+     * @return The symmetry whose hash of the position at the given ply is the smallest.
+     */
+    int canonicalSymmetry(int ply) {
+        final int from = ply * Symmetry.COUNT;
+        int best = Symmetry.IDENTITY;
+
+        for (int sym = 1; sym < Symmetry.COUNT; sym++) {
+            if (hashes[from + sym] < hashes[from + best])
+                best = sym;
+        }
+
+        return best;
+    }
+
+    long hash(int ply, int sym) {
+        return hashes[ply * Symmetry.COUNT + sym];
+    }
+}
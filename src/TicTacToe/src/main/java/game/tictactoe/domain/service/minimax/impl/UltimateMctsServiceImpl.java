@@ -0,0 +1,460 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.UltimateField;
+import game.tictactoe.domain.service.WinState;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.UltimateMinimaxService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static game.tictactoe.domain.model.UltimateField.ANY;
+import static game.tictactoe.domain.model.UltimateField.FULL;
+import static game.tictactoe.domain.model.UltimateField.SUB_FIELDS;
+
+/**
+ * UltimateMinimaxService implementation with Monte Carlo tree search on bitboards.
+ *
+ * <p> The tree of Ultimate Tic-Tac-Toe is far too large for the alpha-beta search of the single field,
+ * and its positions are hard to score by hand, so the engine plays it as {@link MctsServiceImpl} plays the
+ * large fields: UCT selection, one new node per iteration, a random playout and the result propagated back up.
+ *
+ * <p> Positions are copied into a flat state of eighteen 9-bit boards, two per sub-field, and the masks of
+ * the meta-field. A move is a handful of array and mask operations and a lookup of the sub-field's and the
+ * meta-field's lines, and the moves of a position are read off the empty cells of the open sub-fields, so a
+ * single thread runs in the order of a hundred thousand playouts per second and the default budget of a move
+ * stays around a second. A move that wins the game at once is played without searching.
+ */
+@Slf4j
+public class UltimateMctsServiceImpl implements UltimateMinimaxService {
+
+    /**
+     * Default number of playouts per move.
+     */
+    public static final int DEFAULT_ITERATIONS = 100_000;
+
+    /**
+     * The clock and the cancellation of the request are read once per this many iterations.
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 1 << 6;
+
+    /**
+     * Rewards are counted in half points so that a draw is a whole number.
+     */
+    private static final int WIN_REWARD = 2;
+    private static final int DRAW_REWARD = 1;
+
+    /**
+     * Result of a game without a winner.
+     */
+    private static final int NO_WINNER = -1;
+
+    /**
+     * Result of a move after which the game goes on.
+     */
+    private static final int ONGOING = -2;
+
+    /**
+     * Number of cells of the whole field, and the bound of the moves of a position.
+     */
+    private static final int MOVES = SUB_FIELDS * SUB_FIELDS;
+
+    /**
+     * Maximum number of playouts per move, or {@code 0} for no limit.
+     */
+    private final int iterations;
+
+    /**
+     * Wall-clock budget of a single search in nanoseconds, or {@code 0} for no limit.
+     */
+    private final long timeBudgetNanos;
+
+    /**
+     * Weight of the exploration term of UCT.
+     */
+    private final double exploration;
+
+    /**
+     * Total number of playouts of all searches of this instance.
+     */
+    private final LongAdder playouts = new LongAdder();
+
+    public UltimateMctsServiceImpl() {
+        this(DEFAULT_ITERATIONS, Duration.ZERO, MctsServiceImpl.DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * @param iterations The maximum number of playouts per move, {@code 0} for no limit.
+     * @param timeBudget The wall-clock budget of a single search, {@link Duration#ZERO} for no limit.
+     * @param exploration The weight of the exploration term of UCT.
+     */
+    public UltimateMctsServiceImpl(int iterations, Duration timeBudget, double exploration) {
+        if (iterations < 0)
+            throw new IllegalArgumentException("Iteration budget must not be negative");
+        if (timeBudget.isNegative())
+            throw new IllegalArgumentException("Time budget must not be negative");
+        if (iterations == 0 && timeBudget.isZero())
+            throw new IllegalArgumentException("Either an iteration or a time budget must be set");
+        if (!(exploration >= 0))
+            throw new IllegalArgumentException("Exploration weight must not be negative");
+
+        this.iterations = iterations;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.exploration = exploration;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p> The node limit caps the number of playouts and the time budget replaces the configured one;
+     * the tree has no depth to limit.
+     */
+    @Override
+    public Position findBestMove(UltimateField field, SearchLimits limits) {
+        if (field.getState() != WinState.CONTINUE)
+            return new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS);
+
+        final State root = State.of(field);
+        final int[] moves = new int[MOVES];
+        final int count = root.legalMoves(moves);
+        final State probe = new State();
+
+        for (int i = 0; i < count; i++) {
+            probe.copyFrom(root);
+
+            if (count == 1 || probe.play(moves[i]) == root.toMove)
+                return position(moves[i]);
+        }
+
+        final long start = System.nanoTime();
+        final long timeBudget = limits.timeBudgetNanos(timeBudgetNanos);
+        final long deadline = limits.deadline().earliest(timeBudget == 0 ? 0 : start + timeBudget);
+        final long budget = limits.maxNodes() == 0 || (iterations != 0 && iterations < limits.maxNodes())
+                ? iterations : limits.maxNodes();
+
+        final Search search = new Search(root);
+        final Node tree = new Node(Node.NO_MOVE, root.toMove ^ 1, ONGOING, root, moves);
+        int done = 0;
+
+        do {
+            search.iterate(tree);
+            done++;
+        } while ((budget == 0 || done < budget)
+                && ((done & (CLOCK_CHECK_INTERVAL - 1)) != 0
+                    || ((deadline == 0 || System.nanoTime() - deadline < 0) && !limits.deadline().isCancelled())));
+
+        if (budget == 0 || done < budget)
+            limits.deadline().markTruncated();
+
+        final Node best = tree.mostVisitedChild();
+        playouts.add(done);
+
+        log.debug("Search finished: playouts = {}, best move = {} ({} / {}), time = {} us",
+                done, best.move, best.reward, best.visits, (System.nanoTime() - start) / 1000);
+
+        return position(best.move);
+    }
+
+    /**
+     * @return The total number of playouts of all searches of this instance.
+     */
+    public long getPlayouts() {
+        return playouts.sum();
+    }
+
+    /**
+     * @return The position on the whole field of a move numbered {@code subField * 9 + cell}.
+     */
+    private static Position position(int move) {
+        return UltimateField.position(move / SUB_FIELDS, move % SUB_FIELDS);
+    }
+
+    /**
+     * State of a single {@link #findBestMove(UltimateField, SearchLimits)} call.
+     */
+    private final class Search {
+        private final State root;
+        private final State state = new State();
+        private final int[] moves = new int[MOVES];
+        private final Node[] path = new Node[MOVES + 1];
+        private final SplittableRandom random = new SplittableRandom();
+
+        private Search(State root) {
+            this.root = root;
+        }
+
+        /**
+         * Runs one selection, expansion, playout and backpropagation step.
+         *
+         * @param tree The root of the tree.
+         */
+        private void iterate(Node tree) {
+            state.copyFrom(root);
+            Node node = tree;
+            int length = 0;
+
+            path[length++] = node;
+
+            // Selection: descend through fully expanded nodes
+            while (!node.terminal && node.untriedCount == 0 && node.childCount > 0) {
+                node = node.select(exploration);
+                state.play(node.move);
+                path[length++] = node;
+            }
+
+            // Expansion: add one untried move
+            if (!node.terminal && node.untriedCount != 0) {
+                final int move = node.takeUntried(random);
+                final int mover = state.toMove;
+                final Node child = new Node(move, mover, state.play(move), state, moves);
+
+                node.add(child);
+                node = child;
+                path[length++] = node;
+            }
+
+            final int winner = node.terminal ? node.winner : playout();
+
+            // Backpropagation: every node is rewarded for the side that made its move
+            for (int i = 0; i < length; i++) {
+                final Node visited = path[i];
+
+                visited.visits++;
+                if (winner == NO_WINNER)
+                    visited.reward += DRAW_REWARD;
+                else if (winner == visited.mover)
+                    visited.reward += WIN_REWARD;
+            }
+        }
+
+        /**
+         * Finishes the game with uniformly random moves.
+         *
+         * @return The winning side, or {@link #NO_WINNER} for a draw.
+         */
+        private int playout() {
+            while (true) {
+                final int count = state.legalMoves(moves);
+                final int result = state.play(moves[random.nextInt(count)]);
+
+                if (result != ONGOING)
+                    return result;
+            }
+        }
+    }
+
+    /**
+     * A position of Ultimate Tic-Tac-Toe reduced to primitives. Side {@code 0} is X, side {@code 1} is O.
+     */
+    private static final class State {
+
+        /**
+         * Board of side {@code s} on sub-field {@code f} at index {@code s * 9 + f}.
+         */
+        private final int[] boards = new int[2 * SUB_FIELDS];
+
+        /**
+         * Mask of the sub-fields won by each side.
+         */
+        private final int[] won = new int[2];
+        private int closed;
+        private int active;
+        private int toMove;
+
+        private static State of(UltimateField field) {
+            final State state = new State();
+
+            for (int subField = 0; subField < SUB_FIELDS; subField++) {
+                state.boards[subField] = field.getBoard(CellType.X, subField);
+                state.boards[SUB_FIELDS + subField] = field.getBoard(CellType.O, subField);
+            }
+
+            state.won[0] = field.getWon(CellType.X);
+            state.won[1] = field.getWon(CellType.O);
+            state.closed = field.getClosed();
+            state.active = field.getActiveSubField();
+            state.toMove = field.getSideToMove() == CellType.X ? 0 : 1;
+
+            return state;
+        }
+
+        private void copyFrom(State other) {
+            System.arraycopy(other.boards, 0, boards, 0, boards.length);
+            won[0] = other.won[0];
+            won[1] = other.won[1];
+            closed = other.closed;
+            active = other.active;
+            toMove = other.toMove;
+        }
+
+        /**
+         * Writes the moves of the side to move, numbered {@code subField * 9 + cell}.
+         *
+         * @param moves The array to write the moves to, of at least {@link #MOVES} elements.
+         * @return The number of moves.
+         */
+        private int legalMoves(int[] moves) {
+            int count = 0;
+            int subFields = active == ANY ? ~closed & FULL : 1 << active;
+
+            while (subFields != 0) {
+                final int subField = Integer.numberOfTrailingZeros(subFields);
+                int empty = ~(boards[subField] | boards[SUB_FIELDS + subField]) & FULL;
+
+                while (empty != 0) {
+                    moves[count++] = subField * SUB_FIELDS + Integer.numberOfTrailingZeros(empty);
+                    empty &= empty - 1;
+                }
+
+                subFields &= subFields - 1;
+            }
+
+            return count;
+        }
+
+        /**
+         * Makes a move for the side to move.
+         *
+         * @param move The move, numbered {@code subField * 9 + cell}.
+         * @return The side that won with the move, {@link #NO_WINNER} if it drew the game,
+         *         {@link #ONGOING} if the game goes on.
+         */
+        private int play(int move) {
+            final int subField = move / SUB_FIELDS;
+            final int cell = move % SUB_FIELDS;
+            final int mover = toMove;
+            final int board = boards[mover * SUB_FIELDS + subField] |= 1 << cell;
+
+            toMove ^= 1;
+
+            if (UltimateField.isLine(board)) {
+                won[mover] |= 1 << subField;
+                closed |= 1 << subField;
+
+                if (UltimateField.isLine(won[mover]))
+                    return mover;
+            } else if ((board | boards[(mover ^ 1) * SUB_FIELDS + subField]) == FULL) {
+                closed |= 1 << subField;
+            }
+
+            active = (closed & (1 << cell)) != 0 ? ANY : cell;
+
+            return closed == FULL ? NO_WINNER : ONGOING;
+        }
+    }
+
+    /**
+     * A node of the search tree: the position after {@link #move}.
+     */
+    private static final class Node {
+        private static final int NO_MOVE = -1;
+
+        private final int move;
+
+        /**
+         * The side that made {@link #move}.
+         */
+        private final int mover;
+
+        /**
+         * Whether the game is over after {@link #move}.
+         */
+        private final boolean terminal;
+
+        /**
+         * The winner of the game if it is over, {@link #NO_WINNER} for a draw.
+         */
+        private final int winner;
+
+        private final Node[] children;
+        private int childCount;
+
+        /**
+         * Moves not expanded yet, the first {@link #untriedCount} of the array.
+         */
+        private final int[] untried;
+        private int untriedCount;
+
+        private int visits;
+
+        /**
+         * Total reward in half points for the side that made {@link #move}.
+         */
+        private long reward;
+
+        /**
+         * @param move The move leading to the node, {@link #NO_MOVE} for the root.
+         * @param mover The side that made the move.
+         * @param result The result of the move, see {@link State#play(int)}.
+         * @param state The position after the move.
+         * @param moves A buffer for the moves of the position.
+         */
+        private Node(int move, int mover, int result, State state, int[] moves) {
+            this.move = move;
+            this.mover = mover;
+            this.terminal = result != ONGOING;
+            this.winner = terminal ? result : NO_WINNER;
+            this.untried = terminal ? new int[0] : Arrays.copyOf(moves, state.legalMoves(moves));
+            this.untriedCount = untried.length;
+            this.children = new Node[untried.length];
+        }
+
+        /**
+         * Removes a uniformly chosen move from the untried ones.
+         */
+        private int takeUntried(SplittableRandom random) {
+            final int i = random.nextInt(untriedCount);
+            final int move = untried[i];
+
+            untried[i] = untried[--untriedCount];
+            return move;
+        }
+
+        private void add(Node child) {
+            children[childCount++] = child;
+        }
+
+        /**
+         * @return The child with the highest UCT value.
+         */
+        private Node select(double exploration) {
+            final double logVisits = Math.log(visits);
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (int i = 0; i < childCount; i++) {
+                final Node child = children[i];
+                final double value = (double) child.reward / (WIN_REWARD * child.visits)
+                        + exploration * Math.sqrt(logVisits / child.visits);
+
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+
+            return best;
+        }
+
+        /**
+         * @return The child visited most often, on a tie the one with the higher reward.
+         */
+        private Node mostVisitedChild() {
+            Node best = children[0];
+
+            for (int i = 1; i < childCount; i++) {
+                final Node child = children[i];
+
+                if (child.visits > best.visits || (child.visits == best.visits && child.reward > best.reward))
+                    best = child;
+            }
+
+            return best;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package game.tictactoe.domain.service.minimax.ntuple;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.service.minimax.search.Evaluator;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+
+/**
+ * {@link Evaluator} that refines the open-line heuristic with a trained {@link NTupleNetwork}.
+ *
+ * <p> Positions decided by immediate threats keep the {@link HeuristicEvaluator#threatScore threat score},
+ * which no learned estimate can improve on. Any other position on the network's field is scored by
+ * {@link #value}: the open-line sum of the heuristic plus the network's correction. Fields the network
+ * was not trained for are scored by the heuristic alone.
+ */
+public final class NTupleEvaluator implements Evaluator {
+
+    private final NTupleNetwork network;
+    private final HeuristicEvaluator heuristic;
+
+    /**
+     * @param network The trained network.
+     * @param heuristic The heuristic the network refines.
+     */
+    public NTupleEvaluator(NTupleNetwork network, HeuristicEvaluator heuristic) {
+        this.network = network;
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public int evaluate(BoardGeometry geometry, long board, long other) {
+        if (!geometry.equals(network.getGeometry()))
+            return heuristic.evaluate(geometry, board, other);
+
+        final int threat = HeuristicEvaluator.threatScore(geometry, board, other);
+        if (threat != 0)
+            return threat;
+
+        return Math.round(Math.max(-1, Math.min(1, value(network, board, other))) * HeuristicEvaluator.MAX_POSITIONAL);
+    }
+
+    /**
+     * Scores a position that is not decided by threats, the quantity {@link NTupleTrainer} learns.
+     *
+     * @param network The network.
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return The value for the side to move, about {@code -1} for lost and {@code 1} for won.
+     */
+    static float value(NTupleNetwork network, long board, long other) {
+        return (float) HeuristicEvaluator.openLines(network.getGeometry(), board, other) / HeuristicEvaluator.MAX_POSITIONAL
+                + network.value(board, other);
+    }
+}
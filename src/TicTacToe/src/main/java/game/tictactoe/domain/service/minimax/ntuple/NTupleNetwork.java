@@ -0,0 +1,281 @@
+package game.tictactoe.domain.service.minimax.ntuple;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import lombok.Getter;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value function over n-tuple patterns, trained by {@link NTupleTrainer}.
+ *
+ * <p> The tuples are the rows, columns and diagonals of the field that can hold a winning line and
+ * all 3x3 squares. The cells of a tuple are read in a fixed order as a base-3 number (0 - empty,
+ * 1 - side to move, 2 - other side) that selects one of its weights. The value of the network is the
+ * sum of the selected weights. Tuples of the same shape share their weights, so whatever is learned
+ * in one place of the field applies everywhere, and as marks are read relative to the side to move,
+ * the same weights serve both X and O.
+ *
+ * <p> The weight file starts with a header of five {@code int}s: {@link #MAGIC}, the size and the win
+ * length of the field, the number of tuples and the number of weights. The weights follow as
+ * big-endian {@code float}s, shape after shape. The tuples themselves are not stored: they follow
+ * from the size and the win length of the field.
+ */
+public final class NTupleNetwork {
+
+    /**
+     * File signature: {@code "NTW1"}.
+     */
+    public static final int MAGIC = 0x4E545731;
+
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    /**
+     * Side of the square tuples.
+     */
+    private static final int SQUARE = 3;
+
+    @Getter
+    private final BoardGeometry geometry;
+
+    /**
+     * Cell indices of every tuple.
+     */
+    private final int[][] tuples;
+
+    /**
+     * Index of the first weight of every tuple.
+     */
+    private final int[] offsets;
+
+    /**
+     * Heap buffer while training, read-only mapped file at runtime.
+     */
+    private final FloatBuffer weights;
+
+    private NTupleNetwork(BoardGeometry geometry, FloatBuffer weights) {
+        final List<int[]> cells = new ArrayList<>();
+        final List<String> shapes = new ArrayList<>();
+
+        addLines(geometry, cells, shapes);
+        addSquares(geometry, cells, shapes);
+
+        this.geometry = geometry;
+        this.tuples = cells.toArray(int[][]::new);
+        this.offsets = new int[tuples.length];
+
+        // Tuples of the same shape share their weights wherever they lie on the field
+        final Map<String, Integer> shapeOffsets = new HashMap<>();
+        int offset = 0;
+
+        for (int t = 0; t < tuples.length; t++) {
+            final Integer shared = shapeOffsets.get(shapes.get(t));
+
+            if (shared != null) {
+                offsets[t] = shared;
+            } else {
+                offsets[t] = offset;
+                shapeOffsets.put(shapes.get(t), offset);
+                offset += pow3(tuples[t].length);
+            }
+        }
+
+        if (weights == null)
+            weights = FloatBuffer.allocate(offset);
+        if (weights.capacity() != offset)
+            throw new IllegalArgumentException("Expected " + offset + " weights, got " + weights.capacity());
+
+        this.weights = weights;
+    }
+
+    /**
+     * @param geometry The geometry of the field.
+     * @return A network with all weights zero, to be trained.
+     */
+    public static NTupleNetwork create(BoardGeometry geometry) {
+        return new NTupleNetwork(geometry, null);
+    }
+
+    /**
+     * Memory-maps a weight file written by {@link #write(OutputStream)}.
+     *
+     * @param path The weight file.
+     * @return The network with read-only weights.
+     * @throws IOException If the file cannot be read or has an unexpected format.
+     */
+    public static NTupleNetwork load(Path path) throws IOException {
+        final ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not an n-tuple weight file: " + path);
+
+        final BoardGeometry geometry;
+
+        try {
+            geometry = BoardGeometry.of(buffer.getInt(Integer.BYTES), buffer.getInt(2 * Integer.BYTES));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported field in n-tuple weight file: " + path, e);
+        }
+
+        final int tupleCount = buffer.getInt(3 * Integer.BYTES);
+        final int weightCount = buffer.getInt(4 * Integer.BYTES);
+
+        if (buffer.capacity() != HEADER_SIZE + (long) weightCount * Float.BYTES)
+            throw new IOException("Corrupt n-tuple weight file: " + path);
+
+        final NTupleNetwork network;
+
+        try {
+            network = new NTupleNetwork(geometry, buffer.position(HEADER_SIZE).slice().asFloatBuffer());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt n-tuple weight file: " + path, e);
+        }
+
+        if (network.getTupleCount() != tupleCount)
+            throw new IOException("Corrupt n-tuple weight file: " + path);
+
+        return network;
+    }
+
+    /**
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return The sum of the weights selected by the position.
+     */
+    public float value(long board, long other) {
+        float value = 0;
+
+        for (int t = 0; t < tuples.length; t++)
+            value += weights.get(offsets[t] + pattern(tuples[t], board, other));
+
+        return value;
+    }
+
+    /**
+     * Moves the value of a position by adding the same amount to every weight it selects.
+     *
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @param delta The amount added to each selected weight.
+     */
+    public void update(long board, long other, float delta) {
+        for (int t = 0; t < tuples.length; t++) {
+            final int index = offsets[t] + pattern(tuples[t], board, other);
+            weights.put(index, weights.get(index) + delta);
+        }
+    }
+
+    /**
+     * @return The number of tuples, each contributing one weight to a value.
+     */
+    public int getTupleCount() {
+        return tuples.length;
+    }
+
+    /**
+     * Writes the header and the weights.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void write(OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+
+        data.writeInt(MAGIC);
+        data.writeInt(geometry.getSize());
+        data.writeInt(geometry.getWinLength());
+        data.writeInt(tuples.length);
+        data.writeInt(weights.capacity());
+
+        for (int i = 0; i < weights.capacity(); i++)
+            data.writeFloat(weights.get(i));
+
+        data.flush();
+    }
+
+    /**
+     * Adds the rows, columns and diagonals of the field long enough to hold a winning line. Unlike a
+     * single winning line, a whole line also shows whether a run of marks is open at its ends.
+     * Lines of the same length share a shape, read from one end to the other.
+     */
+    private static void addLines(BoardGeometry geometry, List<int[]> cells, List<String> shapes) {
+        final int size = geometry.getSize();
+        final int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+        for (int[] direction : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    final int previousRow = row - direction[0];
+                    final int previousCol = col - direction[1];
+
+                    // Only start at the first cell of a line
+                    if (previousRow >= 0 && previousCol >= 0 && previousCol < size)
+                        continue;
+
+                    final List<Integer> line = new ArrayList<>();
+                    for (int r = row, c = col; r < size && c >= 0 && c < size; r += direction[0], c += direction[1])
+                        line.add(geometry.index(r, c));
+
+                    if (line.size() >= geometry.getWinLength()) {
+                        cells.add(line.stream().mapToInt(Integer::intValue).toArray());
+                        shapes.add("line" + line.size());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every {@value #SQUARE}x{@value #SQUARE} square of the field, which sees how lines cross.
+     */
+    private static void addSquares(BoardGeometry geometry, List<int[]> cells, List<String> shapes) {
+        final int size = geometry.getSize();
+
+        for (int row = 0; row + SQUARE <= size; row++) {
+            for (int col = 0; col + SQUARE <= size; col++) {
+                final int[] square = new int[SQUARE * SQUARE];
+
+                for (int i = 0; i < square.length; i++)
+                    square[i] = geometry.index(row + i / SQUARE, col + i % SQUARE);
+
+                cells.add(square);
+                shapes.add("square");
+            }
+        }
+    }
+
+    private static int pattern(int[] cells, long board, long other) {
+        int index = 0;
+
+        for (int i = 0; i < cells.length; i++)
+            index = index * 3 + (int) (board >>> cells[i] & 1) + 2 * (int) (other >>> cells[i] & 1);
+
+        return index;
+    }
+
+    private static int pow3(int exponent) {
+        int power = 1;
+
+        for (int i = 0; i < exponent; i++)
+            power *= 3;
+
+        return power;
+    }
+}
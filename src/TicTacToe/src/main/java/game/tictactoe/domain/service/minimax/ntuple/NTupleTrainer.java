@@ -0,0 +1,183 @@
+package game.tictactoe.domain.service.minimax.ntuple;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.impl.MinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import game.tictactoe.domain.service.minimax.search.ReplacementPolicy;
+import game.tictactoe.domain.service.minimax.search.Symmetry;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Offline trainer of an {@link NTupleNetwork} by temporal-difference learning from self-play.
+ *
+ * <p> Both sides of every game are played by a shallow {@link MinimaxServiceImpl} that evaluates its
+ * leaves with the network being trained, with a random move now and then for exploration. After the
+ * game the {@link NTupleEvaluator#value value} of every position is moved towards the negated value
+ * of the position that followed it, and the last one towards the result, so the outcome of the game
+ * propagates back to the opening (TD(0)). Each update is applied to all eight rotations and
+ * reflections of the position; positions a random move was played from are skipped.
+ *
+ * <p> Runs on a single CPU thread. Invoked by the {@code trainNTupleWeights} Gradle task.
+ */
+@Slf4j
+public final class NTupleTrainer {
+
+    public static final int DEFAULT_DEPTH = 2;
+    public static final double DEFAULT_LEARNING_RATE = 0.1;
+    public static final double DEFAULT_EXPLORATION = 0.1;
+
+    private static final int TABLE_SIZE = 1 << 12;
+
+    private final NTupleNetwork network;
+    private final BoardGeometry geometry;
+    private final Symmetry symmetry;
+    private final int depth;
+    private final float learningRate;
+    private final double exploration;
+    private final Random random;
+
+    /**
+     * @param geometry The field to train for.
+     * @param depth The depth of the searches playing the games.
+     * @param learningRate The share of the error corrected by an update.
+     * @param exploration The probability of a random move.
+     * @param seed The seed of the random moves.
+     */
+    public NTupleTrainer(BoardGeometry geometry, int depth, double learningRate, double exploration, long seed) {
+        this.network = NTupleNetwork.create(geometry);
+        this.geometry = geometry;
+        this.symmetry = Symmetry.of(geometry.getSize());
+        this.depth = depth;
+        this.learningRate = (float) (learningRate / network.getTupleCount());
+        this.exploration = exploration;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4 || args.length > 6)
+            throw new IllegalArgumentException(
+                    "Usage: NTupleTrainer <output file> <size> <win length> <games> [depth] [seed]");
+
+        final Path output = Path.of(args[0]);
+        final BoardGeometry geometry = BoardGeometry.of(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        final int games = Integer.parseInt(args[3]);
+        final int depth = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_DEPTH;
+        final long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        final NTupleTrainer trainer = new NTupleTrainer(geometry, depth, DEFAULT_LEARNING_RATE, DEFAULT_EXPLORATION, seed);
+        final NTupleNetwork network = trainer.train(games);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+
+        try (OutputStream out = Files.newOutputStream(output)) {
+            network.write(out);
+        }
+
+        log.info("Wrote n-tuple weights for {} to {}", geometry, output);
+    }
+
+    /**
+     * Plays and learns from the given number of games.
+     *
+     * @param games The number of games.
+     * @return The trained network.
+     */
+    public NTupleNetwork train(int games) {
+        final int[] results = new int[3];
+
+        for (int game = 1; game <= games; game++) {
+            results[playGame() + 1]++;
+
+            if (game % Math.max(1, games / 10) == 0)
+                log.info("Trained {} / {} games: {} won by X, {} drawn, {} won by O",
+                        game, games, results[2], results[1], results[0]);
+        }
+
+        return network;
+    }
+
+    /**
+     * Plays one game and updates the network from it.
+     *
+     * @return {@code 1} if X won, {@code -1} if O won, {@code 0} on a draw.
+     */
+    int playGame() {
+        final MinimaxService engine = new MinimaxServiceImpl(
+                new TranspositionTable(TABLE_SIZE, ReplacementPolicy.DEPTH_PREFERRED), depth, Duration.ZERO, null,
+                new NTupleEvaluator(network, new HeuristicEvaluator())
+        );
+        final GameField field = new GameField(geometry.getSize(), geometry.getWinLength());
+        final long[] toMove = new long[geometry.getCells()];
+        final long[] waiting = new long[geometry.getCells()];
+        final boolean[] explored = new boolean[geometry.getCells()];
+        CellType side = CellType.X;
+        int plies = 0;
+        float result = 0;
+
+        while (true) {
+            final CellType other = side == CellType.X ? CellType.O : CellType.X;
+            toMove[plies] = field.getBoard(side);
+            waiting[plies] = field.getBoard(other);
+            explored[plies] = random.nextDouble() < exploration;
+
+            final int move = explored[plies] ? randomMove(field) : bestMove(engine, field, side);
+            plies++;
+            field.setCell(move, side);
+
+            if (geometry.isWinThrough(field.getBoard(side), move)) {
+                result = 1;
+                break;
+            }
+            if (field.isFull())
+                break;
+
+            side = other;
+        }
+
+        // The last position is worth the result to its side to move, every earlier one the negated next value.
+        // A random move says nothing about the position it was played from, so that position is not updated.
+        float target = result;
+
+        for (int ply = plies - 1; ply >= 0; ply--) {
+            if (!explored[ply])
+                learn(toMove[ply], waiting[ply], target);
+
+            target = -Math.max(-1, Math.min(1, NTupleEvaluator.value(network, toMove[ply], waiting[ply])));
+        }
+
+        if (result == 0)
+            return 0;
+        return side == CellType.X ? 1 : -1;
+    }
+
+    private int randomMove(GameField field) {
+        final long empty = field.getEmptyCells();
+        return Long.numberOfTrailingZeros(Long.expand(1L << random.nextInt(Long.bitCount(empty)), empty));
+    }
+
+    private static int bestMove(MinimaxService engine, GameField field, CellType side) {
+        final Position best = engine.findBestMove(field, side);
+        return field.index(best.row(), best.col());
+    }
+
+    private void learn(long board, long other, float target) {
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            final long b = symmetry.transform(sym, board);
+            final long o = symmetry.transform(sym, other);
+
+            network.update(b, o, learningRate * (target - NTupleEvaluator.value(network, b, o)));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CacheStatistics;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide cache of the engine's best moves, shared by all games and requests.
+ *
+ * <p> A move is keyed by the position in its canonical orientation (see {@link Symmetry#canonical}),
+ * the side to move and the search limits, so positions that are equal up to a symmetry share one entry
+ * and the move is mapped back onto the orientation it is looked up in.
+ *
+ * <p> The number of entries is bounded, and they are admitted and evicted in the manner of W-TinyLFU:
+ * new entries enter a small LRU window. An entry pushed out of the window only enters the main space,
+ * once that is full, if it has been looked up more often recently than the entry the main space would
+ * evict for it, as estimated by a {@link FrequencySketch}. The main space is a segmented LRU in which
+ * entries looked up again are promoted from probation to a protected segment. Positions that are reached
+ * once by a single game therefore never push out the positions reached by all games.
+ *
+ * <p> The cache is split by key hash into segments that are locked independently, so concurrent
+ * requests rarely wait for each other.
+ */
+public final class BestMoveCache {
+
+    /**
+     * Maximum number of independently locked segments.
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Minimum number of entries per segment, so that small caches are not split at all.
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final Segment[] segments;
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity The maximum number of entries.
+     */
+    public BestMoveCache(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cache capacity must be positive");
+
+        final int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, capacity / MIN_SEGMENT_CAPACITY)));
+
+        this.segments = new Segment[count];
+        this.capacity = capacity;
+
+        for (int i = 0; i < count; i++)
+            segments[i] = new Segment(capacity / count + (i < capacity % count ? 1 : 0));
+    }
+
+    /**
+     * Looks up the best move of a position.
+     *
+     * @param field The field.
+     * @param side The side to move.
+     * @param limits The limits the move was searched within.
+     * @return The best move, or {@code null} if it is not cached.
+     */
+    public Position get(GameField field, CellType side, SearchLimits limits) {
+        final Symmetry symmetry = Symmetry.of(field.getSize());
+        final int sym = canonical(symmetry, field);
+        final Key key = key(symmetry, sym, field, side, limits);
+        final Integer move = segment(key).get(key);
+
+        if (move == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+
+        final int cell = symmetry.unmap(sym, move);
+        return new Position(cell / field.getSize(), cell % field.getSize());
+    }
+
+    /**
+     * Stores the best move of a position. Moves that are not on the field are not stored.
+     *
+     * @param field The field.
+     * @param side The side to move.
+     * @param limits The limits the move was searched within.
+     * @param move The best move.
+     */
+    public void put(GameField field, CellType side, SearchLimits limits, Position move) {
+        if (move.row() == Position.NOT_VALID_POS || move.col() == Position.NOT_VALID_POS)
+            return;
+
+        final Symmetry symmetry = Symmetry.of(field.getSize());
+        final int sym = canonical(symmetry, field);
+        final Key key = key(symmetry, sym, field, side, limits);
+
+        if (segment(key).put(key, symmetry.map(sym, field.index(move.row(), move.col()))))
+            evictions.increment();
+    }
+
+    /**
+     * @return The number of lookups answered by the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups not answered by the cache.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of entries dropped or not admitted because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return The number of entries in the cache.
+     */
+    public int size() {
+        int size = 0;
+
+        for (Segment segment : segments)
+            size += segment.size();
+
+        return size;
+    }
+
+    /**
+     * @return The counters of the cache.
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(getHits(), getMisses(), getEvictions(), size(), capacity);
+    }
+
+    private static int canonical(Symmetry symmetry, GameField field) {
+        return symmetry.canonical(field.getBoard(CellType.X), field.getBoard(CellType.O));
+    }
+
+    private static Key key(Symmetry symmetry, int sym, GameField field, CellType side, SearchLimits limits) {
+        return new Key(field.getGeometry(), symmetry.transform(sym, field.getBoard(CellType.X)),
+                symmetry.transform(sym, field.getBoard(CellType.O)), side, limits.withoutDeadline());
+    }
+
+    private Segment segment(Key key) {
+        return segments[spread(key.hashCode()) & (segments.length - 1)];
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A position in its canonical orientation.
+     */
+    private record Key(BoardGeometry geometry, long xBoard, long oBoard, CellType side, SearchLimits limits) {}
+
+    /**
+     * One independently locked part of the cache, with its own window, main space and frequency sketch.
+     */
+    private static final class Segment {
+
+        /**
+         * Share of the capacity taken by the window.
+         */
+        private static final int WINDOW_PERCENT = 1;
+
+        /**
+         * Share of the main space taken by the protected segment.
+         */
+        private static final int PROTECTED_PERCENT = 80;
+
+        private final int windowCapacity;
+        private final int mainCapacity;
+        private final int protectedCapacity;
+
+        private final LinkedHashMap<Key, Integer> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Key, Integer> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Key, Integer> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+        private final FrequencySketch sketch;
+
+        Segment(int capacity) {
+            this.windowCapacity = Math.max(1, capacity * WINDOW_PERCENT / 100);
+            this.mainCapacity = Math.max(0, capacity - windowCapacity);
+            this.protectedCapacity = mainCapacity * PROTECTED_PERCENT / 100;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        synchronized Integer get(Key key) {
+            sketch.increment(key.hashCode());
+
+            Integer move = window.get(key);
+            if (move != null)
+                return move;
+
+            move = protectedSegment.get(key);
+            if (move != null)
+                return move;
+
+            move = probation.remove(key);
+            if (move != null) {
+                protectedSegment.put(key, move);
+
+                if (protectedSegment.size() > protectedCapacity) {
+                    final Map.Entry<Key, Integer> demoted = removeEldest(protectedSegment);
+                    probation.put(demoted.getKey(), demoted.getValue());
+                }
+            }
+
+            return move;
+        }
+
+        /**
+         * @return true if an entry was evicted or not admitted.
+         */
+        synchronized boolean put(Key key, int move) {
+            if (window.replace(key, move) != null || protectedSegment.replace(key, move) != null
+                    || probation.replace(key, move) != null)
+                return false;
+
+            window.put(key, move);
+
+            if (window.size() <= windowCapacity)
+                return false;
+
+            final Map.Entry<Key, Integer> candidate = removeEldest(window);
+
+            if (probation.size() + protectedSegment.size() < mainCapacity) {
+                probation.put(candidate.getKey(), candidate.getValue());
+                return false;
+            }
+
+            if (mainCapacity == 0)
+                return true;
+
+            final LinkedHashMap<Key, Integer> victims = probation.isEmpty() ? protectedSegment : probation;
+            final Key victim = victims.keySet().iterator().next();
+
+            if (sketch.frequency(candidate.getKey().hashCode()) > sketch.frequency(victim.hashCode())) {
+                victims.remove(victim);
+                probation.put(candidate.getKey(), candidate.getValue());
+            }
+
+            return true;
+        }
+
+        synchronized int size() {
+            return window.size() + probation.size() + protectedSegment.size();
+        }
+
+        private static Map.Entry<Key, Integer> removeEldest(LinkedHashMap<Key, Integer> map) {
+            final Iterator<Map.Entry<Key, Integer>> entries = map.entrySet().iterator();
+            final Map.Entry<Key, Integer> eldest = entries.next();
+            final Map.Entry<Key, Integer> entry = Map.entry(eldest.getKey(), eldest.getValue());
+            entries.remove();
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+
+/**
+ * Tests the winning lines of many packed bitboards at once.
+ *
+ * <p> A kernel walks the line masks of the geometry once for a whole batch of boards instead of once
+ * per board. The {@link #vector() vector} kernel compares as many boards per instruction as the CPU's
+ * SIMD registers hold 64-bit lanes, the {@link #scalar() scalar} kernel one board at a time. Both give
+ * exactly the same results, so a caller only chooses between them for speed.
+ */
+public interface BoardKernel {
+
+    /**
+     * Name of the incubator module the vector kernel is built on.
+     */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * @return The number of boards processed per instruction; batches of a multiple of it are the fastest.
+     */
+    int lanes();
+
+    /**
+     * Checks boards for a complete winning line.
+     *
+     * @param geometry The geometry of the fields.
+     * @param boards The bitboards of one side each.
+     * @param count The number of boards to check, from index {@code 0}.
+     * @param wins Receives for every board whether it holds a complete line.
+     */
+    void wins(BoardGeometry geometry, long[] boards, int count, boolean[] wins);
+
+    /**
+     * Scores positions exactly like {@link HeuristicEvaluator#evaluate}.
+     *
+     * @param geometry The geometry of the fields.
+     * @param boards The bitboards of the side to move.
+     * @param others The bitboards of the other side.
+     * @param count The number of positions to score, from index {@code 0}.
+     * @param scores Receives the score of every position for its side to move.
+     */
+    void evaluate(BoardGeometry geometry, long[] boards, long[] others, int count, int[] scores);
+
+    /**
+     * @return The kernel working on one board at a time.
+     */
+    static BoardKernel scalar() {
+        return ScalarBoardKernel.INSTANCE;
+    }
+
+    /**
+     * @return The SIMD kernel.
+     * @throws UnsupportedOperationException If the JVM was started without {@value #VECTOR_MODULE}.
+     */
+    static BoardKernel vector() {
+        if (!isVectorAvailable())
+            throw new UnsupportedOperationException("Module " + VECTOR_MODULE + " is not available");
+
+        return VectorBoardKernel.INSTANCE;
+    }
+
+    /**
+     * @return The vector kernel if the JVM supports it, the scalar kernel otherwise.
+     */
+    static BoardKernel preferred() {
+        return isVectorAvailable() ? VectorBoardKernel.INSTANCE : ScalarBoardKernel.INSTANCE;
+    }
+
+    /**
+     * The module is only resolved when the JVM is started with {@code --add-modules jdk.incubator.vector},
+     * and the vector kernel must not even be loaded without it.
+     *
+     * @return true if the vector kernel can be used.
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
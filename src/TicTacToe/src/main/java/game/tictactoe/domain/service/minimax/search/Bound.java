@@ -0,0 +1,50 @@
+package game.tictactoe.domain.service.minimax.search;
+
+/**
+ * Kind of score stored in a {@link TranspositionTable} entry.
+ */
+public enum Bound {
+    /**
+     * The score is the exact value of the position.
+     */
+    EXACT,
+
+    /**
+     * The search failed high: the value of the position is at least the score.
+     */
+    LOWER,
+
+    /**
+     * The search failed low: the value of the position is at most the score.
+     */
+    UPPER;
+
+    /**
+     * Returns the bound seen from the other side, i.e. after negating the score.
+     *
+     * @return The flipped bound.
+     */
+    public Bound flip() {
+        return switch (this) {
+            case EXACT -> EXACT;
+            case LOWER -> UPPER;
+            case UPPER -> LOWER;
+        };
+    }
+
+    /**
+     * Classifies a fail-soft alpha-beta result against the window it was searched with.
+     *
+     * @param value The value returned by the search.
+     * @param alpha The lower end of the window.
+     * @param beta The upper end of the window.
+     * @return The kind of bound the value represents.
+     */
+    public static Bound of(int value, int alpha, int beta) {
+        if (value <= alpha)
+            return UPPER;
+        if (value >= beta)
+            return LOWER;
+        return EXACT;
+    }
+}
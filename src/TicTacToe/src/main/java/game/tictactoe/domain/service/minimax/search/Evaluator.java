@@ -0,0 +1,46 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+
+/**
+ * Static evaluation of a position that a search stops at before the game is over.
+ *
+ * <p> A search scores the children of a node at the depth limit together through {@link #evaluateAll},
+ * in batches of {@link #batchSize()} positions, so an evaluator built on SIMD instructions can score
+ * them in parallel.
+ */
+@FunctionalInterface
+public interface Evaluator {
+
+    /**
+     * Estimates a position that is not over yet.
+     *
+     * @param geometry The geometry of the field.
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return The estimate for the side to move, strictly inside {@code (-Score.MIN_WIN, Score.MIN_WIN)}.
+     */
+    int evaluate(BoardGeometry geometry, long board, long other);
+
+    /**
+     * Estimates a batch of positions, such as all children of a node at the depth limit.
+     *
+     * @param geometry The geometry of the fields.
+     * @param boards The bitboards of the side to move.
+     * @param others The bitboards of the other side.
+     * @param count The number of positions, from index {@code 0}.
+     * @param scores Receives the estimate of every position, as {@link #evaluate} would return it.
+     */
+    default void evaluateAll(BoardGeometry geometry, long[] boards, long[] others, int count, int[] scores) {
+        for (int i = 0; i < count; i++)
+            scores[i] = evaluate(geometry, boards[i], others[i]);
+    }
+
+    /**
+     * @return The number of positions {@link #evaluateAll} scores at about the cost of one,
+     *         {@code 1} if a batch is no cheaper than its positions one by one.
+     */
+    default int batchSize() {
+        return 1;
+    }
+}
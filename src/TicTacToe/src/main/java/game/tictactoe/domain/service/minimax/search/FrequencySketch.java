@@ -0,0 +1,108 @@
+package game.tictactoe.domain.service.minimax.search;
+
+/**
+ * Count-min sketch estimating how often keys have been seen, with a fixed memory footprint.
+ *
+ * <p> Every key is counted in four 4-bit counters, picked by four independent hashes from a table of
+ * {@code long}s holding sixteen counters each. The estimate is the smallest of the four, so it can only
+ * overcount where all four collide. Counters saturate at 15. Once the number of increments reaches ten
+ * times the capacity, all counters are halved, so the estimate follows the recent popularity of keys
+ * rather than their all-time count.
+ *
+ * <p> Not thread-safe, callers have to synchronize.
+ */
+final class FrequencySketch {
+
+    /**
+     * Largest value of a counter.
+     */
+    static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /**
+     * Clears the bit carried over into every counter's top bit when the table is shifted right.
+     */
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity The number of keys expected to be tracked; the table grows with it.
+     */
+    FrequencySketch(int capacity) {
+        final int size = Math.max(capacity, 1);
+        final int length = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    /**
+     * @param hash The hash of the key.
+     * @return The estimated number of times the key has been seen recently, at most {@link #MAX_FREQUENCY}.
+     */
+    int frequency(int hash) {
+        int frequency = MAX_FREQUENCY;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long spread = spread(hash, i);
+            frequency = Math.min(frequency, (int) (table[index(spread)] >>> shift(spread)) & MAX_FREQUENCY);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Counts one occurrence of a key.
+     *
+     * @param hash The hash of the key.
+     */
+    void increment(int hash) {
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long spread = spread(hash, i);
+            final int index = index(spread);
+            final int shift = shift(spread);
+
+            if (((table[index] >>> shift) & MAX_FREQUENCY) != MAX_FREQUENCY) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize)
+            reset();
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++)
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+
+        additions /= 2;
+    }
+
+    private static long spread(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h ^= h >>> 32;
+        return h * 0x9e3779b97f4a7c15L;
+    }
+
+    private int index(long spread) {
+        return (int) spread & mask;
+    }
+
+    private static int shift(long spread) {
+        return (int) (spread >>> 60) << 2;
+    }
+}
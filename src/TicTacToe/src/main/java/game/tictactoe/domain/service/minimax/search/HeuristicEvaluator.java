@@ -0,0 +1,123 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+
+/**
+ * {@link Evaluator} that counts open lines and immediate threats.
+ *
+ * <p> A line is open for a side if the other side has no mark on it. Every open line is worth
+ * more the more marks it already holds, and the sum of the other side's lines is subtracted.
+ *
+ * <p> Immediate threats, empty cells that complete a line, settle most positions on their own:
+ * the side to move wins with a threat of its own, and loses against two threats it cannot both block.
+ * Such positions score {@link #THREAT}, which is above any sum of open lines but still below
+ * a {@link Score#MIN_WIN proven win}.
+ *
+ * <p> Batches of positions are scored by a {@link BoardKernel}, with SIMD instructions where the JVM allows.
+ */
+public final class HeuristicEvaluator implements Evaluator {
+
+    /**
+     * Score of a position decided by immediate threats.
+     */
+    public static final int THREAT = Score.MIN_WIN / 2;
+
+    /**
+     * Positional scores, such as sums of open lines, are clamped to this, below {@link #THREAT}.
+     */
+    public static final int MAX_POSITIONAL = THREAT / 2;
+
+    /**
+     * Value of an open line by the number of marks on it.
+     */
+    static final int[] LINE_VALUES = {0, 1, 3, 9, 27, 81, 243};
+
+    /**
+     * Scores batches of positions.
+     */
+    private final BoardKernel kernel;
+
+    public HeuristicEvaluator() {
+        this(BoardKernel.preferred());
+    }
+
+    /**
+     * @param kernel The kernel that scores batches of positions.
+     */
+    public HeuristicEvaluator(BoardKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    @Override
+    public int evaluate(BoardGeometry geometry, long board, long other) {
+        return score(geometry, board, other);
+    }
+
+    @Override
+    public void evaluateAll(BoardGeometry geometry, long[] boards, long[] others, int count, int[] scores) {
+        kernel.evaluate(geometry, boards, others, count, scores);
+    }
+
+    @Override
+    public int batchSize() {
+        return kernel.lanes();
+    }
+
+    /**
+     * Scores a single position, the reference for every {@link BoardKernel}.
+     *
+     * @param geometry The geometry of the field.
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return The score for the side to move.
+     */
+    static int score(BoardGeometry geometry, long board, long other) {
+        final int threat = threatScore(geometry, board, other);
+        if (threat != 0)
+            return threat;
+
+        return Math.max(-MAX_POSITIONAL, Math.min(MAX_POSITIONAL, openLines(geometry, board, other)));
+    }
+
+    /**
+     * Sums the values of the open lines of the side to move and subtracts those of the other side.
+     *
+     * @param geometry The geometry of the field.
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return The unclamped sum.
+     */
+    public static int openLines(BoardGeometry geometry, long board, long other) {
+        int score = 0;
+
+        for (int line = 0; line < geometry.getLineCount(); line++) {
+            final long mask = geometry.getWinMask(line);
+            final long own = board & mask;
+            final long others = other & mask;
+
+            if (others == 0)
+                score += LINE_VALUES[Long.bitCount(own)];
+            else if (own == 0)
+                score -= LINE_VALUES[Long.bitCount(others)];
+        }
+
+        return score;
+    }
+
+    /**
+     * Scores a position that immediate threats decide.
+     *
+     * @param geometry The geometry of the field.
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return {@link #THREAT} or {@code -THREAT} if the threats decide the position, {@code 0} otherwise.
+     */
+    public static int threatScore(BoardGeometry geometry, long board, long other) {
+        if (geometry.threats(board, other) != 0)
+            return THREAT;
+        if (Long.bitCount(geometry.threats(other, board)) > 1)
+            return -THREAT;
+
+        return 0;
+    }
+}
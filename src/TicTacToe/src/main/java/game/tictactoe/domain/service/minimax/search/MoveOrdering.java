@@ -0,0 +1,145 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+
+import java.util.Arrays;
+
+/**
+ * Orders the moves of a search node so that the move most likely to cause a cutoff comes first.
+ *
+ * <p> Moves are tried in this order:
+ * <ol>
+ * <li> the move stored in the transposition table; </li>
+ * <li> up to two killer moves, which caused a cutoff in a sibling node at the same ply; </li>
+ * <li> all other moves by their history score, the total of {@code depth * depth} over the cutoffs
+ * they caused anywhere in the search, then by their static prior, then by cell index. </li>
+ * </ol>
+ *
+ * <p> The static prior of a cell is the number of winning lines through it, which on the 3x3 field
+ * ranks the centre above the corners and the corners above the edges.
+ *
+ * <p> An instance belongs to a single search thread and keeps one move buffer per ply,
+ * so ordering a node does not allocate.
+ */
+public final class MoveOrdering {
+
+    private static final int KILLERS_PER_PLY = 2;
+    private static final int MOVE_BITS = 6;
+    private static final int PRIOR_BITS = 6;
+
+    private final int[] prior;
+    private final int[][] killers;
+    private final long[][] history;
+    private final long[][] keys;
+    private final int[][] moves;
+
+    /**
+     * @param geometry The geometry of the searched field.
+     * @param maxPly The deepest ply the search can reach.
+     */
+    public MoveOrdering(BoardGeometry geometry, int maxPly) {
+        final int cells = geometry.getCells();
+
+        this.prior = new int[cells];
+        this.killers = new int[maxPly + 1][KILLERS_PER_PLY];
+        this.history = new long[2][cells];
+        this.keys = new long[maxPly + 1][cells];
+        this.moves = new int[maxPly + 1][cells];
+
+        for (int cell = 0; cell < cells; cell++)
+            prior[cell] = geometry.getCellWinMasks(cell).length;
+
+        for (int[] ply : killers)
+            Arrays.fill(ply, TranspositionTable.NO_MOVE);
+    }
+
+    /**
+     * Creates an independent copy that starts from what the other instance has learned so far.
+     *
+     * @param other The ordering to copy.
+     */
+    public MoveOrdering(MoveOrdering other) {
+        this.prior = other.prior;
+        this.killers = new int[other.killers.length][];
+        this.history = new long[][] {other.history[0].clone(), other.history[1].clone()};
+        this.keys = new long[other.keys.length][other.prior.length];
+        this.moves = new int[other.moves.length][other.prior.length];
+
+        for (int ply = 0; ply < killers.length; ply++)
+            killers[ply] = other.killers[ply].clone();
+    }
+
+    /**
+     * Orders the moves of a node. The result is read with {@link #moveAt(int, int)}.
+     *
+     * @param legalMoves A mask of the legal moves.
+     * @param hashMove The move from the transposition table, or {@link TranspositionTable#NO_MOVE}.
+     * @param ply The ply of the node.
+     * @param side The side to move: 0 for the player the search is run for, 1 for the opponent.
+     * @return The number of ordered moves.
+     */
+    public int order(long legalMoves, int hashMove, int ply, int side) {
+        final int[] ordered = moves[ply];
+        final long[] sortKeys = keys[ply];
+        long remaining = legalMoves;
+        int count = 0;
+
+        if (hashMove != TranspositionTable.NO_MOVE && (remaining & (1L << hashMove)) != 0) {
+            ordered[count++] = hashMove;
+            remaining &= ~(1L << hashMove);
+        }
+
+        for (int killer : killers[ply]) {
+            if (killer != TranspositionTable.NO_MOVE && (remaining & (1L << killer)) != 0) {
+                ordered[count++] = killer;
+                remaining &= ~(1L << killer);
+            }
+        }
+
+        final int first = count;
+        int sorted = 0;
+
+        // Higher keys first: negated so that an ascending sort yields the wanted order
+        for (; remaining != 0; remaining &= remaining - 1) {
+            final int move = Long.numberOfTrailingZeros(remaining);
+            sortKeys[sorted++] = -((history[side][move] << (PRIOR_BITS + MOVE_BITS))
+                    | ((long) prior[move] << MOVE_BITS)
+                    | ((1 << MOVE_BITS) - 1 - move));
+        }
+
+        Arrays.sort(sortKeys, 0, sorted);
+
+        for (int i = 0; i < sorted; i++)
+            ordered[first + i] = (1 << MOVE_BITS) - 1 - (int) (-sortKeys[i] & ((1 << MOVE_BITS) - 1));
+
+        return first + sorted;
+    }
+
+    /**
+     * @param ply The ply of the node.
+     * @param index The position in the order.
+     * @return The move at the given position of the last order computed for the ply.
+     */
+    public int moveAt(int ply, int index) {
+        return moves[ply][index];
+    }
+
+    /**
+     * Records a move that caused a cutoff.
+     *
+     * @param move The move.
+     * @param ply The ply of the node.
+     * @param side The side that made the move: 0 for the player the search is run for, 1 for the opponent.
+     * @param depth The remaining depth of the node.
+     */
+    public void cutoff(int move, int ply, int side, int depth) {
+        final int[] plyKillers = killers[ply];
+
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+
+        history[side][move] += (long) depth * depth;
+    }
+}
@@ -0,0 +1,295 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+
+/**
+ * Depth-first proof-number (df-pn) solver that proves the outcome of a position.
+ *
+ * <p> A run of the solver tries to prove that one side, the attacker, can force a win. Every node
+ * keeps a proof number, the least number of leaves that still have to be proven to prove the node,
+ * and a disproof number, the same for disproving it. The search always descends into the most proving
+ * node and only leaves a subtree when its numbers exceed the thresholds passed down from its parent,
+ * so it concentrates on narrow forcing lines and is far cheaper than alpha-beta on tactical positions.
+ *
+ * <p> Threats are resolved without search: a side that can complete a line wins, a side facing two
+ * threats loses, and a side facing one threat can only block it. A draw counts as a failure for the
+ * attacker. Running the solver for both sides tells a win, a loss and a draw apart.
+ *
+ * <p> Memory is bounded: the numbers are kept in a fixed-size always-replace table and the number of
+ * expanded nodes is capped. A position that cannot be solved within the cap is reported as
+ * {@link Outcome#UNKNOWN}. The tree of a game cannot contain cycles, so transpositions are safe.
+ */
+public final class ProofNumberSolver {
+
+    /**
+     * Proof and disproof numbers saturate here, so sums never overflow.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE / 4;
+
+    /**
+     * Outcome of a position with best play, for the side to move.
+     */
+    public enum Outcome {
+        WIN,
+        LOSS,
+        DRAW,
+        UNKNOWN
+    }
+
+    /**
+     * Result of {@link #solve(BoardGeometry, long, long)}.
+     *
+     * @param outcome The outcome for the side to move.
+     * @param move The cell index of a move that achieves a {@link Outcome#WIN} or holds a {@link Outcome#DRAW},
+     *             {@link TranspositionTable#NO_MOVE} otherwise.
+     * @param nodes The number of expanded nodes.
+     */
+    public record Result(Outcome outcome, int move, long nodes) {}
+
+    private final int tableSize;
+    private final long maxNodes;
+
+    /**
+     * @param tableSize The number of table entries of a single run, rounded up to a power of two.
+     * @param maxNodes The maximum number of nodes expanded by a single {@link #solve(BoardGeometry, long, long)}.
+     */
+    public ProofNumberSolver(int tableSize, long maxNodes) {
+        if (tableSize <= 0)
+            throw new IllegalArgumentException("Table size must be positive");
+        if (maxNodes <= 0)
+            throw new IllegalArgumentException("Node limit must be positive");
+
+        this.tableSize = Integer.highestOneBit(tableSize) == tableSize ? tableSize : Integer.highestOneBit(tableSize) << 1;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Solves a position.
+     *
+     * @param geometry The geometry of the field.
+     * @param board The bitboard of the side to move.
+     * @param other The bitboard of the other side.
+     * @return The outcome for the side to move and a move achieving it.
+     */
+    public Result solve(BoardGeometry geometry, long board, long other) {
+        final long wins = geometry.threats(board, other);
+        if (wins != 0)
+            return new Result(Outcome.WIN, Long.numberOfTrailingZeros(wins), 0);
+
+        final Run attack = new Run(geometry, board, other, true, maxNodes);
+        attack.search();
+
+        if (attack.aborted)
+            return new Result(Outcome.UNKNOWN, TranspositionTable.NO_MOVE, attack.nodes);
+        if (attack.rootPn == 0)
+            return new Result(Outcome.WIN, attack.rootMove, attack.nodes);
+
+        final Run defence = new Run(geometry, other, board, false, maxNodes - attack.nodes);
+        defence.search();
+
+        final long nodes = attack.nodes + defence.nodes;
+
+        if (defence.aborted)
+            return new Result(Outcome.UNKNOWN, TranspositionTable.NO_MOVE, nodes);
+        if (defence.rootPn == 0)
+            return new Result(Outcome.LOSS, TranspositionTable.NO_MOVE, nodes);
+
+        return new Result(Outcome.DRAW, defence.rootMove, nodes);
+    }
+
+    /**
+     * A single proof attempt for a fixed attacker, with its own table.
+     */
+    private final class Run {
+        private final BoardGeometry geometry;
+        private final long full;
+        private final long rootAttacker;
+        private final long rootDefender;
+        private final boolean attackerToMove;
+        private final long nodeLimit;
+        private final long[] keys;
+        private final int[] proofNumbers;
+        private final int[] disproofNumbers;
+        private final int mask;
+
+        private long nodes;
+        private boolean aborted;
+        private int rootPn;
+        private int rootMove = TranspositionTable.NO_MOVE;
+
+        /**
+         * Numbers of the node last returned from {@link #mid}.
+         */
+        private int pn;
+        private int dn;
+
+        private Run(BoardGeometry geometry, long attacker, long defender, boolean attackerToMove, long nodeLimit) {
+            this.geometry = geometry;
+            this.full = geometry.getFullMask();
+            this.rootAttacker = attacker;
+            this.rootDefender = defender;
+            this.attackerToMove = attackerToMove;
+            this.nodeLimit = nodeLimit;
+            this.keys = new long[tableSize];
+            this.proofNumbers = new int[tableSize];
+            this.disproofNumbers = new int[tableSize];
+            this.mask = tableSize - 1;
+        }
+
+        private void search() {
+            final long hash = ZobristKeys.hash(geometry, rootAttacker, rootDefender,
+                    attackerToMove ? CellType.X : CellType.O);
+
+            mid(rootAttacker, rootDefender, attackerToMove, hash, INFINITY, INFINITY, true);
+            rootPn = pn;
+        }
+
+        /**
+         * Expands a node until its proof or disproof number reaches its threshold.
+         *
+         * <p> The attacker's bitboard is hashed with the keys of X and the defender's with those of O.
+         *
+         * @param attacker The bitboard of the attacker.
+         * @param defender The bitboard of the defender.
+         * @param attackerNode Whether the attacker is to move.
+         * @param hash The hash of the position.
+         * @param thresholdPn The proof number threshold.
+         * @param thresholdDn The disproof number threshold.
+         * @param root Whether the node is the root, whose deciding move is recorded.
+         */
+        private void mid(long attacker, long defender, boolean attackerNode, long hash,
+                         int thresholdPn, int thresholdDn, boolean root) {
+            if (++nodes > nodeLimit) {
+                aborted = true;
+                pn = dn = 1;
+                return;
+            }
+
+            final long toMove = attackerNode ? attacker : defender;
+            final long waiting = attackerNode ? defender : attacker;
+
+            // A side that can complete a line wins; a side facing two threats loses
+            if (geometry.threats(toMove, waiting) != 0) {
+                setResult(attackerNode);
+                return;
+            }
+            if ((attacker | defender) == full) {
+                setResult(false);
+                return;
+            }
+
+            final long threats = geometry.threats(waiting, toMove);
+            if (Long.bitCount(threats) > 1) {
+                setResult(!attackerNode);
+                return;
+            }
+
+            final long moves = threats != 0 ? threats : ~(attacker | defender) & full;
+            final int count = Long.bitCount(moves);
+            final int[] childMoves = new int[count];
+            final long[] childHashes = new long[count];
+            final int[] childPn = new int[count];
+            final int[] childDn = new int[count];
+            int i = 0;
+
+            for (long bits = moves; bits != 0; bits &= bits - 1, i++) {
+                final int move = Long.numberOfTrailingZeros(bits);
+                final long childHash = hash ^ ZobristKeys.SIDE_TO_MOVE_O
+                        ^ ZobristKeys.cellKey(attackerNode ? CellType.X : CellType.O, move);
+
+                childMoves[i] = move;
+                childHashes[i] = childHash;
+                childPn[i] = 1;
+                childDn[i] = 1;
+
+                final int slot = (int) childHash & mask;
+                if (childHash != 0 && keys[slot] == childHash) {
+                    childPn[i] = proofNumbers[slot];
+                    childDn[i] = disproofNumbers[slot];
+                }
+            }
+
+            while (true) {
+                int nodePn;
+                int nodeDn;
+                int best = 0;
+                int second = INFINITY;
+
+                if (attackerNode) {
+                    nodePn = INFINITY;
+                    nodeDn = 0;
+                    for (i = 0; i < count; i++) {
+                        nodeDn = Math.min(INFINITY, nodeDn + childDn[i]);
+                        if (childPn[i] < nodePn) {
+                            second = nodePn;
+                            nodePn = childPn[i];
+                            best = i;
+                        } else if (childPn[i] < second) {
+                            second = childPn[i];
+                        }
+                    }
+                } else {
+                    nodePn = 0;
+                    nodeDn = INFINITY;
+                    for (i = 0; i < count; i++) {
+                        nodePn = Math.min(INFINITY, nodePn + childPn[i]);
+                        if (childDn[i] < nodeDn) {
+                            second = nodeDn;
+                            nodeDn = childDn[i];
+                            best = i;
+                        } else if (childDn[i] < second) {
+                            second = childDn[i];
+                        }
+                    }
+                }
+
+                if (nodePn >= thresholdPn || nodeDn >= thresholdDn || aborted) {
+                    if (root)
+                        rootMove = childMoves[best];
+
+                    store(hash, nodePn, nodeDn);
+                    pn = nodePn;
+                    dn = nodeDn;
+                    return;
+                }
+
+                final int childThresholdPn;
+                final int childThresholdDn;
+
+                if (attackerNode) {
+                    childThresholdPn = Math.min(thresholdPn, second + 1);
+                    childThresholdDn = thresholdDn - nodeDn + childDn[best];
+                } else {
+                    childThresholdPn = thresholdPn - nodePn + childPn[best];
+                    childThresholdDn = Math.min(thresholdDn, second + 1);
+                }
+
+                final long bit = 1L << childMoves[best];
+                mid(attackerNode ? attacker | bit : attacker, attackerNode ? defender : defender | bit,
+                        !attackerNode, childHashes[best], childThresholdPn, childThresholdDn, false);
+
+                childPn[best] = pn;
+                childDn[best] = dn;
+            }
+        }
+
+        /**
+         * Sets the numbers of a decided node.
+         *
+         * @param proven Whether the attacker wins in the node.
+         */
+        private void setResult(boolean proven) {
+            pn = proven ? 0 : INFINITY;
+            dn = proven ? INFINITY : 0;
+        }
+
+        private void store(long hash, int nodePn, int nodeDn) {
+            final int slot = (int) hash & mask;
+
+            keys[slot] = hash;
+            proofNumbers[slot] = nodePn;
+            disproofNumbers[slot] = nodeDn;
+        }
+    }
+}
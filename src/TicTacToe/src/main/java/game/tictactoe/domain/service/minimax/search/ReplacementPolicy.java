@@ -0,0 +1,16 @@
+package game.tictactoe.domain.service.minimax.search;
+
+/**
+ * Decides whether a new entry may overwrite an occupied {@link TranspositionTable} slot.
+ */
+public enum ReplacementPolicy {
+    /**
+     * The newest entry always wins.
+     */
+    ALWAYS,
+
+    /**
+     * An entry of another position is only replaced by a search of at least the same depth.
+     */
+    DEPTH_PREFERRED
+}
@@ -0,0 +1,45 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+
+/**
+ * {@link BoardKernel} that checks one board after the other, for JVMs without the vector module
+ * and for the remainder of a batch that does not fill a whole vector.
+ */
+final class ScalarBoardKernel implements BoardKernel {
+
+    static final ScalarBoardKernel INSTANCE = new ScalarBoardKernel();
+
+    private ScalarBoardKernel() {}
+
+    @Override
+    public int lanes() {
+        return 1;
+    }
+
+    @Override
+    public void wins(BoardGeometry geometry, long[] boards, int count, boolean[] wins) {
+        wins(geometry, boards, 0, count, wins);
+    }
+
+    @Override
+    public void evaluate(BoardGeometry geometry, long[] boards, long[] others, int count, int[] scores) {
+        evaluate(geometry, boards, others, 0, count, scores);
+    }
+
+    /**
+     * Checks the boards from index {@code from} to {@code to}, exclusive.
+     */
+    static void wins(BoardGeometry geometry, long[] boards, int from, int to, boolean[] wins) {
+        for (int i = from; i < to; i++)
+            wins[i] = geometry.isWin(boards[i]);
+    }
+
+    /**
+     * Scores the positions from index {@code from} to {@code to}, exclusive.
+     */
+    static void evaluate(BoardGeometry geometry, long[] boards, long[] others, int from, int to, int[] scores) {
+        for (int i = from; i < to; i++)
+            scores[i] = HeuristicEvaluator.score(geometry, boards[i], others[i]);
+    }
+}
@@ -0,0 +1,95 @@
+package game.tictactoe.domain.service.minimax.search;
+
+/**
+ * Score conventions shared by the search engines.
+ *
+ * <p> A won game scores {@link #WIN} minus the number of moves from the root to the end of the game,
+ * so faster wins and slower losses are preferred. Any other score, a draw or a heuristic estimate,
+ * stays strictly inside {@code (-MIN_WIN, MIN_WIN)}.
+ */
+public final class Score {
+
+    /**
+     * Score of a game won at the root.
+     */
+    public static final int WIN = 1000;
+
+    /**
+     * Upper bound on the length of a game on any supported field.
+     */
+    public static final int MAX_PLY = Long.SIZE;
+
+    /**
+     * Smallest score that still denotes a forced win.
+     */
+    public static final int MIN_WIN = WIN - MAX_PLY;
+
+    public static final int DRAW = 0;
+
+    private Score() {}
+
+    /**
+     * @param ply The number of moves from the root to the end of the game.
+     * @return The score of a game won at the given ply.
+     */
+    public static int win(int ply) {
+        return WIN - ply;
+    }
+
+    /**
+     * @param ply The number of moves from the root to the end of the game.
+     * @return The score of a game lost at the given ply.
+     */
+    public static int loss(int ply) {
+        return ply - WIN;
+    }
+
+    /**
+     * @return true if the score denotes a forced win or a forced loss.
+     */
+    public static boolean isDecisive(int score) {
+        return score >= MIN_WIN || score <= -MIN_WIN;
+    }
+
+    /**
+     * @param score A decisive score.
+     * @return The number of moves until the game ends.
+     */
+    public static int distance(int score) {
+        return WIN - Math.abs(score);
+    }
+
+    /**
+     * Converts a score measured from the root into one measured from a node, for storing in a
+     * {@link TranspositionTable}.
+     *
+     * <p> Win and loss scores depend on the ply at which the game ends, so the distance between
+     * the root and the node is removed before storing. This lets the entry be reused from any root.
+     *
+     * @param score The score relative to the root.
+     * @param ply The number of moves between the root and the node.
+     * @return The score relative to the node.
+     */
+    public static int toTable(int score, int ply) {
+        if (score >= MIN_WIN)
+            return score + ply;
+        if (score <= -MIN_WIN)
+            return score - ply;
+        return score;
+    }
+
+    /**
+     * Inverse of {@link #toTable(int, int)}.
+     *
+     * @param score The score relative to the node.
+     * @param ply The number of moves between the root and the node.
+     * @return The score relative to the root.
+     */
+    public static int fromTable(int score, int ply) {
+        if (score >= MIN_WIN)
+            return score - ply;
+        if (score <= -MIN_WIN)
+            return score + ply;
+        return score;
+    }
+}
@@ -0,0 +1,185 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.service.GameAttribute;
+
+/**
+ * The eight symmetries of a square field (the dihedral group D4).
+ *
+ * <p> Symmetries {@code 0..3} are rotations by {@code 0, 90, 180, 270} degrees clockwise,
+ * symmetries {@code 4..7} are the same rotations applied after a horizontal reflection.
+ * Every symmetry is stored as a permutation of cell indices. The permutations depend only
+ * on the field size, so one shared instance exists per size, see {@link #of(int)}.
+ */
+public final class Symmetry {
+
+    /**
+     * Number of symmetries of the square field.
+     */
+    public static final int COUNT = 8;
+
+    /**
+     * Index of the identity symmetry.
+     */
+    public static final int IDENTITY = 0;
+
+    private static final Symmetry[] INSTANCES = new Symmetry[GameAttribute.MAX_SIZE.getValue() + 1];
+
+    static {
+        for (int size = GameAttribute.MIN_SIZE.getValue(); size <= GameAttribute.MAX_SIZE.getValue(); size++)
+            INSTANCES[size] = new Symmetry(size);
+    }
+
+    private final int size;
+    private final int[][] permutations;
+    private final int[][] inverses;
+
+    private Symmetry(int n) {
+        this.size = n;
+        this.permutations = new int[COUNT][n * n];
+        this.inverses = new int[COUNT][n * n];
+
+        for (int sym = 0; sym < COUNT; sym++) {
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    int r = row;
+                    int c = sym >= 4 ? n - 1 - col : col;
+
+                    for (int i = 0; i < (sym & 3); i++) {
+                        final int rotated = c;
+                        c = n - 1 - r;
+                        r = rotated;
+                    }
+
+                    permutations[sym][row * n + col] = r * n + c;
+                    inverses[sym][r * n + c] = row * n + col;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the symmetries of a field of the given size.
+     *
+     * @param size The number of rows and columns.
+     * @return The shared instance for the size.
+     * @throws IllegalArgumentException If the size is out of range.
+     */
+    public static Symmetry of(int size) {
+        if (size < GameAttribute.MIN_SIZE.getValue() || size > GameAttribute.MAX_SIZE.getValue())
+            throw new IllegalArgumentException("Invalid field size: " + size);
+
+        return INSTANCES[size];
+    }
+
+    /**
+     * @return The number of rows and columns of the field.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Maps a cell to its image under a symmetry.
+     *
+     * @param sym The symmetry index.
+     * @param cell The cell index.
+     * @return The transformed cell index.
+     */
+    public int map(int sym, int cell) {
+        return permutations[sym][cell];
+    }
+
+    /**
+     * Maps a transformed cell back to the original orientation.
+     *
+     * @param sym The symmetry index.
+     * @param cell The transformed cell index.
+     * @return The original cell index.
+     */
+    public int unmap(int sym, int cell) {
+        return inverses[sym][cell];
+    }
+
+    /**
+     * Applies a symmetry to a bitboard.
+     *
+     * @param sym The symmetry index.
+     * @param board The bitboard to transform.
+     * @return The transformed bitboard.
+     */
+    public long transform(int sym, long board) {
+        long result = 0;
+
+        for (long bits = board; bits != 0; bits &= bits - 1)
+            result |= 1L << permutations[sym][Long.numberOfTrailingZeros(bits)];
+
+        return result;
+    }
+
+    /**
+     * Returns the symmetry that maps a position to its canonical orientation: the image with the
+     * smallest bitboard of X and, among those, the smallest bitboard of O. Positions that are equal
+     * up to a symmetry have the same canonical image.
+     *
+     * @param xBoard The bitboard of X.
+     * @param oBoard The bitboard of O.
+     * @return The symmetry index, the lowest one if several give the canonical image.
+     */
+    public int canonical(long xBoard, long oBoard) {
+        int best = IDENTITY;
+        long bestX = xBoard;
+        long bestO = oBoard;
+
+        for (int sym = 1; sym < COUNT; sym++) {
+            final long x = transform(sym, xBoard);
+            final long o = transform(sym, oBoard);
+
+            if (x < bestX || (x == bestX && o < bestO)) {
+                best = sym;
+                bestX = x;
+                bestO = o;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns the moves that are not symmetric to a lower-indexed move.
+     *
+     * <p> Two empty cells are equivalent if a symmetry that leaves the position unchanged maps
+     * one onto the other. Such moves lead to positions of equal value, so only the lowest cell
+     * of every equivalence class has to be searched. On the empty 3x3 field these are a corner,
+     * an edge and the centre.
+     *
+     * @param playerBoard The bitboard of one side.
+     * @param opponentBoard The bitboard of the other side.
+     * @return A mask of the representative empty cells.
+     */
+    public long uniqueMoves(long playerBoard, long opponentBoard) {
+        final int cells = size * size;
+        final long full = cells == Long.SIZE ? -1L : (1L << cells) - 1;
+        final long empty = ~(playerBoard | opponentBoard) & full;
+        int stabilizer = 0;
+
+        for (int sym = 0; sym < COUNT; sym++) {
+            if (transform(sym, playerBoard) == playerBoard && transform(sym, opponentBoard) == opponentBoard)
+                stabilizer |= 1 << sym;
+        }
+
+        long unique = 0;
+
+        for (long moves = empty; moves != 0; moves &= moves - 1) {
+            final int move = Long.numberOfTrailingZeros(moves);
+            boolean representative = true;
+
+            for (int syms = stabilizer; syms != 0 && representative; syms &= syms - 1)
+                representative = permutations[Integer.numberOfTrailingZeros(syms)][move] >= move;
+
+            if (representative)
+                unique |= 1L << move;
+        }
+
+        return unique;
+    }
+}
@@ -0,0 +1,116 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size hash table of already searched positions, keyed by a Zobrist hash.
+ *
+ * <p> Every entry is packed into a single {@code long}: score, remaining depth, {@link Bound}
+ * and best move. The slot stores the key XOR-ed with the data, so an entry torn by a concurrent
+ * write is simply rejected on probe. This makes the table safe to share between searches
+ * running on different threads without any locking.
+ */
+public final class TranspositionTable {
+
+    /**
+     * Value returned by {@link #probe(long)} when the position is not in the table.
+     */
+    public static final long MISS = 0L;
+
+    /**
+     * Move value stored when the entry has no best move.
+     */
+    public static final int NO_MOVE = -1;
+
+    private static final Bound[] BOUNDS = Bound.values();
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+    private final ReplacementPolicy replacementPolicy;
+
+    /**
+     * Creates a table with at least the given number of slots.
+     *
+     * @param size The requested number of slots, rounded up to the next power of two.
+     * @param replacementPolicy The policy used when a slot is already occupied.
+     */
+    public TranspositionTable(int size, ReplacementPolicy replacementPolicy) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Transposition table size must be positive");
+
+        final int capacity = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+
+        this.keys = new long[capacity];
+        this.entries = new long[capacity];
+        this.mask = capacity - 1;
+        this.replacementPolicy = replacementPolicy;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param hash The Zobrist hash of the position.
+     * @return The packed entry, or {@link #MISS} if the position is not stored.
+     */
+    public long probe(long hash) {
+        final int slot = (int) hash & mask;
+        final long entry = entries[slot];
+
+        if (entry != MISS && (keys[slot] ^ entry) == hash)
+            return entry;
+
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search, subject to the replacement policy.
+     *
+     * @param hash The Zobrist hash of the position.
+     * @param depth The remaining depth the position was searched to.
+     * @param score The score of the position from the side to move's perspective.
+     * @param bound Whether the score is exact, a lower bound or an upper bound.
+     * @param move The best move found, or {@link #NO_MOVE}.
+     */
+    public void store(long hash, int depth, int score, Bound bound, int move) {
+        final int slot = (int) hash & mask;
+        final long old = entries[slot];
+
+        if (replacementPolicy == ReplacementPolicy.DEPTH_PREFERRED
+                && old != MISS
+                && (keys[slot] ^ old) != hash
+                && depth(old) > depth)
+            return;
+
+        final long entry = (score & 0xFFFFL)
+                | ((long) (depth & 0xFF) << 16)
+                | ((long) (bound.ordinal() + 1) << 24)
+                | ((long) ((move + 1) & 0xFF) << 32);
+
+        entries[slot] = entry;
+        keys[slot] = hash ^ entry;
+    }
+
+    /**
+     * Removes all entries from the table.
+     */
+    public void clear() {
+        Arrays.fill(entries, MISS);
+        Arrays.fill(keys, 0L);
+    }
+
+    /**
+     * @return The number of slots in the table.
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    public static int score(long entry) { return (short) entry; }
+
+    public static int depth(long entry) { return (int) (entry >>> 16) & 0xFF; }
+
+    public static Bound bound(long entry) { return BOUNDS[(int) ((entry >>> 24) & 0x3) - 1]; }
+
+    public static int move(long entry) { return (int) ((entry >>> 32) & 0xFF) - 1; }
+}
@@ -0,0 +1,129 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BoardKernel} on the Vector API: every lane of a {@link LongVector} holds one board, and every
+ * line mask is broadcast and tested against all lanes at once.
+ *
+ * <p> The value of an open line is looked up without branches or gathers: the line values are packed
+ * one per byte into a single {@code long}, which every lane shifts by eight times its mark count.
+ * Boards left over after the last whole vector are handed to the {@link ScalarBoardKernel}.
+ *
+ * <p> Only {@link BoardKernel} loads this class, and only after it has checked that the module is present.
+ */
+final class VectorBoardKernel implements BoardKernel {
+
+    static final VectorBoardKernel INSTANCE = new VectorBoardKernel();
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * Bits of a packed line value.
+     */
+    private static final int VALUE_BITS = Byte.SIZE;
+
+    /**
+     * {@link HeuristicEvaluator#LINE_VALUES} packed one per byte, indexed by the number of marks.
+     */
+    private static final long PACKED_LINE_VALUES = pack(HeuristicEvaluator.LINE_VALUES);
+
+    private VectorBoardKernel() {}
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void wins(BoardGeometry geometry, long[] boards, int count, boolean[] wins) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            final LongVector board = LongVector.fromArray(SPECIES, boards, i);
+            VectorMask<Long> won = SPECIES.maskAll(false);
+
+            for (int line = 0; line < geometry.getLineCount(); line++) {
+                final long mask = geometry.getWinMask(line);
+                won = won.or(board.and(mask).eq(mask));
+            }
+
+            for (int lane = 0; lane < SPECIES.length(); lane++)
+                wins[i + lane] = won.laneIsSet(lane);
+        }
+
+        ScalarBoardKernel.wins(geometry, boards, i, count, wins);
+    }
+
+    @Override
+    public void evaluate(BoardGeometry geometry, long[] boards, long[] others, int count, int[] scores) {
+        final int bound = SPECIES.loopBound(count);
+        final long almostWon = geometry.getWinLength() - 1;
+        final LongVector packedValues = LongVector.broadcast(SPECIES, PACKED_LINE_VALUES);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            final LongVector board = LongVector.fromArray(SPECIES, boards, i);
+            final LongVector other = LongVector.fromArray(SPECIES, others, i);
+            final LongVector empty = board.or(other).not();
+            VectorMask<Long> ownThreat = SPECIES.maskAll(false);
+            LongVector otherThreats = LongVector.zero(SPECIES);
+            LongVector score = LongVector.zero(SPECIES);
+
+            for (int line = 0; line < geometry.getLineCount(); line++) {
+                final long mask = geometry.getWinMask(line);
+                final LongVector own = board.and(mask);
+                final LongVector theirs = other.and(mask);
+                final LongVector ownCount = own.lanewise(VectorOperators.BIT_COUNT);
+                final LongVector theirCount = theirs.lanewise(VectorOperators.BIT_COUNT);
+                final VectorMask<Long> ownOpen = theirs.eq(0);
+                final VectorMask<Long> theirOpen = own.eq(0);
+
+                ownThreat = ownThreat.or(ownOpen.and(ownCount.eq(almostWon)));
+                otherThreats = otherThreats.lanewise(VectorOperators.OR, empty.and(mask),
+                        theirOpen.and(theirCount.eq(almostWon)));
+
+                score = score.add(lineValues(packedValues, ownCount), ownOpen)
+                        .sub(lineValues(packedValues, theirCount), theirOpen.andNot(ownOpen));
+            }
+
+            final VectorMask<Long> otherWins = otherThreats.lanewise(VectorOperators.BIT_COUNT).compare(VectorOperators.GT, 1);
+            final LongVector result = score
+                    .max(-HeuristicEvaluator.MAX_POSITIONAL)
+                    .min(HeuristicEvaluator.MAX_POSITIONAL)
+                    .blend(-HeuristicEvaluator.THREAT, otherWins)
+                    .blend(HeuristicEvaluator.THREAT, ownThreat);
+
+            for (int lane = 0; lane < SPECIES.length(); lane++)
+                scores[i + lane] = (int) result.lane(lane);
+        }
+
+        ScalarBoardKernel.evaluate(geometry, boards, others, i, count, scores);
+    }
+
+    /**
+     * @return The value of a line with the given number of marks in every lane.
+     */
+    private static LongVector lineValues(LongVector packedValues, LongVector counts) {
+        return packedValues.lanewise(VectorOperators.LSHR, counts.mul(VALUE_BITS))
+                .and((1L << VALUE_BITS) - 1);
+    }
+
+    private static long pack(int[] values) {
+        long packed = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] >= 1 << VALUE_BITS)
+                throw new IllegalStateException("Line value does not fit into a byte: " + values[i]);
+
+            packed |= (long) values[i] << (i * VALUE_BITS);
+        }
+
+        return packed;
+    }
+}
@@ -0,0 +1,119 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.service.GameAttribute;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing game fields.
+ *
+ * <p> Every (side, cell) pair gets a random 64-bit key and the hash of a position is the XOR
+ * of the keys of its occupied cells, optionally combined with {@link #SIDE_TO_MOVE_O}.
+ * Placing or removing a mark therefore updates the hash with a single XOR.
+ *
+ * <p> The hash also includes a key of the {@link BoardGeometry}, so positions of fields with
+ * a different size or win length never collide in a shared transposition table.
+ */
+public final class ZobristKeys {
+
+    /**
+     * Fixed seed, so hashes are stable between runs and can be compared in logs and tests.
+     */
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final int MAX_SIZE = GameAttribute.MAX_SIZE.getValue();
+    private static final int MAX_CELLS = MAX_SIZE * MAX_SIZE;
+
+    private static final long[] X_KEYS = new long[MAX_CELLS];
+    private static final long[] O_KEYS = new long[MAX_CELLS];
+    private static final long[][] GEOMETRY_KEYS = new long[MAX_SIZE + 1][MAX_SIZE + 1];
+
+    /**
+     * Key mixed into the hash when O is to move.
+     */
+    public static final long SIDE_TO_MOVE_O;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(SEED);
+
+        for (int i = 0; i < MAX_CELLS; i++) {
+            X_KEYS[i] = random.nextLong();
+            O_KEYS[i] = random.nextLong();
+        }
+
+        SIDE_TO_MOVE_O = random.nextLong();
+
+        for (int size = 0; size <= MAX_SIZE; size++) {
+            for (int winLength = 0; winLength <= MAX_SIZE; winLength++)
+                GEOMETRY_KEYS[size][winLength] = random.nextLong();
+        }
+    }
+
+    private ZobristKeys() {}
+
+    /**
+     * Returns the key of a single cell occupied by the given side.
+     *
+     * @param side The side occupying the cell (X or O).
+     * @param index The cell index.
+     * @return The Zobrist key of the cell.
+     */
+    public static long cellKey(CellType side, int index) {
+        return side == CellType.X ? X_KEYS[index] : O_KEYS[index];
+    }
+
+    /**
+     * Returns the key identifying the size and win length of a field.
+     *
+     * @param geometry The geometry of the field.
+     * @return The Zobrist key of the geometry.
+     */
+    public static long geometryKey(BoardGeometry geometry) {
+        return GEOMETRY_KEYS[geometry.getSize()][geometry.getWinLength()];
+    }
+
+    /**
+     * Returns the per-cell keys of the given side under every {@link Symmetry}.
+     *
+     * <p> The key of cell {@code c} under symmetry {@code s} is stored at {@code c * Symmetry.COUNT + s},
+     * so the eight hashes of a position can be updated together when a mark is placed on {@code c}.
+     *
+     * @param side The side (X or O).
+     * @param symmetry The symmetries of the field.
+     * @return An array of keys indexed by cell and symmetry.
+     */
+    public static long[] symmetricCellKeys(CellType side, Symmetry symmetry) {
+        final int cells = symmetry.size() * symmetry.size();
+        final long[] keys = new long[cells * Symmetry.COUNT];
+
+        for (int cell = 0; cell < cells; cell++) {
+            for (int sym = 0; sym < Symmetry.COUNT; sym++)
+                keys[cell * Symmetry.COUNT + sym] = cellKey(side, symmetry.map(sym, cell));
+        }
+
+        return keys;
+    }
+
+    /**
+     * Computes the hash of a position from scratch.
+     *
+     * @param geometry The geometry of the field.
+     * @param xBoard The bitboard of X.
+     * @param oBoard The bitboard of O.
+     * @param sideToMove The side to move.
+     * @return The Zobrist hash of the position.
+     */
+    public static long hash(BoardGeometry geometry, long xBoard, long oBoard, CellType sideToMove) {
+        long hash = geometryKey(geometry) ^ (sideToMove == CellType.O ? SIDE_TO_MOVE_O : 0L);
+
+        for (long bits = xBoard; bits != 0; bits &= bits - 1)
+            hash ^= X_KEYS[Long.numberOfTrailingZeros(bits)];
+
+        for (long bits = oBoard; bits != 0; bits &= bits - 1)
+            hash ^= O_KEYS[Long.numberOfTrailingZeros(bits)];
+
+        return hash;
+    }
+}
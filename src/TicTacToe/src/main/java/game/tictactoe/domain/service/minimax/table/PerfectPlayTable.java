@@ -0,0 +1,113 @@
+package game.tictactoe.domain.service.minimax.table;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.BoardGeometry;
+
+/**
+ * Binary layout of the perfect-play table generated at build time by {@link PerfectPlayTableGenerator}.
+ *
+ * <p> The table covers the {@link BoardGeometry#DEFAULT default} 3x3 field only.
+ *
+ * <p> The file starts with a header of two {@code int}s: {@link #MAGIC} and the number of entries.
+ * It is followed by one byte per position, addressed by {@link #index(long, long)}, which reads the
+ * field as a base-3 number (0 - empty, 1 - X, 2 - O). An entry holds the best move of the side to
+ * move and the value of the position for that side; positions that cannot occur in a game where
+ * X moves first, and finished positions, are stored as {@link #NO_ENTRY}.
+ */
+public final class PerfectPlayTable {
+
+    /**
+     * Classpath location of the table.
+     */
+    public static final String RESOURCE = "engine/perfect-play-3x3.bin";
+
+    /**
+     * File signature: {@code "TTT1"}.
+     */
+    public static final int MAGIC = 0x54545431;
+
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * Number of entries: every assignment of empty, X or O to the cells.
+     */
+    public static final int SIZE;
+
+    /**
+     * Entry of a position that is not in the table.
+     */
+    public static final byte NO_ENTRY = 0;
+
+    public static final int LOSS = -1;
+    public static final int DRAW = 0;
+    public static final int WIN = 1;
+
+    private static final int[] POWERS_OF_THREE = new int[BoardGeometry.DEFAULT.getCells()];
+
+    static {
+        int power = 1;
+
+        for (int i = 0; i < BoardGeometry.DEFAULT.getCells(); i++) {
+            POWERS_OF_THREE[i] = power;
+            power *= 3;
+        }
+
+        SIZE = power;
+    }
+
+    private PerfectPlayTable() {}
+
+    /**
+     * Computes the table index of a position.
+     *
+     * @param xBoard The bitboard of X.
+     * @param oBoard The bitboard of O.
+     * @return The index of the position's entry.
+     */
+    public static int index(long xBoard, long oBoard) {
+        int index = 0;
+
+        for (long bits = xBoard; bits != 0; bits &= bits - 1)
+            index += POWERS_OF_THREE[Long.numberOfTrailingZeros(bits)];
+
+        for (long bits = oBoard; bits != 0; bits &= bits - 1)
+            index += 2 * POWERS_OF_THREE[Long.numberOfTrailingZeros(bits)];
+
+        return index;
+    }
+
+    /**
+     * Returns the side to move in a game where X moves first.
+     *
+     * @param xBoard The bitboard of X.
+     * @param oBoard The bitboard of O.
+     * @return The side to move, or {@link CellType#EMPTY} if the mark counts are impossible.
+     */
+    public static CellType sideToMove(long xBoard, long oBoard) {
+        final int difference = Long.bitCount(xBoard) - Long.bitCount(oBoard);
+
+        return switch (difference) {
+            case 0 -> CellType.X;
+            case 1 -> CellType.O;
+            default -> CellType.EMPTY;
+        };
+    }
+
+    /**
+     * Packs a move and a value into an entry.
+     *
+     * @param move The cell index of the best move.
+     * @param value {@link #LOSS}, {@link #DRAW} or {@link #WIN} for the side to move.
+     * @return The entry byte.
+     */
+    public static byte encode(int move, int value) {
+        return (byte) ((move + 1) | ((value + 2) << 4));
+    }
+
+    public static int move(byte entry) { return (entry & 0x0F) - 1; }
+
+    public static int value(byte entry) { return ((entry >> 4) & 0x03) - 2; }
+}
@@ -0,0 +1,121 @@
+package game.tictactoe.domain.service.minimax.table;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.impl.MinimaxServiceImpl;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Build-time generator of the {@link PerfectPlayTable}.
+ *
+ * <p> Enumerates every position reachable from the empty field with X moving first and solves
+ * each one with {@link MinimaxServiceImpl}. The value of a position is the negated value of the
+ * position reached by its best move, so values are consistent with the moves the engine plays.
+ *
+ * <p> Invoked by the {@code generatePerfectPlayTable} Gradle task with the output file as argument.
+ */
+public final class PerfectPlayTableGenerator {
+
+    private static final byte UNVISITED = Byte.MIN_VALUE;
+
+    private final MinimaxService engine;
+    private final byte[] entries = new byte[PerfectPlayTable.SIZE];
+    private final byte[] values = new byte[PerfectPlayTable.SIZE];
+
+    public PerfectPlayTableGenerator(MinimaxService engine) {
+        this.engine = engine;
+        Arrays.fill(values, UNVISITED);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Usage: PerfectPlayTableGenerator <output file>");
+
+        final Path output = Path.of(args[0]);
+        final byte[] table = new PerfectPlayTableGenerator(new MinimaxServiceImpl()).generate();
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+
+        try (OutputStream out = Files.newOutputStream(output)) {
+            write(out, table);
+        }
+    }
+
+    /**
+     * Solves all reachable positions.
+     *
+     * @return The table entries, indexed by {@link PerfectPlayTable#index(long, long)}.
+     */
+    public byte[] generate() {
+        solve(new GameField());
+        return entries.clone();
+    }
+
+    /**
+     * Writes the header and the entries of a table.
+     *
+     * @param out The stream to write to.
+     * @param entries The table entries.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(OutputStream out, byte[] entries) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+
+        data.writeInt(PerfectPlayTable.MAGIC);
+        data.writeInt(entries.length);
+        data.write(entries);
+        data.flush();
+    }
+
+    /**
+     * Solves a position and all positions reachable from it.
+     *
+     * @param field The position, restored to its original state on return.
+     * @return The value of the position for the side to move.
+     */
+    private int solve(GameField field) {
+        final long xBoard = field.getBoard(CellType.X);
+        final long oBoard = field.getBoard(CellType.O);
+        final int index = PerfectPlayTable.index(xBoard, oBoard);
+
+        if (values[index] != UNVISITED)
+            return values[index];
+
+        final CellType side = PerfectPlayTable.sideToMove(xBoard, oBoard);
+        final CellType opponent = side == CellType.X ? CellType.O : CellType.X;
+        int value;
+
+        if (field.hasWon(opponent)) {
+            value = PerfectPlayTable.LOSS;
+        } else if (field.isFull()) {
+            value = PerfectPlayTable.DRAW;
+        } else {
+            for (long moves = field.getEmptyCells(); moves != 0; moves &= moves - 1) {
+                final int move = Long.numberOfTrailingZeros(moves);
+                field.setCell(move, side);
+                solve(field);
+                field.setCell(move, CellType.EMPTY);
+            }
+
+            final Position best = engine.findBestMove(new GameField(field), side);
+            final int move = field.index(best.row(), best.col());
+
+            final long childXBoard = side == CellType.X ? xBoard | (1L << move) : xBoard;
+            final long childOBoard = side == CellType.O ? oBoard | (1L << move) : oBoard;
+
+            value = -values[PerfectPlayTable.index(childXBoard, childOBoard)];
+            entries[index] = PerfectPlayTable.encode(move, value);
+        }
+
+        values[index] = (byte) value;
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package game.tictactoe.domain.utils;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.service.WinState;
+import lombok.Getter;
+
+/**
+ * Keeps the {@link WinState} of a game up to date move by move.
+ *
+ * <p> The field is evaluated in full only once, when the tracker is created. After that a move can
+ * only complete a line passing through its own cell, so {@link #play(int, CellType)} checks just
+ * those lines and compares a running move count against the number of cells to detect a draw.
+ */
+public final class GameStateTracker {
+
+    private final GameField field;
+
+    /**
+     * Number of occupied cells.
+     */
+    @Getter
+    private int moveCount;
+
+    /**
+     * State of the game after the last move.
+     */
+    @Getter
+    private WinState state;
+
+    /**
+     * @param field The field to track; further moves must be made through {@link #play(int, CellType)}.
+     */
+    public GameStateTracker(GameField field) {
+        this.field = field;
+        this.moveCount = field.getGeometry().getCells() - Long.bitCount(field.getEmptyCells());
+        this.state = GameUtils.isGameOver(field);
+    }
+
+    /**
+     * Places a mark on an empty cell and updates the state of the game.
+     *
+     * @param cell The cell index of the move.
+     * @param side The side making the move (X or O).
+     * @return The state of the game after the move.
+     */
+    public WinState play(int cell, CellType side) {
+        field.setCell(cell, side);
+        moveCount++;
+
+        if (state != WinState.CONTINUE)
+            return state;
+
+        if (field.getGeometry().isWinThrough(field.getBoard(side), cell))
+            state = side == CellType.X ? WinState.X_WON : WinState.O_WON;
+        else if (moveCount == field.getGeometry().getCells())
+            state = WinState.DRAW;
+
+        return state;
+    }
+}
@@ -1,9 +1,16 @@
 package game.tictactoe.domain.utils;
 
+import game.tictactoe.domain.model.BoardGeometry;
 import game.tictactoe.domain.model.CellType;
 import game.tictactoe.domain.model.GameField;
-import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.domain.service.WinState;
+import game.tictactoe.domain.service.minimax.search.BoardKernel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class GameUtils {
 
@@ -25,98 +32,75 @@ public class GameUtils {
      *         </ul>
      */
     public static WinState isGameOver(GameField field) {
-        // Check rows and columns
-        for (int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            if (checkRow(field, i))
-                return map(field.getCell(i, 0));
-
-            if (checkColumn(field, i))
-                return map(field.getCell(0, i));
-        }
+        if (field.hasWon(CellType.X))
+            return WinState.X_WON;
 
-        // Check diagonals
-        final WinState diagonalState = checkDiagonal(field);
-        if(diagonalState != WinState.CONTINUE)
-            return diagonalState;
+        if (field.hasWon(CellType.O))
+            return WinState.O_WON;
 
-        // Check if field is full
-        if(isFieldFull(field))
+        if (field.isFull())
             return WinState.DRAW;
 
         return WinState.CONTINUE;
     }
 
     /**
-     * Checks if a row contains three identical non-empty cells.
+     * Checks many games at once, the same way as {@link #isGameOver(GameField)}.
      *
-     * @param field The game field.
-     * @param row The row index to check.
-     * @return true if the row contains three identical non-empty cells, false otherwise.
-     */
-    private static boolean checkRow(GameField field, int row) {
-        CellType cell = field.getCell(row, 0);
-        return cell != CellType.EMPTY &&
-                cell == field.getCell(row, 1) &&
-                cell == field.getCell(row, 2);
-    }
-
-    /**
-     * Checks if a column contains three identical non-empty cells.
+     * <p> The fields are grouped by geometry and the lines of every group are tested in one batch
+     * by the {@link BoardKernel#preferred() preferred kernel}, with SIMD instructions where the JVM allows.
      *
-     * @param field The game field.
-     * @param col The column index to check.
-     * @return true if the column contains three identical non-empty cells, false otherwise.
+     * @param fields The fields to check.
+     * @return The win state of every field, in the order of the fields.
      */
-    private static boolean checkColumn(GameField field, int col) {
-        CellType cell = field.getCell(0, col);
-        return cell != CellType.EMPTY &&
-                cell == field.getCell(1, col) &&
-                cell == field.getCell(2, col);
+    public static List<WinState> isGameOver(List<GameField> fields) {
+        return isGameOver(fields, BoardKernel.preferred());
     }
 
     /**
-     * Checks if either diagonal contains three identical non-empty cells.
+     * Checks many games at once with the given kernel.
      *
-     * @param field The game field.
-     * @return The win state if a diagonal win is found, otherwise {@link WinState#CONTINUE}.
+     * @param fields The fields to check.
+     * @param kernel The kernel that tests the lines.
+     * @return The win state of every field, in the order of the fields.
      */
-    private static WinState checkDiagonal(GameField field) {
-        if (field.getCell(0, 0) == field.getCell(1, 1) && field.getCell(1, 1) == field.getCell(2, 2)
-                && field.getCell(0, 0) != CellType.EMPTY) {
-            return map(field.getCell(0, 0));
-        }
+    public static List<WinState> isGameOver(List<GameField> fields, BoardKernel kernel) {
+        final WinState[] states = new WinState[fields.size()];
+        final Map<BoardGeometry, List<Integer>> groups = new LinkedHashMap<>();
 
-        if (field.getCell(0, 2) == field.getCell(1, 1) && field.getCell(1, 1) == field.getCell(2, 0)
-                && field.getCell(0, 2) != CellType.EMPTY) {
-            return map(field.getCell(0, 2));
-        }
+        for (int i = 0; i < fields.size(); i++)
+            groups.computeIfAbsent(fields.get(i).getGeometry(), geometry -> new ArrayList<>()).add(i);
 
-        return WinState.CONTINUE;
-    }
+        for (Map.Entry<BoardGeometry, List<Integer>> group : groups.entrySet()) {
+            final BoardGeometry geometry = group.getKey();
+            final List<Integer> indices = group.getValue();
+            final int count = indices.size();
+            final long[] xBoards = new long[count];
+            final long[] oBoards = new long[count];
+            final boolean[] xWins = new boolean[count];
+            final boolean[] oWins = new boolean[count];
 
-    /**
-     * Checks if all cells on the game field are filled.
-     *
-     * @param field The game field.
-     * @return true if the field is full, false otherwise.
-     */
-    private static boolean isFieldFull(GameField field) {
-        for (int i = 0; i < GameAttribute.ROWS.getValue(); i++) {
-            for (int j = 0; j < GameAttribute.COLS.getValue(); j++) {
-                if (field.getCell(i, j) == CellType.EMPTY)
-                    return false;
+            for (int i = 0; i < count; i++) {
+                final GameField field = fields.get(indices.get(i));
+                xBoards[i] = field.getBoard(CellType.X);
+                oBoards[i] = field.getBoard(CellType.O);
+            }
+
+            kernel.wins(geometry, xBoards, count, xWins);
+            kernel.wins(geometry, oBoards, count, oWins);
+
+            for (int i = 0; i < count; i++) {
+                if (xWins[i])
+                    states[indices.get(i)] = WinState.X_WON;
+                else if (oWins[i])
+                    states[indices.get(i)] = WinState.O_WON;
+                else if ((xBoards[i] | oBoards[i]) == geometry.getFullMask())
+                    states[indices.get(i)] = WinState.DRAW;
+                else
+                    states[indices.get(i)] = WinState.CONTINUE;
             }
         }
-        return true;
-    }
 
-    /**
-     * Maps a {@link CellType} to its corresponding {@link WinState}.
-     *
-     * @param cellType The {@link CellType} to map.
-     * @return The corresponding {@link WinState}.
-     */
-    private static WinState map(CellType cellType){
-        return cellType == CellType.X ? WinState.X_WON : WinState.O_WON;
+        return Arrays.asList(states);
     }
 }
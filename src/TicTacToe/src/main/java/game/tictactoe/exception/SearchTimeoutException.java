@@ -0,0 +1,11 @@
+package game.tictactoe.exception;
+
+/**
+ * This exception is thrown when the deadline of a request passes, or the request is cancelled,
+ * before the computer's move could be searched.
+ */
+public class SearchTimeoutException extends RuntimeException {
+    public SearchTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -2,10 +2,13 @@ package game.tictactoe.web.advice;
 
 import game.tictactoe.exception.ResourceNotFoundException;
 import game.tictactoe.exception.InvalidRequestBodyException;
+import game.tictactoe.exception.SearchTimeoutException;
 import game.tictactoe.web.annotation.GameExceptionHandler;
 import game.tictactoe.web.model.ErrorResponse;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -46,6 +49,45 @@ public class TicTacToeExceptionHandler {
                 .body(new ErrorResponse(e.getMessage()));
     }
 
+    /**
+     * Handles the {@link SearchTimeoutException}.
+     * This exception occurs when the deadline of a request passes before the computer's move is searched.
+     *
+     * @param e The {@link SearchTimeoutException} instance.
+     * @return A {@link ResponseEntity} with a status of {@link HttpStatus#SERVICE_UNAVAILABLE} and the error message.
+     */
+    @ExceptionHandler(SearchTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleSearchTimeoutException(final SearchTimeoutException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    /**
+     * Handles the {@link TaskRejectedException}.
+     * This exception occurs when every thread and queue slot of the request executor is taken.
+     *
+     * @param e The {@link TaskRejectedException} instance.
+     * @return A {@link ResponseEntity} with a status of {@link HttpStatus#SERVICE_UNAVAILABLE} and an error message.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(final TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("Too many requests are being handled, try again later"));
+    }
+
+    /**
+     * Handles the {@link UnsupportedOperationException}.
+     * This exception occurs when a position is analyzed while the default engine cannot score single moves.
+     *
+     * @param e The {@link UnsupportedOperationException} instance.
+     * @return A {@link ResponseEntity} with a status of {@link HttpStatus#NOT_IMPLEMENTED} and an error message.
+     */
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedOperationException(final UnsupportedOperationException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                .body(new ErrorResponse("The engine does not analyze positions"));
+    }
+
     /**
      * This method handles the {@link MethodArgumentNotValidException} which is thrown when a controller method receives an invalid request body.
      *
@@ -13,7 +13,7 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Constraint(validatedBy = GameFieldValidator.class)
 public @interface ValidGameField {
-    String message() default "Invalid game field, it should be a 3x3 matrix of X or O or empty cells";
+    String message() default "Invalid game field, it should be a square matrix from 3x3 to 7x7 of X or O or empty cells";
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
 }
@@ -1,29 +1,57 @@
 package game.tictactoe.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
 import game.tictactoe.domain.model.Game;
 import game.tictactoe.domain.model.GameCreationResult;
+import game.tictactoe.domain.model.GameField;
 import game.tictactoe.domain.service.gameService.GameService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
 import game.tictactoe.exception.InvalidRequestBodyException;
 import game.tictactoe.exception.ResourceNotFoundException;
+import game.tictactoe.exception.SearchTimeoutException;
 import game.tictactoe.web.annotation.GameExceptionHandler;
+import game.tictactoe.web.interceptor.RequestDeadlineInterceptor;
 import game.tictactoe.web.mapper.GameFieldMapper;
 import game.tictactoe.web.mapper.MoveResultMapper;
+import game.tictactoe.web.model.AnalysisRequest;
+import game.tictactoe.web.model.BatchMoveRequest;
+import game.tictactoe.web.model.CacheStatisticsDto;
+import game.tictactoe.web.model.EngineStatisticsDto;
 import game.tictactoe.web.model.GameCreationRequest;
 import game.tictactoe.web.model.GameFieldDTO;
+import game.tictactoe.web.model.LoadStatisticsDto;
 import game.tictactoe.web.model.MoveResultDto;
+import game.tictactoe.web.model.PositionAnalysisDto;
+import game.tictactoe.web.model.SearchProgressDto;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class defines the REST API endpoints for Tic-Tac-Toe game management.
@@ -37,9 +65,18 @@ import java.util.UUID;
 @Tag(name = "TicTacToe")
 @RequiredArgsConstructor
 public class GameController {
+
+    /**
+     * Time between the heartbeats of a streamed analysis.
+     */
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
     private final GameService gameService;
     private final GameFieldMapper gameFieldMapper;
     private final MoveResultMapper moveResultMapper;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor requestExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
 
     /**
      * Creates a new game and makes the first move for the specified player side.
@@ -55,7 +92,10 @@ public class GameController {
         log.info("Request received: POST /api/v1/game, GameCreationRequest = {}", request);
 
         GameCreationResult gcr = gameService.createGameAndMakeFirstMove(
-                CellType.valueOf(request.getPlayerSide()), gameFieldMapper.toEntity(request.getGameField())
+                CellType.valueOf(request.getPlayerSide()),
+                gameFieldMapper.toEntity(request.getGameField(), request.getWinLength()),
+                request.getDifficulty(),
+                request.getEngine()
         );
 
         URI location = UriComponentsBuilder.fromUriString("/api/v1/game/{uuid}")
@@ -70,16 +110,23 @@ public class GameController {
     /**
      * Updates the game state by making a move on the provided game board.
      *
+     * <p> The move is validated at once, the computer's move is then searched asynchronously, so the search
+     * is cancelled as soon as the container reports that the request timed out or the client disconnected.
+     * It is searched within the deadline of the request: a search that reaches it plays the best move found so far.
+     *
      * @param uuid The unique identifier of the game.
      * @param gameDTO The DTO containing the updated game board.
-     * @return A ResponseEntity containing the updated game state after the move.
+     * @param deadline The deadline of the request, set by the {@link RequestDeadlineInterceptor}.
+     * @return A Callable producing a ResponseEntity that contains the updated game state after the move.
      * @throws ResourceNotFoundException if the game with the specified UUID is not found.
      * @throws InvalidRequestBodyException if the move is invalid.
+     * @throws SearchTimeoutException if the deadline passes before the computer's move is searched.
      */
     @PutMapping(value = "/v1/game/{uuid}")
-    public ResponseEntity<MoveResultDto> updateGame(
+    public Callable<ResponseEntity<MoveResultDto>> updateGame(
             @PathVariable("uuid") UUID uuid,
-            @Valid @RequestBody GameFieldDTO gameDTO
+            @Valid @RequestBody GameFieldDTO gameDTO,
+            @RequestAttribute(name = RequestDeadlineInterceptor.ATTRIBUTE, required = false) SearchDeadline deadline
     ) {
         log.info("Request received: PUT /api/v1/game/{uuid}, UUID = {}, NewGameField = {}", uuid, gameDTO);
 
@@ -88,12 +135,228 @@ public class GameController {
                 gameFieldMapper.toEntity(gameDTO)
         );
 
-        gameService.nextMove(game);
+        return () -> {
+            gameService.nextMove(game, Objects.requireNonNullElse(deadline, SearchDeadline.NONE));
+
+            log.info("Updated game: {}", game);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(moveResultMapper.toDTO(gameService.checkWin(game)));
+        };
+    }
+
+    /**
+     * Finds the computer's move for many positions in one request, without creating games.
+     *
+     * <p> The fields are validated before anything is sent. The results are then streamed as
+     * newline-delimited JSON, one line per position as soon as it is searched, so they arrive
+     * in any order and carry the index of their position. The deadline of the request cuts the searches
+     * short like their time budget, and the batch stops once a result cannot be written.
+     *
+     * @param request The request body containing the positions and the difficulty.
+     * @param deadline The deadline of the request, set by the {@link RequestDeadlineInterceptor}.
+     * @return A {@link ResponseEntity} streaming a {@link game.tictactoe.web.model.BatchMoveResultDto} per position.
+     * @throws InvalidRequestBodyException if a field cannot arise in a game.
+     */
+    @PostMapping(value = "/v1/moves", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> findBestMoves(
+            @Valid @RequestBody BatchMoveRequest request,
+            @RequestAttribute(name = RequestDeadlineInterceptor.ATTRIBUTE, required = false) SearchDeadline deadline
+    ) {
+        log.info("Request received: POST /api/v1/moves, positions = {}", request.getPositions().size());
+
+        final List<GameField> fields = request.getPositions().stream()
+                .map(position -> gameFieldMapper.toEntity(position.getGameField(), position.getWinLength()))
+                .toList();
+        final Difficulty difficulty = request.getDifficulty();
+
+        // A failed write cancels the rest of the batch, so the batch needs a deadline that can be cancelled
+        final SearchDeadline searchDeadline = Objects.requireNonNullElseGet(deadline, SearchDeadline::cancellable);
+
+        gameService.validateBatch(fields);
+
+        final StreamingResponseBody body = out -> gameService.findBestMoves(fields, difficulty, searchDeadline, result -> {
+            try {
+                final byte[] line = objectMapper.writeValueAsBytes(moveResultMapper.toBatchDTO(result));
+
+                synchronized (out) {
+                    out.write(line);
+                    out.write('\n');
+                    out.flush();
+                }
+            } catch (IOException e) {
+                searchDeadline.cancel();
+                throw new UncheckedIOException(e);
+            }
+        });
 
-        log.info("Updated game: {}", game);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Scores every move of the side to move on a position, without creating a game.
+     *
+     * <p> All moves are scored by a single search, so hints and coaching need one request per position
+     * rather than one per candidate move. The deadline of the request cuts the search short like its time budget.
+     *
+     * @param request The request body containing the position and the difficulty.
+     * @param deadline The deadline of the request, set by the {@link RequestDeadlineInterceptor}.
+     * @return A {@link ResponseEntity} containing the value of every empty cell for the side to move.
+     * @throws InvalidRequestBodyException if the field cannot arise in a game.
+     * @throws UnsupportedOperationException if the default engine cannot score single moves.
+     */
+    @PostMapping(value = "/v1/analysis")
+    public ResponseEntity<PositionAnalysisDto> analyze(
+            @Valid @RequestBody AnalysisRequest request,
+            @RequestAttribute(name = RequestDeadlineInterceptor.ATTRIBUTE, required = false) SearchDeadline deadline
+    ) {
+        log.info("Request received: POST /api/v1/analysis, AnalysisRequest = {}", request);
+
+        final GameField field = gameFieldMapper.toEntity(request.getGameField(), request.getWinLength());
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(moveResultMapper.toDTO(gameService.checkWin(game)));
+                .body(moveResultMapper.toAnalysisDTO(
+                        gameService.analyze(field, request.getDifficulty(), request.getTimeBudget(),
+                                Objects.requireNonNullElse(deadline, SearchDeadline.NONE))
+                ));
+    }
+
+    /**
+     * Searches the best move of the side to move on a position and streams the result of every
+     * completed depth as Server-Sent Events, without creating a game.
+     *
+     * <p> Every completed depth is sent as a {@code progress} event with the best move, its score and the
+     * number of nodes searched so far, so the first results arrive within milliseconds. A comment is sent as
+     * a heartbeat while a deeper iteration runs, so a client that has disconnected is noticed. The search stops
+     * at the depth or node limit of the difficulty, when the time budget or the deadline of the request runs
+     * out, or as soon as the stream completes, times out or fails; a final {@code done} event repeats the last
+     * result, or is empty if the game is over.
+     *
+     * @param request The request body containing the position, the difficulty and the time budget.
+     * @param deadline The deadline of the request, set by the {@link RequestDeadlineInterceptor}.
+     * @return An {@link SseEmitter} streaming a {@link SearchProgressDto} per completed depth.
+     * @throws InvalidRequestBodyException if the field cannot arise in a game.
+     * @throws TaskRejectedException if every thread and queue slot of the request executor is taken.
+     */
+    @PostMapping(value = "/v1/analysis/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalysis(
+            @Valid @RequestBody AnalysisRequest request,
+            @RequestAttribute(name = RequestDeadlineInterceptor.ATTRIBUTE, required = false) SearchDeadline deadline
+    ) {
+        log.info("Request received: POST /api/v1/analysis/stream, AnalysisRequest = {}", request);
+
+        final GameField field = gameFieldMapper.toEntity(request.getGameField(), request.getWinLength());
+        final Difficulty difficulty = request.getDifficulty();
+        final Duration timeBudget = request.getTimeBudget();
+
+        // The stream cancels the search when it ends, so the search needs a deadline that can be cancelled
+        final SearchDeadline searchDeadline = Objects.requireNonNullElseGet(deadline, SearchDeadline::cancellable);
+
+        gameService.validatePosition(field);
+
+        final SseEmitter emitter = new SseEmitter();
+        final ScheduledFuture<?> heartbeat = heartbeatScheduler.scheduleAtFixedRate(
+                () -> send(emitter, SseEmitter.event().comment("heartbeat"), searchDeadline),
+                HEARTBEAT_INTERVAL.toMillis(), HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+        emitter.onCompletion(() -> {
+            heartbeat.cancel(false);
+            searchDeadline.cancel();
+        });
+        emitter.onTimeout(searchDeadline::cancel);
+        emitter.onError(e -> searchDeadline.cancel());
+
+        try {
+            requestExecutor.execute(() -> {
+                final AtomicReference<SearchProgressDto> last = new AtomicReference<>();
+
+                try {
+                    gameService.findBestMove(field, difficulty, timeBudget, searchDeadline, progress -> {
+                        last.set(moveResultMapper.toProgressDTO(progress));
+
+                        if (send(emitter, SseEmitter.event().name("progress").data(last.get()), searchDeadline))
+                            return true;
+
+                        log.info("Client disconnected from the analysis stream at depth {}", progress.depth());
+                        return false;
+                    });
+
+                    if (send(emitter, SseEmitter.event().name("done").data(last.get() != null ? last.get() : Map.of()),
+                            searchDeadline))
+                        emitter.complete();
+                } catch (RuntimeException e) {
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // The emitter is never returned, so it does not complete and stop the heartbeat itself
+            heartbeat.cancel(false);
+            searchDeadline.cancel();
+            throw e;
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Returns the counters of the best-move caches of all engines added up, to size them.
+     *
+     * @return A {@link ResponseEntity} containing the hits, misses, evictions, size and capacity of the cache.
+     */
+    @GetMapping(value = "/v1/engine/cache")
+    public ResponseEntity<CacheStatisticsDto> getCacheStatistics() {
+        log.info("Request received: GET /api/v1/engine/cache");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(moveResultMapper.toCacheDTO(gameService.getCacheStatistics()));
+    }
+
+    /**
+     * Returns the load of the engine and the degradation level it has stepped down to because of it.
+     *
+     * @return A {@link ResponseEntity} containing the level, the searches running and queued and the recent latency.
+     */
+    @GetMapping(value = "/v1/engine/load")
+    public ResponseEntity<LoadStatisticsDto> getLoadStatistics() {
+        log.info("Request received: GET /api/v1/engine/load");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(moveResultMapper.toLoadDTO(gameService.getLoadStatistics()));
+    }
+
+    /**
+     * Returns the usage of every engine games can be played against.
+     *
+     * @return A {@link ResponseEntity} containing the searches, running searches, rejected searches and average
+     * latency of each engine.
+     */
+    @GetMapping(value = "/v1/engine/engines")
+    public ResponseEntity<List<EngineStatisticsDto>> getEngineStatistics() {
+        log.info("Request received: GET /api/v1/engine/engines");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gameService.getEngineStatistics().stream().map(moveResultMapper::toEngineDTO).toList());
+    }
+
+    /**
+     * Sends one event of a stream, unless the stream has ended.
+     *
+     * @return true if the event was sent, false if the client has disconnected, in which case the search is cancelled.
+     */
+    private static boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event, SearchDeadline deadline) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            deadline.cancel();
+            return false;
+        }
     }
 }
@@ -0,0 +1,106 @@
+package game.tictactoe.web.controller;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.UltimateGame;
+import game.tictactoe.domain.service.gameService.UltimateGameService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.exception.InvalidRequestBodyException;
+import game.tictactoe.exception.ResourceNotFoundException;
+import game.tictactoe.exception.SearchTimeoutException;
+import game.tictactoe.web.annotation.GameExceptionHandler;
+import game.tictactoe.web.interceptor.RequestDeadlineInterceptor;
+import game.tictactoe.web.mapper.MoveResultMapper;
+import game.tictactoe.web.model.UltimateGameCreationRequest;
+import game.tictactoe.web.model.UltimateGameDto;
+import game.tictactoe.web.model.UltimateMoveRequest;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * This class defines the REST API endpoints for games of Ultimate Tic-Tac-Toe.
+ * It handles requests for creating new games and making moves, like {@link GameController} does for the single field.
+ */
+@Slf4j
+@Validated
+@RestController
+@GameExceptionHandler
+@RequestMapping("/api")
+@Tag(name = "TicTacToe")
+@RequiredArgsConstructor
+public class UltimateGameController {
+    private final UltimateGameService ultimateGameService;
+    private final MoveResultMapper moveResultMapper;
+
+    /**
+     * Creates a new game of Ultimate Tic-Tac-Toe and makes the computer's first move if the player is O.
+     *
+     * @param request The request body containing the player's side and the difficulty.
+     * @return A {@link ResponseEntity} containing the created game's location URI and its state.
+     */
+    @PostMapping(value = "/v1/ultimate")
+    public ResponseEntity<UltimateGameDto> createGame(
+            @Valid @RequestBody UltimateGameCreationRequest request
+    ) {
+        log.info("Request received: POST /api/v1/ultimate, UltimateGameCreationRequest = {}", request);
+
+        final UltimateGame game = ultimateGameService.createGame(
+                CellType.valueOf(request.getPlayerSide()),
+                request.getDifficulty()
+        );
+
+        URI location = UriComponentsBuilder.fromUriString("/api/v1/ultimate/{uuid}")
+                .buildAndExpand(game.getUuid())
+                .toUri();
+
+        return ResponseEntity.created(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(moveResultMapper.toUltimateDTO(game));
+    }
+
+    /**
+     * Makes the player's move and the computer's answer to it.
+     *
+     * <p> The computer's move is searched within the deadline set by the {@link RequestDeadlineInterceptor#HEADER}
+     * header, if any: a search that reaches it plays the best move found so far.
+     *
+     * @param uuid The unique identifier of the game.
+     * @param request The request body containing the player's move.
+     * @param deadline The deadline of the request, set by the {@link RequestDeadlineInterceptor}.
+     * @return A ResponseEntity containing the game state after both moves.
+     * @throws ResourceNotFoundException if the game with the specified UUID is not found.
+     * @throws InvalidRequestBodyException if the move is invalid.
+     * @throws SearchTimeoutException if the deadline passes before the computer's move is searched.
+     */
+    @PutMapping(value = "/v1/ultimate/{uuid}")
+    public ResponseEntity<UltimateGameDto> move(
+            @PathVariable("uuid") UUID uuid,
+            @Valid @RequestBody UltimateMoveRequest request,
+            @RequestAttribute(name = RequestDeadlineInterceptor.ATTRIBUTE, required = false) SearchDeadline deadline
+    ) {
+        log.info("Request received: PUT /api/v1/ultimate/{uuid}, UUID = {}, UltimateMoveRequest = {}", uuid, request);
+
+        final UltimateGame game = ultimateGameService.move(
+                uuid,
+                request.getRow(),
+                request.getCol(),
+                Objects.requireNonNullElse(deadline, SearchDeadline.NONE)
+        );
+
+        log.info("Updated ultimate game: {}", game);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(moveResultMapper.toUltimateDTO(game));
+    }
+}
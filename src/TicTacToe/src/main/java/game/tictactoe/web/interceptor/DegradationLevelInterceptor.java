@@ -0,0 +1,30 @@
+package game.tictactoe.web.interceptor;
+
+import game.tictactoe.domain.service.gameService.GameService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Reports the engine's current degradation level in a header of every API response, so clients can
+ * tell that a move was searched with less effort than its difficulty asks for.
+ */
+@Component
+@RequiredArgsConstructor
+public class DegradationLevelInterceptor implements HandlerInterceptor {
+
+    /**
+     * Name of the response header holding the level.
+     */
+    public static final String HEADER = "X-Engine-Degradation";
+
+    private final GameService gameService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        response.setHeader(HEADER, gameService.getLoadStatistics().level().name());
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package game.tictactoe.web.interceptor;
+
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.exception.InvalidRequestBodyException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives every API request a {@link SearchDeadline} the searches it starts are bound to, stored in the
+ * request attribute {@link #ATTRIBUTE}.
+ *
+ * <p> A client sets the deadline in milliseconds with the {@link #HEADER} header. Without it the deadline is
+ * the timeout of asynchronous requests, {@code spring.mvc.async.request-timeout}, and only if that is not set
+ * either a search runs until its limits are reached. Either way the deadline is cancelled once the request
+ * completes, and for a request handled asynchronously as soon as the container reports that it timed out or
+ * failed, for example because the client disconnected. A synchronous request is not noticed to be aborted
+ * before its response is written, so it relies on its deadline.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+
+    /**
+     * Name of the request header holding the time the client waits for the response, in milliseconds.
+     */
+    public static final String HEADER = "X-Request-Timeout";
+
+    /**
+     * Name of the request attribute holding the deadline.
+     */
+    public static final String ATTRIBUTE = "game.tictactoe.searchDeadline";
+
+    private final WebMvcProperties webMvcProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch of a streamed response's result belongs to the request that already has its deadline
+        if (request.getDispatcherType() == DispatcherType.ASYNC)
+            return true;
+
+        final SearchDeadline deadline = parse(request.getHeader(HEADER), webMvcProperties.getAsync().getRequestTimeout());
+
+        request.setAttribute(ATTRIBUTE, deadline);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ATTRIBUTE, new CallableProcessingInterceptor() {
+            @Override
+            public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> task) {
+                deadline.cancel();
+                return RESULT_NONE;
+            }
+
+            @Override
+            public <T> Object handleError(NativeWebRequest webRequest, Callable<T> task, Throwable t) {
+                deadline.cancel();
+                return RESULT_NONE;
+            }
+        });
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATTRIBUTE) instanceof SearchDeadline deadline)
+            deadline.cancel();
+    }
+
+    /**
+     * @param header The value of the {@link #HEADER} header, {@code null} if it is missing.
+     * @param defaultTimeout The timeout of asynchronous requests, {@code null} if it is not set.
+     * @return The deadline the header sets, the default timeout from now if it is missing,
+     *         or one that is only cancelled if neither is set.
+     * @throws InvalidRequestBodyException if the header is not a positive number.
+     */
+    private static SearchDeadline parse(String header, Duration defaultTimeout) {
+        if (header == null) {
+            return defaultTimeout == null || defaultTimeout.isNegative() || defaultTimeout.isZero()
+                    ? SearchDeadline.cancellable()
+                    : SearchDeadline.after(defaultTimeout);
+        }
+
+        final long millis;
+
+        try {
+            millis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestBodyException("Invalid " + HEADER + " header, it should be a number of milliseconds");
+        }
+
+        if (millis <= 0)
+            throw new InvalidRequestBodyException("Invalid " + HEADER + " header, it should be positive");
+
+        return SearchDeadline.after(Duration.ofMillis(millis));
+    }
+}
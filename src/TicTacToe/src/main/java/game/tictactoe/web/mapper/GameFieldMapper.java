@@ -1,7 +1,6 @@
 package game.tictactoe.web.mapper;
 
 import game.tictactoe.domain.model.CellType;
-import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.domain.model.GameField;
 import game.tictactoe.web.model.GameFieldDTO;
 import jakarta.validation.constraints.NotNull;
@@ -24,10 +23,10 @@ public interface GameFieldMapper {
      * @return The corresponding {@link GameFieldDTO} object.
      */
     default GameFieldDTO toDTO(@NotNull final GameField gameField){
-        GameFieldDTO gameFieldDTO = new GameFieldDTO();
+        GameFieldDTO gameFieldDTO = new GameFieldDTO(gameField.getSize());
 
-        for(int i = 0; i < GameAttribute.ROWS.getValue(); i++)
-            for(int j = 0; j < GameAttribute.COLS.getValue(); j++)
+        for(int i = 0; i < gameField.getSize(); i++)
+            for(int j = 0; j < gameField.getSize(); j++)
                 gameFieldDTO.setCell(i, j, gameField.getCell(i, j).getValue());
 
         return gameFieldDTO;
@@ -36,14 +35,27 @@ public interface GameFieldMapper {
     /**
      * Maps a {@link GameFieldDTO} to a {@link GameField} entity.
      *
+     * <p> The winning line spans the whole field, as on the classic 3x3 field.
+     *
      * @param gameFieldDTO The {@link GameFieldDTO} to be mapped.
      * @return The corresponding {@link GameField} entity.
      */
     default GameField toEntity(@NotNull final GameFieldDTO gameFieldDTO){
-        GameField gameField = new GameField();
+        return toEntity(gameFieldDTO, gameFieldDTO.getSize());
+    }
+
+    /**
+     * Maps a {@link GameFieldDTO} to a {@link GameField} entity with the given win condition.
+     *
+     * @param gameFieldDTO The {@link GameFieldDTO} to be mapped.
+     * @param winLength The number of marks in a row needed to win.
+     * @return The corresponding {@link GameField} entity.
+     */
+    default GameField toEntity(@NotNull final GameFieldDTO gameFieldDTO, final int winLength){
+        GameField gameField = new GameField(gameFieldDTO.getSize(), winLength);
 
-        for(int i = 0; i < GameAttribute.ROWS.getValue(); i++)
-            for(int j = 0; j < GameAttribute.COLS.getValue(); j++)
+        for(int i = 0; i < gameField.getSize(); i++)
+            for(int j = 0; j < gameField.getSize(); j++)
                 gameField.setCell(i, j, CellType.valueOf(gameFieldDTO.getCell(i, j)));
 
         return gameField;
@@ -1,14 +1,41 @@
 package game.tictactoe.web.mapper;
 
+import game.tictactoe.domain.model.BatchMoveResult;
+import game.tictactoe.domain.model.CacheStatistics;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.EngineStatistics;
+import game.tictactoe.domain.model.LoadStatistics;
+import game.tictactoe.domain.model.MoveAnalysis;
 import game.tictactoe.domain.model.MoveResult;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.PositionAnalysis;
+import game.tictactoe.domain.model.UltimateField;
+import game.tictactoe.domain.model.UltimateGame;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.web.model.BatchMoveResultDto;
+import game.tictactoe.web.model.CacheStatisticsDto;
+import game.tictactoe.web.model.EngineStatisticsDto;
+import game.tictactoe.web.model.LoadStatisticsDto;
+import game.tictactoe.web.model.MoveAnalysisDto;
 import game.tictactoe.web.model.MoveResultDto;
+import game.tictactoe.web.model.PositionAnalysisDto;
+import game.tictactoe.web.model.SearchProgressDto;
+import game.tictactoe.web.model.UltimateGameDto;
 import jakarta.validation.constraints.NotNull;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Mapper class that provides the conversion between {@link MoveResult} and {@link MoveResultDto} objects.
+ * Mapper class that provides the conversion between {@link MoveResult} and {@link MoveResultDto} objects,
+ * between {@link BatchMoveResult} and {@link BatchMoveResultDto} objects, between {@link PositionAnalysis}
+ * and {@link PositionAnalysisDto} objects, between {@link SearchProgress} and {@link SearchProgressDto} objects,
+ * between {@link CacheStatistics} and {@link CacheStatisticsDto} objects, between {@link LoadStatistics}
+ * and {@link LoadStatisticsDto} objects, between {@link EngineStatistics} and {@link EngineStatisticsDto} objects,
+ * and between {@link UltimateGame} and {@link UltimateGameDto} objects.
  *
  * <p> Uses the MapStruct library to automatically generate the conversion code.
  * The {@link Mapper} annotation specifies that this class is a mapper, and the componentModel="spring" parameter
@@ -28,4 +55,117 @@ public interface MoveResultMapper {
      * @return The mapped {@link MoveResultDto} object.
      */
     MoveResultDto toDTO(@NotNull final MoveResult moveResult);
+
+    /**
+     * Maps a {@link BatchMoveResult} object to a {@link BatchMoveResultDto} object.
+     *
+     * @param result The {@link BatchMoveResult} object to be mapped.
+     * @return The mapped {@link BatchMoveResultDto} object, without a move if there was none.
+     */
+    default BatchMoveResultDto toBatchDTO(@NotNull final BatchMoveResult result) {
+        final Position move = result.move();
+
+        if (move.row() == Position.NOT_VALID_POS || move.col() == Position.NOT_VALID_POS)
+            return new BatchMoveResultDto(result.index(), result.status(), null, null);
+
+        return new BatchMoveResultDto(result.index(), result.status(), move.row(), move.col());
+    }
+
+    /**
+     * Maps a {@link PositionAnalysis} object to a {@link PositionAnalysisDto} object.
+     *
+     * @param analysis The {@link PositionAnalysis} object to be mapped.
+     * @return The mapped {@link PositionAnalysisDto} object.
+     */
+    default PositionAnalysisDto toAnalysisDTO(@NotNull final PositionAnalysis analysis) {
+        return new PositionAnalysisDto(
+                analysis.status(),
+                analysis.side().name(),
+                analysis.moves().stream()
+                        .map(move -> new MoveAnalysisDto(
+                                move.move().row(),
+                                move.move().col(),
+                                move.outcome().name(),
+                                move.score(),
+                                move.distance() == MoveAnalysis.UNKNOWN_DISTANCE ? null : move.distance()
+                        ))
+                        .toList()
+        );
+    }
+
+    /**
+     * Maps a {@link SearchProgress} object to a {@link SearchProgressDto} object.
+     *
+     * @param progress The {@link SearchProgress} object to be mapped.
+     * @return The mapped {@link SearchProgressDto} object.
+     */
+    default SearchProgressDto toProgressDTO(@NotNull final SearchProgress progress) {
+        return new SearchProgressDto(progress.depth(), progress.move().row(), progress.move().col(),
+                progress.score(), progress.nodes());
+    }
+
+    /**
+     * Maps a {@link CacheStatistics} object to a {@link CacheStatisticsDto} object.
+     *
+     * @param statistics The {@link CacheStatistics} object to be mapped.
+     * @return The mapped {@link CacheStatisticsDto} object.
+     */
+    default CacheStatisticsDto toCacheDTO(@NotNull final CacheStatistics statistics) {
+        return new CacheStatisticsDto(statistics.hits(), statistics.misses(), statistics.evictions(),
+                statistics.size(), statistics.capacity());
+    }
+
+    /**
+     * Maps a {@link LoadStatistics} object to a {@link LoadStatisticsDto} object.
+     *
+     * @param statistics The {@link LoadStatistics} object to be mapped.
+     * @return The mapped {@link LoadStatisticsDto} object.
+     */
+    default LoadStatisticsDto toLoadDTO(@NotNull final LoadStatistics statistics) {
+        return new LoadStatisticsDto(statistics.level().name(), statistics.inFlight(), statistics.queued(),
+                statistics.latencyMillis());
+    }
+
+    /**
+     * Maps a {@link EngineStatistics} object to a {@link EngineStatisticsDto} object.
+     *
+     * @param statistics The {@link EngineStatistics} object to be mapped.
+     * @return The mapped {@link EngineStatisticsDto} object.
+     */
+    default EngineStatisticsDto toEngineDTO(@NotNull final EngineStatistics statistics) {
+        return new EngineStatisticsDto(statistics.engine().name(), statistics.searches(), statistics.inFlight(),
+                statistics.rejected(), statistics.latencyMillis());
+    }
+
+    /**
+     * Maps an {@link UltimateGame} object to an {@link UltimateGameDto} object.
+     *
+     * @param game The {@link UltimateGame} object to be mapped.
+     * @return The mapped {@link UltimateGameDto} object.
+     */
+    default UltimateGameDto toUltimateDTO(@NotNull final UltimateGame game) {
+        final UltimateField field = game.getField();
+        final List<List<Character>> rows = new ArrayList<>(UltimateField.SIZE);
+        final List<List<Character>> metaRows = new ArrayList<>(3);
+
+        for (int i = 0; i < UltimateField.SIZE; i++) {
+            final List<Character> row = new ArrayList<>(UltimateField.SIZE);
+            for (int j = 0; j < UltimateField.SIZE; j++)
+                row.add(field.getCell(i, j).getValue());
+            rows.add(row);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            final List<Character> row = new ArrayList<>(3);
+            for (int j = 0; j < 3; j++) {
+                final int bit = 1 << (i * 3 + j);
+                row.add((field.getWon(CellType.X) & bit) != 0 ? CellType.X.getValue()
+                        : (field.getWon(CellType.O) & bit) != 0 ? CellType.O.getValue()
+                        : CellType.EMPTY.getValue());
+            }
+            metaRows.add(row);
+        }
+
+        return new UltimateGameDto(game.getState().name(), rows, metaRows, field.getActiveSubField());
+    }
 }
@@ -0,0 +1,89 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.service.GameAttribute;
+import game.tictactoe.web.annotation.ValidGameField;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Represents a request for the value of every move on a position.
+ *
+ * <p> The side to move follows from the marks on the field. The number of marks in a row needed
+ * to win defaults to the size of the field and the difficulty to {@link Difficulty#HARD}. The time
+ * budget of the search, up to {@value #MAX_TIME_BUDGET_MILLIS} ms, defaults to the engine's own.
+ */
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisRequest {
+
+    /**
+     * Maximum time budget of a single analysis in milliseconds.
+     */
+    public static final int MAX_TIME_BUDGET_MILLIS = 60_000;
+
+    @NotNull
+    @ValidGameField
+    @JsonProperty("gameField")
+    private List<List<Character>> gameField;
+
+    @JsonProperty("winLength")
+    private Integer winLength;
+
+    @JsonProperty("difficulty")
+    @Pattern(regexp = "EASY|MEDIUM|HARD", message = "Invalid difficulty, it should be 'EASY', 'MEDIUM' or 'HARD'")
+    private String difficulty;
+
+    @JsonProperty("timeBudgetMillis")
+    @Min(value = 1, message = "Invalid time budget, it should be from 1 to " + MAX_TIME_BUDGET_MILLIS + " ms")
+    @Max(value = MAX_TIME_BUDGET_MILLIS, message = "Invalid time budget, it should be from 1 to " + MAX_TIME_BUDGET_MILLIS + " ms")
+    private Integer timeBudgetMillis;
+
+    public AnalysisRequest(List<List<Character>> gameField) {
+        this(gameField, null, null, null);
+    }
+
+    public GameFieldDTO getGameField() {
+        return new GameFieldDTO(gameField);
+    }
+
+    /**
+     * @return The number of marks in a row needed to win, defaulting to the size of the field.
+     */
+    public int getWinLength() {
+        return winLength != null ? winLength : gameField.size();
+    }
+
+    /**
+     * @return The difficulty the moves are scored with, defaulting to {@link Difficulty#HARD}.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty != null ? Difficulty.valueOf(difficulty) : Difficulty.HARD;
+    }
+
+    /**
+     * @return The time budget of the search, {@link Duration#ZERO} for the engine's own.
+     */
+    public Duration getTimeBudget() {
+        return timeBudgetMillis != null ? Duration.ofMillis(timeBudgetMillis) : Duration.ZERO;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Invalid win length, it should be between 3 and the size of the field")
+    public boolean isWinLengthValid() {
+        return winLength == null
+                || gameField == null
+                || (winLength >= GameAttribute.WIN_LENGTH.getValue() && winLength <= gameField.size());
+    }
+}
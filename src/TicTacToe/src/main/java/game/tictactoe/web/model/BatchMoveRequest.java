@@ -0,0 +1,54 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import game.tictactoe.domain.model.Difficulty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents a request for the computer's moves on many positions at once.
+ *
+ * <p> Up to {@value #MAX_POSITIONS} positions are accepted per request. The difficulty applies to
+ * every position and defaults to {@link Difficulty#HARD}.
+ */
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMoveRequest {
+
+    /**
+     * Maximum number of positions of a single request.
+     */
+    public static final int MAX_POSITIONS = 10_000;
+
+    @Valid
+    @NotNull
+    @JsonProperty("positions")
+    @Size(min = 1, max = MAX_POSITIONS, message = "Invalid positions, there should be from 1 to " + MAX_POSITIONS)
+    private List<BatchPositionDTO> positions;
+
+    @JsonProperty("difficulty")
+    @Pattern(regexp = "EASY|MEDIUM|HARD", message = "Invalid difficulty, it should be 'EASY', 'MEDIUM' or 'HARD'")
+    private String difficulty;
+
+    public BatchMoveRequest(List<BatchPositionDTO> positions) {
+        this(positions, null);
+    }
+
+    public List<BatchPositionDTO> getPositions() {
+        return List.copyOf(positions);
+    }
+
+    /**
+     * @return The difficulty of the computer, defaulting to {@link Difficulty#HARD}.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty != null ? Difficulty.valueOf(difficulty) : Difficulty.HARD;
+    }
+}
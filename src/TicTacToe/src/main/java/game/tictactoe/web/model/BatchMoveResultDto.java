@@ -0,0 +1,29 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The computer's move for one position of a {@link BatchMoveRequest}.
+ *
+ * <p> {@code row} and {@code col} are omitted when the game on the position was already over.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchMoveResultDto {
+    private final int index;
+    private final String status;
+    private final Integer row;
+    private final Integer col;
+
+    public BatchMoveResultDto(int index, String status, Integer row, Integer col) {
+        this.index = index;
+        this.status = status;
+        this.row = row;
+        this.col = col;
+    }
+}
@@ -0,0 +1,55 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import game.tictactoe.domain.service.GameAttribute;
+import game.tictactoe.web.annotation.ValidGameField;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents one position of a {@link BatchMoveRequest}.
+ *
+ * <p> The side to move follows from the marks on the field. The number of marks in a row needed
+ * to win defaults to the size of the field, as in {@link GameCreationRequest}.
+ */
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPositionDTO {
+
+    @NotNull
+    @ValidGameField
+    @JsonProperty("gameField")
+    private List<List<Character>> gameField;
+
+    @JsonProperty("winLength")
+    private Integer winLength;
+
+    public BatchPositionDTO(List<List<Character>> gameField) {
+        this(gameField, null);
+    }
+
+    public GameFieldDTO getGameField() {
+        return new GameFieldDTO(gameField);
+    }
+
+    /**
+     * @return The number of marks in a row needed to win, defaulting to the size of the field.
+     */
+    public int getWinLength() {
+        return winLength != null ? winLength : gameField.size();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Invalid win length, it should be between 3 and the size of the field")
+    public boolean isWinLengthValid() {
+        return winLength == null
+                || gameField == null
+                || (winLength >= GameAttribute.WIN_LENGTH.getValue() && winLength <= gameField.size());
+    }
+}
@@ -0,0 +1,27 @@
+package game.tictactoe.web.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The counters of the best-move cache shared by all games and requests.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class CacheStatisticsDto {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int capacity;
+
+    public CacheStatisticsDto(long hits, long misses, long evictions, int size, int capacity) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,27 @@
+package game.tictactoe.web.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The usage of one engine of the registry.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class EngineStatisticsDto {
+    private final String engine;
+    private final long searches;
+    private final int inFlight;
+    private final long rejected;
+    private final long latencyMillis;
+
+    public EngineStatisticsDto(String engine, long searches, int inFlight, long rejected, long latencyMillis) {
+        this.engine = engine;
+        this.searches = searches;
+        this.inFlight = inFlight;
+        this.rejected = rejected;
+        this.latencyMillis = latencyMillis;
+    }
+}
@@ -1,7 +1,12 @@
 package game.tictactoe.web.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.EngineType;
+import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.web.annotation.ValidGameField;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -11,7 +16,12 @@ import java.util.List;
 
 /**
  * Represents a request for creating a new game.
- * Contains information about the player's side and the initial game field.
+ * Contains information about the player's side, the initial game field, the win condition,
+ * the difficulty of the computer opponent and the engine it is played by.
+ *
+ * <p> The field may be any square matrix from 3x3 to 7x7. The number of marks in a row needed
+ * to win defaults to the size of the field and must lie between 3 and that size. The difficulty
+ * defaults to {@link Difficulty#HARD}, the engine to the one the server is configured with.
  */
 @Setter
 @ToString
@@ -29,10 +39,34 @@ public class GameCreationRequest {
     @JsonProperty("gameField")
     private List<List<Character>> gameField;
 
+    @JsonProperty("winLength")
+    private Integer winLength;
+
+    @JsonProperty("difficulty")
+    @Pattern(regexp = "EASY|MEDIUM|HARD", message = "Invalid difficulty, it should be 'EASY', 'MEDIUM' or 'HARD'")
+    private String difficulty;
+
+    @JsonProperty("engine")
+    @Pattern(regexp = "HEURISTIC|MCTS|ALPHA_BETA|NEGAMAX|PARALLEL|PERFECT_TABLE",
+            message = "Invalid engine, it should be 'HEURISTIC', 'MCTS', 'ALPHA_BETA', 'NEGAMAX', 'PARALLEL' or 'PERFECT_TABLE'")
+    private String engine;
+
     public GameCreationRequest() {
         this(null);
     }
 
+    public GameCreationRequest(String playerSide, List<List<Character>> gameField) {
+        this(playerSide, gameField, null);
+    }
+
+    public GameCreationRequest(String playerSide, List<List<Character>> gameField, Integer winLength) {
+        this(playerSide, gameField, winLength, null);
+    }
+
+    public GameCreationRequest(String playerSide, List<List<Character>> gameField, Integer winLength, String difficulty) {
+        this(playerSide, gameField, winLength, difficulty, null);
+    }
+
     public GameCreationRequest(Character playerSide) {
         this.playerSide = String.valueOf(playerSide);
         this.gameField = List.of(
@@ -49,4 +83,33 @@ public class GameCreationRequest {
     public GameFieldDTO getGameField() {
         return new GameFieldDTO(gameField);
     }
+
+    /**
+     * @return The number of marks in a row needed to win, defaulting to the size of the field.
+     */
+    public int getWinLength() {
+        return winLength != null ? winLength : gameField.size();
+    }
+
+    /**
+     * @return The difficulty of the computer opponent, defaulting to {@link Difficulty#HARD}.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty != null ? Difficulty.valueOf(difficulty) : Difficulty.HARD;
+    }
+
+    /**
+     * @return The engine of the computer opponent, {@code null} for the one the server is configured with.
+     */
+    public EngineType getEngine() {
+        return engine != null ? EngineType.valueOf(engine) : null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Invalid win length, it should be between 3 and the size of the field")
+    public boolean isWinLengthValid() {
+        return winLength == null
+                || gameField == null
+                || (winLength >= GameAttribute.WIN_LENGTH.getValue() && winLength <= gameField.size());
+    }
 }
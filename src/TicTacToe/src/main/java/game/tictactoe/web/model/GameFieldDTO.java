@@ -1,9 +1,11 @@
 package game.tictactoe.web.model;
 
+import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.web.annotation.ValidGameField;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,11 +28,24 @@ public class GameFieldDTO {
     }
 
     public GameFieldDTO() {
-        this.gameField = List.of(
-                Arrays.asList(' ', ' ', ' '),
-                Arrays.asList(' ', ' ', ' '),
-                Arrays.asList(' ', ' ', ' ')
-        );
+        this(GameAttribute.ROWS.getValue());
+    }
+
+    /**
+     * Creates an empty square field.
+     *
+     * @param size The number of rows and columns.
+     */
+    public GameFieldDTO(int size) {
+        final List<List<Character>> rows = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            final Character[] row = new Character[size];
+            Arrays.fill(row, ' ');
+            rows.add(Arrays.asList(row));
+        }
+
+        this.gameField = List.copyOf(rows);
     }
 
     public List<List<Character>> getField() {
@@ -39,6 +54,8 @@ public class GameFieldDTO {
                 .toList();
     }
 
+    public int getSize() { return gameField.size(); }
+
     public Character getCell(int row, int col) { return gameField.get(row).get(col); }
 
     public void setCell(int row, int col, Character cell) { gameField.get(row).set(col, cell); }
@@ -0,0 +1,25 @@
+package game.tictactoe.web.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The load of the engine and how far it has stepped down to cheaper searches because of it.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class LoadStatisticsDto {
+    private final String level;
+    private final int inFlight;
+    private final int queued;
+    private final long latencyMillis;
+
+    public LoadStatisticsDto(String level, int inFlight, int queued, long latencyMillis) {
+        this.level = level;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.latencyMillis = latencyMillis;
+    }
+}
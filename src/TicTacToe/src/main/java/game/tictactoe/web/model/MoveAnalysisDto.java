@@ -0,0 +1,32 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The value of one move of a {@link PositionAnalysisDto}.
+ *
+ * <p> {@code distance} is the number of moves until the game ends, this one included,
+ * and is omitted when the outcome is {@code UNKNOWN}.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoveAnalysisDto {
+    private final int row;
+    private final int col;
+    private final String outcome;
+    private final int score;
+    private final Integer distance;
+
+    public MoveAnalysisDto(int row, int col, String outcome, int score, Integer distance) {
+        this.row = row;
+        this.col = col;
+        this.outcome = outcome;
+        this.score = score;
+        this.distance = distance;
+    }
+}
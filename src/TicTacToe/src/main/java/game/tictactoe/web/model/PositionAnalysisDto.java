@@ -0,0 +1,26 @@
+package game.tictactoe.web.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The analysis of an {@link AnalysisRequest}: the state of the game, the side to move
+ * and the value of every empty cell for that side.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class PositionAnalysisDto {
+    private final String status;
+    private final String side;
+    private final List<MoveAnalysisDto> moves;
+
+    public PositionAnalysisDto(String status, String side, List<MoveAnalysisDto> moves) {
+        this.status = status;
+        this.side = side;
+        this.moves = moves;
+    }
+}
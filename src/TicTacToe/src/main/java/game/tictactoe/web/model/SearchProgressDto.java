@@ -0,0 +1,27 @@
+package game.tictactoe.web.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The best move after one completed depth of a streamed search.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class SearchProgressDto {
+    private final int depth;
+    private final int row;
+    private final int col;
+    private final int score;
+    private final long nodes;
+
+    public SearchProgressDto(int depth, int row, int col, int score, long nodes) {
+        this.depth = depth;
+        this.row = row;
+        this.col = col;
+        this.score = score;
+        this.nodes = nodes;
+    }
+}
@@ -0,0 +1,46 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import game.tictactoe.domain.model.Difficulty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Represents a request for creating a new game of Ultimate Tic-Tac-Toe.
+ *
+ * <p> The game always starts on the empty field, with the computer's first move if the player is O.
+ * The difficulty defaults to {@link Difficulty#HARD}.
+ */
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class UltimateGameCreationRequest {
+
+    @NotNull
+    @JsonProperty("playerSide")
+    @Size(min = 1, max = 1, message = "Invalid player side, it should be 'X' or 'O'")
+    @Pattern(regexp = "[XO]", message = "Invalid player side, it should be 'X' or 'O'")
+    private String playerSide;
+
+    @JsonProperty("difficulty")
+    @Pattern(regexp = "EASY|MEDIUM|HARD", message = "Invalid difficulty, it should be 'EASY', 'MEDIUM' or 'HARD'")
+    private String difficulty;
+
+    public UltimateGameCreationRequest(String playerSide) {
+        this(playerSide, null);
+    }
+
+    public Character getPlayerSide() {
+        return playerSide.charAt(0);
+    }
+
+    /**
+     * @return The difficulty of the computer opponent, defaulting to {@link Difficulty#HARD}.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty != null ? Difficulty.valueOf(difficulty) : Difficulty.HARD;
+    }
+}
@@ -0,0 +1,32 @@
+package game.tictactoe.web.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Encapsulates the state of a game of Ultimate Tic-Tac-Toe after a move.
+ *
+ * <p> Next to the whole 9x9 field it carries the 3x3 meta-field with the winner of every sub-field,
+ * ' ' for an open or drawn one, and the sub-field the player has to move in next, numbered row by row
+ * from 0 to 8, or -1 for any open one.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class UltimateGameDto {
+    private final String status;
+    private final List<List<Character>> gameField;
+    private final List<List<Character>> metaField;
+    private final int activeSubField;
+
+    public UltimateGameDto(String status, List<List<Character>> gameField, List<List<Character>> metaField,
+                           int activeSubField) {
+        this.status = status;
+        this.gameField = gameField;
+        this.metaField = metaField;
+        this.activeSubField = activeSubField;
+    }
+}
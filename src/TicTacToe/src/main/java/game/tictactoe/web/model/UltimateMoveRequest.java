@@ -0,0 +1,33 @@
+package game.tictactoe.web.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Represents the player's move in a game of Ultimate Tic-Tac-Toe, as a cell of the whole 9x9 field.
+ *
+ * <p> The cell has to be empty and lie in the sub-field the computer's last move sent the player to,
+ * or in any open sub-field if that one is closed.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class UltimateMoveRequest {
+
+    @NotNull(message = "Invalid move, the row and the column should be from 0 to 8")
+    @Min(value = 0, message = "Invalid move, the row and the column should be from 0 to 8")
+    @Max(value = 8, message = "Invalid move, the row and the column should be from 0 to 8")
+    @JsonProperty("row")
+    private Integer row;
+
+    @NotNull(message = "Invalid move, the row and the column should be from 0 to 8")
+    @Min(value = 0, message = "Invalid move, the row and the column should be from 0 to 8")
+    @Max(value = 8, message = "Invalid move, the row and the column should be from 0 to 8")
+    @JsonProperty("col")
+    private Integer col;
+}
@@ -1,5 +1,6 @@
 package game.tictactoe.web.validators;
 
+import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.web.annotation.ValidGameField;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -13,7 +14,8 @@ import java.util.Set;
  *
  * <p> The game field is considered valid if:
  * <ul>
- * <li> It is a 3x3 matrix (list of 3 lists, each containing 3 characters). </li>
+ * <li> It is a square NxN matrix (list of N lists, each containing N characters),
+ * where N is between {@link GameAttribute#MIN_SIZE} and {@link GameAttribute#MAX_SIZE}. </li>
  * <li> Each cell in the matrix contains only valid characters ('X', 'O', or ' '). </li>
  * </ul>
  *
@@ -25,12 +27,14 @@ public class GameFieldValidator implements ConstraintValidator<ValidGameField, L
 
     @Override
     public boolean isValid(List<List<Character>> gameField, ConstraintValidatorContext context) {
-        if (gameField == null || gameField.size() != 3) {
+        if (gameField == null
+                || gameField.size() < GameAttribute.MIN_SIZE.getValue()
+                || gameField.size() > GameAttribute.MAX_SIZE.getValue()) {
             return false;
         }
 
         for (List<Character> row : gameField) {
-            if (row == null || row.size() != 3) {
+            if (row == null || row.size() != gameField.size()) {
                 return false;
             }
 
@@ -2,6 +2,7 @@ package game.tictactoe.datasource.mapper;
 
 import game.tictactoe.datasource.model.GameRepositoryModel;
 import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
 import game.tictactoe.domain.model.Game;
 import game.tictactoe.domain.model.GameField;
 import game.tictactoe.domain.service.GameAttribute;
@@ -108,4 +109,42 @@ class GameMapperTest {
             assertThat(game)
                     .isNull();
         }
+
+        @Test
+        void testRoundTripKeepsFieldGeometry() {
+                // Arrange
+                final Game game = new Game(UUID.randomUUID(), CellType.X, new GameField(5, 4));
+                game.getGameField().setCell(4, 3, CellType.O);
+
+                // Act
+                GameRepositoryModel gameRepositoryModel = gameMapper.toModel(game);
+                Game mappedGame = gameMapper.toEntity(gameRepositoryModel);
+
+                // Assert
+                assertThat(gameRepositoryModel.getSize())
+                        .isEqualTo(5);
+
+                assertThat(gameRepositoryModel.getWinLength())
+                        .isEqualTo(4);
+
+                assertThat(mappedGame)
+                        .isEqualTo(game);
+        }
+
+        @Test
+        void testRoundTripKeepsDifficulty() {
+                // Arrange
+                final Game game = new Game(UUID.randomUUID(), CellType.O, new GameField(), Difficulty.MEDIUM);
+
+                // Act
+                GameRepositoryModel gameRepositoryModel = gameMapper.toModel(game);
+                Game mappedGame = gameMapper.toEntity(gameRepositoryModel);
+
+                // Assert
+                assertThat(gameRepositoryModel.getDifficulty())
+                        .isEqualTo("MEDIUM");
+
+                assertThat(mappedGame.getDifficulty())
+                        .isEqualTo(Difficulty.MEDIUM);
+        }
 }
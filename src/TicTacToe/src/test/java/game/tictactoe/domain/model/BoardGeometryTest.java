@@ -0,0 +1,77 @@
+package game.tictactoe.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardGeometryTest {
+
+    @Test
+    void testDefaultGeometryHasEightLines() {
+        assertThat(BoardGeometry.DEFAULT.getWinMasks())
+                .hasSize(8);
+    }
+
+    @Test
+    void testWinLinesOfLargerField() {
+        // Arrange: on a 4x4 field three in a row fits twice per row, column and long diagonal,
+        // and once on each of the four short diagonals
+        BoardGeometry geometry = BoardGeometry.of(4, 3);
+
+        // Act
+        long[] masks = geometry.getWinMasks();
+
+        // Assert
+        assertThat(masks).hasSize(24);
+
+        for (long mask : masks)
+            assertThat(Long.bitCount(mask)).isEqualTo(3);
+    }
+
+    @Test
+    void testIsWinThroughLastMove() {
+        // Arrange
+        BoardGeometry geometry = BoardGeometry.of(5, 4);
+        long board = 0;
+
+        for (int i = 1; i < 5; i++)
+            board |= 1L << geometry.index(i, i - 1);
+
+        // Act & Assert
+        assertThat(geometry.isWin(board)).isTrue();
+        assertThat(geometry.isWinThrough(board, geometry.index(4, 3))).isTrue();
+        assertThat(geometry.isWinThrough(board, geometry.index(0, 0))).isFalse();
+    }
+
+    @Test
+    void testThreats() {
+        // Arrange: X has two in the top row and on the main diagonal, O blocks the first column
+        BoardGeometry geometry = BoardGeometry.DEFAULT;
+        long x = (1L << geometry.index(0, 0)) | (1L << geometry.index(0, 1)) | (1L << geometry.index(1, 1));
+        long o = (1L << geometry.index(1, 0)) | (1L << geometry.index(2, 0));
+
+        // Act
+        long threats = geometry.threats(x, o);
+
+        // Assert
+        assertThat(threats).isEqualTo((1L << geometry.index(0, 2)) | (1L << geometry.index(2, 2))
+                | (1L << geometry.index(2, 1)));
+        assertThat(geometry.threats(o, x)).isZero();
+    }
+
+    @Test
+    void testGeometryIsShared() {
+        assertThat(BoardGeometry.of(6, 4)).isSameAs(BoardGeometry.of(6, 4));
+        assertThat(BoardGeometry.of(3, 3)).isSameAs(BoardGeometry.DEFAULT);
+    }
+
+    @Test
+    void testInvalidGeometry() {
+        assertThatThrownBy(() -> BoardGeometry.of(8, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> BoardGeometry.of(4, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
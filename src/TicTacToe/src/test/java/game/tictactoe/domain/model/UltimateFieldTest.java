@@ -0,0 +1,114 @@
+package game.tictactoe.domain.model;
+
+import game.tictactoe.domain.service.WinState;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UltimateFieldTest {
+
+    @Test
+    void testMoveSendsOpponentToSubFieldOfCell() {
+        // Arrange
+        UltimateField field = new UltimateField();
+
+        // Act: X moves in the top left cell of the center sub-field
+        WinState state = field.move(4, 0);
+
+        // Assert
+        assertThat(state).isEqualTo(WinState.CONTINUE);
+        assertThat(field.getCell(3, 3)).isEqualTo(CellType.X);
+        assertThat(field.getSideToMove()).isEqualTo(CellType.O);
+        assertThat(field.getActiveSubField()).isZero();
+        assertThat(field.isLegal(0, 4)).isTrue();
+        assertThat(field.isLegal(4, 1)).isFalse();
+        assertThat(field.getLegalMoves()).hasSize(9).allMatch(p -> UltimateField.subField(p.row(), p.col()) == 0);
+    }
+
+    @Test
+    void testMoveToClosedSubFieldFreesTheChoice() {
+        // Arrange: X has won the top left sub-field
+        UltimateField field = new UltimateField();
+        field.setCell(UltimateField.index(0, 0), CellType.X);
+        field.setCell(UltimateField.index(0, 1), CellType.X);
+        field.setCell(UltimateField.index(0, 2), CellType.X);
+        field.setCell(UltimateField.index(4, 0), CellType.O);
+        field.setCell(UltimateField.index(4, 1), CellType.O);
+        field.setCell(UltimateField.index(4, 2), CellType.O);
+
+        // Act: X sends O to the won sub-field
+        field.move(8, 0);
+
+        // Assert
+        assertThat(field.getWon(CellType.X)).isEqualTo(1);
+        assertThat(field.getClosed()).isEqualTo(1 | 1 << 4);
+        assertThat(field.getActiveSubField()).isEqualTo(UltimateField.ANY);
+        assertThat(field.isLegal(0, 3)).isFalse();
+        assertThat(field.isLegal(1, 0)).isTrue();
+        assertThat(field.getLegalMoves()).hasSize(7 * 9 - 1);
+    }
+
+    @Test
+    void testThreeWonSubFieldsInARowWinTheGame() {
+        // Arrange
+        UltimateField field = new UltimateField();
+
+        for (int subField = 0; subField < 3; subField++) {
+            field.setCell(UltimateField.index(subField, 0), CellType.X);
+            field.setCell(UltimateField.index(subField, 4), CellType.X);
+            field.setCell(UltimateField.index(subField, 8), CellType.X);
+        }
+
+        // Act
+        WinState state = field.getState();
+
+        // Assert
+        assertThat(state).isEqualTo(WinState.X_WON);
+        assertThat(field.getLegalMoves()).isEmpty();
+        assertThat(field.isLegal(5, 0)).isFalse();
+    }
+
+    @Test
+    void testGameIsDrawnOnceEverySubFieldIsClosed() {
+        // Arrange: every sub-field full without a line
+        UltimateField field = new UltimateField();
+        CellType[] drawn = {
+                CellType.X, CellType.O, CellType.X,
+                CellType.X, CellType.O, CellType.O,
+                CellType.O, CellType.X, CellType.X
+        };
+
+        for (int subField = 0; subField < UltimateField.SUB_FIELDS; subField++)
+            for (int cell = 0; cell < UltimateField.SUB_FIELDS; cell++)
+                field.setCell(UltimateField.index(subField, cell), drawn[cell]);
+
+        // Act & Assert
+        assertThat(field.getClosed()).isEqualTo(UltimateField.FULL);
+        assertThat(field.getWon(CellType.X) | field.getWon(CellType.O)).isZero();
+        assertThat(field.getState()).isEqualTo(WinState.DRAW);
+    }
+
+    @Test
+    void testIllegalMoveIsRejected() {
+        // Arrange
+        UltimateField field = new UltimateField();
+        field.move(4, 4);
+
+        // Act & Assert
+        assertThatThrownBy(() -> field.move(4, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> field.move(0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(field.getCell(0, 0)).isEqualTo(CellType.EMPTY);
+    }
+
+    @Test
+    void testCoordinatesOfWholeFieldMapToSubFields() {
+        // Act & Assert
+        assertThat(UltimateField.subField(5, 7)).isEqualTo(5);
+        assertThat(UltimateField.cell(5, 7)).isEqualTo(7);
+        assertThat(UltimateField.position(5, 7)).isEqualTo(new Position(5, 7));
+        assertThat(UltimateField.position(6, 2)).isEqualTo(new Position(6, 2));
+    }
+}
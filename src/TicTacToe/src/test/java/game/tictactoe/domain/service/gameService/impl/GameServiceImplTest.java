@@ -4,27 +4,40 @@ import game.tictactoe.datasource.repository.GameRepository;
 import game.tictactoe.domain.model.*;
 import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.domain.service.WinState;
+import game.tictactoe.domain.service.minimax.EngineLoadPolicy;
+import game.tictactoe.domain.service.minimax.EngineRegistry;
 import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.impl.PerfectTableMinimaxServiceImpl;
+import game.tictactoe.domain.service.minimax.search.BestMoveCache;
 import game.tictactoe.exception.InvalidRequestBodyException;
 import game.tictactoe.exception.ResourceNotFoundException;
+import game.tictactoe.exception.SearchTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.ObjIntConsumer;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GameServiceImplTest {
 
-    @InjectMocks
     private GameServiceImpl gameService;
 
     @Mock
@@ -33,6 +46,18 @@ class GameServiceImplTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Spy
+    private EngineLoadPolicy loadPolicy = new EngineLoadPolicy(true, 64, 64, Duration.ofSeconds(1),
+            Duration.ofMillis(50), Duration.ofSeconds(1), () -> 0);
+
+    @BeforeEach
+    void setUp() {
+        EngineRegistry engines = new EngineRegistry(EngineType.ALPHA_BETA)
+                .register(EngineType.ALPHA_BETA, minimaxService, SearchLimits.NONE, 0, new BestMoveCache(1024));
+
+        gameService = new GameServiceImpl(engines, gameRepository, loadPolicy);
+    }
+
     @Test
     void testCreateGameAndMakeFirstMoveX() {
         // Arrange
@@ -41,7 +66,7 @@ class GameServiceImplTest {
 
         when(gameRepository.save(any(Game.class))).thenReturn(null);
 
-        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.O)))
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.O), limitsOf(SearchLimits.NONE)))
                 .thenReturn(new Position(1, 1));
 
         GameField expectedGameField = new GameField();
@@ -63,7 +88,7 @@ class GameServiceImplTest {
         verify(gameRepository, times(1))
                 .save(any(Game.class));
         verify(minimaxService, times(1))
-                .findBestMove(any(GameField.class), eq(CellType.O));
+                .findBestMove(any(GameField.class), eq(CellType.O), limitsOf(SearchLimits.NONE));
     }
 
     @Test
@@ -275,7 +300,7 @@ class GameServiceImplTest {
 
         when(gameRepository.save(any(Game.class))).thenReturn(null);
 
-        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X)))
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE)))
                 .thenReturn(new Position(1, 1));
 
         // Act
@@ -286,7 +311,245 @@ class GameServiceImplTest {
                 .isEqualTo(CellType.X);
 
         verify(gameRepository, times(1)).save(any(Game.class));
-        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X));
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE));
+    }
+
+    @Test
+    void testNextMoveAfterPlayerWonSearchesNothing() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.X);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.X);
+        game.getGameField().setCell(1, 0, CellType.O);
+        game.getGameField().setCell(1, 1, CellType.O);
+        game.move(game.getGameField().index(0, 2), CellType.X);
+
+        // Act
+        gameService.nextMove(game);
+
+        // Assert
+        assertThat(game.getState())
+                .isEqualTo(WinState.X_WON);
+        assertThat(Long.bitCount(game.getGameField().getEmptyCells()))
+                .isEqualTo(4);
+
+        verify(gameRepository, times(1)).save(game);
+        verifyNoInteractions(minimaxService);
+    }
+
+    @Test
+    void testNextMoveSearchesWithinDifficultyLimits() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O, new GameField(), Difficulty.EASY);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+
+        when(gameRepository.save(any(Game.class))).thenReturn(null);
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(Difficulty.EASY.getLimits())))
+                .thenReturn(new Position(2, 2));
+
+        // Act
+        gameService.nextMove(game);
+
+        // Assert
+        assertThat(game.getGameField().getCell(2, 2))
+                .isEqualTo(CellType.X);
+
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), limitsOf(Difficulty.EASY.getLimits()));
+    }
+
+    @Test
+    void testNextMoveReusesCachedMoveOfSymmetricPosition() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+
+        Game mirrored = new Game(UUID.randomUUID(), CellType.O);
+        mirrored.getGameField().setCell(0, 2, CellType.X);
+        mirrored.getGameField().setCell(0, 1, CellType.O);
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE)))
+                .thenReturn(new Position(1, 0));
+
+        // Act
+        gameService.nextMove(game);
+        gameService.nextMove(mirrored);
+
+        // Assert
+        assertThat(mirrored.getGameField().getCell(1, 2))
+                .isEqualTo(CellType.X);
+        assertThat(gameService.getCacheStatistics().hits())
+                .isEqualTo(1);
+
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE));
+    }
+
+    @Test
+    void testNextMoveUnderLoadIsDegradedAndNotCached() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+
+        doReturn(Difficulty.EASY.getLimits()).when(loadPolicy).degrade(SearchLimits.NONE);
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(Difficulty.EASY.getLimits())))
+                .thenReturn(new Position(1, 1));
+
+        // Act
+        gameService.nextMove(game);
+
+        // Assert
+        assertThat(game.getGameField().getCell(1, 1))
+                .isEqualTo(CellType.X);
+        assertThat(gameService.getCacheStatistics().size())
+                .isZero();
+        assertThat(gameService.getLoadStatistics().inFlight())
+                .isZero();
+    }
+
+    @Test
+    void testNextMoveOnPerfectTableUnderMinimalLoadSearchesNothing() {
+        // Arrange: the table's fallback search is the mock
+        EngineRegistry engines = new EngineRegistry(EngineType.PERFECT_TABLE)
+                .register(EngineType.PERFECT_TABLE, new PerfectTableMinimaxServiceImpl(minimaxService),
+                        SearchLimits.NONE, 0, new BestMoveCache(1024));
+        GameServiceImpl service = new GameServiceImpl(engines, gameRepository, loadPolicy);
+
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(1, 1, CellType.O);
+
+        // The table answers before the level is even read
+        lenient().doReturn(DegradationLevel.MINIMAL).when(loadPolicy).getLevel();
+
+        // Act
+        service.nextMove(game);
+
+        // Assert
+        assertThat(Long.bitCount(game.getGameField().getBoard(CellType.X)))
+                .isEqualTo(2);
+
+        verifyNoInteractions(minimaxService);
+    }
+
+    @Test
+    void testNextMoveUnderMinimalLoadPlaysCachedMoveOfWeakerDifficulty() {
+        // Arrange
+        Game easy = new Game(UUID.randomUUID(), CellType.O, new GameField(), Difficulty.EASY);
+        easy.getGameField().setCell(0, 0, CellType.X);
+        easy.getGameField().setCell(0, 1, CellType.O);
+
+        Game hard = new Game(UUID.randomUUID(), CellType.O, new GameField(easy.getGameField()), Difficulty.HARD);
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(Difficulty.EASY.getLimits())))
+                .thenReturn(new Position(2, 2));
+
+        gameService.nextMove(easy);
+        doReturn(DegradationLevel.MINIMAL).when(loadPolicy).getLevel();
+
+        // Act
+        gameService.nextMove(hard);
+
+        // Assert
+        assertThat(hard.getGameField().getCell(2, 2))
+                .isEqualTo(CellType.X);
+
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), any(SearchLimits.class));
+    }
+
+    @Test
+    void testNextMoveCutShortByDeadlinePlaysBestMoveSoFar() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+        SearchDeadline deadline = SearchDeadline.after(Duration.ofMillis(200));
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), eq(SearchLimits.NONE.withDeadline(deadline))))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(300);
+                    deadline.markTruncated();
+                    return new Position(1, 1);
+                });
+
+        // Act
+        gameService.nextMove(game, deadline);
+
+        // Assert
+        assertThat(game.getGameField().getCell(1, 1))
+                .isEqualTo(CellType.X);
+        assertThat(gameService.getCacheStatistics().size())
+                .isZero();
+
+        verify(gameRepository, times(1)).save(game);
+    }
+
+    @Test
+    void testNextMoveTruncatedByEngineBudgetIsNotCached() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE)))
+                .thenAnswer(invocation -> {
+                    invocation.<SearchLimits>getArgument(2).deadline().markTruncated();
+                    return new Position(1, 1);
+                });
+
+        // Act
+        gameService.nextMove(game);
+
+        // Assert
+        assertThat(game.getGameField().getCell(1, 1))
+                .isEqualTo(CellType.X);
+        assertThat(gameService.getCacheStatistics().size())
+                .isZero();
+
+        verify(gameRepository, times(1)).save(game);
+    }
+
+    @Test
+    void testNextMovePastDeadlineTimesOut() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+        SearchDeadline deadline = SearchDeadline.cancellable();
+        deadline.cancel();
+
+        // Act & Assert
+        assertThatThrownBy(() -> gameService.nextMove(game, deadline))
+                .isInstanceOf(SearchTimeoutException.class);
+
+        verifyNoInteractions(minimaxService, gameRepository);
+    }
+
+    @Test
+    void testNextMoveCancelledDuringSearchLeavesGameUnchanged() {
+        // Arrange
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
+        SearchDeadline deadline = SearchDeadline.cancellable();
+
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), eq(SearchLimits.NONE.withDeadline(deadline))))
+                .thenAnswer(invocation -> {
+                    deadline.cancel();
+                    return new Position(1, 1);
+                });
+
+        // Act & Assert
+        assertThatThrownBy(() -> gameService.nextMove(game, deadline))
+                .isInstanceOf(SearchTimeoutException.class);
+
+        assertThat(game.getGameField().getCell(1, 1))
+                .isEqualTo(CellType.EMPTY);
+
+        verifyNoInteractions(gameRepository);
     }
 
     @Test
@@ -298,7 +561,7 @@ class GameServiceImplTest {
 
         when(gameRepository.save(any(Game.class))).thenReturn(null);
 
-        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X)))
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE)))
                 .thenReturn(new Position(-1, -1));
 
         // Act
@@ -309,7 +572,7 @@ class GameServiceImplTest {
                 .isEqualTo(CellType.EMPTY);
 
         verify(gameRepository, times(1)).save(any(Game.class));
-        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X));
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE));
     }
 
     @Test
@@ -321,12 +584,12 @@ class GameServiceImplTest {
 
         when(gameRepository.save(any(Game.class))).thenReturn(null);
 
-//        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X)))
+//        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), eq(SearchLimits.NONE)))
 //                .thenReturn(new Position(2, -1));
 
         doReturn(new Position(2, -1))
                 .when(minimaxService)
-                .findBestMove(any(GameField.class), eq(CellType.X));
+                .findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE));
 
         // Act
         gameService.nextMove(game);
@@ -336,7 +599,7 @@ class GameServiceImplTest {
                 .isEqualTo(CellType.EMPTY);
 
         verify(gameRepository, times(1)).save(any(Game.class));
-        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X));
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE));
     }
 
     @Test
@@ -432,12 +695,180 @@ class GameServiceImplTest {
 
         verify(gameRepository, times(1)).deleteByUuid(game.getUuid());
     }
-}
 
+    @Test
+    void testLongBatchDoesNotDegradeSingleMoves() {
+        // Arrange: the batch as a whole takes longer than the latency target, every position a fraction of it
+        List<GameField> fields = new ArrayList<>();
 
+        for (int cell = 0; cell < 8; cell++) {
+            GameField field = new GameField();
+            field.setCell(cell / 3, cell % 3, CellType.X);
+            fields.add(field);
+        }
 
+        doAnswer(invocation -> {
+            ObjIntConsumer<Position> results = invocation.getArgument(3);
 
+            for (int i = 0; i < fields.size(); i++) {
+                Thread.sleep(150);
+                results.accept(new Position(2, 2), i);
+            }
 
+            return null;
+        }).when(minimaxService).findBestMoves(anyList(), anyList(), any(SearchLimits.class), any());
 
+        Game game = new Game(UUID.randomUUID(), CellType.O);
+        game.getGameField().setCell(0, 0, CellType.X);
+        game.getGameField().setCell(0, 1, CellType.O);
 
+        when(minimaxService.findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE)))
+                .thenReturn(new Position(1, 1));
 
+        // Act
+        gameService.findBestMoves(fields, Difficulty.HARD, result -> {});
+        gameService.nextMove(game);
+
+        // Assert
+        assertThat(gameService.getLoadStatistics().level()).isEqualTo(DegradationLevel.NONE);
+        assertThat(gameService.getLoadStatistics().latencyMillis()).isLessThan(1000);
+
+        verify(minimaxService, times(1)).findBestMove(any(GameField.class), eq(CellType.X), limitsOf(SearchLimits.NONE));
+    }
+
+    @Test
+    void testFindBestMovesSearchesOnlyOpenFields() {
+        // Arrange
+        GameField won = new GameField();
+        won.setCell(0, 0, CellType.X);
+        won.setCell(0, 1, CellType.X);
+        won.setCell(0, 2, CellType.X);
+        won.setCell(1, 0, CellType.O);
+        won.setCell(1, 1, CellType.O);
+
+        GameField open = new GameField();
+        open.setCell(0, 0, CellType.X);
+        open.setCell(0, 1, CellType.X);
+        open.setCell(1, 1, CellType.O);
+
+        doAnswer(invocation -> {
+            ObjIntConsumer<Position> results = invocation.getArgument(3);
+            results.accept(new Position(0, 2), 0);
+            return null;
+        }).when(minimaxService).findBestMoves(eq(List.of(open)), eq(List.of(CellType.O)), limitsOf(SearchLimits.NONE), any());
+
+        List<BatchMoveResult> results = new ArrayList<>();
+
+        // Act
+        gameService.findBestMoves(List.of(won, open), Difficulty.HARD, results::add);
+
+        // Assert
+        assertThat(results).containsExactlyInAnyOrder(
+                new BatchMoveResult(0, WinState.X_WON.name(), new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS)),
+                new BatchMoveResult(1, WinState.CONTINUE.name(), new Position(0, 2))
+        );
+    }
+
+    @Test
+    void testFindBestMovesSearchesWithinTheRequestDeadline() {
+        // Arrange
+        GameField open = new GameField();
+        open.setCell(0, 0, CellType.X);
+
+        SearchDeadline deadline = SearchDeadline.after(Duration.ofSeconds(10));
+
+        doAnswer(invocation -> {
+            ObjIntConsumer<Position> results = invocation.getArgument(3);
+            results.accept(new Position(1, 1), 0);
+            return null;
+        }).when(minimaxService).findBestMoves(eq(List.of(open)), eq(List.of(CellType.O)),
+                argThat(limits -> limits.deadline() == deadline), any());
+
+        List<BatchMoveResult> results = new ArrayList<>();
+
+        // Act
+        gameService.findBestMoves(List.of(open), Difficulty.HARD, deadline, results::add);
+
+        // Assert
+        assertThat(results).containsExactly(new BatchMoveResult(0, WinState.CONTINUE.name(), new Position(1, 1)));
+    }
+
+    @Test
+    void testValidateBatchRejectsFieldOutOfTurn() {
+        // Arrange
+        GameField xToMove = new GameField(5, 4);
+        GameField twoX = new GameField();
+        twoX.setCell(0, 0, CellType.X);
+        twoX.setCell(1, 1, CellType.X);
+
+        // Act & Assert
+        assertThat(gameService.validateBatch(List.of(xToMove))).containsExactly(CellType.X);
+        assertThatThrownBy(() -> gameService.validateBatch(List.of(xToMove, twoX)))
+                .isInstanceOf(InvalidRequestBodyException.class)
+                .hasMessageContaining("index 1");
+    }
+
+    @Test
+    void testAnalyzeSearchesForSideToMove() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+
+        List<MoveAnalysis> moves = List.of(new MoveAnalysis(new Position(1, 1), MoveAnalysis.Outcome.DRAW, 0, 8));
+
+        when(minimaxService.analyze(field, CellType.O, Difficulty.MEDIUM.getLimits())).thenReturn(moves);
+
+        // Act
+        PositionAnalysis analysis = gameService.analyze(field, Difficulty.MEDIUM, Duration.ZERO);
+
+        // Assert
+        assertThat(analysis).isEqualTo(new PositionAnalysis(WinState.CONTINUE.name(), CellType.O, moves));
+    }
+
+    @Test
+    void testAnalyzeFinishedGameHasNoMoves() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(0, 2, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+
+        // Act
+        PositionAnalysis analysis = gameService.analyze(field, Difficulty.HARD, Duration.ZERO);
+
+        // Assert
+        assertThat(analysis).isEqualTo(new PositionAnalysis(WinState.X_WON.name(), CellType.O, List.of()));
+        verifyNoInteractions(minimaxService);
+    }
+
+    @Test
+    void testFindBestMoveWithProgressSkipsFinishedGame() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.O);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(0, 2, CellType.O);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.X);
+        field.setCell(2, 0, CellType.X);
+        field.setCell(2, 1, CellType.O);
+        field.setCell(2, 2, CellType.X);
+
+        // Act
+        Position move = gameService.findBestMove(field, Difficulty.HARD, Duration.ZERO, progress -> true);
+
+        // Assert
+        assertThat(move).isEqualTo(new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS));
+        verifyNoInteractions(minimaxService);
+    }
+
+    /**
+     * Matches search limits equal to the given ones, whatever deadline they carry.
+     */
+    private static SearchLimits limitsOf(SearchLimits limits) {
+        return argThat(actual -> actual.withoutDeadline().equals(limits));
+    }
+}
@@ -0,0 +1,142 @@
+package game.tictactoe.domain.service.gameService.impl;
+
+import game.tictactoe.datasource.repository.UltimateGameRepository;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.UltimateField;
+import game.tictactoe.domain.model.UltimateGame;
+import game.tictactoe.domain.service.minimax.EngineLoadPolicy;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.UltimateMinimaxService;
+import game.tictactoe.exception.InvalidRequestBodyException;
+import game.tictactoe.exception.ResourceNotFoundException;
+import game.tictactoe.exception.SearchTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UltimateGameServiceImplTest {
+
+    private UltimateGameServiceImpl ultimateGameService;
+
+    @Mock
+    private UltimateMinimaxService engine;
+
+    @Mock
+    private UltimateGameRepository gameRepository;
+
+    @BeforeEach
+    void setUp() {
+        ultimateGameService = new UltimateGameServiceImpl(engine, gameRepository, new EngineLoadPolicy(true, 64, 64,
+                Duration.ofSeconds(1), Duration.ofMillis(50), Duration.ofSeconds(1), () -> 0));
+    }
+
+    @Test
+    void testCreateGameAsOMakesComputerMove() {
+        // Arrange
+        when(engine.findBestMove(any(UltimateField.class), eq(Difficulty.MEDIUM.getLimits())))
+                .thenReturn(new Position(4, 4));
+
+        // Act
+        UltimateGame game = ultimateGameService.createGame(CellType.O, Difficulty.MEDIUM);
+
+        // Assert
+        assertThat(game.getField().getCell(4, 4)).isEqualTo(CellType.X);
+        assertThat(game.getField().getActiveSubField()).isEqualTo(4);
+        assertThat(game.getField().getSideToMove()).isEqualTo(CellType.O);
+        verify(gameRepository, times(1)).save(game);
+    }
+
+    @Test
+    void testCreateGameAsXLeavesFieldEmpty() {
+        // Act
+        UltimateGame game = ultimateGameService.createGame(CellType.X, Difficulty.HARD);
+
+        // Assert
+        assertThat(game.getField()).isEqualTo(new UltimateField());
+        verifyNoInteractions(engine);
+        verify(gameRepository, times(1)).save(game);
+    }
+
+    @Test
+    void testMoveAnswersWithComputerMove() {
+        // Arrange
+        UltimateGame game = startedGame();
+        when(gameRepository.findByUuid(game.getUuid())).thenReturn(Optional.of(game));
+        when(engine.findBestMove(any(UltimateField.class), eq(SearchLimits.NONE)))
+                .thenReturn(new Position(0, 0));
+
+        // Act: O moves in the top left cell of the center sub-field and sends X to the top left one
+        UltimateGame result = ultimateGameService.move(game.getUuid(), 3, 3, SearchDeadline.NONE);
+
+        // Assert
+        assertThat(result.getField().getCell(3, 3)).isEqualTo(CellType.O);
+        assertThat(result.getField().getCell(0, 0)).isEqualTo(CellType.X);
+        assertThat(result.getField().getActiveSubField()).isZero();
+        verify(gameRepository, times(1)).save(game);
+    }
+
+    @Test
+    void testMoveOutsideActiveSubFieldIsRejected() {
+        // Arrange
+        UltimateGame game = startedGame();
+        when(gameRepository.findByUuid(game.getUuid())).thenReturn(Optional.of(game));
+
+        // Act & Assert
+        assertThatThrownBy(() -> ultimateGameService.move(game.getUuid(), 0, 0, SearchDeadline.NONE))
+                .isInstanceOf(InvalidRequestBodyException.class)
+                .hasMessage("Invalid move, it should be an empty cell of sub-field 4");
+        verifyNoInteractions(engine);
+        verify(gameRepository, never()).save(any());
+    }
+
+    @Test
+    void testMovePastDeadlineLeavesGameUnchanged() {
+        // Arrange
+        UltimateGame game = startedGame();
+        SearchDeadline deadline = SearchDeadline.cancellable();
+        deadline.cancel();
+        when(gameRepository.findByUuid(game.getUuid())).thenReturn(Optional.of(game));
+
+        // Act & Assert
+        assertThatThrownBy(() -> ultimateGameService.move(game.getUuid(), 3, 3, deadline))
+                .isInstanceOf(SearchTimeoutException.class);
+        verifyNoInteractions(engine);
+        verify(gameRepository, never()).save(any());
+    }
+
+    @Test
+    void testMoveInMissingGame() {
+        // Arrange
+        UUID uuid = UUID.randomUUID();
+        when(gameRepository.findByUuid(uuid)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> ultimateGameService.move(uuid, 0, 0, SearchDeadline.NONE))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    /**
+     * A game of the player O after the computer's first move in the center of the center sub-field.
+     */
+    private static UltimateGame startedGame() {
+        UltimateGame game = new UltimateGame(UUID.randomUUID(), CellType.O);
+        game.getField().move(4, 4);
+        return game;
+    }
+}
@@ -0,0 +1,105 @@
+package game.tictactoe.domain.service.minimax;
+
+import game.tictactoe.domain.model.DegradationLevel;
+import game.tictactoe.domain.model.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineLoadPolicyTest {
+
+    private static final Duration COOLDOWN = Duration.ofSeconds(1);
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testStepsDownOneLevelPerCooldownAndRecovers() {
+        // Arrange
+        EngineLoadPolicy policy = policy(true);
+        queued.set(10);
+
+        // Act & Assert: the level changes at most once per cooldown
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.REDUCED_BUDGET);
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.REDUCED_BUDGET);
+
+        clock.addAndGet(COOLDOWN.toNanos());
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.SHALLOW);
+
+        queued.set(3);
+        clock.addAndGet(COOLDOWN.toNanos());
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.SHALLOW);
+
+        queued.set(0);
+        clock.addAndGet(COOLDOWN.toNanos());
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.REDUCED_BUDGET);
+
+        clock.addAndGet(COOLDOWN.toNanos());
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.NONE);
+    }
+
+    @Test
+    void testSlowSearchesDegradeLimits() {
+        // Arrange
+        EngineLoadPolicy policy = policy(true);
+
+        // Act: a search twice as slow as the target
+        policy.track(() -> clock.addAndGet(2 * COOLDOWN.toNanos()));
+        policy.track(() -> clock.addAndGet(2 * COOLDOWN.toNanos()));
+        policy.track(() -> clock.addAndGet(2 * COOLDOWN.toNanos()));
+
+        // Assert
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.MINIMAL);
+        assertThat(policy.getStatistics().latencyMillis()).isEqualTo(2000);
+        assertThat(policy.degrade(SearchLimits.NONE))
+                .isEqualTo(Difficulty.EASY.getLimits().withTimeBudget(Duration.ofMillis(50)));
+        assertThat(policy.degrade(new SearchLimits(1, 100)))
+                .isEqualTo(new SearchLimits(1, 100, Duration.ofMillis(50)));
+    }
+
+    @Test
+    void testCountedSearchesAddOnlyTheirMovesToTheLatency() {
+        // Arrange
+        EngineLoadPolicy policy = policy(true);
+
+        // Act: a search far slower than the target, made up of fast moves
+        policy.count(() -> {
+            for (int i = 0; i < 10; i++) {
+                clock.addAndGet(Duration.ofMillis(200).toNanos());
+                policy.recordLatency(Duration.ofMillis(200));
+            }
+            return null;
+        });
+
+        // Assert
+        assertThat(policy.getLevel()).isEqualTo(DegradationLevel.NONE);
+        assertThat(policy.getStatistics().latencyMillis()).isEqualTo(200);
+    }
+
+    @Test
+    void testDisabledPolicyOnlyMeasures() {
+        // Arrange
+        EngineLoadPolicy policy = policy(false);
+        queued.set(10);
+
+        // Act
+        SearchLimits limits = policy.degrade(SearchLimits.NONE);
+
+        // Assert
+        assertThat(limits).isEqualTo(SearchLimits.NONE);
+        assertThat(policy.getStatistics().level()).isEqualTo(DegradationLevel.NONE);
+        assertThat(policy.getStatistics().queued()).isEqualTo(10);
+    }
+
+    /**
+     * A policy overloaded from four running or five queued searches or a latency of one second on.
+     */
+    private EngineLoadPolicy policy(boolean enabled) {
+        return new EngineLoadPolicy(enabled, 4, 5, Duration.ofSeconds(1), Duration.ofMillis(50), COOLDOWN,
+                queued::get, clock::get);
+    }
+}
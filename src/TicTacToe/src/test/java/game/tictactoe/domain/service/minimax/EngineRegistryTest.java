@@ -0,0 +1,74 @@
+package game.tictactoe.domain.service.minimax;
+
+import game.tictactoe.domain.model.EngineStatistics;
+import game.tictactoe.domain.model.EngineType;
+import game.tictactoe.domain.service.minimax.search.BestMoveCache;
+import game.tictactoe.exception.SearchTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+class EngineRegistryTest {
+
+    @Test
+    void testEngineCapsLimitsAndFallsBackToDefault() {
+        // Arrange
+        EngineRegistry registry = new EngineRegistry(EngineType.ALPHA_BETA)
+                .register(EngineType.ALPHA_BETA, mock(MinimaxService.class), SearchLimits.NONE, 0, new BestMoveCache(16))
+                .register(EngineType.HEURISTIC, mock(MinimaxService.class), new SearchLimits(2, 1000), 0, new BestMoveCache(16));
+
+        // Act
+        SearchLimits limits = registry.get(EngineType.HEURISTIC).limit(new SearchLimits(9, 0, Duration.ofSeconds(1)));
+
+        // Assert
+        assertThat(limits).isEqualTo(new SearchLimits(2, 1000, Duration.ofSeconds(1)));
+        assertThat(registry.get(null).getType()).isEqualTo(EngineType.ALPHA_BETA);
+        assertThat(registry.getCacheStatistics().capacity()).isEqualTo(32);
+        assertThatThrownBy(() -> registry.get(EngineType.MCTS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Engine MCTS is not available");
+    }
+
+    @Test
+    void testBusyEngineRejectsSearchesPastTheirDeadline() throws Exception {
+        // Arrange
+        EngineRegistry registry = new EngineRegistry(EngineType.MCTS)
+                .register(EngineType.MCTS, mock(MinimaxService.class), SearchLimits.NONE, 1, new BestMoveCache(16));
+        EngineRegistry.Engine engine = registry.get(EngineType.MCTS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread running = new Thread(() -> engine.search(SearchDeadline.NONE, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        running.start();
+        started.await();
+
+        // Act & Assert
+        assertThatThrownBy(() -> engine.search(SearchDeadline.after(Duration.ofMillis(20)), () -> 1))
+                .isInstanceOf(SearchTimeoutException.class)
+                .hasMessageContaining("MCTS is busy");
+        assertThat(engine.getStatistics().inFlight()).isEqualTo(1);
+
+        release.countDown();
+        running.join();
+
+        assertThat(engine.search(SearchDeadline.after(Duration.ofSeconds(1)), () -> 2)).isEqualTo(2);
+        assertThat(registry.getStatistics())
+                .extracting(EngineStatistics::engine, EngineStatistics::searches, EngineStatistics::inFlight,
+                        EngineStatistics::rejected)
+                .containsExactly(tuple(EngineType.MCTS, 2L, 0, 1L));
+    }
+}
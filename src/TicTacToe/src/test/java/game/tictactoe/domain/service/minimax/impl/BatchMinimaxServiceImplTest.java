@@ -0,0 +1,113 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchMinimaxServiceImplTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSymmetricPositionsAreSearchedOnce() {
+        // Arrange: the same corner opening in all four corners
+        MinimaxService delegate = mock(MinimaxService.class);
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), eq(SearchLimits.NONE)))
+                .thenAnswer(invocation -> {
+                    GameField field = invocation.getArgument(0);
+                    return field.getCell(0, 0) == CellType.X ? new Position(0, 1) : new Position(2, 1);
+                });
+
+        BatchMinimaxServiceImpl service = new BatchMinimaxServiceImpl(delegate, executor);
+        List<GameField> fields = new ArrayList<>();
+        int[][] corners = {{0, 0}, {0, 2}, {2, 2}, {2, 0}};
+        for (int[] corner : corners) {
+            GameField field = new GameField();
+            field.setCell(corner[0], corner[1], CellType.X);
+            fields.add(field);
+        }
+
+        Map<Integer, Position> results = new ConcurrentHashMap<>();
+
+        // Act
+        service.findBestMoves(fields, Collections.nCopies(fields.size(), CellType.O), SearchLimits.NONE, (move, i) -> results.put(i, move));
+
+        // Assert: every answer is an edge next to the corner of its own field
+        verify(delegate, times(1)).findBestMove(any(GameField.class), eq(CellType.O), eq(SearchLimits.NONE));
+        assertThat(service.getDeduplicated()).isEqualTo(3);
+        assertThat(results).hasSize(corners.length);
+        for (int i = 0; i < corners.length; i++) {
+            Position move = results.get(i);
+            assertThat(Math.abs(move.row() - corners[i][0]) + Math.abs(move.col() - corners[i][1])).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testDistinctPositionsMatchSingleSearches() {
+        // Arrange: the empty field and the three different openings
+        MinimaxServiceImpl engine = new MinimaxServiceImpl();
+        BatchMinimaxServiceImpl service = new BatchMinimaxServiceImpl(engine, executor);
+        List<GameField> fields = new ArrayList<>(List.of(new GameField()));
+        List<CellType> sides = new ArrayList<>(List.of(CellType.X));
+
+        for (int cell : new int[]{0, 1, 4}) {
+            GameField field = new GameField();
+            field.setCell(cell, CellType.X);
+            fields.add(field);
+            sides.add(CellType.O);
+        }
+
+        Map<Integer, Position> results = new ConcurrentHashMap<>();
+
+        // Act
+        service.findBestMoves(fields, sides, SearchLimits.NONE, (move, i) -> results.put(i, move));
+
+        // Assert: equally good moves may be found in any order while the searches share the table
+        assertThat(service.getDeduplicated()).isZero();
+        for (int i = 0; i < fields.size(); i++) {
+            Position move = results.get(i);
+            List<MoveAnalysis> analysis = engine.analyze(fields.get(i), sides.get(i), SearchLimits.NONE);
+            int best = analysis.stream().mapToInt(MoveAnalysis::score).max().orElseThrow();
+
+            assertThat(analysis).filteredOn(m -> m.move().equals(move)).extracting(MoveAnalysis::score).containsExactly(best);
+        }
+    }
+
+    @Test
+    void testFailureIsRethrown() {
+        // Arrange
+        MinimaxService delegate = mock(MinimaxService.class);
+        when(delegate.findBestMove(any(GameField.class), any(CellType.class), any(SearchLimits.class)))
+                .thenThrow(new IllegalStateException("search failed"));
+
+        BatchMinimaxServiceImpl service = new BatchMinimaxServiceImpl(delegate, executor);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.findBestMoves(List.of(new GameField()), List.of(CellType.X), SearchLimits.NONE, (move, i) -> {}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("search failed");
+    }
+}
@@ -0,0 +1,175 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CoalescingMinimaxServiceImplTest {
+
+    @Test
+    void testSymmetricSearchesRunningAtOnceShareOneSearch() throws Exception {
+        // Arrange
+        MinimaxService delegate = mock(MinimaxService.class);
+        CoalescingMinimaxServiceImpl service = new CoalescingMinimaxServiceImpl(delegate);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), eq(SearchLimits.NONE)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return new Position(0, 2);
+                });
+
+        AtomicReference<Position> first = new AtomicReference<>();
+        AtomicReference<Position> second = new AtomicReference<>();
+
+        // Act
+        Thread leader = new Thread(() -> first.set(service.findBestMove(blockedField(), CellType.O, SearchLimits.NONE)));
+        leader.start();
+        started.await();
+
+        Thread follower = new Thread(() -> second.set(service.findBestMove(rotatedField(), CellType.O, SearchLimits.NONE)));
+        follower.start();
+        awaitWaiting(follower);
+
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        // Assert
+        assertThat(first.get()).isEqualTo(new Position(0, 2));
+        assertThat(second.get()).isEqualTo(new Position(0, 0));
+        assertThat(service.getCoalesced()).isEqualTo(1);
+        verify(delegate, times(1)).findBestMove(any(GameField.class), eq(CellType.O), eq(SearchLimits.NONE));
+    }
+
+    @Test
+    void testFailedSearchDoesNotPoisonOtherCallers() throws Exception {
+        // Arrange
+        MinimaxService delegate = mock(MinimaxService.class);
+        CoalescingMinimaxServiceImpl service = new CoalescingMinimaxServiceImpl(delegate);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), eq(SearchLimits.NONE)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    throw new IllegalStateException("Search failed");
+                })
+                .thenReturn(new Position(0, 2));
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<Position> waiting = new AtomicReference<>();
+
+        // Act
+        Thread leader = new Thread(() -> {
+            try {
+                service.findBestMove(blockedField(), CellType.O, SearchLimits.NONE);
+            } catch (IllegalStateException e) {
+                failure.set(e);
+            }
+        });
+        leader.start();
+        started.await();
+
+        Thread follower = new Thread(() -> waiting.set(service.findBestMove(blockedField(), CellType.O, SearchLimits.NONE)));
+        follower.start();
+        awaitWaiting(follower);
+
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        Position later = service.findBestMove(blockedField(), CellType.O, SearchLimits.NONE);
+
+        // Assert
+        assertThat(failure.get()).hasMessage("Search failed");
+        assertThat(waiting.get()).isEqualTo(new Position(0, 2));
+        assertThat(later).isEqualTo(new Position(0, 2));
+        assertThat(service.getCoalesced()).isZero();
+        verify(delegate, times(3)).findBestMove(any(GameField.class), eq(CellType.O), eq(SearchLimits.NONE));
+    }
+
+    @Test
+    void testTruncatedSearchMarksWaitingCallersTruncated() throws Exception {
+        // Arrange
+        MinimaxService delegate = mock(MinimaxService.class);
+        CoalescingMinimaxServiceImpl service = new CoalescingMinimaxServiceImpl(delegate);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SearchDeadline leading = SearchDeadline.cancellable();
+        SearchDeadline following = SearchDeadline.cancellable();
+
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), any(SearchLimits.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    invocation.<SearchLimits>getArgument(2).deadline().markTruncated();
+                    return new Position(0, 2);
+                });
+
+        AtomicReference<Position> second = new AtomicReference<>();
+
+        // Act
+        Thread leader = new Thread(() -> service.findBestMove(blockedField(), CellType.O,
+                SearchLimits.NONE.withDeadline(leading)));
+        leader.start();
+        started.await();
+
+        Thread follower = new Thread(() -> second.set(service.findBestMove(rotatedField(), CellType.O,
+                SearchLimits.NONE.withDeadline(following))));
+        follower.start();
+        awaitWaiting(follower);
+
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        // Assert
+        assertThat(second.get()).isEqualTo(new Position(0, 0));
+        assertThat(service.getCoalesced()).isEqualTo(1);
+        assertThat(leading.isTruncated()).isTrue();
+        assertThat(following.isTruncated()).isTrue();
+        verify(delegate, times(1)).findBestMove(any(GameField.class), eq(CellType.O), any(SearchLimits.class));
+    }
+
+    /**
+     * Waits until a thread blocks, so that it has joined the running search.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING)
+            Thread.sleep(1);
+    }
+
+    private static GameField blockedField() {
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        return field;
+    }
+
+    /**
+     * The blocked field rotated by 90 degrees counterclockwise.
+     */
+    private static GameField rotatedField() {
+        GameField field = new GameField();
+        field.setCell(2, 0, CellType.X);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        return field;
+    }
+}
@@ -0,0 +1,121 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MctsServiceImplTest {
+
+    private final MctsServiceImpl mctsService = new MctsServiceImpl();
+
+    @Test
+    void testFindBestMoveTakesWin() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+
+        // Act
+        Position bestMove = mctsService.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(0, 2));
+    }
+
+    @Test
+    void testFindBestMoveBlocksOnLargerField() {
+        // Arrange: on a 4x4 field with four in a row O threatens to complete the second row
+        GameField field = new GameField(4, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 3, CellType.X);
+        field.setCell(3, 3, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.O);
+
+        // Act
+        Position bestMove = mctsService.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 3));
+    }
+
+    @Test
+    void testFindBestMoveOnFullField() {
+        // Arrange
+        GameField field = new GameField();
+        for (int i = 0; i < field.getSize() * field.getSize(); i++)
+            field.setCell(i, i % 2 == 0 ? CellType.X : CellType.O);
+
+        // Act
+        Position bestMove = mctsService.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS));
+    }
+
+    @Test
+    void testIterationBudget() {
+        // Arrange
+        MctsServiceImpl service = new MctsServiceImpl(1000, Duration.ZERO);
+
+        // Act
+        service.findBestMove(new GameField(7, 5), CellType.X);
+
+        // Assert
+        assertThat(service.getPlayouts()).isEqualTo(1000);
+    }
+
+    @Test
+    void testTimeBudgetOnLargestField() {
+        // Arrange
+        MctsServiceImpl service = new MctsServiceImpl(0, Duration.ofMillis(50));
+        GameField field = new GameField(7, 5);
+        field.setCell(3, 3, CellType.X);
+
+        // Act
+        long start = System.nanoTime();
+        Position bestMove = service.findBestMove(field, CellType.O);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(field.getCell(bestMove.row(), bestMove.col())).isEqualTo(CellType.EMPTY);
+    }
+
+    @Test
+    void testTreeIsReusedForNextMoveOfGame() {
+        // Arrange
+        MctsServiceImpl service = new MctsServiceImpl(
+                MctsServiceImpl.DEFAULT_ITERATIONS, Duration.ZERO, MctsServiceImpl.DEFAULT_EXPLORATION, true
+        );
+        GameField field = new GameField(5, 4);
+        field.setCell(2, 2, CellType.X);
+
+        Position firstMove = service.findBestMove(field, CellType.O);
+        field.setCell(firstMove.row(), firstMove.col(), CellType.O);
+        field.setCell(firstMove.row() == 0 ? 4 : 0, 0, CellType.X);
+
+        // Act
+        Position secondMove = service.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(service.getReusedTrees()).isEqualTo(1);
+        assertThat(field.getCell(secondMove.row(), secondMove.col())).isEqualTo(CellType.EMPTY);
+    }
+
+    @Test
+    void testRejectsMissingBudget() {
+        // Act & Assert
+        assertThatThrownBy(() -> new MctsServiceImpl(0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
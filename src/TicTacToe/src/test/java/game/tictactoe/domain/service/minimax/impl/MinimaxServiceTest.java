@@ -1,12 +1,27 @@
 package game.tictactoe.domain.service.minimax.impl;
 
+import game.tictactoe.domain.model.BoardGeometry;
 import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
 import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.MoveAnalysis;
 import game.tictactoe.domain.model.Position;
 import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.SearchProgress;
+import game.tictactoe.domain.service.minimax.search.BoardKernel;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import game.tictactoe.domain.service.minimax.search.ReplacementPolicy;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class MinimaxServiceTest {
@@ -46,9 +61,8 @@ class MinimaxServiceTest {
         // Act
         Position bestMove = minimaxService.findBestMove(field, CellType.X);
 
-        // Assert
-        assertThat(bestMove.row()).isZero();
-        assertThat(bestMove.col()).isZero();
+        // Assert: every first move draws, the evaluation of the shallow iterations prefers the centre
+        assertThat(bestMove).isEqualTo(new Position(1, 1));
     }
 
     @Test
@@ -74,4 +88,392 @@ class MinimaxServiceTest {
         assertThat(bestMove.row()).isEqualTo(Position.NOT_VALID_POS);
         assertThat(bestMove.col()).isEqualTo(Position.NOT_VALID_POS);
     }
+
+    @Test
+    void testRepeatedSearchIsServedFromTranspositionTable() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+        GameField field = new GameField();
+
+        service.findBestMove(field, CellType.X);
+        long firstSearchNodes = service.getVisitedNodes();
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X);
+        long secondSearchNodes = service.getVisitedNodes() - firstSearchNodes;
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 1));
+        assertThat(secondSearchNodes).isLessThanOrEqualTo(BoardGeometry.DEFAULT.getCells());
+    }
+
+    @Test
+    void testMoveOrderingCutsOffOnFirstMove() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+
+        // Act
+        service.findBestMove(new GameField(), CellType.X);
+
+        // Assert
+        assertThat(service.getCutoffs()).isPositive();
+        assertThat(service.getCutoffRate()).isGreaterThan(0.8);
+    }
+
+    @Test
+    void testFindBestMoveBlocksOnLargerField() {
+        // Arrange: on a 4x4 field with four in a row O threatens to complete the second row
+        GameField field = new GameField(4, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 3, CellType.X);
+        field.setCell(3, 3, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.O);
+
+        // Act
+        Position bestMove = minimaxService.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 3));
+    }
+
+    @Test
+    void testFindBestMoveTakesFastestWin() {
+        // Arrange: X wins at once by completing the top row or the middle column
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 1, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(2, 0, CellType.O);
+        field.setCell(2, 2, CellType.O);
+
+        // Act
+        Position bestMove = minimaxService.findBestMove(field, CellType.X);
+        field.setCell(bestMove.row(), bestMove.col(), CellType.X);
+
+        // Assert
+        assertThat(field.hasWon(CellType.X)).isTrue();
+    }
+
+    @Test
+    void testFindBestMoveWithinTimeBudget() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 49, Duration.ofMillis(50)
+        );
+        GameField field = new GameField(7, 5);
+        field.setCell(3, 3, CellType.X);
+
+        // Act
+        long start = System.nanoTime();
+        Position bestMove = service.findBestMove(field, CellType.O);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(field.getCell(bestMove.row(), bestMove.col())).isEqualTo(CellType.EMPTY);
+    }
+
+    @Test
+    void testSearchCutByTimeBudgetIsTruncated() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 49, Duration.ofMillis(50)
+        );
+        GameField large = new GameField(7, 5);
+        large.setCell(3, 3, CellType.X);
+        GameField small = new GameField();
+        SearchDeadline cut = SearchDeadline.cancellable();
+        SearchDeadline completed = SearchDeadline.cancellable();
+
+        // Act
+        service.findBestMove(large, CellType.O, SearchLimits.NONE.withDeadline(cut));
+        service.findBestMove(small, CellType.X, SearchLimits.NONE.withDeadline(completed));
+
+        // Assert
+        assertThat(cut.isTruncated()).isTrue();
+        assertThat(completed.isTruncated()).isFalse();
+    }
+
+    @Test
+    void testParallelSearchFindsSameMove() {
+        // Arrange
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MinimaxServiceImpl service = new MinimaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), MinimaxServiceImpl.DEPTH, Duration.ZERO, pool
+        );
+
+        GameField field = new GameField(4, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 3, CellType.X);
+        field.setCell(3, 3, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.O);
+
+        try {
+            // Act
+            Position blockingMove = service.findBestMove(field, CellType.X);
+            Position firstMove = service.findBestMove(new GameField(), CellType.X);
+
+            // Assert
+            assertThat(blockingMove).isEqualTo(new Position(1, 3));
+            assertThat(firstMove).isEqualTo(new Position(1, 1));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDepthLimitedSearchIsCheaper() {
+        // Arrange
+        MinimaxServiceImpl full = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 6);
+        MinimaxServiceImpl limited = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 6);
+        GameField field = new GameField(5, 4);
+        field.setCell(2, 2, CellType.X);
+
+        // Act
+        Position fullMove = full.findBestMove(field, CellType.O);
+        Position limitedMove = limited.findBestMove(field, CellType.O, Difficulty.EASY.getLimits());
+
+        // Assert
+        assertThat(fullMove.row()).isNotEqualTo(Position.NOT_VALID_POS);
+        assertThat(limitedMove.row()).isNotEqualTo(Position.NOT_VALID_POS);
+        assertThat(limited.getVisitedNodes() * 10).isLessThan(full.getVisitedNodes());
+    }
+
+    @Test
+    void testDepthLimitedSearchIgnoresDeeperSearches() {
+        // Arrange: X on the top and right edges, O on the left edge; only O's (0, 2) escapes X's fork,
+        // a search two moves deep takes the corner (0, 0) and walks into it
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+        GameField field = new GameField();
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 2, CellType.X);
+        field.setCell(1, 0, CellType.O);
+
+        // Act: the full search fills the shared table first
+        Position hardMove = service.findBestMove(field, CellType.O);
+        Position easyMove = service.findBestMove(field, CellType.O, Difficulty.EASY.getLimits());
+
+        // Assert
+        assertThat(hardMove).isEqualTo(new Position(0, 2));
+        assertThat(easyMove).isEqualTo(new Position(0, 0));
+    }
+
+    @Test
+    void testDepthLimitedSearchStillBlocks() {
+        // Arrange: on a 5x5 field with four in a row O threatens to complete the second row
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+        GameField field = new GameField(5, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 4, CellType.X);
+        field.setCell(1, 4, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.O);
+        field.setCell(1, 3, CellType.O);
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X, Difficulty.EASY.getLimits());
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 0));
+    }
+
+    @Test
+    void testNodeBudgetStopsSearch() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 8);
+        GameField field = new GameField(6, 4);
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X, new SearchLimits(0, 5_000));
+
+        // Assert
+        assertThat(bestMove.row()).isNotEqualTo(Position.NOT_VALID_POS);
+        assertThat(service.getVisitedNodes()).isLessThan(5_000 + 1_000);
+    }
+
+    @Test
+    void testSearchStopsAtRequestDeadline() {
+        // Arrange: without a time budget of its own the search would run for far longer
+        MinimaxServiceImpl service = new MinimaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 49, Duration.ZERO
+        );
+        GameField field = new GameField(7, 5);
+        field.setCell(3, 3, CellType.X);
+        SearchDeadline deadline = SearchDeadline.after(Duration.ofMillis(50));
+
+        // Act
+        long start = System.nanoTime();
+        Position bestMove = service.findBestMove(field, CellType.O, SearchLimits.NONE.withDeadline(deadline));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(field.getCell(bestMove.row(), bestMove.col())).isEqualTo(CellType.EMPTY);
+    }
+
+    @Test
+    void testCancelledSearchReturnsFirstIteration() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 49, Duration.ZERO
+        );
+        GameField field = new GameField(7, 5);
+        field.setCell(3, 3, CellType.X);
+        SearchDeadline deadline = SearchDeadline.cancellable();
+        deadline.cancel();
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O, SearchLimits.NONE.withDeadline(deadline));
+
+        // Assert: the first iteration always completes, the second stops at the first check
+        assertThat(field.getCell(bestMove.row(), bestMove.col())).isEqualTo(CellType.EMPTY);
+        assertThat(service.getVisitedNodes()).isLessThan(2_000);
+    }
+
+    @Test
+    void testBatchedEvaluationFindsSameMove() {
+        // Arrange
+        MinimaxServiceImpl scalar = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED),
+                4, Duration.ZERO, null, new HeuristicEvaluator(BoardKernel.scalar()));
+        MinimaxServiceImpl vector = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED),
+                4, Duration.ZERO, null, new HeuristicEvaluator(BoardKernel.vector()));
+        GameField field = new GameField(6, 4);
+        field.setCell(2, 2, CellType.X);
+        field.setCell(3, 3, CellType.O);
+        field.setCell(2, 3, CellType.X);
+
+        // Act
+        Position scalarMove = scalar.findBestMove(field, CellType.O);
+        Position vectorMove = vector.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(vectorMove).isEqualTo(scalarMove);
+    }
+
+    @Test
+    void testAnalyzeScoresEveryEmptyCell() {
+        // Arrange: X wins at (0, 2), and unless X wins or blocks at (1, 2) O completes the middle row
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+
+        // Act
+        List<MoveAnalysis> analysis = service.analyze(field, CellType.X, SearchLimits.NONE);
+
+        // Assert
+        assertThat(analysis).hasSize(5);
+        assertThat(analysis.getFirst())
+                .extracting(MoveAnalysis::move, MoveAnalysis::outcome, MoveAnalysis::distance)
+                .containsExactly(new Position(0, 2), MoveAnalysis.Outcome.WIN, 1);
+        assertThat(analysis.subList(2, 5))
+                .allSatisfy(move -> {
+                    assertThat(move.outcome()).isEqualTo(MoveAnalysis.Outcome.LOSS);
+                    assertThat(move.distance()).isEqualTo(2);
+                });
+        assertThat(service.findBestMove(field, CellType.X)).isEqualTo(new Position(0, 2));
+    }
+
+    @Test
+    void testAnalyzeEmptyFieldIsDrawnEverywhere() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+
+        // Act
+        List<MoveAnalysis> analysis = service.analyze(new GameField(), CellType.X, SearchLimits.NONE);
+
+        // Assert
+        assertThat(analysis).hasSize(9).allSatisfy(move -> {
+            assertThat(move.outcome()).isEqualTo(MoveAnalysis.Outcome.DRAW);
+            assertThat(move.distance()).isEqualTo(9);
+        });
+    }
+
+    @Test
+    void testAnalyzeIsCachedPerCanonicalPosition() {
+        // Arrange: the second field is the first one reflected in the main diagonal
+        MinimaxServiceImpl service = new MinimaxServiceImpl();
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 1, CellType.O);
+
+        GameField reflected = new GameField();
+        reflected.setCell(0, 0, CellType.X);
+        reflected.setCell(1, 0, CellType.X);
+        reflected.setCell(1, 1, CellType.O);
+
+        List<MoveAnalysis> analysis = service.analyze(field, CellType.O, SearchLimits.NONE);
+        long nodes = service.getVisitedNodes();
+
+        // Act
+        List<MoveAnalysis> reflectedAnalysis = service.analyze(reflected, CellType.O, SearchLimits.NONE);
+
+        // Assert
+        assertThat(service.getAnalysisCacheHits()).isEqualTo(1);
+        assertThat(service.getVisitedNodes()).isEqualTo(nodes);
+        assertThat(reflectedAnalysis).hasSameSizeAs(analysis);
+
+        for (MoveAnalysis move : analysis) {
+            Position image = new Position(move.move().col(), move.move().row());
+            assertThat(reflectedAnalysis).contains(new MoveAnalysis(image, move.outcome(), move.score(), move.distance()));
+        }
+    }
+
+    @Test
+    void testAnalyzeWithNodeBudgetEstimatesUndecidedMoves() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 8);
+        GameField field = new GameField(6, 4);
+        field.setCell(2, 2, CellType.X);
+
+        // Act
+        List<MoveAnalysis> analysis = service.analyze(field, CellType.O, new SearchLimits(2, 0));
+
+        // Assert
+        assertThat(analysis).hasSize(35).allSatisfy(move -> {
+            assertThat(move.outcome()).isEqualTo(MoveAnalysis.Outcome.UNKNOWN);
+            assertThat(move.distance()).isEqualTo(MoveAnalysis.UNKNOWN_DISTANCE);
+        });
+    }
+
+    @Test
+    void testProgressIsReportedAfterEveryDepth() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 4);
+        GameField field = new GameField(5, 4);
+        field.setCell(2, 2, CellType.X);
+        List<SearchProgress> progress = new ArrayList<>();
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O, SearchLimits.NONE, progress::add);
+
+        // Assert
+        assertThat(progress).extracting(SearchProgress::depth).containsExactly(1, 2, 3, 4);
+        assertThat(progress).extracting(SearchProgress::nodes).isSorted();
+        assertThat(progress.getLast().move()).isEqualTo(bestMove);
+    }
+
+    @Test
+    void testProgressStopsSearch() {
+        // Arrange
+        MinimaxServiceImpl service = new MinimaxServiceImpl(new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 8);
+        GameField field = new GameField(6, 4);
+        List<SearchProgress> progress = new ArrayList<>();
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X, SearchLimits.NONE, p -> progress.add(p) && p.depth() < 2);
+
+        // Assert
+        assertThat(progress).extracting(SearchProgress::depth).containsExactly(1, 2);
+        assertThat(bestMove).isEqualTo(progress.getLast().move());
+    }
 }
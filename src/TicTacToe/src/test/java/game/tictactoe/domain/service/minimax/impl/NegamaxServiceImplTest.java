@@ -0,0 +1,131 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.search.ReplacementPolicy;
+import game.tictactoe.domain.service.minimax.search.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegamaxServiceImplTest {
+
+    private final NegamaxServiceImpl negamaxService = new NegamaxServiceImpl();
+
+    @Test
+    void testFindBestMoveXFirstMove() {
+        // Arrange
+        GameField field = new GameField();
+
+        // Act
+        Position bestMove = negamaxService.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 1));
+    }
+
+    @Test
+    void testFindBestMoveOAnswersCornerWithCentre() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+
+        // Act
+        Position bestMove = negamaxService.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 1));
+    }
+
+    @Test
+    void testFindBestMoveTakesFastestWin() {
+        // Arrange: X wins at once by completing the top row or the middle column
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 1, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(2, 0, CellType.O);
+        field.setCell(2, 2, CellType.O);
+
+        // Act
+        Position bestMove = negamaxService.findBestMove(field, CellType.X);
+        field.setCell(bestMove.row(), bestMove.col(), CellType.X);
+
+        // Assert
+        assertThat(field.hasWon(CellType.X)).isTrue();
+    }
+
+    @Test
+    void testFindBestMoveBlocksOnLargerField() {
+        // Arrange: on a 4x4 field with four in a row O threatens to complete the second row
+        GameField field = new GameField(4, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 3, CellType.X);
+        field.setCell(3, 3, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.O);
+
+        // Act
+        Position bestMove = negamaxService.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 3));
+    }
+
+    @Test
+    void testFindBestMoveOnFullField() {
+        // Arrange
+        GameField field = new GameField();
+        for (int i = 0; i < field.getSize() * field.getSize(); i++)
+            field.setCell(i, i % 2 == 0 ? CellType.X : CellType.O);
+
+        // Act
+        Position bestMove = negamaxService.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS));
+    }
+
+    @Test
+    void testAgreesWithAlphaBeta() {
+        // Arrange
+        MinimaxServiceImpl alphaBeta = new MinimaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 8
+        );
+        NegamaxServiceImpl negamax = new NegamaxServiceImpl(
+                new TranspositionTable(1 << 16, ReplacementPolicy.DEPTH_PREFERRED), 8
+        );
+        GameField field = new GameField(4, 3);
+        field.setCell(1, 1, CellType.X);
+
+        // Act
+        Position alphaBetaMove = alphaBeta.findBestMove(field, CellType.O);
+        Position negamaxMove = negamax.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(negamaxMove).isEqualTo(alphaBetaMove);
+    }
+
+    @Test
+    void testDepthLimitedSearchIgnoresDeeperSearches() {
+        // Arrange: X on the top and right edges, O on the left edge; only O's (0, 2) escapes X's fork,
+        // a search two moves deep takes the corner (0, 0) and walks into it
+        NegamaxServiceImpl service = new NegamaxServiceImpl();
+        GameField field = new GameField();
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 2, CellType.X);
+        field.setCell(1, 0, CellType.O);
+
+        // Act: the full search fills the shared table first
+        Position hardMove = service.findBestMove(field, CellType.O);
+        Position easyMove = service.findBestMove(field, CellType.O, Difficulty.EASY.getLimits());
+
+        // Assert
+        assertThat(hardMove).isEqualTo(new Position(0, 2));
+        assertThat(easyMove).isEqualTo(new Position(0, 0));
+    }
+}
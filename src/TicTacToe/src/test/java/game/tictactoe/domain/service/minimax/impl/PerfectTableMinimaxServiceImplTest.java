@@ -0,0 +1,117 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Difficulty;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerfectTableMinimaxServiceImplTest {
+
+    @Mock
+    private MinimaxService fallback;
+
+    @Test
+    void testFindBestMoveFromTable() {
+        // Arrange
+        PerfectTableMinimaxServiceImpl service = new PerfectTableMinimaxServiceImpl(fallback);
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(service.isTableLoaded()).isTrue();
+        assertThat(bestMove).isEqualTo(new MinimaxServiceImpl().findBestMove(field, CellType.O));
+
+        verify(fallback, never()).findBestMove(any(GameField.class), any(CellType.class));
+    }
+
+    @Test
+    void testSideNotToMoveIsDelegated() {
+        // Arrange
+        PerfectTableMinimaxServiceImpl service = new PerfectTableMinimaxServiceImpl(fallback);
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+
+        when(fallback.findBestMove(any(GameField.class), eq(CellType.X)))
+                .thenReturn(new Position(2, 2));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(2, 2));
+
+        verify(fallback, times(1)).findBestMove(field, CellType.X);
+    }
+
+    @Test
+    void testMissingTableIsDelegated() {
+        // Arrange
+        PerfectTableMinimaxServiceImpl service = new PerfectTableMinimaxServiceImpl("engine/missing.bin", fallback);
+        GameField field = new GameField();
+
+        when(fallback.findBestMove(any(GameField.class), eq(CellType.X)))
+                .thenReturn(new Position(0, 0));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(service.isTableLoaded()).isFalse();
+        assertThat(bestMove).isEqualTo(new Position(0, 0));
+
+        verify(fallback, times(1)).findBestMove(field, CellType.X);
+    }
+
+    @Test
+    void testLookupAnswersOnlySearchesOfPerfectPlay() {
+        // Arrange
+        PerfectTableMinimaxServiceImpl service = new PerfectTableMinimaxServiceImpl(fallback);
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+
+        // Act
+        Position unlimited = service.lookup(field, CellType.O, SearchLimits.NONE);
+        Position limited = service.lookup(field, CellType.O, Difficulty.EASY.getLimits());
+
+        // Assert
+        assertThat(unlimited).isEqualTo(service.findBestMove(field, CellType.O));
+        assertThat(limited).isNull();
+
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void testUncoveredSearchIsDelegatedWithItsDeadline() {
+        // Arrange
+        PerfectTableMinimaxServiceImpl service = new PerfectTableMinimaxServiceImpl(fallback);
+        GameField field = new GameField();
+        SearchLimits limits = SearchLimits.NONE.withDeadline(SearchDeadline.cancellable());
+
+        when(fallback.findBestMove(field, CellType.O, limits)).thenReturn(new Position(1, 1));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O, limits);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 1));
+
+        verify(fallback, times(1)).findBestMove(field, CellType.O, limits);
+        verify(fallback, never()).findBestMove(any(GameField.class), any(CellType.class));
+    }
+}
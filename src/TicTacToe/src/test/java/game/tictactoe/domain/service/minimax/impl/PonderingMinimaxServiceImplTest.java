@@ -0,0 +1,190 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PonderingMinimaxServiceImplTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testPonderedReplyIsServed() {
+        // Arrange: O threatens to complete the middle row, so X has to block at (1, 2)
+        MinimaxService delegate = mock(MinimaxService.class);
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), any(SearchLimits.class)))
+                .thenReturn(new Position(0, 2));
+
+        PonderingMinimaxServiceImpl service = new PonderingMinimaxServiceImpl(delegate, executor,
+                new HeuristicEvaluator(), 1, 4);
+        GameField field = threatenedField();
+
+        GameField blocked = new GameField(field);
+        blocked.setCell(1, 2, CellType.X);
+
+        // Act
+        service.ponder(field, CellType.O, SearchLimits.NONE);
+        Position move = service.findBestMove(blocked, CellType.O, SearchLimits.NONE);
+
+        // Assert
+        assertThat(move).isEqualTo(new Position(0, 2));
+        assertThat(service.getHits()).isEqualTo(1);
+        verify(delegate, times(1)).findBestMove(eq(blocked), eq(CellType.O),
+                argThat(limits -> limits.withoutDeadline().equals(SearchLimits.NONE)));
+    }
+
+    @Test
+    void testUnexpectedReplyIsSearched() {
+        // Arrange
+        MinimaxService delegate = mock(MinimaxService.class);
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), any(SearchLimits.class)))
+                .thenReturn(new Position(1, 2));
+
+        PonderingMinimaxServiceImpl service = new PonderingMinimaxServiceImpl(delegate, executor,
+                new HeuristicEvaluator(), 1, 4);
+        GameField field = threatenedField();
+
+        GameField ignored = new GameField(field);
+        ignored.setCell(0, 2, CellType.X);
+
+        // Act
+        service.ponder(field, CellType.O, SearchLimits.NONE);
+        Position move = service.findBestMove(ignored, CellType.O, SearchLimits.NONE);
+
+        // Assert
+        assertThat(move).isEqualTo(new Position(1, 2));
+        assertThat(service.getHits()).isZero();
+        assertThat(service.getMisses()).isEqualTo(1);
+        verify(delegate, times(1)).findBestMove(ignored, CellType.O, SearchLimits.NONE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPonderingIsCancelledAndPausedUnderLoad() {
+        // Arrange: a single requested search is already the limit
+        MinimaxService delegate = mock(MinimaxService.class);
+        ExecutorService ponderPool = mock(ExecutorService.class);
+        Future<Position> pondered = mock(Future.class);
+        when(ponderPool.submit(any(Callable.class))).thenReturn(pondered);
+
+        PonderingMinimaxServiceImpl service = new PonderingMinimaxServiceImpl(delegate, ponderPool,
+                new HeuristicEvaluator(), 3, 1);
+        GameField field = threatenedField();
+
+        // The requested search tries to ponder about another game while it runs
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.X), eq(SearchLimits.NONE)))
+                .thenAnswer(invocation -> {
+                    service.ponder(field, CellType.O, SearchLimits.NONE);
+                    return new Position(2, 2);
+                });
+
+        service.ponder(field, CellType.O, SearchLimits.NONE);
+
+        // Act
+        service.findBestMove(new GameField(), CellType.X, SearchLimits.NONE);
+
+        // Assert
+        verify(ponderPool, times(3)).submit(any(Callable.class));
+        verify(pondered, times(3)).cancel(true);
+        assertThat(service.getCancelled()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStopPonderingCancelsSearches() {
+        // Arrange
+        MinimaxService delegate = mock(MinimaxService.class);
+        ExecutorService ponderPool = mock(ExecutorService.class);
+        Future<Position> pondered = mock(Future.class);
+        when(ponderPool.submit(any(Callable.class))).thenReturn(pondered);
+
+        PonderingMinimaxServiceImpl service = new PonderingMinimaxServiceImpl(delegate, ponderPool,
+                new HeuristicEvaluator(), 2, 4);
+        GameField field = threatenedField();
+        service.ponder(field, CellType.O, SearchLimits.NONE);
+
+        GameField finished = new GameField(field);
+        finished.setCell(0, 2, CellType.X);
+
+        // Act
+        service.stopPondering(finished);
+
+        // Assert
+        verify(pondered, times(2)).cancel(true);
+        assertThat(service.getCancelled()).isEqualTo(1);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testStopPonderingStopsRunningSearch() throws InterruptedException {
+        // Arrange: the pondered search runs until its deadline is cancelled
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        MinimaxService delegate = mock(MinimaxService.class);
+        when(delegate.findBestMove(any(GameField.class), eq(CellType.O), any(SearchLimits.class)))
+                .thenAnswer(invocation -> {
+                    SearchLimits limits = invocation.getArgument(2);
+                    started.countDown();
+                    while (!limits.deadline().isExpired())
+                        Thread.onSpinWait();
+                    stopped.countDown();
+                    return new Position(0, 2);
+                });
+
+        ForkJoinPool ponderPool = new ForkJoinPool(1);
+        PonderingMinimaxServiceImpl service = new PonderingMinimaxServiceImpl(delegate, ponderPool,
+                new HeuristicEvaluator(), 1, 4);
+        GameField field = threatenedField();
+
+        try {
+            service.ponder(field, CellType.O, SearchLimits.NONE);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            GameField finished = new GameField(field);
+            finished.setCell(1, 2, CellType.X);
+
+            // Act
+            service.stopPondering(finished);
+
+            // Assert
+            assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(service.getCancelled()).isEqualTo(1);
+        } finally {
+            ponderPool.shutdownNow();
+        }
+    }
+
+    /**
+     * X in two corners, O in the centre and on the left edge, X to move.
+     */
+    private static GameField threatenedField() {
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(2, 2, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 0, CellType.O);
+        return field;
+    }
+}
@@ -0,0 +1,126 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.MinimaxService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import game.tictactoe.domain.service.minimax.search.ProofNumberSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProofNumberMinimaxServiceImplTest {
+
+    @Mock
+    private MinimaxService fallback;
+
+    private final ProofNumberSolver solver = new ProofNumberSolver(1 << 12, 1_000_000);
+
+    @Test
+    void testProvenWinIsPlayed() {
+        // Arrange: three in a row on an empty 4x4 field is a win for the first player
+        ProofNumberMinimaxServiceImpl service = new ProofNumberMinimaxServiceImpl(fallback, solver);
+        GameField field = new GameField(4, 3);
+        int winningMove = solver.solve(field.getGeometry(), 0L, 0L).move();
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(winningMove / 4, winningMove % 4));
+        assertThat(service.getSolved(ProofNumberSolver.Outcome.WIN)).isEqualTo(1);
+
+        verify(fallback, never()).findBestMove(any(GameField.class), any(CellType.class));
+    }
+
+    @Test
+    void testProvenLossIsDelegated() {
+        // Arrange
+        ProofNumberMinimaxServiceImpl service = new ProofNumberMinimaxServiceImpl(fallback, solver);
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(2, 2, CellType.O);
+
+        when(fallback.findBestMove(field, CellType.O)).thenReturn(new Position(0, 2));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(0, 2));
+        assertThat(service.getSolved(ProofNumberSolver.Outcome.LOSS)).isEqualTo(1);
+
+        verify(fallback, times(1)).findBestMove(field, CellType.O);
+    }
+
+    @Test
+    void testUnknownIsDelegated() {
+        // Arrange
+        ProofNumberMinimaxServiceImpl service = new ProofNumberMinimaxServiceImpl(
+                fallback, new ProofNumberSolver(1 << 12, 10));
+        GameField field = new GameField(4, 3);
+
+        when(fallback.findBestMove(field, CellType.X)).thenReturn(new Position(1, 1));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.X);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(1, 1));
+        assertThat(service.getSolved(ProofNumberSolver.Outcome.UNKNOWN)).isEqualTo(1);
+    }
+
+    @Test
+    void testQuietOpeningIsNotSolved() {
+        // Arrange
+        ProofNumberMinimaxServiceImpl service = new ProofNumberMinimaxServiceImpl(fallback, solver);
+        GameField field = new GameField(7, 5);
+        field.setCell(3, 3, CellType.X);
+
+        when(fallback.findBestMove(field, CellType.O)).thenReturn(new Position(2, 2));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(2, 2));
+        for (ProofNumberSolver.Outcome outcome : ProofNumberSolver.Outcome.values())
+            assertThat(service.getSolved(outcome)).isZero();
+    }
+
+    @Test
+    void testProvenLossIsDelegatedWithItsDeadline() {
+        // Arrange
+        ProofNumberMinimaxServiceImpl service = new ProofNumberMinimaxServiceImpl(fallback, solver);
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(2, 2, CellType.O);
+        SearchLimits limits = SearchLimits.NONE.withDeadline(SearchDeadline.cancellable());
+
+        when(fallback.findBestMove(field, CellType.O, limits)).thenReturn(new Position(0, 2));
+
+        // Act
+        Position bestMove = service.findBestMove(field, CellType.O, limits);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(0, 2));
+        assertThat(service.getSolved(ProofNumberSolver.Outcome.LOSS)).isEqualTo(1);
+
+        verify(fallback, times(1)).findBestMove(field, CellType.O, limits);
+        verify(fallback, never()).findBestMove(any(GameField.class), any(CellType.class));
+    }
+}
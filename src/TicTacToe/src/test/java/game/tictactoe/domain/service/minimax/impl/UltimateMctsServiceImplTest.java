@@ -0,0 +1,100 @@
+package game.tictactoe.domain.service.minimax.impl;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.model.UltimateField;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UltimateMctsServiceImplTest {
+
+    private final UltimateMctsServiceImpl ultimateService = new UltimateMctsServiceImpl();
+
+    @Test
+    void testFindBestMoveTakesGameWinningMove() {
+        // Arrange: X has won the first two sub-fields of the top row and threatens the third
+        UltimateField field = new UltimateField();
+
+        for (int cell = 0; cell < 3; cell++) {
+            field.setCell(UltimateField.index(0, cell), CellType.X);
+            field.setCell(UltimateField.index(1, cell), CellType.X);
+        }
+        field.setCell(UltimateField.index(2, 0), CellType.X);
+        field.setCell(UltimateField.index(2, 1), CellType.X);
+
+        for (int cell : new int[]{0, 1, 3, 5}) {
+            field.setCell(UltimateField.index(4, cell), CellType.O);
+            field.setCell(UltimateField.index(5, cell), CellType.O);
+        }
+        field.setActiveSubField(2);
+
+        // Act
+        Position bestMove = ultimateService.findBestMove(field, SearchLimits.NONE);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(0, 8));
+        assertThat(ultimateService.getPlayouts()).isZero();
+    }
+
+    @Test
+    void testFindBestMovePlaysInActiveSubFieldWithinPlayoutBudget() {
+        // Arrange
+        UltimateField field = new UltimateField();
+        field.move(4, 2);
+
+        // Act
+        Position bestMove = ultimateService.findBestMove(field, new SearchLimits(0, 1_000));
+
+        // Assert
+        assertThat(UltimateField.subField(bestMove.row(), bestMove.col())).isEqualTo(2);
+        assertThat(field.isLegal(2, UltimateField.cell(bestMove.row(), bestMove.col()))).isTrue();
+        assertThat(ultimateService.getPlayouts()).isEqualTo(1_000);
+    }
+
+    @Test
+    void testFindBestMoveStopsAtDeadline() {
+        // Arrange: an engine bounded by time alone
+        UltimateMctsServiceImpl service = new UltimateMctsServiceImpl(0, Duration.ofMinutes(1),
+                MctsServiceImpl.DEFAULT_EXPLORATION);
+        SearchLimits limits = SearchLimits.NONE.withDeadline(SearchDeadline.after(Duration.ofMillis(100)));
+
+        // Act
+        long start = System.nanoTime();
+        Position bestMove = service.findBestMove(new UltimateField(), limits);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertThat(bestMove.row()).isBetween(0, UltimateField.SIZE - 1);
+        assertThat(bestMove.col()).isBetween(0, UltimateField.SIZE - 1);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        assertThat(service.getPlayouts()).isPositive();
+    }
+
+    @Test
+    void testFindBestMoveOnFinishedGame() {
+        // Arrange
+        UltimateField field = new UltimateField();
+        for (int subField = 0; subField < 3; subField++)
+            for (int cell = 0; cell < 3; cell++)
+                field.setCell(UltimateField.index(subField, cell), CellType.O);
+
+        // Act
+        Position bestMove = ultimateService.findBestMove(field, SearchLimits.NONE);
+
+        // Assert
+        assertThat(bestMove).isEqualTo(new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS));
+    }
+
+    @Test
+    void testConstructorRejectsMissingBudget() {
+        // Act & Assert
+        assertThatThrownBy(() -> new UltimateMctsServiceImpl(0, Duration.ZERO, MctsServiceImpl.DEFAULT_EXPLORATION))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
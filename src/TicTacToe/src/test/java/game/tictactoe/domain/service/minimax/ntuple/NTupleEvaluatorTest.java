@@ -0,0 +1,75 @@
+package game.tictactoe.domain.service.minimax.ntuple;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.service.minimax.search.HeuristicEvaluator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NTupleEvaluatorTest {
+
+    private final HeuristicEvaluator heuristic = new HeuristicEvaluator();
+
+    @Test
+    void testUntrainedNetworkMatchesHeuristic() {
+        // Arrange
+        NTupleEvaluator evaluator = new NTupleEvaluator(NTupleNetwork.create(BoardGeometry.of(5, 4)), heuristic);
+        GameField field = new GameField(5, 4);
+        field.setCell(2, 2, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(2, 3, CellType.X);
+
+        long board = field.getBoard(CellType.O);
+        long other = field.getBoard(CellType.X);
+
+        // Act
+        int score = evaluator.evaluate(field.getGeometry(), board, other);
+
+        // Assert
+        assertThat(score).isEqualTo(heuristic.evaluate(field.getGeometry(), board, other));
+    }
+
+    @Test
+    void testTrainedNetworkCorrectsHeuristic() {
+        // Arrange
+        NTupleNetwork network = NTupleNetwork.create(BoardGeometry.of(5, 4));
+        NTupleEvaluator evaluator = new NTupleEvaluator(network, heuristic);
+        GameField field = new GameField(5, 4);
+        field.setCell(2, 2, CellType.X);
+
+        long board = field.getBoard(CellType.O);
+        long other = field.getBoard(CellType.X);
+        network.update(board, other, 0.01f);
+
+        // Act
+        int score = evaluator.evaluate(field.getGeometry(), board, other);
+
+        // Assert
+        assertThat(score).isGreaterThan(heuristic.evaluate(field.getGeometry(), board, other));
+    }
+
+    @Test
+    void testThreatsAndOtherFieldsBypassNetwork() {
+        // Arrange
+        NTupleNetwork network = NTupleNetwork.create(BoardGeometry.of(5, 4));
+        NTupleEvaluator evaluator = new NTupleEvaluator(network, heuristic);
+        GameField threat = new GameField(5, 4);
+        threat.setCell(0, 0, CellType.X);
+        threat.setCell(0, 1, CellType.X);
+        threat.setCell(0, 2, CellType.X);
+        GameField other = new GameField(4, 3);
+        other.setCell(1, 1, CellType.X);
+
+        network.update(threat.getBoard(CellType.X), 0L, -1f);
+
+        // Act
+        int threatScore = evaluator.evaluate(threat.getGeometry(), threat.getBoard(CellType.X), 0L);
+        int otherScore = evaluator.evaluate(other.getGeometry(), 0L, other.getBoard(CellType.X));
+
+        // Assert
+        assertThat(threatScore).isEqualTo(HeuristicEvaluator.THREAT);
+        assertThat(otherScore).isEqualTo(heuristic.evaluate(other.getGeometry(), 0L, other.getBoard(CellType.X)));
+    }
+}
@@ -0,0 +1,76 @@
+package game.tictactoe.domain.service.minimax.ntuple;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NTupleNetworkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUpdateMovesValue() {
+        // Arrange
+        NTupleNetwork network = NTupleNetwork.create(BoardGeometry.of(5, 4));
+        GameField field = new GameField(5, 4);
+        field.setCell(2, 2, CellType.X);
+        field.setCell(0, 0, CellType.O);
+
+        long board = field.getBoard(CellType.O);
+        long other = field.getBoard(CellType.X);
+
+        // Act
+        float before = network.value(board, other);
+        network.update(board, other, 0.01f);
+        float after = network.value(board, other);
+
+        // Assert
+        assertThat(before).isZero();
+        assertThat(after).isPositive();
+        assertThat(network.value(other, board)).isLessThan(after);
+    }
+
+    @Test
+    void testWriteAndLoadKeepWeights() throws IOException {
+        // Arrange
+        NTupleNetwork network = NTupleNetwork.create(BoardGeometry.of(4, 3));
+        network.update(0b1L, 0b10L, 0.5f);
+        network.update(0b100L, 0L, -0.25f);
+
+        Path file = tempDir.resolve("weights.bin");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            network.write(out);
+        }
+
+        // Act
+        NTupleNetwork loaded = NTupleNetwork.load(file);
+
+        // Assert
+        assertThat(loaded.getGeometry()).isEqualTo(BoardGeometry.of(4, 3));
+        assertThat(loaded.getTupleCount()).isEqualTo(network.getTupleCount());
+        assertThat(loaded.value(0b1L, 0b10L)).isEqualTo(network.value(0b1L, 0b10L));
+        assertThat(loaded.value(0b100L, 0L)).isEqualTo(network.value(0b100L, 0L));
+    }
+
+    @Test
+    void testLoadRejectsForeignFile() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("weights.bin");
+        Files.write(file, new byte[64]);
+
+        // Act & Assert
+        assertThatThrownBy(() -> NTupleNetwork.load(file))
+                .isInstanceOf(IOException.class);
+    }
+}
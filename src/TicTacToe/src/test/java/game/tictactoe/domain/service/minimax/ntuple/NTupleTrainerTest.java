@@ -0,0 +1,37 @@
+package game.tictactoe.domain.service.minimax.ntuple;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NTupleTrainerTest {
+
+    @Test
+    void testTrainingIsReproducible() {
+        // Arrange
+        NTupleTrainer first = new NTupleTrainer(BoardGeometry.of(4, 3), 1, 0.1, 0.1, 42);
+        NTupleTrainer second = new NTupleTrainer(BoardGeometry.of(4, 3), 1, 0.1, 0.1, 42);
+
+        // Act
+        NTupleNetwork firstNetwork = first.train(50);
+        NTupleNetwork secondNetwork = second.train(50);
+
+        // Assert
+        assertThat(firstNetwork.value(0L, 0L)).isNotZero();
+        assertThat(firstNetwork.value(0L, 0L)).isEqualTo(secondNetwork.value(0L, 0L));
+        assertThat(firstNetwork.value(0b100000L, 0L)).isEqualTo(secondNetwork.value(0b100000L, 0L));
+    }
+
+    @Test
+    void testTrainingLearnsFirstMoveAdvantage() {
+        // Arrange: three in a row on a 4x4 field is a win for the first player
+        NTupleTrainer trainer = new NTupleTrainer(BoardGeometry.of(4, 3), 1, 0.1, 0.1, 7);
+
+        // Act
+        NTupleNetwork network = trainer.train(2_000);
+
+        // Assert
+        assertThat(NTupleEvaluator.value(network, 0L, 0L)).isPositive();
+    }
+}
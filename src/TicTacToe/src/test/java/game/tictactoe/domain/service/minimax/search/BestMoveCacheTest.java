@@ -0,0 +1,94 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.model.Position;
+import game.tictactoe.domain.service.minimax.SearchLimits;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BestMoveCacheTest {
+
+    @Test
+    void testSymmetricPositionIsHit() {
+        // Arrange
+        BestMoveCache cache = new BestMoveCache(64);
+
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 1, CellType.O);
+
+        // The same position rotated by 90 degrees counterclockwise
+        GameField rotated = new GameField();
+        rotated.setCell(2, 0, CellType.X);
+        rotated.setCell(1, 0, CellType.X);
+        rotated.setCell(1, 1, CellType.O);
+
+        // Act
+        cache.put(field, CellType.O, SearchLimits.NONE, new Position(0, 2));
+        Position move = cache.get(rotated, CellType.O, SearchLimits.NONE);
+
+        // Assert
+        assertThat(move).isEqualTo(new Position(0, 0));
+        assertThat(cache.get(rotated, CellType.X, SearchLimits.NONE)).isNull();
+        assertThat(cache.get(rotated, CellType.O, new SearchLimits(2, 0))).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void testFrequentPositionsSurviveScan() {
+        // Arrange: every limit makes a distinct key
+        BestMoveCache cache = new BestMoveCache(64);
+        GameField field = new GameField();
+        Position move = new Position(1, 1);
+
+        for (int depth = 1; depth <= 64; depth++) {
+            cache.get(field, CellType.X, new SearchLimits(depth, 0));
+            cache.get(field, CellType.X, new SearchLimits(depth, 0));
+            cache.put(field, CellType.X, new SearchLimits(depth, 0), move);
+        }
+
+        // Act: a burst of positions that are looked up only once
+        for (int depth = 1000; depth < 1100; depth++) {
+            cache.get(field, CellType.X, new SearchLimits(depth, 0));
+            cache.put(field, CellType.X, new SearchLimits(depth, 0), move);
+        }
+
+        // Assert
+        int survivors = 0;
+        for (int depth = 1; depth <= 64; depth++) {
+            if (cache.get(field, CellType.X, new SearchLimits(depth, 0)) != null)
+                survivors++;
+        }
+
+        assertThat(survivors).isGreaterThan(48);
+        assertThat(cache.size()).isEqualTo(64);
+        assertThat(cache.getEvictions()).isEqualTo(100);
+    }
+
+    @Test
+    void testMoveOffTheFieldIsNotCached() {
+        // Arrange
+        BestMoveCache cache = new BestMoveCache(64);
+        GameField field = new GameField();
+
+        // Act
+        cache.put(field, CellType.X, SearchLimits.NONE, new Position(Position.NOT_VALID_POS, Position.NOT_VALID_POS));
+
+        // Assert
+        assertThat(cache.get(field, CellType.X, SearchLimits.NONE)).isNull();
+        assertThat(cache.getStatistics().size()).isZero();
+        assertThat(cache.getStatistics().capacity()).isEqualTo(64);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        // Act & Assert
+        assertThatThrownBy(() -> new BestMoveCache(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
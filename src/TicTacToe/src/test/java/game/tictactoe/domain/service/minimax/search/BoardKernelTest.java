@@ -0,0 +1,100 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardKernelTest {
+
+    /**
+     * Not a multiple of any vector length, so the scalar remainder is covered too.
+     */
+    private static final int COUNT = 203;
+
+    @Test
+    void testVectorModuleIsAvailableToTests() {
+        // Act & Assert
+        assertThat(BoardKernel.isVectorAvailable()).isTrue();
+        assertThat(BoardKernel.preferred().lanes()).isGreaterThan(1);
+    }
+
+    @Test
+    void testVectorKernelEvaluatesLikeHeuristic() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (BoardGeometry geometry : geometries()) {
+            long[] boards = new long[COUNT];
+            long[] others = new long[COUNT];
+            randomPositions(random, geometry, boards, others);
+
+            int[] expected = new int[COUNT];
+            int[] actual = new int[COUNT];
+
+            // Act
+            BoardKernel.scalar().evaluate(geometry, boards, others, COUNT, expected);
+            BoardKernel.vector().evaluate(geometry, boards, others, COUNT, actual);
+
+            // Assert
+            assertThat(actual).as("%s", geometry).containsExactly(expected);
+            for (int i = 0; i < COUNT; i++)
+                assertThat(expected[i]).isEqualTo(new HeuristicEvaluator().evaluate(geometry, boards[i], others[i]));
+        }
+    }
+
+    @Test
+    void testVectorKernelFindsWinsLikeGeometry() {
+        // Arrange
+        Random random = new Random(7);
+
+        for (BoardGeometry geometry : geometries()) {
+            long[] boards = new long[COUNT];
+            long[] others = new long[COUNT];
+            randomPositions(random, geometry, boards, others);
+
+            boolean[] wins = new boolean[COUNT];
+
+            // Act
+            BoardKernel.vector().wins(geometry, boards, COUNT, wins);
+
+            // Assert
+            for (int i = 0; i < COUNT; i++)
+                assertThat(wins[i]).as("%s board %d", geometry, i).isEqualTo(geometry.isWin(boards[i]));
+        }
+    }
+
+    private static BoardGeometry[] geometries() {
+        return new BoardGeometry[]{
+                BoardGeometry.DEFAULT, BoardGeometry.of(4, 3), BoardGeometry.of(5, 4), BoardGeometry.of(7, 5)
+        };
+    }
+
+    /**
+     * Fills both sides with a random number of marks each, alternately, so that wins and threats occur.
+     */
+    private static void randomPositions(Random random, BoardGeometry geometry, long[] boards, long[] others) {
+        for (int i = 0; i < boards.length; i++) {
+            final int marks = random.nextInt(geometry.getCells());
+            long board = 0;
+            long other = 0;
+
+            for (int m = 0; m < marks; m++) {
+                int cell;
+                do {
+                    cell = random.nextInt(geometry.getCells());
+                } while (((board | other) >>> cell & 1) != 0);
+
+                if ((m & 1) == 0)
+                    board |= 1L << cell;
+                else
+                    other |= 1L << cell;
+            }
+
+            boards[i] = board;
+            others[i] = other;
+        }
+    }
+}
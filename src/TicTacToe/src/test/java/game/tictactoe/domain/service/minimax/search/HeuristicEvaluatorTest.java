@@ -0,0 +1,77 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeuristicEvaluatorTest {
+
+    private final HeuristicEvaluator evaluator = new HeuristicEvaluator();
+
+    @Test
+    void testEmptyFieldIsEven() {
+        // Arrange
+        BoardGeometry geometry = BoardGeometry.of(5, 4);
+
+        // Act
+        int score = evaluator.evaluate(geometry, 0L, 0L);
+
+        // Assert
+        assertThat(score).isZero();
+    }
+
+    @Test
+    void testCenterIsWorthMoreThanCorner() {
+        // Arrange
+        GameField center = new GameField();
+        center.setCell(1, 1, CellType.X);
+        GameField corner = new GameField();
+        corner.setCell(0, 0, CellType.X);
+
+        // Act
+        int centerScore = evaluator.evaluate(center.getGeometry(), 0L, center.getBoard(CellType.X));
+        int cornerScore = evaluator.evaluate(corner.getGeometry(), 0L, corner.getBoard(CellType.X));
+
+        // Assert
+        assertThat(centerScore).isNegative().isLessThan(cornerScore);
+    }
+
+    @Test
+    void testOwnThreatWins() {
+        // Arrange
+        GameField field = new GameField(5, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(0, 2, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.O);
+
+        // Act
+        int score = evaluator.evaluate(field.getGeometry(), field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        // Assert
+        assertThat(score).isEqualTo(HeuristicEvaluator.THREAT);
+        assertThat(Score.isDecisive(score)).isFalse();
+    }
+
+    @Test
+    void testDoubleThreatOfOpponentLoses() {
+        // Arrange: X threatens both (0,2) and (2,0)
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(2, 2, CellType.O);
+
+        // Act
+        int score = evaluator.evaluate(field.getGeometry(), field.getBoard(CellType.O), field.getBoard(CellType.X));
+
+        // Assert
+        assertThat(score).isEqualTo(-HeuristicEvaluator.THREAT);
+    }
+}
@@ -0,0 +1,72 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoveOrderingTest {
+
+    private static final long ALL_MOVES = BoardGeometry.DEFAULT.getFullMask();
+
+    @Test
+    void testStaticPriorOrdersCentreCornersEdges() {
+        // Arrange
+        MoveOrdering ordering = new MoveOrdering(BoardGeometry.DEFAULT, 9);
+
+        // Act
+        int count = ordering.order(ALL_MOVES, TranspositionTable.NO_MOVE, 0, 0);
+
+        // Assert
+        assertThat(count).isEqualTo(9);
+        assertThat(movesAt(ordering, 0, count)).containsExactly(4, 0, 2, 6, 8, 1, 3, 5, 7);
+    }
+
+    @Test
+    void testHashMoveThenKillersThenHistory() {
+        // Arrange
+        MoveOrdering ordering = new MoveOrdering(BoardGeometry.DEFAULT, 9);
+        ordering.cutoff(7, 1, 0, 1);
+        ordering.cutoff(3, 2, 0, 4);
+
+        // Act
+        int count = ordering.order(ALL_MOVES, 5, 1, 0);
+
+        // Assert: 3 was never a killer at ply 1 but has the larger history score
+        assertThat(movesAt(ordering, 1, count)).containsExactly(5, 7, 3, 4, 0, 2, 6, 8, 1);
+    }
+
+    @Test
+    void testKillersAndHistoryAreKeptPerSide() {
+        // Arrange
+        MoveOrdering ordering = new MoveOrdering(BoardGeometry.DEFAULT, 9);
+        ordering.cutoff(1, 0, 1, 3);
+
+        // Act
+        int count = ordering.order(ALL_MOVES & ~(1L << 1), TranspositionTable.NO_MOVE, 1, 1);
+
+        // Assert
+        assertThat(movesAt(ordering, 1, count)).containsExactly(4, 0, 2, 6, 8, 3, 5, 7);
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        // Arrange
+        MoveOrdering ordering = new MoveOrdering(BoardGeometry.DEFAULT, 9);
+        MoveOrdering copy = new MoveOrdering(ordering);
+
+        // Act
+        copy.cutoff(8, 0, 0, 2);
+        int count = ordering.order(ALL_MOVES, TranspositionTable.NO_MOVE, 0, 0);
+
+        // Assert
+        assertThat(movesAt(ordering, 0, count)).startsWith(4, 0);
+    }
+
+    private static int[] movesAt(MoveOrdering ordering, int ply, int count) {
+        int[] moves = new int[count];
+        for (int i = 0; i < count; i++)
+            moves[i] = ordering.moveAt(ply, i);
+        return moves;
+    }
+}
@@ -0,0 +1,111 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProofNumberSolverTest {
+
+    private final ProofNumberSolver solver = new ProofNumberSolver(1 << 12, 1_000_000);
+
+    @Test
+    void testSolveImmediateWin() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+
+        // Act
+        ProofNumberSolver.Result result = solver.solve(field.getGeometry(),
+                field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(ProofNumberSolver.Outcome.WIN);
+        assertThat(result.move()).isEqualTo(2);
+    }
+
+    @Test
+    void testSolveForcedWinOnLargerField() {
+        // Arrange: three in a row on an empty 4x4 field is a win for the first player
+        GameField field = new GameField(4, 3);
+
+        // Act
+        ProofNumberSolver.Result result = solver.solve(field.getGeometry(),
+                field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        field.setCell(result.move(), CellType.X);
+        ProofNumberSolver.Result reply = solver.solve(field.getGeometry(),
+                field.getBoard(CellType.O), field.getBoard(CellType.X));
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(ProofNumberSolver.Outcome.WIN);
+        assertThat(reply.outcome()).isEqualTo(ProofNumberSolver.Outcome.LOSS);
+        assertThat(reply.move()).isEqualTo(TranspositionTable.NO_MOVE);
+    }
+
+    @Test
+    void testSolveDoubleThreatIsLoss() {
+        // Arrange: X threatens both (0,2) and (2,0), O cannot win at once
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(2, 2, CellType.O);
+
+        // Act
+        ProofNumberSolver.Result result = solver.solve(field.getGeometry(),
+                field.getBoard(CellType.O), field.getBoard(CellType.X));
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(ProofNumberSolver.Outcome.LOSS);
+        assertThat(result.move()).isEqualTo(TranspositionTable.NO_MOVE);
+    }
+
+    @Test
+    void testSolveEmptyFieldIsDraw() {
+        // Arrange
+        GameField field = new GameField();
+
+        // Act
+        ProofNumberSolver.Result result = solver.solve(field.getGeometry(),
+                field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        field.setCell(result.move(), CellType.X);
+        ProofNumberSolver.Result reply = solver.solve(field.getGeometry(),
+                field.getBoard(CellType.O), field.getBoard(CellType.X));
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(ProofNumberSolver.Outcome.DRAW);
+        assertThat(reply.outcome()).isEqualTo(ProofNumberSolver.Outcome.DRAW);
+    }
+
+    @Test
+    void testSolveUnknownWhenNodeLimitIsReached() {
+        // Arrange
+        ProofNumberSolver limited = new ProofNumberSolver(1 << 12, 10);
+        GameField field = new GameField(4, 3);
+
+        // Act
+        ProofNumberSolver.Result result = limited.solve(field.getGeometry(),
+                field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(ProofNumberSolver.Outcome.UNKNOWN);
+        assertThat(result.move()).isEqualTo(TranspositionTable.NO_MOVE);
+        assertThat(result.nodes()).isLessThanOrEqualTo(11);
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        assertThatThrownBy(() -> new ProofNumberSolver(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ProofNumberSolver(1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
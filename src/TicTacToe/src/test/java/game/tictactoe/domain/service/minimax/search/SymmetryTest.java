@@ -0,0 +1,98 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymmetryTest {
+
+    private final BoardGeometry geometry = BoardGeometry.DEFAULT;
+    private final Symmetry symmetry = Symmetry.of(geometry.getSize());
+
+    @Test
+    void testRotationMapsCornersToCorners() {
+        // Rotation by 90 degrees clockwise: top-left -> top-right -> bottom-right -> bottom-left
+        assertThat(symmetry.map(1, geometry.index(0, 0))).isEqualTo(geometry.index(0, 2));
+        assertThat(symmetry.map(1, geometry.index(0, 2))).isEqualTo(geometry.index(2, 2));
+        assertThat(symmetry.map(1, geometry.index(2, 2))).isEqualTo(geometry.index(2, 0));
+        assertThat(symmetry.map(1, geometry.index(1, 1))).isEqualTo(geometry.index(1, 1));
+    }
+
+    @Test
+    void testUnmapIsInverseOfMap() {
+        for (int sym = 0; sym < Symmetry.COUNT; sym++)
+            for (int cell = 0; cell < geometry.getCells(); cell++)
+                assertThat(symmetry.unmap(sym, symmetry.map(sym, cell))).isEqualTo(cell);
+    }
+
+    @Test
+    void testTransformPreservesWins() {
+        for (long mask : geometry.getWinMasks())
+            for (int sym = 0; sym < Symmetry.COUNT; sym++)
+                assertThat(geometry.isWin(symmetry.transform(sym, mask))).isTrue();
+    }
+
+    @Test
+    void testUniqueMovesOnEmptyField() {
+        // Act
+        long unique = symmetry.uniqueMoves(0, 0);
+
+        // Assert: one corner, one edge and the centre
+        assertThat(Long.bitCount(unique)).isEqualTo(3);
+        assertThat(unique).isEqualTo((1L << geometry.index(0, 0)) | (1L << geometry.index(0, 1)) | (1L << geometry.index(1, 1)));
+    }
+
+    @Test
+    void testUniqueMovesWithCentreTaken() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(1, 1, CellType.X);
+
+        // Act
+        long unique = symmetry.uniqueMoves(field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        // Assert: one corner and one edge
+        assertThat(Long.bitCount(unique)).isEqualTo(2);
+    }
+
+    @Test
+    void testUniqueMovesWithoutSymmetry() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.O);
+
+        // Act
+        long unique = symmetry.uniqueMoves(field.getBoard(CellType.X), field.getBoard(CellType.O));
+
+        // Assert
+        assertThat(unique).isEqualTo(field.getEmptyCells());
+    }
+
+    @Test
+    void testTransformPreservesWinsOnLargerField() {
+        BoardGeometry largeGeometry = BoardGeometry.of(6, 4);
+        Symmetry largeSymmetry = Symmetry.of(largeGeometry.getSize());
+
+        for (long mask : largeGeometry.getWinMasks())
+            for (int sym = 0; sym < Symmetry.COUNT; sym++)
+                assertThat(largeGeometry.isWin(largeSymmetry.transform(sym, mask))).isTrue();
+    }
+
+    @Test
+    void testUniqueMovesOnEmptyFourByFourField() {
+        // Arrange
+        BoardGeometry largeGeometry = BoardGeometry.of(4, 3);
+
+        // Act
+        long unique = Symmetry.of(largeGeometry.getSize()).uniqueMoves(0, 0);
+
+        // Assert: one corner, one edge and one inner cell
+        assertThat(unique).isEqualTo((1L << largeGeometry.index(0, 0))
+                | (1L << largeGeometry.index(0, 1))
+                | (1L << largeGeometry.index(1, 1)));
+    }
+}
@@ -0,0 +1,73 @@
+package game.tictactoe.domain.service.minimax.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(16, ReplacementPolicy.ALWAYS);
+
+        // Act
+        table.store(0x1234L, 5, -7, Bound.LOWER, 4);
+        long entry = table.probe(0x1234L);
+
+        // Assert
+        assertThat(entry).isNotEqualTo(TranspositionTable.MISS);
+        assertThat(TranspositionTable.score(entry)).isEqualTo(-7);
+        assertThat(TranspositionTable.depth(entry)).isEqualTo(5);
+        assertThat(TranspositionTable.bound(entry)).isEqualTo(Bound.LOWER);
+        assertThat(TranspositionTable.move(entry)).isEqualTo(4);
+    }
+
+    @Test
+    void testProbeMiss() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(16, ReplacementPolicy.ALWAYS);
+        table.store(0x1234L, 5, 3, Bound.EXACT, TranspositionTable.NO_MOVE);
+
+        // Act & Assert
+        assertThat(table.probe(0x1234L + 16)).isEqualTo(TranspositionTable.MISS);
+        assertThat(TranspositionTable.move(table.probe(0x1234L))).isEqualTo(TranspositionTable.NO_MOVE);
+    }
+
+    @Test
+    void testDepthPreferredKeepsDeeperEntry() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(16, ReplacementPolicy.DEPTH_PREFERRED);
+        table.store(0x01L, 6, 1, Bound.EXACT, 0);
+
+        // Act
+        table.store(0x11L, 2, 2, Bound.EXACT, 1);
+
+        // Assert
+        assertThat(table.probe(0x01L)).isNotEqualTo(TranspositionTable.MISS);
+        assertThat(table.probe(0x11L)).isEqualTo(TranspositionTable.MISS);
+    }
+
+    @Test
+    void testAlwaysReplacesEntry() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(16, ReplacementPolicy.ALWAYS);
+        table.store(0x01L, 6, 1, Bound.EXACT, 0);
+
+        // Act
+        table.store(0x11L, 2, 2, Bound.EXACT, 1);
+
+        // Assert
+        assertThat(table.probe(0x01L)).isEqualTo(TranspositionTable.MISS);
+        assertThat(table.probe(0x11L)).isNotEqualTo(TranspositionTable.MISS);
+    }
+
+    @Test
+    void testCapacityIsRoundedToPowerOfTwo() {
+        assertThat(new TranspositionTable(100, ReplacementPolicy.ALWAYS).capacity()).isEqualTo(128);
+
+        assertThatThrownBy(() -> new TranspositionTable(0, ReplacementPolicy.ALWAYS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
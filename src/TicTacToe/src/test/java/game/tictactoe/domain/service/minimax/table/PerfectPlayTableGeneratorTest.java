@@ -0,0 +1,64 @@
+package game.tictactoe.domain.service.minimax.table;
+
+import game.tictactoe.domain.model.BoardGeometry;
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.service.minimax.impl.MinimaxServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerfectPlayTableGeneratorTest {
+
+    /**
+     * Number of unfinished positions reachable from the empty field when X moves first.
+     */
+    private static final int REACHABLE_UNFINISHED_POSITIONS = 4520;
+
+    private final byte[] table = new PerfectPlayTableGenerator(new MinimaxServiceImpl()).generate();
+
+    @Test
+    void testEveryReachablePositionIsSolved() {
+        int entries = 0;
+
+        for (byte entry : table)
+            if (entry != PerfectPlayTable.NO_ENTRY)
+                entries++;
+
+        assertThat(table).hasSize(PerfectPlayTable.SIZE);
+        assertThat(entries).isEqualTo(REACHABLE_UNFINISHED_POSITIONS);
+    }
+
+    @Test
+    void testEmptyFieldIsDraw() {
+        // Act
+        byte entry = table[PerfectPlayTable.index(0, 0)];
+
+        // Assert
+        assertThat(PerfectPlayTable.value(entry)).isEqualTo(PerfectPlayTable.DRAW);
+        assertThat(PerfectPlayTable.move(entry)).isEqualTo(BoardGeometry.DEFAULT.index(1, 1));
+    }
+
+    @Test
+    void testWinningMoveIsStored() {
+        // Arrange: X to move and wins by completing the top row
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(1, 0, CellType.O);
+        field.setCell(1, 1, CellType.O);
+
+        // Act
+        byte entry = table[PerfectPlayTable.index(field.getBoard(CellType.X), field.getBoard(CellType.O))];
+
+        // Assert
+        assertThat(PerfectPlayTable.value(entry)).isEqualTo(PerfectPlayTable.WIN);
+        assertThat(PerfectPlayTable.move(entry)).isEqualTo(BoardGeometry.DEFAULT.index(0, 2));
+    }
+
+    @Test
+    void testUnreachablePositionHasNoEntry() {
+        // Two X marks and no O can never occur
+        assertThat(table[PerfectPlayTable.index(0b11, 0)]).isEqualTo(PerfectPlayTable.NO_ENTRY);
+    }
+}
@@ -0,0 +1,82 @@
+package game.tictactoe.domain.utils;
+
+import game.tictactoe.domain.model.CellType;
+import game.tictactoe.domain.model.GameField;
+import game.tictactoe.domain.service.WinState;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameStateTrackerTest {
+
+    @Test
+    void testInitialStateOfPlayedField() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(1, 1, CellType.X);
+        field.setCell(2, 2, CellType.X);
+        field.setCell(0, 1, CellType.O);
+
+        // Act
+        GameStateTracker tracker = new GameStateTracker(field);
+
+        // Assert
+        assertThat(tracker.getState()).isEqualTo(WinState.X_WON);
+        assertThat(tracker.getMoveCount()).isEqualTo(4);
+    }
+
+    @Test
+    void testPlayDetectsWinThroughLastMove() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 2, CellType.O);
+        field.setCell(1, 1, CellType.O);
+        GameStateTracker tracker = new GameStateTracker(field);
+
+        // Act
+        WinState result = tracker.play(field.index(2, 0), CellType.O);
+
+        // Assert
+        assertThat(result).isEqualTo(WinState.O_WON);
+        assertThat(field.getCell(2, 0)).isEqualTo(CellType.O);
+        assertThat(tracker.getMoveCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testPlayDetectsDrawOnLastCell() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.O);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(0, 2, CellType.O);
+        field.setCell(1, 0, CellType.X);
+        field.setCell(1, 1, CellType.O);
+        field.setCell(1, 2, CellType.X);
+        field.setCell(2, 0, CellType.X);
+        field.setCell(2, 1, CellType.O);
+        GameStateTracker tracker = new GameStateTracker(field);
+
+        // Act
+        WinState result = tracker.play(field.index(2, 2), CellType.X);
+
+        // Assert
+        assertThat(result).isEqualTo(WinState.DRAW);
+    }
+
+    @Test
+    void testPlayKeepsGameOpenOnLargerField() {
+        // Arrange: three in a row do not win when four are needed
+        GameField field = new GameField(5, 4);
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        GameStateTracker tracker = new GameStateTracker(field);
+
+        // Act
+        WinState result = tracker.play(field.index(0, 2), CellType.X);
+
+        // Assert
+        assertThat(result).isEqualTo(WinState.CONTINUE);
+        assertThat(tracker.play(field.index(0, 3), CellType.X)).isEqualTo(WinState.X_WON);
+    }
+}
@@ -5,6 +5,8 @@ import game.tictactoe.domain.model.GameField;
 import game.tictactoe.domain.service.WinState;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class GameUtilsTest {
@@ -167,4 +169,59 @@ class GameUtilsTest {
         assertThat(result)
                 .isEqualTo(WinState.CONTINUE);
     }
+
+    @Test
+    void testIsGameOver_OverwrittenCell() {
+        // Arrange
+        GameField field = new GameField();
+        field.setCell(0, 0, CellType.X);
+        field.setCell(0, 1, CellType.X);
+        field.setCell(0, 2, CellType.X);
+        field.setCell(0, 2, CellType.O);
+
+        // Act
+        WinState result = GameUtils.isGameOver(field);
+
+        // Assert
+        assertThat(result)
+                .isEqualTo(WinState.CONTINUE);
+        assertThat(field.getCell(0, 2))
+                .isEqualTo(CellType.O);
+    }
+
+    @Test
+    void testIsGameOver_BatchMatchesSingleFields() {
+        // Arrange
+        GameField xWon = new GameField();
+        xWon.setCell(0, 0, CellType.X);
+        xWon.setCell(1, 1, CellType.X);
+        xWon.setCell(2, 2, CellType.X);
+
+        GameField oWon = new GameField(5, 4);
+        oWon.setCell(1, 0, CellType.O);
+        oWon.setCell(1, 1, CellType.O);
+        oWon.setCell(1, 2, CellType.O);
+        oWon.setCell(1, 3, CellType.O);
+
+        GameField open = new GameField(5, 4);
+        open.setCell(2, 2, CellType.X);
+
+        GameField draw = new GameField();
+        CellType[] cells = {
+                CellType.X, CellType.O, CellType.X,
+                CellType.X, CellType.O, CellType.O,
+                CellType.O, CellType.X, CellType.X
+        };
+        for (int i = 0; i < cells.length; i++)
+            draw.setCell(i / 3, i % 3, cells[i]);
+
+        List<GameField> fields = List.of(xWon, oWon, open, draw, new GameField());
+
+        // Act
+        List<WinState> result = GameUtils.isGameOver(fields);
+
+        // Assert
+        assertThat(result)
+                .containsExactly(WinState.X_WON, WinState.O_WON, WinState.CONTINUE, WinState.DRAW, WinState.CONTINUE);
+    }
 }
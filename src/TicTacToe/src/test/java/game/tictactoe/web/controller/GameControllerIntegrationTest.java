@@ -3,6 +3,9 @@ package game.tictactoe.web.controller;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import game.tictactoe.application.TicTacToeApplication;
+import game.tictactoe.domain.model.EngineType;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.web.interceptor.RequestDeadlineInterceptor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -13,10 +16,16 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +56,7 @@ class GameControllerIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(header().exists("Location"))
+                .andExpect(header().string("X-Engine-Degradation", matchesPattern("NONE|REDUCED_BUDGET|SHALLOW|MINIMAL")))
                 .andExpectAll(
                         jsonPath("gameField").value(hasSize(3)),
                         jsonPath("gameField").value(everyItem(hasSize(3))),
@@ -54,6 +64,60 @@ class GameControllerIntegrationTest {
                 );
     }
 
+    @Test
+    void testCreateGameAndMakeFirstMove_WithEngine() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/game")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "playerSide": "X",
+                            "gameField": [
+                                ["X", " ", " "],
+                                [" ", " ", " "],
+                                [" ", " ", " "]
+                            ],
+                            "engine": "HEURISTIC"
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("gameField").value(everyItem(everyItem(matchesPattern("[\\sOX]")))));
+
+        mockMvc.perform(get("/api/v1/engine/engines"))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("$").value(hasSize(EngineType.values().length)),
+                        jsonPath("$[?(@.engine == 'HEURISTIC')].searches").value(everyItem(greaterThanOrEqualTo(1))),
+                        jsonPath("$[*].rejected").value(everyItem(is(0)))
+                );
+    }
+
+    @Test
+    void testCreateGameAndMakeFirstMove_NotValidEngine() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/game")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "playerSide": "O",
+                            "gameField": [
+                                [" ", " ", " "],
+                                [" ", " ", " "],
+                                [" ", " ", " "]
+                            ],
+                            "engine": "ORACLE"
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentType(MediaType.APPLICATION_JSON)
+                );
+    }
+
     @Test
     void testCreateGameAndMakeFirstMove_NotValidGameFieldForPlayerX() throws Exception {
         RequestBuilder requestBuilder = post("/api/v1/game")
@@ -183,7 +247,16 @@ class GameControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(bodyGameField);
 
-        mockMvc.perform(requestBuilder)
+        result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        SearchDeadline deadline = (SearchDeadline) result.getRequest().getAttribute(RequestDeadlineInterceptor.ATTRIBUTE);
+
+        // Without the header the deadline is the timeout of asynchronous requests
+        assertThat(deadline.remainingNanos()).isLessThanOrEqualTo(Duration.ofSeconds(300).toNanos());
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -264,4 +337,247 @@ class GameControllerIntegrationTest {
                         status().isNotFound()
                 );
     }
+
+    @Test
+    void testFindBestMoves() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/moves")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "positions": [
+                                {
+                                    "gameField": [
+                                        ["X", "X", " "],
+                                        ["O", " ", " "],
+                                        ["O", " ", " "]
+                                    ]
+                                },
+                                {
+                                    "gameField": [
+                                        ["X", "X", "X"],
+                                        ["O", "O", " "],
+                                        [" ", " ", " "]
+                                    ]
+                                },
+                                {
+                                    "gameField": [
+                                        [" ", " ", " ", " "],
+                                        [" ", " ", " ", " "],
+                                        [" ", " ", " ", " "],
+                                        [" ", " ", " ", " "]
+                                    ],
+                                    "winLength": 3
+                                }
+                            ],
+                            "difficulty": "EASY"
+                        }
+                        """);
+
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<Integer, JsonNode> lines = new HashMap<>();
+        for (String line : body.split("\n"))
+            lines.put(objectMapper.readTree(line).get("index").asInt(), objectMapper.readTree(line));
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("X_WON");
+        assertThat(lines.get(0).get("row").asInt()).isZero();
+        assertThat(lines.get(0).get("col").asInt()).isEqualTo(2);
+        assertThat(lines.get(1).get("status").asText()).isEqualTo("X_WON");
+        assertThat(lines.get(1).has("row")).isFalse();
+        assertThat(lines.get(2).get("status").asText()).isEqualTo("CONTINUE");
+    }
+
+    @Test
+    void testFindBestMoves_FieldOutOfTurn() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/moves")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "positions": [
+                                {
+                                    "gameField": [
+                                        ["O", " ", " "],
+                                        [" ", " ", " "],
+                                        [" ", " ", " "]
+                                    ]
+                                }
+                            ]
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        jsonPath("message").value(containsString("index 0"))
+                );
+    }
+
+    @Test
+    void testAnalyze() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/analysis")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "gameField": [
+                                ["X", "X", " "],
+                                ["O", "O", " "],
+                                [" ", " ", " "]
+                            ]
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("status").value("CONTINUE"),
+                        jsonPath("side").value("X"),
+                        jsonPath("moves").value(hasSize(5)),
+                        jsonPath("moves[0].row").value(0),
+                        jsonPath("moves[0].col").value(2),
+                        jsonPath("moves[0].outcome").value("WIN"),
+                        jsonPath("moves[0].distance").value(1),
+                        jsonPath("moves[4].outcome").value("LOSS")
+                );
+    }
+
+    @Test
+    void testAnalyze_WithRequestTimeout() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/analysis")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Request-Timeout", "5000")
+                .content("""
+                        {
+                            "gameField": [
+                                ["X", "X", " "],
+                                ["O", "O", " "],
+                                [" ", " ", " "]
+                            ]
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("moves").value(hasSize(5)),
+                        jsonPath("moves[0].outcome").value("WIN")
+                );
+    }
+
+    @Test
+    void testAnalyze_InvalidRequestTimeout() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/analysis")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Request-Timeout", "soon")
+                .content("""
+                        {
+                            "gameField": [
+                                [" ", " ", " "],
+                                [" ", " ", " "],
+                                [" ", " ", " "]
+                            ]
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        jsonPath("message").value(containsString("X-Request-Timeout"))
+                );
+    }
+
+    @Test
+    void testStreamAnalysis() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/analysis/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "gameField": [
+                                [" ", " ", " ", " ", " "],
+                                [" ", " ", " ", " ", " "],
+                                [" ", " ", "X", " ", " "],
+                                [" ", " ", " ", " ", " "],
+                                [" ", " ", " ", " ", " "]
+                            ],
+                            "winLength": 4,
+                            "difficulty": "MEDIUM",
+                            "timeBudgetMillis": 2000
+                        }
+                        """);
+
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body).startsWith("event:progress\ndata:{\"depth\":1,");
+        assertThat(body).contains("\n\nevent:done\ndata:{\"depth\":");
+        assertThat(body).endsWith("}\n\n");
+    }
+
+    @Test
+    void testStreamAnalysis_InvalidTimeBudget() throws Exception {
+        RequestBuilder requestBuilder = post("/api/v1/analysis/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "gameField": [
+                                [" ", " ", " "],
+                                [" ", " ", " "],
+                                [" ", " ", " "]
+                            ],
+                            "timeBudgetMillis": 0
+                        }
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        jsonPath("message").value(containsString("time budget"))
+                );
+    }
+
+    @Test
+    void testGetCacheStatistics() throws Exception {
+        mockMvc.perform(get("/api/v1/engine/cache"))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("hits").value(greaterThanOrEqualTo(0)),
+                        jsonPath("misses").value(greaterThanOrEqualTo(0)),
+                        jsonPath("evictions").value(greaterThanOrEqualTo(0)),
+                        jsonPath("capacity").value(EngineType.values().length * 65536)
+                );
+    }
+
+    @Test
+    void testGetLoadStatistics() throws Exception {
+        mockMvc.perform(get("/api/v1/engine/load"))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        header().exists("X-Engine-Degradation"),
+                        jsonPath("level").value(matchesPattern("NONE|REDUCED_BUDGET|SHALLOW|MINIMAL")),
+                        jsonPath("inFlight").value(greaterThanOrEqualTo(0)),
+                        jsonPath("queued").value(greaterThanOrEqualTo(0)),
+                        jsonPath("latencyMillis").value(greaterThanOrEqualTo(0))
+                );
+    }
 }
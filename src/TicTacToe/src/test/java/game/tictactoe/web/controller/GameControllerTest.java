@@ -1,9 +1,13 @@
 package game.tictactoe.web.controller;
 
 import game.tictactoe.domain.model.*;
+import game.tictactoe.domain.service.GameAttribute;
 import game.tictactoe.domain.service.gameService.GameService;
+import game.tictactoe.domain.service.minimax.SearchDeadline;
+import game.tictactoe.web.advice.TicTacToeExceptionHandler;
 import game.tictactoe.web.mapper.GameFieldMapper;
 import game.tictactoe.web.mapper.MoveResultMapper;
+import game.tictactoe.web.model.AnalysisRequest;
 import game.tictactoe.web.model.GameCreationRequest;
 import game.tictactoe.web.model.GameFieldDTO;
 import game.tictactoe.web.model.MoveResultDto;
@@ -12,16 +16,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class GameControllerTest {
@@ -38,13 +54,19 @@ class GameControllerTest {
     @Mock
     private MoveResultMapper moveResultMapper;
 
+    @Mock
+    private AsyncTaskExecutor requestExecutor;
+
+    @Mock
+    private ScheduledExecutorService heartbeatScheduler;
+
     @Test
     void testCreateGameAndMakeFirstMove() {
         // Arrange
         GameCreationRequest request = new GameCreationRequest('O');
 
         GameField mappedGameField = new GameField();
-        when(gameFieldMapper.toEntity(any(GameFieldDTO.class)))
+        when(gameFieldMapper.toEntity(any(GameFieldDTO.class), eq(GameAttribute.WIN_LENGTH.getValue())))
                 .thenReturn(mappedGameField);
 
         MoveResult moveResult = new MoveResult("", mappedGameField);
@@ -54,7 +76,9 @@ class GameControllerTest {
         GameCreationResult gcr = new GameCreationResult(uuid, moveResult);
         when(gameService.createGameAndMakeFirstMove(
                 CellType.valueOf(request.getPlayerSide()),
-                mappedGameField
+                mappedGameField,
+                Difficulty.HARD,
+                null
         )).thenReturn(gcr);
 
         GameFieldDTO responseGameFieldDTO = new GameFieldDTO();
@@ -99,13 +123,13 @@ class GameControllerTest {
                 .isNotNull()
                 .isEqualTo(expectedMoveResult);
 
-        verify(gameFieldMapper, times(1)).toEntity(any(GameFieldDTO.class));
-        verify(gameService, times(1)).createGameAndMakeFirstMove(CellType.valueOf(request.getPlayerSide()), mappedGameField);
+        verify(gameFieldMapper, times(1)).toEntity(any(GameFieldDTO.class), eq(GameAttribute.WIN_LENGTH.getValue()));
+        verify(gameService, times(1)).createGameAndMakeFirstMove(CellType.valueOf(request.getPlayerSide()), mappedGameField, Difficulty.HARD, null);
         verify(moveResultMapper, times(1)).toDTO(gcr.moveResult());
     }
 
     @Test
-    void testUpdateGame() {
+    void testUpdateGame() throws Exception {
         // Arrange
         UUID requestUuid = UUID.randomUUID();
         GameFieldDTO requestGameFieldDto = new GameFieldDTO(List.of(
@@ -139,7 +163,7 @@ class GameControllerTest {
                 .thenReturn(moveResultDto);
 
         // Act
-        var responseEntity = gameController.updateGame(requestUuid, requestGameFieldDto);
+        var responseEntity = gameController.updateGame(requestUuid, requestGameFieldDto, SearchDeadline.NONE).call();
 
         // Assert
         assertThat(responseEntity)
@@ -157,7 +181,66 @@ class GameControllerTest {
 
         verify(gameFieldMapper, times(1)).toEntity(requestGameFieldDto);
         verify(gameService, times(1)).validateGameField(requestUuid, gameField);
+        verify(gameService, times(1)).nextMove(game, SearchDeadline.NONE);
         verify(gameService, times(1)).checkWin(game);
         verify(moveResultMapper, times(1)).toDTO(moveResult);
     }
+
+    @Test
+    void testStreamAnalysis_RequestExecutorFull() {
+        // Arrange
+        AnalysisRequest request = new AnalysisRequest(List.of(
+                List.of(' ', ' ', ' '),
+                List.of(' ', 'X', ' '),
+                List.of(' ', ' ', ' ')
+        ));
+        SearchDeadline deadline = SearchDeadline.cancellable();
+
+        when(gameFieldMapper.toEntity(any(GameFieldDTO.class), anyInt()))
+                .thenReturn(new GameField());
+
+        ScheduledFuture<?> heartbeat = mock(ScheduledFuture.class);
+        doReturn(heartbeat).when(heartbeatScheduler)
+                .scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        doThrow(new TaskRejectedException("full")).when(requestExecutor).execute(any(Runnable.class));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gameController.streamAnalysis(request, deadline))
+                .isInstanceOf(TaskRejectedException.class);
+
+        assertThat(deadline.isCancelled())
+                .isTrue();
+
+        verify(heartbeat, times(1)).cancel(false);
+        verify(gameService, never()).findBestMove(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testAnalyze_EngineDoesNotAnalyze() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(gameController)
+                .setControllerAdvice(new TicTacToeExceptionHandler())
+                .build();
+
+        when(gameFieldMapper.toEntity(any(GameFieldDTO.class), anyInt()))
+                .thenReturn(new GameField());
+        when(gameService.analyze(any(GameField.class), eq(Difficulty.HARD), eq(Duration.ZERO), any(SearchDeadline.class)))
+                .thenThrow(new UnsupportedOperationException("MctsServiceImpl does not analyze positions"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/analysis")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "gameField": [
+                                        [" ", " ", " "],
+                                        [" ", "X", " "],
+                                        [" ", " ", " "]
+                                    ]
+                                }
+                                """))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("message").value("The engine does not analyze positions"));
+    }
 }
@@ -0,0 +1,132 @@
+package game.tictactoe.web.controller;
+
+import game.tictactoe.application.TicTacToeApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = TicTacToeApplication.class)
+@AutoConfigureMockMvc
+class UltimateGameControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testCreateGameAndMove() throws Exception {
+        String location = createGame();
+
+        mockMvc.perform(put(location)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "row": 4,
+                                    "col": 4
+                                }
+                                """))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("status").value("CONTINUE"),
+                        jsonPath("gameField[4][4]").value("X"),
+                        jsonPath("gameField[*][*]").value(hasItem("O")),
+                        jsonPath("metaField").value(everyItem(everyItem(is(" ")))),
+                        jsonPath("activeSubField").value(allOf(greaterThanOrEqualTo(-1), lessThanOrEqualTo(8)))
+                );
+    }
+
+    @Test
+    void testMove_OccupiedCell() throws Exception {
+        String location = createGame();
+        String move = """
+                {
+                    "row": 4,
+                    "col": 4
+                }
+                """;
+
+        mockMvc.perform(put(location).contentType(MediaType.APPLICATION_JSON).content(move))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(location).contentType(MediaType.APPLICATION_JSON).content(move))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("message").value(startsWith("Invalid move"))
+                );
+    }
+
+    @Test
+    void testMove_CellOutsideField() throws Exception {
+        String location = createGame();
+
+        mockMvc.perform(put(location)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "row": 9,
+                                    "col": 0
+                                }
+                                """))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().json("""
+                                {
+                                    "message":"Invalid move, the row and the column should be from 0 to 8"
+                                }
+                                """)
+                );
+    }
+
+    @Test
+    void testMove_NotExistGame() throws Exception {
+        mockMvc.perform(put("/api/v1/ultimate/" + UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "row": 0,
+                                    "col": 0
+                                }
+                                """))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Creates a game of the player X against the easy computer opponent.
+     *
+     * @return The location of the game.
+     */
+    private String createGame() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/ultimate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "playerSide": "X",
+                                    "difficulty": "EASY"
+                                }
+                                """))
+                .andExpectAll(
+                        status().isCreated(),
+                        header().exists("Location"),
+                        jsonPath("status").value("CONTINUE"),
+                        jsonPath("gameField").value(hasSize(9)),
+                        jsonPath("gameField").value(everyItem(hasSize(9))),
+                        jsonPath("gameField").value(everyItem(everyItem(is(" ")))),
+                        jsonPath("activeSubField").value(-1)
+                )
+                .andReturn();
+
+        return result.getResponse().getHeader("Location");
+    }
+}
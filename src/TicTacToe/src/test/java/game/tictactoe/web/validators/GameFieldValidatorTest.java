@@ -23,6 +23,31 @@ class GameFieldValidatorTest {
                 .isTrue();
     }
 
+    @Test
+    void testValidLargerGameField() {
+        List<List<Character>> gameField = Arrays.asList(
+                Arrays.asList('X', ' ', ' ', ' '),
+                Arrays.asList(' ', 'O', ' ', ' '),
+                Arrays.asList(' ', ' ', ' ', ' '),
+                Arrays.asList(' ', ' ', ' ', 'X')
+        );
+
+        assertThat(validator.isValid(gameField, null))
+                .isTrue();
+    }
+
+    @Test
+    void testInvalidNonSquareGameField() {
+        List<List<Character>> gameField = Arrays.asList(
+                Arrays.asList('X', 'O', ' ', ' '),
+                Arrays.asList('O', 'X', 'O', ' '),
+                Arrays.asList(' ', ' ', 'X', ' ')
+        );
+
+        assertThat(validator.isValid(gameField, null))
+                .isFalse();
+    }
+
     @Test
     void testInvalidNullGameField() {
         assertThat(validator.isValid(null, null))